@@ -0,0 +1,13 @@
+-- Koltuk (kapasite) modeli: chairs tablosu ve randevunun atandığı koltuk
+CREATE TABLE IF NOT EXISTS chairs (
+    id          BIGSERIAL PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    active      BOOLEAN      NOT NULL DEFAULT TRUE,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    tenant_id   BIGINT       NOT NULL REFERENCES tenants (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_chairs_tenant ON chairs (tenant_id);
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS chair_id BIGINT REFERENCES chairs (id);
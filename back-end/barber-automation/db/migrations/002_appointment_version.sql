@@ -0,0 +1,2 @@
+-- Randevularda iyimser kilit (@Version)
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Keyset (cursor) sayfalama indeksleri
+CREATE INDEX IF NOT EXISTS idx_appointments_tenant_start_id ON appointments (tenant_id, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_customers_tenant_created_id ON customers (tenant_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_reminders_status_scheduled_id ON reminders (status, scheduled_for, id);
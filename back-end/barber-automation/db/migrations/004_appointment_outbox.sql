@@ -0,0 +1,18 @@
+-- Randevu olayları için transactional outbox
+CREATE TABLE IF NOT EXISTS appointment_outbox (
+    id                   BIGSERIAL PRIMARY KEY,
+    event_type           VARCHAR(20)  NOT NULL,
+    tenant_id            BIGINT       NOT NULL,
+    appointment_id       BIGINT       NOT NULL,
+    start_time           TIMESTAMP(6),
+    previous_start_time  TIMESTAMP(6),
+    status               VARCHAR(20)  NOT NULL,
+    attempts             INTEGER      NOT NULL,
+    available_at         TIMESTAMP(6) NOT NULL,
+    published_at         TIMESTAMP(6),
+    last_error           VARCHAR(500),
+    created_at           TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_appointment_outbox_status_available_id
+    ON appointment_outbox (status, available_at, id);
@@ -0,0 +1,16 @@
+-- Idempotency-Key kayıtları
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id               BIGSERIAL PRIMARY KEY,
+    scope            VARCHAR(100) NOT NULL,
+    idempotency_key  VARCHAR(100) NOT NULL,
+    request_hash     VARCHAR(64)  NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    response_status  INTEGER,
+    response_body    TEXT,
+    created_at       TIMESTAMP(6) NOT NULL,
+    completed_at     TIMESTAMP(6),
+    expires_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_idempotency_scope_key UNIQUE (scope, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,5 @@
+-- Randevu değişiklik akışı: kuaför bazında sıra ve randevunun son değişiklik sırası
+ALTER TABLE tenants ADD COLUMN IF NOT EXISTS appointment_change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_appointments_tenant_change_seq ON appointments (tenant_id, change_seq, id);
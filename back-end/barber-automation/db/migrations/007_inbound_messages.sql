@@ -0,0 +1,19 @@
+-- Webhook mesajları için kalıcı kuyruk
+CREATE TABLE IF NOT EXISTS inbound_messages (
+    id                   BIGSERIAL PRIMARY KEY,
+    source               VARCHAR(20)   NOT NULL,
+    tenant_id            BIGINT,
+    from_number          VARCHAR(30)   NOT NULL,
+    to_number            VARCHAR(30),
+    text                 VARCHAR(4096) NOT NULL,
+    provider_message_id  VARCHAR(100),
+    status               VARCHAR(20)   NOT NULL,
+    attempts             INTEGER       NOT NULL,
+    available_at         TIMESTAMP(6)  NOT NULL,
+    received_at          TIMESTAMP(6)  NOT NULL,
+    processed_at         TIMESTAMP(6),
+    last_error           VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inbound_messages_status_available_id
+    ON inbound_messages (status, available_at, id);
@@ -0,0 +1,2 @@
+-- Idempotency kaydının işlem kilidi: süresi geçen IN_PROGRESS kaydı yeni istek devralır
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP(6);
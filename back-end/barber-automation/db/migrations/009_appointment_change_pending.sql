@@ -0,0 +1,5 @@
+-- Değişiklik akışı: sırası henüz verilmemiş randevu değişiklikleri (kuaför satırı yazım sırasında kilitlenmez)
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS change_pending BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_appointments_change_pending
+    ON appointments (tenant_id) WHERE change_pending;
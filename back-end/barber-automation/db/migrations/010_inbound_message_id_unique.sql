@@ -0,0 +1,5 @@
+-- Sağlayıcı mesaj ID'si kaynak bazında tekil: yeniden gönderilen webhook mesajı ikinci kez kuyruğa yazılmaz
+-- (bellekteki tekrar elemesi örnek başınadır; başka örneğe düşen tekrarları bu anahtar reddeder).
+-- ID'si olmayan mesajlar (NULL) kısıtlanmaz.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_inbound_messages_source_provider_message_id
+    ON inbound_messages (source, provider_message_id);
@@ -0,0 +1,14 @@
+-- Gelen mesajların konuşma anahtarı (müşteri telefonu + kuaför): konuşmanın önceki mesajı tekrar
+-- denemeyi beklerken veya başka bir örnekte işlenirken sonraki mesajları alınmaz
+ALTER TABLE inbound_messages ADD COLUMN IF NOT EXISTS conversation_key VARCHAR(64);
+
+-- Mevcut kayıtlar: "whatsapp:" ve "+" önekleri atılır, kuaförü olmayanlar "default"
+UPDATE inbound_messages
+SET conversation_key = regexp_replace(trim(replace(from_number, 'whatsapp:', '')), '^\+', '')
+        || '_' || COALESCE(CAST(tenant_id AS VARCHAR), 'default')
+WHERE conversation_key IS NULL;
+
+ALTER TABLE inbound_messages ALTER COLUMN conversation_key SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_inbound_messages_conversation_id
+    ON inbound_messages (conversation_key, id) WHERE status = 'PENDING';
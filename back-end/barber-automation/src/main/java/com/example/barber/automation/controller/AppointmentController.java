@@ -1,14 +1,23 @@
 package com.example.barber.automation.controller;
 
+import com.example.barber.automation.dto.AppointmentChangesResponse;
 import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.BulkStatusTransitionRequest;
+import com.example.barber.automation.dto.BulkStatusTransitionResponse;
 import com.example.barber.automation.dto.CreateAppointmentRequest;
+import com.example.barber.automation.dto.CreateBundleAppointmentRequest;
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.service.AppointmentService;
+import com.example.barber.automation.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,10 +35,12 @@ import java.util.Map;
 public class AppointmentController {
     
     private final AppointmentService appointmentService;
+    private final IdempotencyService idempotencyService;
     
     @Autowired
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService, IdempotencyService idempotencyService) {
         this.appointmentService = appointmentService;
+        this.idempotencyService = idempotencyService;
     }
     
     /**
@@ -41,7 +52,7 @@ public class AppointmentController {
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
             @Parameter(description = "Randevu ID'si") @PathVariable Long id) {
         return appointmentService.findById(id, tenantId)
-                .map(appointment -> ResponseEntity.ok(appointment))
+                .map(AppointmentController::okWithVersion)
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -71,6 +82,45 @@ public class AppointmentController {
         return ResponseEntity.ok(appointments);
     }
     
+    /**
+     * Tarih aralığına göre randevuları sayfa sayfa getir
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Tarih aralığına göre sayfalı randevular", 
+               description = "Belirtilen tarih aralığındaki randevuları tarih sırasıyla sayfa sayfa getirir; sonraki sayfa için dönen nextCursor gönderilir")
+    public ResponseEntity<CursorPage<AppointmentDto>> getAppointmentPageByDateRange(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Başlangıç tarihi (yyyy-MM-dd'T'HH:mm:ss)") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bitiş tarihi (yyyy-MM-dd'T'HH:mm:ss)") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)") @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(appointmentService.findPageByDateRange(tenantId, startDate, endDate, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Token'dan sonra değişen randevuları getir (senkronizasyon)
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Randevu değişiklikleri", 
+               description = "Verilen token'dan sonra eklenen veya değişen randevuları değişiklik sırasıyla getirir; " +
+                       "sonraki istekte dönen nextToken gönderilir, token gönderilmezse tüm randevular döner")
+    public ResponseEntity<AppointmentChangesResponse> getAppointmentChanges(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Önceki yanıtın nextToken değeri") @RequestParam(required = false) String since,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)") @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(appointmentService.findChanges(tenantId, since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Müşteriye ait randevuları getir
      */
@@ -109,13 +159,46 @@ public class AppointmentController {
      * Yeni randevu oluştur
      */
     @PostMapping
-    @Operation(summary = "Yeni randevu oluştur", description = "Yeni randevu kaydı oluşturur")
+    @Operation(summary = "Yeni randevu oluştur", 
+               description = "Yeni randevu kaydı oluşturur; aynı Idempotency-Key ile tekrarlanan istekte ilk yanıt döner")
     public ResponseEntity<AppointmentDto> createAppointment(
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Tekrar denemelerde aynı kalan istek anahtarı") 
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Parameter(description = "Randevu bilgileri") @Valid @RequestBody CreateAppointmentRequest request) {
         try {
-            AppointmentDto createdAppointment = appointmentService.createAppointment(request, tenantId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdAppointment);
+            if (idempotencyKey == null) {
+                AppointmentDto createdAppointment = appointmentService.createAppointment(request, tenantId);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdAppointment);
+            }
+            return idempotencyService.execute(appointmentScope(tenantId), idempotencyKey, request, AppointmentDto.class,
+                    () -> ResponseEntity.status(HttpStatus.CREATED)
+                            .body(appointmentService.createAppointment(request, tenantId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Paket randevu oluştur (birden fazla hizmet, arka arkaya)
+     */
+    @PostMapping("/bundle")
+    @Operation(summary = "Paket randevu oluştur", 
+               description = "Seçilen hizmetler için arka arkaya randevuları tek işlemde oluşturur; biri oluşturulamazsa hiçbiri oluşturulmaz")
+    public ResponseEntity<List<AppointmentDto>> createBundleAppointment(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Tekrar denemelerde aynı kalan istek anahtarı") 
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "Paket randevu bilgileri") @Valid @RequestBody CreateBundleAppointmentRequest request) {
+        try {
+            if (idempotencyKey == null) {
+                List<AppointmentDto> createdAppointments = appointmentService.createBundleAppointment(request, tenantId);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdAppointments);
+            }
+            return idempotencyService.execute(appointmentScope(tenantId) + ":bundle", idempotencyKey, request,
+                    new TypeReference<List<AppointmentDto>>() {},
+                    () -> ResponseEntity.status(HttpStatus.CREATED)
+                            .body(appointmentService.createBundleAppointment(request, tenantId)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -128,12 +211,17 @@ public class AppointmentController {
     @Operation(summary = "Randevu onayla", description = "Beklemedeki randevuyu onaylar")
     public ResponseEntity<AppointmentDto> confirmAppointment(
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
-            @Parameter(description = "Randevu ID'si") @PathVariable Long id) {
+            @Parameter(description = "Randevu ID'si") @PathVariable Long id,
+            @Parameter(description = "Panelin gördüğü sürüm (If-Match yerine)") @RequestParam(required = false) Long version,
+            @Parameter(description = "Panelin gördüğü sürüm (ETag)") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            AppointmentDto confirmedAppointment = appointmentService.confirmAppointment(id, tenantId);
-            return ResponseEntity.ok(confirmedAppointment);
+            AppointmentDto confirmedAppointment = appointmentService.confirmAppointment(id, tenantId, expectedVersion(version, ifMatch));
+            return okWithVersion(confirmedAppointment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Randevu aynı anda başka bir işlemle değiştirildi
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
     
@@ -144,12 +232,17 @@ public class AppointmentController {
     @Operation(summary = "Randevu tamamla", description = "Randevuyu tamamlanmış olarak işaretler")
     public ResponseEntity<AppointmentDto> completeAppointment(
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
-            @Parameter(description = "Randevu ID'si") @PathVariable Long id) {
+            @Parameter(description = "Randevu ID'si") @PathVariable Long id,
+            @Parameter(description = "Panelin gördüğü sürüm (If-Match yerine)") @RequestParam(required = false) Long version,
+            @Parameter(description = "Panelin gördüğü sürüm (ETag)") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            AppointmentDto completedAppointment = appointmentService.completeAppointment(id, tenantId);
-            return ResponseEntity.ok(completedAppointment);
+            AppointmentDto completedAppointment = appointmentService.completeAppointment(id, tenantId, expectedVersion(version, ifMatch));
+            return okWithVersion(completedAppointment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Randevu aynı anda başka bir işlemle değiştirildi
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
     
@@ -161,11 +254,34 @@ public class AppointmentController {
     public ResponseEntity<AppointmentDto> cancelAppointment(
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
             @Parameter(description = "Randevu ID'si") @PathVariable Long id,
+            @Parameter(description = "Panelin gördüğü sürüm (If-Match yerine)") @RequestParam(required = false) Long version,
+            @Parameter(description = "Panelin gördüğü sürüm (ETag)") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "İptal nedeni") @RequestBody(required = false) java.util.Map<String, String> cancelRequest) {
         String reason = cancelRequest != null ? cancelRequest.get("reason") : null;
         try {
-            AppointmentDto cancelledAppointment = appointmentService.cancelAppointment(id, tenantId, reason);
-            return ResponseEntity.ok(cancelledAppointment);
+            AppointmentDto cancelledAppointment = appointmentService.cancelAppointment(id, tenantId, reason,
+                    expectedVersion(version, ifMatch));
+            return okWithVersion(cancelledAppointment);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Randevu aynı anda başka bir işlemle değiştirildi
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Toplu durum değiştir
+     */
+    @PostMapping("/bulk-status")
+    @Operation(summary = "Toplu durum değiştir", 
+               description = "ID listesi (isteğe bağlı sürümle) veya tarih ile seçilen randevuları hedef duruma alır; çakışan randevuları nedeniyle döner")
+    public ResponseEntity<BulkStatusTransitionResponse> transitionStatuses(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Toplu durum değişikliği bilgileri") @Valid @RequestBody BulkStatusTransitionRequest request) {
+        try {
+            BulkStatusTransitionResponse response = appointmentService.transitionStatuses(tenantId, request);
+            return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -179,12 +295,18 @@ public class AppointmentController {
     public ResponseEntity<AppointmentDto> updateAppointment(
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
             @Parameter(description = "Randevu ID'si") @PathVariable Long id,
+            @Parameter(description = "Panelin gördüğü sürüm (If-Match yerine)") @RequestParam(required = false) Long version,
+            @Parameter(description = "Panelin gördüğü sürüm (ETag)") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Güncellenecek randevu bilgileri") @Valid @RequestBody CreateAppointmentRequest request) {
         try {
-            AppointmentDto updatedAppointment = appointmentService.updateAppointment(id, request, tenantId);
-            return ResponseEntity.ok(updatedAppointment);
+            AppointmentDto updatedAppointment = appointmentService.updateAppointment(id, request, tenantId,
+                    expectedVersion(version, ifMatch));
+            return okWithVersion(updatedAppointment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Randevu aynı anda başka bir işlemle değiştirildi
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
     
@@ -210,4 +332,40 @@ public class AppointmentController {
         Map<String, Long> stats = appointmentService.getAppointmentStats(tenantId);
         return ResponseEntity.ok(stats);
     }
+    
+    private static String appointmentScope(Long tenantId) {
+        return "appointments:" + tenantId;
+    }
+    
+    /**
+     * Randevuyu sürümü ETag olarak eklenmiş yanıtla döndürme (sonraki değişiklikte If-Match ile gönderilir)
+     */
+    private static ResponseEntity<AppointmentDto> okWithVersion(AppointmentDto appointment) {
+        if (appointment.getVersion() == null) {
+            return ResponseEntity.ok(appointment);
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(appointment.getVersion())).body(appointment);
+    }
+    
+    /**
+     * İstemcinin gördüğü sürüm: version parametresi veya If-Match başlığı ("3", W/"3"); "*" sürüm koşulu koymaz
+     */
+    private static Long expectedVersion(Long version, String ifMatch) {
+        if (version != null) {
+            return version;
+        }
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz If-Match: " + ifMatch);
+        }
+    }
 }
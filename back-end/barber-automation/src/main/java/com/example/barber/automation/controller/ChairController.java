@@ -0,0 +1,72 @@
+package com.example.barber.automation.controller;
+
+import com.example.barber.automation.dto.ChairDto;
+import com.example.barber.automation.service.ChairService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Chair (Koltuk) REST Controller
+ */
+@RestController
+@RequestMapping("/tenants/{tenantId}/chairs")
+@Tag(name = "Chair Management", description = "Koltuk / çalışan (kapasite) yönetimi API'leri")
+public class ChairController {
+    
+    private final ChairService chairService;
+    
+    @Autowired
+    public ChairController(ChairService chairService) {
+        this.chairService = chairService;
+    }
+    
+    /**
+     * Aktif koltukları listele
+     */
+    @GetMapping
+    @Operation(summary = "Koltukları listele", description = "Kuaföre ait aktif koltukları getirir (koltuk sayısı = kapasite)")
+    public ResponseEntity<List<ChairDto>> getChairs(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId) {
+        return ResponseEntity.ok(chairService.findAllByTenant(tenantId));
+    }
+    
+    /**
+     * Yeni koltuk ekle
+     */
+    @PostMapping
+    @Operation(summary = "Koltuk ekle", description = "Kuaföre yeni koltuk ekler; aynı anda alınabilecek randevu sayısı bir artar")
+    public ResponseEntity<ChairDto> createChair(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Koltuk bilgileri") @Valid @RequestBody ChairDto request) {
+        try {
+            ChairDto chair = chairService.createChair(request, tenantId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(chair);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Koltuğu pasifleştir
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Koltuk sil", description = "Koltuğu pasifleştirir; mevcut randevular korunur")
+    public ResponseEntity<Void> deactivateChair(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Koltuk ID'si") @PathVariable Long id) {
+        try {
+            chairService.deactivateChair(id, tenantId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.barber.automation.controller;
 
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.dto.CustomerDto;
 import com.example.barber.automation.service.CustomerService;
+import com.example.barber.automation.service.idempotency.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,10 +22,12 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, IdempotencyService idempotencyService) {
         this.customerService = customerService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -44,6 +48,23 @@ public class CustomerController {
         return ResponseEntity.ok(customers);
     }
 
+    /**
+     * Müşterileri sayfa sayfa listele
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Sayfalı müşteri listesi", 
+               description = "Aktif müşterileri kayıt sırasıyla sayfa sayfa listeler; sonraki sayfa için dönen nextCursor gönderilir")
+    public ResponseEntity<CursorPage<CustomerDto>> getCustomerPage(
+            @Parameter(description = "Tenant ID") @RequestParam(value = "tenantId", required = false) Long tenantId,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)") @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(customerService.findPage(tenantId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * ID'ye göre müşteri getir
      */
@@ -84,18 +105,24 @@ public class CustomerController {
      * Yeni müşteri oluştur
      */
     @PostMapping
-    @Operation(summary = "Yeni müşteri", description = "Yeni müşteri oluşturur")
+    @Operation(summary = "Yeni müşteri", 
+               description = "Yeni müşteri oluşturur; aynı Idempotency-Key ile tekrarlanan istekte ilk yanıt döner")
     public ResponseEntity<CustomerDto> createCustomer(
             @RequestBody CustomerDto customerDto,
-            @Parameter(description = "Tenant ID") @RequestParam(value = "tenantId", required = false) Long tenantId) {
+            @Parameter(description = "Tenant ID") @RequestParam(value = "tenantId", required = false) Long tenantId,
+            @Parameter(description = "Tekrar denemelerde aynı kalan istek anahtarı") 
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         
-        if (tenantId == null) {
-            tenantId = 1L; // Varsayılan tenant ID
-        }
+        Long effectiveTenantId = tenantId != null ? tenantId : 1L; // Varsayılan tenant ID
         
         try {
-            CustomerDto createdCustomer = customerService.createCustomer(customerDto, tenantId);
-            return ResponseEntity.ok(createdCustomer);
+            if (idempotencyKey == null) {
+                CustomerDto createdCustomer = customerService.createCustomer(customerDto, effectiveTenantId);
+                return ResponseEntity.ok(createdCustomer);
+            }
+            return idempotencyService.execute("customers:" + effectiveTenantId, idempotencyKey, customerDto,
+                    CustomerDto.class,
+                    () -> ResponseEntity.ok(customerService.createCustomer(customerDto, effectiveTenantId)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -0,0 +1,99 @@
+package com.example.barber.automation.controller;
+
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.service.export.ExportFormat;
+import com.example.barber.automation.service.export.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dışa aktarma REST Controller - Randevu ve müşteri geçmişinin CSV/NDJSON dökümü
+ * 
+ * Yanıt satır satır akar; büyük geçmişler de sabit bellekle indirilir.
+ */
+@RestController
+@RequestMapping("/tenants/{tenantId}/export")
+@Tag(name = "Export", description = "Randevu ve müşteri dışa aktarma API'leri")
+public class ExportController {
+    
+    private final ExportService exportService;
+    
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+    
+    /**
+     * Randevuları dışa aktar
+     */
+    @GetMapping("/appointments")
+    @Operation(summary = "Randevuları dışa aktar", 
+               description = "Kuaförün randevularını başlangıç zamanına göre sıralı CSV veya NDJSON olarak indirir")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Format: csv veya ndjson (varsayılan csv)") @RequestParam(required = false) String format,
+            @Parameter(description = "Bu zamandan itibaren başlayanlar (yyyy-MM-dd'T'HH:mm:ss)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bu zamandan önce başlayanlar (yyyy-MM-dd'T'HH:mm:ss)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Sadece bu durumdakiler (birden fazla verilebilir)") 
+            @RequestParam(required = false) List<Appointment.AppointmentStatus> status) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (startDate != null && endDate != null && !endDate.isAfter(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> exportService.exportAppointments(
+                tenantId, startDate, endDate, status, exportFormat, out);
+        return attachment("randevular-" + tenantId, exportFormat, body);
+    }
+    
+    /**
+     * Müşterileri dışa aktar
+     */
+    @GetMapping("/customers")
+    @Operation(summary = "Müşterileri dışa aktar", 
+               description = "Kuaförün müşterilerini kayıt sırasıyla CSV veya NDJSON olarak indirir")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Format: csv veya ndjson (varsayılan csv)") @RequestParam(required = false) String format,
+            @Parameter(description = "Sadece aktif (true) veya pasif (false) müşteriler") @RequestParam(required = false) Boolean active) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> exportService.exportCustomers(tenantId, active, exportFormat, out);
+        return attachment("musteriler-" + tenantId, exportFormat, body);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> attachment(String fileName, ExportFormat format, StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(fileName + "." + format.getExtension())
+                .build());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.barber.automation.controller;
+
+import com.example.barber.automation.service.changefeed.ChangeToken;
+import com.example.barber.automation.service.live.LiveUpdateFeed;
+import com.example.barber.automation.service.live.LiveUpdateHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * Canlı güncelleme (SSE) REST Controller
+ */
+@RestController
+@RequestMapping("/tenants/{tenantId}/live")
+@Tag(name = "Live Updates", description = "Randevu ve müsaitlik değişikliklerinin canlı akışı")
+public class LiveUpdateController {
+    
+    private final LiveUpdateFeed liveUpdateFeed;
+    private final LiveUpdateHub liveUpdateHub;
+    
+    @Autowired
+    public LiveUpdateController(LiveUpdateFeed liveUpdateFeed, LiveUpdateHub liveUpdateHub) {
+        this.liveUpdateFeed = liveUpdateFeed;
+        this.liveUpdateHub = liveUpdateHub;
+    }
+    
+    /**
+     * Kuaförün canlı güncellemelerine bağlan
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Canlı güncellemeler", 
+               description = "Randevu değişikliklerini (appointment) ve müsaitliği değişen günleri (availability) " +
+                       "Server-Sent Events ile gönderir. İlk olay (ready) başlangıç token'ını içerir; bağlantı " +
+                       "koparsa istemci yeniden bağlanır ve aradaki değişiklikleri son aldığı token'la " +
+                       "/appointments/changes üzerinden alır")
+    public ResponseEntity<SseEmitter> subscribe(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId) {
+        try {
+            ChangeToken token = liveUpdateFeed.register(tenantId);
+            return ResponseEntity.ok(liveUpdateHub.subscribe(tenantId, "ready", Map.of("token", token.encode())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.barber.automation.controller;
 
 import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,6 +45,23 @@ public class SimpleAppointmentController {
         return ResponseEntity.ok(appointments);
     }
 
+    /**
+     * Randevuları sayfa sayfa listele
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Sayfalı randevu listesi", 
+               description = "Randevuları en yeniden eskiye sayfa sayfa listeler; sonraki sayfa için dönen nextCursor gönderilir")
+    public ResponseEntity<CursorPage<AppointmentDto>> getAppointmentPage(
+            @Parameter(description = "Tenant ID") @RequestParam(value = "tenantId", required = false) Long tenantId,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)") @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(appointmentService.findPage(tenantId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * ID'ye göre randevu getir
      */
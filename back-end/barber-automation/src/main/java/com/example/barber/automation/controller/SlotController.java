@@ -1,5 +1,6 @@
 package com.example.barber.automation.controller;
 
+import com.example.barber.automation.dto.BatchSlotCheckRequest;
 import com.example.barber.automation.dto.SlotResponse;
 import com.example.barber.automation.service.SlotService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -43,6 +45,25 @@ public class SlotController {
         return ResponseEntity.ok(slots);
     }
     
+    /**
+     * Paket (birden fazla hizmet) için belirli tarihte müsait slot'ları getir
+     */
+    @GetMapping("/bundle")
+    @Operation(summary = "Paket için müsait slot'lar", 
+               description = "Seçilen hizmetlerin toplam süresi kadar kesintisiz müsait saatleri getirir (ör. Saç ve Sakal)")
+    public ResponseEntity<SlotResponse> getAvailableSlotsForServices(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Hizmet ID'leri (virgülle ayrılmış)") @RequestParam List<Long> serviceIds,
+            @Parameter(description = "Tarih (yyyy-MM-dd)") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            SlotResponse slots = slotService.getAvailableSlotsForServices(tenantId, serviceIds, date);
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Gelecek 7 gün için müsait slot'ları getir
      */
@@ -55,6 +76,48 @@ public class SlotController {
         return ResponseEntity.ok(weeklySlots);
     }
     
+    /**
+     * Tarih aralığı için müsait slot'ları tek istekte getir
+     */
+    @GetMapping("/range")
+    @Operation(summary = "Tarih aralığı müsait slot'lar", 
+               description = "Belirtilen tarih aralığındaki (en fazla 60 gün) müsait saatleri tek seferde getirir")
+    public ResponseEntity<List<SlotResponse>> getAvailableSlotsForRange(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Hizmet ID'si") @RequestParam Long serviceId,
+            @Parameter(description = "Başlangıç tarihi (yyyy-MM-dd)") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Bitiş tarihi (yyyy-MM-dd, dahil)") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<SlotResponse> slots = slotService.getAvailableSlotsForRange(tenantId, serviceId, from, to);
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * En yakın müsait slot'ları getir
+     */
+    @GetMapping("/earliest")
+    @Operation(summary = "En yakın müsait slot'lar", 
+               description = "Belirtilen andan itibaren günleri sırayla tarayıp en yakın müsait saatleri getirir. " +
+                             "Birden fazla hizmet verilirse süreleri toplanır.")
+    public ResponseEntity<List<SlotResponse.TimeSlot>> findEarliestSlots(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Hizmet ID'leri (virgülle ayrılmış)") @RequestParam List<Long> serviceIds,
+            @Parameter(description = "Başlangıç anı (yyyy-MM-ddTHH:mm, varsayılan şimdi)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "En fazla slot sayısı (1-50)") @RequestParam(defaultValue = "5") int limit) {
+        try {
+            List<SlotResponse.TimeSlot> slots = slotService.findEarliestSlots(tenantId, serviceIds, from, limit);
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Slot müsaitlik kontrolü
      */
@@ -63,13 +126,39 @@ public class SlotController {
     public ResponseEntity<SlotCheckResponse> checkSlotAvailability(
             @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
             @Parameter(description = "Slot kontrolü bilgileri") @RequestBody SlotCheckRequest request) {
-        boolean isAvailable = slotService.isSlotAvailable(tenantId, request.getServiceId(), request.getStartTime());
+        boolean isAvailable = request.getServiceIds() != null && !request.getServiceIds().isEmpty()
+                ? slotService.isSlotAvailableForServices(tenantId, request.getServiceIds(), request.getStartTime())
+                : slotService.isSlotAvailable(tenantId, request.getServiceId(), request.getStartTime());
         SlotCheckResponse response = new SlotCheckResponse();
         response.setAvailable(isAvailable);
         response.setStartTime(request.getStartTime());
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Birden fazla aday saat için toplu müsaitlik kontrolü
+     */
+    @PostMapping("/check/batch")
+    @Operation(summary = "Toplu slot müsaitlik kontrolü", 
+               description = "En fazla 50 aday saati (farklı hizmetler/paketler için olabilir) tek istekte kontrol eder; sonuçlar istek sırasıyla döner")
+    public ResponseEntity<List<SlotCheckResponse>> checkSlotsAvailability(
+            @Parameter(description = "Kuaför ID'si") @PathVariable Long tenantId,
+            @Parameter(description = "Kontrol edilecek aday saatler") @RequestBody BatchSlotCheckRequest request) {
+        try {
+            List<Boolean> results = slotService.checkSlots(tenantId, request.getChecks());
+            List<SlotCheckResponse> responses = new ArrayList<>(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                SlotCheckResponse response = new SlotCheckResponse();
+                response.setAvailable(results.get(i));
+                response.setStartTime(request.getChecks().get(i).getStartTime());
+                responses.add(response);
+            }
+            return ResponseEntity.ok(responses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * WhatsApp bot için müsait saatleri metin formatında getir
      */
@@ -90,10 +179,13 @@ public class SlotController {
      */
     public static class SlotCheckRequest {
         private Long serviceId;
+        private List<Long> serviceIds; // Paket kontrolü için (verilirse serviceId yerine kullanılır)
         private LocalDateTime startTime;
 
         public Long getServiceId() { return serviceId; }
         public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+        public List<Long> getServiceIds() { return serviceIds; }
+        public void setServiceIds(List<Long> serviceIds) { this.serviceIds = serviceIds; }
         public LocalDateTime getStartTime() { return startTime; }
         public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
     }
@@ -1,5 +1,6 @@
 package com.example.barber.automation.controller;
 
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.dto.TenantDto;
 import com.example.barber.automation.dto.CreateTenantRequest;
 import com.example.barber.automation.entity.Tenant;
@@ -40,6 +41,22 @@ public class TenantController {
         return ResponseEntity.ok(tenants);
     }
     
+    /**
+     * Aktif kuaförleri sayfa sayfa listele
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Sayfalı kuaför listesi", 
+               description = "Aktif kuaförleri kayıt sırasıyla sayfa sayfa listeler; sonraki sayfa için dönen nextCursor gönderilir")
+    public ResponseEntity<CursorPage<TenantDto>> getTenantPage(
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)") @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(tenantService.findActivePage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * ID'ye göre kuaför getir
      */
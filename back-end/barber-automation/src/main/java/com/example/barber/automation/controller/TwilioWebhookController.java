@@ -1,7 +1,8 @@
 package com.example.barber.automation.controller;
 
-import com.example.barber.automation.dto.WhatsAppWebhookRequest;
-import com.example.barber.automation.service.WhatsAppBotService;
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
+import com.example.barber.automation.service.inbound.InboundMessageQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
@@ -10,11 +11,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
+import java.util.List;
 
 /**
  * Twilio WhatsApp Sandbox webhook endpoint.
  * Twilio, application/x-www-form-urlencoded olarak From / Body parametreleri gönderir.
+ * Mesaj kuyruğa yazılıp hemen yanıt dönülür; AI akışı arka planda çalışır.
  */
 @RestController
 @RequestMapping("/webhook/twilio")
@@ -23,10 +25,10 @@ public class TwilioWebhookController {
 
     private static final Logger logger = LoggerFactory.getLogger(TwilioWebhookController.class);
 
-    private final WhatsAppBotService whatsAppBotService;
+    private final InboundMessageQueue inboundMessageQueue;
 
-    public TwilioWebhookController(WhatsAppBotService whatsAppBotService) {
-        this.whatsAppBotService = whatsAppBotService;
+    public TwilioWebhookController(InboundMessageQueue inboundMessageQueue) {
+        this.inboundMessageQueue = inboundMessageQueue;
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
@@ -34,7 +36,8 @@ public class TwilioWebhookController {
     public ResponseEntity<String> receiveFromTwilio(
             @RequestParam(name = "From") String from,
             @RequestParam(name = "Body", required = false) String body,
-            @RequestParam(name = "To", required = false) String to
+            @RequestParam(name = "To", required = false) String to,
+            @RequestParam(name = "MessageSid", required = false) String messageSid
     ) {
         try {
             logger.info("Twilio webhook mesajı alındı - From: {}, To: {}, Body: {}", from, to, body);
@@ -43,45 +46,19 @@ public class TwilioWebhookController {
             String fromNumber = from != null ? from.replace("whatsapp:", "").replace("+", "") : "";
             String businessPhone = (to != null ? to : "").replace("whatsapp:", "").replace("+", "");
 
-            // WhatsAppWebhookRequest objesini minimal alanlarla oluştur
-            WhatsAppWebhookRequest webhookRequest = new WhatsAppWebhookRequest();
-            webhookRequest.setObject("whatsapp_business_account");
-
-            WhatsAppWebhookRequest.Message message = new WhatsAppWebhookRequest.Message();
-            message.setFrom(fromNumber);
-            message.setType("text");
-            WhatsAppWebhookRequest.Text text = new WhatsAppWebhookRequest.Text();
-            text.setBody(body == null ? "" : body);
-            message.setText(text);
-
-            WhatsAppWebhookRequest.Value value = new WhatsAppWebhookRequest.Value();
-            WhatsAppWebhookRequest.Metadata metadata = new WhatsAppWebhookRequest.Metadata();
-            if (businessPhone != null && !businessPhone.isBlank()) {
-                metadata.setDisplayPhoneNumber(businessPhone);
-            }
-            value.setMetadata(metadata);
-            value.setMessages(Arrays.asList(message));
-
-            WhatsAppWebhookRequest.Change change = new WhatsAppWebhookRequest.Change();
-            change.setField("messages");
-            change.setValue(value);
-
-            WhatsAppWebhookRequest.Entry entry = new WhatsAppWebhookRequest.Entry();
-            entry.setId("twilio");
-            entry.setChanges(Arrays.asList(change));
-
-            webhookRequest.setEntry(Arrays.asList(entry));
-
-            // Mevcut bot akışına ilet
-            whatsAppBotService.processIncomingMessage(webhookRequest);
+            inboundMessageQueue.enqueue(InboundMessage.Source.TWILIO_FORM, null, List.of(new InboundWebhookMessage(
+                    fromNumber, businessPhone.isBlank() ? null : businessPhone, InboundWebhookMessage.TYPE_TEXT,
+                    body == null ? "" : body, messageSid, null)));
 
             // Twilio'a 204 No Content dönelim; hiçbir metin dönmesin
             return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            // Twilio teslimatı daha sonra yeniden gönderir
+            logger.warn("Twilio webhook kuyruğa alınamadı: {}", e.getMessage());
+            return ResponseEntity.status(503).body("QUEUE_FULL");
         } catch (Exception e) {
             logger.error("Twilio webhook işlenirken hata oluştu", e);
             return ResponseEntity.status(500).body("PROCESSING_ERROR");
         }
     }
 }
-
-
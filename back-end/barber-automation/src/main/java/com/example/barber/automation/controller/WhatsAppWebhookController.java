@@ -1,8 +1,12 @@
 package com.example.barber.automation.controller;
 
-import com.example.barber.automation.dto.WhatsAppWebhookRequest;
-import com.example.barber.automation.service.WhatsAppBotService;
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
 import com.example.barber.automation.service.WhatsAppService;
+import com.example.barber.automation.service.inbound.InboundMessageQueue;
+import com.example.barber.automation.service.inbound.WebhookPayload;
+import com.example.barber.automation.service.inbound.WebhookPayloadParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,7 +17,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * WhatsApp Webhook Controller
@@ -26,19 +33,22 @@ public class WhatsAppWebhookController {
     private static final Logger logger = LoggerFactory.getLogger(WhatsAppWebhookController.class);
     
     private final WhatsAppService whatsAppService;
-    private final WhatsAppBotService whatsAppBotService;
-    private final com.example.barber.automation.service.conversation.ConversationOrchestrator conversationOrchestrator;
+    private final InboundMessageQueue inboundMessageQueue;
+    private final WebhookPayloadParser webhookPayloadParser;
+    private final ObjectMapper objectMapper;
     
     @Value("${whatsapp.api.webhook-verify-token}")
     private String webhookVerifyToken;
     
     @Autowired
     public WhatsAppWebhookController(WhatsAppService whatsAppService, 
-                                   WhatsAppBotService whatsAppBotService,
-                                   com.example.barber.automation.service.conversation.ConversationOrchestrator conversationOrchestrator) {
+                                   InboundMessageQueue inboundMessageQueue,
+                                   WebhookPayloadParser webhookPayloadParser,
+                                   ObjectMapper objectMapper) {
         this.whatsAppService = whatsAppService;
-        this.whatsAppBotService = whatsAppBotService;
-        this.conversationOrchestrator = conversationOrchestrator;
+        this.inboundMessageQueue = inboundMessageQueue;
+        this.webhookPayloadParser = webhookPayloadParser;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -59,13 +69,13 @@ public class WhatsAppWebhookController {
         
         try {
             // Mock webhook request oluştur (Twilio formatında)
-            String mockRawBody = String.format(
-                "{\"From\":\"%s\",\"Body\":\"%s\",\"To\":\"whatsapp:+14155238886\"}", 
-                phone, message
-            );
+            Map<String, String> mockBody = new LinkedHashMap<>();
+            mockBody.put("From", phone);
+            mockBody.put("Body", message);
+            mockBody.put("To", "whatsapp:+14155238886");
             
             // Ana webhook endpoint'ini kullan
-            return receiveMessage(mockRawBody, tenantId);
+            return receiveMessage(new ByteArrayInputStream(objectMapper.writeValueAsBytes(mockBody)), tenantId);
         } catch (Exception e) {
             logger.error("Mock mesaj işleme hatası: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("Hata: " + e.getMessage());
@@ -95,44 +105,43 @@ public class WhatsAppWebhookController {
     
     /**
      * WhatsApp mesajlarını alma (POST request)
+     * 
+     * Mesajlar doğrulanıp kuyruğa yazılır ve hemen yanıt dönülür; AI akışı ve yanıt gönderimi
+     * arka planda yapılır (yavaş AI yanıtı sağlayıcının zaman aşımına ve yeniden göndermesine yol açmaz).
+     * Gövde String'e çevrilmeden tek geçişte okunur (WebhookPayloadParser).
      */
     @PostMapping
-    @Operation(summary = "WhatsApp mesajları", description = "WhatsApp'tan gelen mesajları işler")
+    @Operation(summary = "WhatsApp mesajları", description = "WhatsApp'tan gelen mesajları işlenmek üzere kuyruğa alır")
     public ResponseEntity<String> receiveMessage(
-            @RequestBody String rawBody,
+            @Parameter(hidden = true) InputStream body,
             @RequestParam(value = "tenantId", defaultValue = "1") Long tenantId) {
         try {
-            logger.info("WhatsApp webhook raw body alındı: {}", rawBody);
+            WebhookPayload payload = webhookPayloadParser.parse(body);
             
-            // Raw body'yi parse et
-            if (rawBody.contains("whatsapp_business_account")) {
-                // WhatsApp Business API formatı
-                WhatsAppWebhookRequest webhookRequest = parseWhatsAppWebhook(rawBody);
-                if (webhookRequest.getEntry() != null) {
-                    for (WhatsAppWebhookRequest.Entry entry : webhookRequest.getEntry()) {
-                        processEntry(entry);
-                    }
+            if (payload.isWhatsAppBusiness()) {
+                // WhatsApp Business API formatı: teslimattaki tüm mesajlar tek seferde kuyruğa
+                // (metin olmayan ve geçersiz mesajları kuyruk eler)
+                logger.info("WhatsApp webhook alındı - Mesaj sayısı: {}", payload.getMessages().size());
+                for (InboundWebhookMessage message : payload.getMessages()) {
+                    logger.info("Gelen mesaj - From: {}, Type: {}, Text: {}",
+                            message.getFrom(), message.getType(), message.getText());
                 }
+                inboundMessageQueue.enqueue(InboundMessage.Source.META_CLOUD, null, payload.getMessages());
             } else {
                 // Twilio formatı - Orchestrator üzerinden AI akışı
                 logger.info("Twilio formatı tespit edildi, orchestrator akışına yönlendiriliyor");
-                try {
-                    com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                    com.fasterxml.jackson.databind.JsonNode json = mapper.readTree(rawBody);
-                    String from = json.get("From").asText().replace("whatsapp:", "").trim();
-                    String body = json.get("Body").asText();
-                    var aiResp = conversationOrchestrator.handleIncoming(from, tenantId, body);
-                    if (aiResp != null && aiResp.getReply() != null) {
-                        whatsAppService.sendMessage(from, aiResp.getReply(), tenantId);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Orchestrator başarısız, eski akışa düşülüyor: {}", e.getMessage());
-                    whatsAppBotService.processIncomingMessage(rawBody, tenantId);
-                }
+                inboundMessageQueue.enqueue(InboundMessage.Source.TWILIO_JSON, tenantId, payload.getMessages());
             }
             
             return ResponseEntity.ok("EVENT_RECEIVED");
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("WhatsApp webhook geçersiz: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("INVALID_PAYLOAD");
+        } catch (IllegalStateException e) {
+            // Sağlayıcı teslimatı daha sonra yeniden gönderir
+            logger.warn("WhatsApp webhook kuyruğa alınamadı: {}", e.getMessage());
+            return ResponseEntity.status(503).body("QUEUE_FULL");
         } catch (Exception e) {
             logger.error("WhatsApp webhook işlenirken hata oluştu", e);
             return ResponseEntity.status(500).body("PROCESSING_ERROR");
@@ -156,72 +165,4 @@ public class WhatsAppWebhookController {
             return ResponseEntity.status(500).body("Mesaj gönderilemedi: " + e.getMessage());
         }
     }
-    
-    // Private helper methods
-    
-    private WhatsAppWebhookRequest parseWhatsAppWebhook(String rawBody) {
-        try {
-            // JSON parse et
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            return mapper.readValue(rawBody, WhatsAppWebhookRequest.class);
-        } catch (Exception e) {
-            logger.error("WhatsApp webhook parse edilemedi", e);
-            return new WhatsAppWebhookRequest();
-        }
-    }
-    
-    private void processEntry(WhatsAppWebhookRequest.Entry entry) {
-        if (entry.getChanges() == null) return;
-        
-        for (WhatsAppWebhookRequest.Change change : entry.getChanges()) {
-            if ("messages".equals(change.getField())) {
-                processMessages(change.getValue());
-            }
-        }
-    }
-    
-    private void processMessages(WhatsAppWebhookRequest.Value value) {
-        if (value.getMessages() == null) return;
-        
-        String businessPhoneNumber = value.getMetadata().getDisplayPhoneNumber();
-        
-        for (WhatsAppWebhookRequest.Message message : value.getMessages()) {
-            processIncomingMessage(message, businessPhoneNumber);
-        }
-    }
-    
-    private void processIncomingMessage(WhatsAppWebhookRequest.Message message, String businessPhoneNumber) {
-        try {
-            String fromNumber = message.getFrom();
-            String messageText = message.getText() != null ? message.getText().getBody() : "";
-            String messageType = message.getType();
-            
-            logger.info("Gelen mesaj - From: {}, Type: {}, Text: {}", fromNumber, messageType, messageText);
-            
-            // Sadece text mesajlarını işle
-            if ("text".equals(messageType) && messageText != null && !messageText.trim().isEmpty()) {
-                // Bot servisine mesajı ilet - WhatsAppWebhookRequest objesi oluştur
-                WhatsAppWebhookRequest webhookRequest = new WhatsAppWebhookRequest();
-                webhookRequest.setObject("whatsapp_business_account");
-                
-                WhatsAppWebhookRequest.Entry entry = new WhatsAppWebhookRequest.Entry();
-                entry.setId("1");
-                
-                WhatsAppWebhookRequest.Change change = new WhatsAppWebhookRequest.Change();
-                change.setField("messages");
-                change.setValue(new WhatsAppWebhookRequest.Value());
-                change.getValue().setMessages(Arrays.asList(message));
-                change.getValue().setMetadata(new WhatsAppWebhookRequest.Metadata());
-                change.getValue().getMetadata().setDisplayPhoneNumber(businessPhoneNumber);
-                
-                entry.setChanges(Arrays.asList(change));
-                webhookRequest.setEntry(Arrays.asList(entry));
-                
-                whatsAppBotService.processIncomingMessage(webhookRequest);
-            }
-            
-        } catch (Exception e) {
-            logger.error("Gelen mesaj işlenirken hata oluştu", e);
-        }
-    }
 }
@@ -0,0 +1,37 @@
+package com.example.barber.automation.dto;
+
+import java.util.List;
+
+/**
+ * Randevu değişiklik akışı yanıtı
+ *
+ * Sonraki istekte nextToken "since" olarak aynen gönderilir; değişiklik yoksa gönderilen token geri döner.
+ * İptal edilen randevular CANCELLED durumuyla gelir (randevular veritabanından silinmez).
+ */
+public class AppointmentChangesResponse {
+
+    private final List<AppointmentDto> changes;
+    private final String nextToken;
+    private final boolean hasMore;
+
+    public AppointmentChangesResponse(List<AppointmentDto> changes, String nextToken, boolean hasMore) {
+        this.changes = changes;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<AppointmentDto> getChanges() {
+        return changes;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * Token'dan sonra henüz dönmeyen değişiklik var mı (varsa istemci hemen tekrar ister)
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.barber.automation.dto;
+
+import com.example.barber.automation.entity.Appointment;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Canlı güncelleme akışında gönderilen kısa randevu değişikliği (projection)
+ *
+ * Müşteri/hizmet detayları gönderilmez; istemci bilmediği bir ID görürse randevuyu ayrıca ister.
+ * token, değişiklik akışında (/appointments/changes) kaldığı yerden devam etmek için kullanılır.
+ */
+public class AppointmentDelta {
+    
+    private final Long id;
+    private final Appointment.AppointmentStatus status;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Long chairId;
+    private final Long customerId;
+    private final Long serviceId;
+    private final Long version;
+    private final Long changeSeq;
+    private String token;
+    
+    public AppointmentDelta(Long id, Appointment.AppointmentStatus status, LocalDateTime startTime,
+                            LocalDateTime endTime, Long chairId, Long customerId, Long serviceId, Long version,
+                            Long changeSeq) {
+        this.id = id;
+        this.status = status;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.chairId = chairId;
+        this.customerId = customerId;
+        this.serviceId = serviceId;
+        this.version = version;
+        this.changeSeq = changeSeq;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Appointment.AppointmentStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+    
+    public Long getChairId() {
+        return chairId;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public Long getServiceId() {
+        return serviceId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    @JsonIgnore
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public String getToken() {
+        return token;
+    }
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+}
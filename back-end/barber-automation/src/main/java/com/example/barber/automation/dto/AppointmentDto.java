@@ -32,6 +32,9 @@ public class AppointmentDto {
     private Long tenantId;
     private Long customerId;
     private Long serviceId;
+    private Long chairId; // Koltuk tanımlanmamışsa veya atanamadıysa boş
+    private Long version; // İyimser kilit sürümü (toplu durum değişikliğinde gönderilir)
+    private Long changeSeq; // Değişiklik akışı sırası (sadece liste sorgularında dolu)
     
     // Related entities as DTOs (for detailed view)
     private CustomerDto customer;
@@ -48,6 +51,45 @@ public class AppointmentDto {
         this.status = status;
     }
     
+    /**
+     * Liste sorguları için projection constructor'ı (AppointmentRepository#LIST_SELECT)
+     * 
+     * Randevu, müşteri ve hizmet kolonları tek sorguda okunur; entity yüklenmez.
+     */
+    public AppointmentDto(Long id, LocalDateTime startTime, LocalDateTime endTime,
+                          Appointment.AppointmentStatus status, String notes, BigDecimal totalPrice, String currency,
+                          Boolean reminderSent, LocalDateTime reminderSentAt, LocalDateTime createdAt,
+                          LocalDateTime updatedAt, Long version, Long changeSeq, Long tenantId, Long chairId,
+                          Long customerId, String customerName, String customerPhoneNumber, String customerEmail,
+                          Long serviceId, String serviceName, String serviceDescription, Integer serviceDurationMinutes,
+                          BigDecimal servicePrice, String serviceCurrency) {
+        this(id, startTime, endTime, status);
+        this.notes = notes;
+        this.totalPrice = totalPrice;
+        this.currency = currency;
+        this.reminderSent = reminderSent;
+        this.reminderSentAt = reminderSentAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.changeSeq = changeSeq;
+        this.tenantId = tenantId;
+        this.chairId = chairId;
+        
+        this.customerId = customerId;
+        this.customer = new CustomerDto(customerId, customerName, customerPhoneNumber);
+        this.customer.setEmail(customerEmail);
+        
+        this.serviceId = serviceId;
+        this.service = new ServiceDto();
+        this.service.setId(serviceId);
+        this.service.setName(serviceName);
+        this.service.setDescription(serviceDescription);
+        this.service.setDurationMinutes(serviceDurationMinutes);
+        this.service.setPrice(servicePrice);
+        this.service.setCurrency(serviceCurrency);
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -161,6 +203,30 @@ public class AppointmentDto {
         this.serviceId = serviceId;
     }
     
+    public Long getChairId() {
+        return chairId;
+    }
+    
+    public void setChairId(Long chairId) {
+        this.chairId = chairId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+    
     public CustomerDto getCustomer() {
         return customer;
     }
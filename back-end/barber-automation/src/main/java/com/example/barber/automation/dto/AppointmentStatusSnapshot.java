@@ -0,0 +1,50 @@
+package com.example.barber.automation.dto;
+
+import com.example.barber.automation.entity.Appointment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Randevunun durum, sürüm ve başlangıç bilgisi (entity yüklemeden toplu durum değişikliği için projection)
+ */
+public class AppointmentStatusSnapshot {
+    
+    private final Long id;
+    private final Long tenantId;
+    private final Appointment.AppointmentStatus status;
+    private final Long version;
+    private final LocalDateTime startTime;
+    
+    public AppointmentStatusSnapshot(Long id, Appointment.AppointmentStatus status, Long version, LocalDateTime startTime) {
+        this(id, null, status, version, startTime);
+    }
+    
+    public AppointmentStatusSnapshot(Long id, Long tenantId, Appointment.AppointmentStatus status, Long version,
+                                     LocalDateTime startTime) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.status = status;
+        this.version = version;
+        this.startTime = startTime;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getTenantId() {
+        return tenantId;
+    }
+    
+    public Appointment.AppointmentStatus getStatus() {
+        return status;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.barber.automation.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Randevunun sadece zaman aralığı (entity yüklemeden müsaitlik hesabı için projection)
+ */
+public class AppointmentTimeRange {
+    
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    
+    public AppointmentTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.barber.automation.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Konum bazlı (birden fazla kuaför) müsaitlik araması için response DTO
+ */
+public class AvailabilitySearchResponse {
+
+    private List<Option> options;
+    private int searchedTenants;
+    private int respondedTenants;
+    private boolean partial;
+
+    // Constructors
+    public AvailabilitySearchResponse() {}
+
+    public AvailabilitySearchResponse(List<Option> options, int searchedTenants, int respondedTenants) {
+        this.options = options;
+        this.searchedTenants = searchedTenants;
+        this.respondedTenants = respondedTenants;
+        this.partial = respondedTenants < searchedTenants;
+    }
+
+    // Getters and Setters
+    public List<Option> getOptions() {
+        return options;
+    }
+
+    public void setOptions(List<Option> options) {
+        this.options = options;
+    }
+
+    public int getSearchedTenants() {
+        return searchedTenants;
+    }
+
+    public void setSearchedTenants(int searchedTenants) {
+        this.searchedTenants = searchedTenants;
+    }
+
+    public int getRespondedTenants() {
+        return respondedTenants;
+    }
+
+    public void setRespondedTenants(int respondedTenants) {
+        this.respondedTenants = respondedTenants;
+    }
+
+    /**
+     * Süre sınırında yanıt vermeyen kuaför varsa true (sonuçlar eksik olabilir)
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    /**
+     * Kuaför + saat seçeneği için inner class
+     */
+    public static class Option {
+        private Long tenantId;
+        private String tenantName;
+        private String district;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+
+        public Option() {}
+
+        public Option(Long tenantId, String tenantName, String district, LocalDateTime startTime, LocalDateTime endTime) {
+            this.tenantId = tenantId;
+            this.tenantName = tenantName;
+            this.district = district;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        public Long getTenantId() {
+            return tenantId;
+        }
+
+        public void setTenantId(Long tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        public String getTenantName() {
+            return tenantName;
+        }
+
+        public void setTenantName(String tenantName) {
+            this.tenantName = tenantName;
+        }
+
+        public String getDistrict() {
+            return district;
+        }
+
+        public void setDistrict(String district) {
+            this.district = district;
+        }
+
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(LocalDateTime startTime) {
+            this.startTime = startTime;
+        }
+
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        public void setEndTime(LocalDateTime endTime) {
+            this.endTime = endTime;
+        }
+    }
+}
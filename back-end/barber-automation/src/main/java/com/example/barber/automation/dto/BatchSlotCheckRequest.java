@@ -0,0 +1,73 @@
+package com.example.barber.automation.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Toplu slot müsaitlik kontrolü request DTO
+ */
+public class BatchSlotCheckRequest {
+
+    private List<Item> checks;
+
+    // Constructors
+    public BatchSlotCheckRequest() {}
+
+    public BatchSlotCheckRequest(List<Item> checks) {
+        this.checks = checks;
+    }
+
+    // Getters and Setters
+    public List<Item> getChecks() {
+        return checks;
+    }
+
+    public void setChecks(List<Item> checks) {
+        this.checks = checks;
+    }
+
+    /**
+     * Tek bir aday saat için inner class
+     */
+    public static class Item {
+        private Long serviceId;
+        private List<Long> serviceIds; // Paket kontrolü için (verilirse serviceId yerine kullanılır)
+        private LocalDateTime startTime;
+
+        public Item() {}
+
+        public Item(Long serviceId, LocalDateTime startTime) {
+            this.serviceId = serviceId;
+            this.startTime = startTime;
+        }
+
+        public Item(List<Long> serviceIds, LocalDateTime startTime) {
+            this.serviceIds = serviceIds;
+            this.startTime = startTime;
+        }
+
+        public Long getServiceId() {
+            return serviceId;
+        }
+
+        public void setServiceId(Long serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        public List<Long> getServiceIds() {
+            return serviceIds;
+        }
+
+        public void setServiceIds(List<Long> serviceIds) {
+            this.serviceIds = serviceIds;
+        }
+
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(LocalDateTime startTime) {
+            this.startTime = startTime;
+        }
+    }
+}
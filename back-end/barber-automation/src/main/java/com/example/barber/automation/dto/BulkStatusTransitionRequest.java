@@ -0,0 +1,91 @@
+package com.example.barber.automation.dto;
+
+import com.example.barber.automation.entity.Appointment;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Toplu randevu durum değişikliği request DTO
+ * 
+ * Randevular ya tek tek (ID + beklenen sürüm) ya da tarih ile (o günün uygun tüm randevuları) seçilir.
+ */
+public class BulkStatusTransitionRequest {
+    
+    @NotNull(message = "Hedef durum boş olamaz")
+    private Appointment.AppointmentStatus targetStatus;
+    
+    private List<Item> items;
+    
+    private LocalDate date; // Verilirse o günün, hedef duruma geçebilen tüm randevuları
+    
+    // Constructors
+    public BulkStatusTransitionRequest() {}
+    
+    public BulkStatusTransitionRequest(Appointment.AppointmentStatus targetStatus, List<Item> items) {
+        this.targetStatus = targetStatus;
+        this.items = items;
+    }
+    
+    public BulkStatusTransitionRequest(Appointment.AppointmentStatus targetStatus, LocalDate date) {
+        this.targetStatus = targetStatus;
+        this.date = date;
+    }
+    
+    // Getters and Setters
+    public Appointment.AppointmentStatus getTargetStatus() {
+        return targetStatus;
+    }
+    
+    public void setTargetStatus(Appointment.AppointmentStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+    
+    public List<Item> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    /**
+     * Tek bir randevu için inner class
+     */
+    public static class Item {
+        private Long id;
+        private Long version; // Panelin gördüğü sürüm; boşsa güncel sürüm kullanılır
+        
+        public Item() {}
+        
+        public Item(Long id, Long version) {
+            this.id = id;
+            this.version = version;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public Long getVersion() {
+            return version;
+        }
+        
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+    }
+}
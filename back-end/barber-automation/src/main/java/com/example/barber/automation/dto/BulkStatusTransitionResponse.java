@@ -0,0 +1,99 @@
+package com.example.barber.automation.dto;
+
+import com.example.barber.automation.entity.Appointment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Toplu randevu durum değişikliği sonucu
+ * 
+ * Güncellenen randevular ve güncellenemeyenler (nedeniyle birlikte) ayrı listelenir.
+ */
+public class BulkStatusTransitionResponse {
+    
+    public enum ConflictReason {
+        NOT_FOUND,          // Randevu yok veya başka kuaföre ait
+        INVALID_STATUS,     // Mevcut durumdan hedef duruma geçilemez
+        VERSION_MISMATCH    // Randevu, gönderilen sürümden sonra değiştirilmiş
+    }
+    
+    private List<Long> updatedIds = new ArrayList<>();
+    private List<Conflict> conflicts = new ArrayList<>();
+    
+    // Constructors
+    public BulkStatusTransitionResponse() {}
+    
+    public BulkStatusTransitionResponse(List<Long> updatedIds, List<Conflict> conflicts) {
+        this.updatedIds = updatedIds;
+        this.conflicts = conflicts;
+    }
+    
+    // Getters and Setters
+    public List<Long> getUpdatedIds() {
+        return updatedIds;
+    }
+    
+    public void setUpdatedIds(List<Long> updatedIds) {
+        this.updatedIds = updatedIds;
+    }
+    
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+    
+    public void setConflicts(List<Conflict> conflicts) {
+        this.conflicts = conflicts;
+    }
+    
+    /**
+     * Güncellenemeyen randevu için inner class
+     */
+    public static class Conflict {
+        private Long id;
+        private ConflictReason reason;
+        private Appointment.AppointmentStatus currentStatus; // Bilinmiyorsa boş
+        private Long currentVersion; // Bilinmiyorsa boş
+        
+        public Conflict() {}
+        
+        public Conflict(Long id, ConflictReason reason, Appointment.AppointmentStatus currentStatus, Long currentVersion) {
+            this.id = id;
+            this.reason = reason;
+            this.currentStatus = currentStatus;
+            this.currentVersion = currentVersion;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public ConflictReason getReason() {
+            return reason;
+        }
+        
+        public void setReason(ConflictReason reason) {
+            this.reason = reason;
+        }
+        
+        public Appointment.AppointmentStatus getCurrentStatus() {
+            return currentStatus;
+        }
+        
+        public void setCurrentStatus(Appointment.AppointmentStatus currentStatus) {
+            this.currentStatus = currentStatus;
+        }
+        
+        public Long getCurrentVersion() {
+            return currentVersion;
+        }
+        
+        public void setCurrentVersion(Long currentVersion) {
+            this.currentVersion = currentVersion;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.barber.automation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Chair (Koltuk) DTO
+ */
+public class ChairDto {
+    
+    private Long id;
+    
+    @NotBlank(message = "Koltuk adı boş olamaz")
+    @Size(max = 100, message = "Koltuk adı en fazla 100 karakter olabilir")
+    private String name;
+    
+    private Boolean active;
+    private Long tenantId;
+    
+    // Constructors
+    public ChairDto() {}
+    
+    public ChairDto(String name) {
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+    
+    public Long getTenantId() {
+        return tenantId;
+    }
+    
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+}
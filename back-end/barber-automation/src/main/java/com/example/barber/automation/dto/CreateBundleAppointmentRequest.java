@@ -0,0 +1,85 @@
+package com.example.barber.automation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Paket randevu (birden fazla hizmet, arka arkaya) oluşturma request DTO
+ */
+public class CreateBundleAppointmentRequest {
+
+    private Long customerId;
+
+    @NotEmpty(message = "En az bir hizmet seçilmeli")
+    private List<Long> serviceIds;
+
+    @NotNull(message = "Başlangıç zamanı boş olamaz")
+    private LocalDateTime startTime;
+
+    private String notes;
+
+    // WhatsApp entegrasyonu için
+    private String customerName;
+    private String customerPhone;
+
+    // Constructors
+    public CreateBundleAppointmentRequest() {}
+
+    public CreateBundleAppointmentRequest(Long customerId, List<Long> serviceIds, LocalDateTime startTime) {
+        this.customerId = customerId;
+        this.serviceIds = serviceIds;
+        this.startTime = startTime;
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public List<Long> getServiceIds() {
+        return serviceIds;
+    }
+
+    public void setServiceIds(List<Long> serviceIds) {
+        this.serviceIds = serviceIds;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public void setCustomerPhone(String customerPhone) {
+        this.customerPhone = customerPhone;
+    }
+}
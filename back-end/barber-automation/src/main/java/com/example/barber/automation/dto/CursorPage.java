@@ -0,0 +1,37 @@
+package com.example.barber.automation.dto;
+
+import java.util.List;
+
+/**
+ * İmleç (keyset) tabanlı sayfa
+ * 
+ * Sonraki sayfa için nextCursor aynen geri gönderilir; son sayfada boştur.
+ */
+public class CursorPage<T> {
+    
+    private final List<T> items;
+    private final String nextCursor;
+    private final int limit;
+    
+    public CursorPage(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
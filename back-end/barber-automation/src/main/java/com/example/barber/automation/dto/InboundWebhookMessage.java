@@ -0,0 +1,81 @@
+package com.example.barber.automation.dto;
+
+/**
+ * Webhook teslimatındaki tek bir mesajın işleme için gereken alanları
+ *
+ * Teslimat (entry → change → message) bir kez dolaşılıp her mesaj için bir kayıt üretilir;
+ * kuyruğa bu kayıtlar toplu yazılır.
+ */
+public final class InboundWebhookMessage {
+    
+    public static final String TYPE_TEXT = "text";
+    
+    private final String from;
+    private final String to;
+    private final String type;
+    private final String text;
+    private final String messageId;
+    private final Long timestamp;
+    
+    public InboundWebhookMessage(String from, String to, String type, String text, String messageId, Long timestamp) {
+        this.from = from;
+        this.to = to;
+        this.type = type;
+        this.text = text;
+        this.messageId = messageId;
+        this.timestamp = timestamp;
+    }
+    
+    /**
+     * Sağlayıcının epoch saniye zaman damgası; sayı değilse null
+     */
+    public static Long parseTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(timestamp.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * İşlenecek metin mesajı mı (göndereni olmayan ve boş metinler hariç)
+     */
+    public boolean isProcessableText() {
+        return TYPE_TEXT.equals(type) && from != null && !from.isBlank() && text != null && !text.trim().isEmpty();
+    }
+    
+    public String getFrom() {
+        return from;
+    }
+    
+    public String getTo() {
+        return to;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    /**
+     * Sağlayıcının mesaj ID'si (Meta message id / Twilio MessageSid)
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+    
+    public Long getTimestamp() {
+        return timestamp;
+    }
+    
+    @Override
+    public String toString() {
+        return "InboundWebhookMessage{from=" + from + ", type=" + type + ", messageId=" + messageId + '}';
+    }
+}
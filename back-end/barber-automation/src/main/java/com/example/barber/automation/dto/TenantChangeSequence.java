@@ -0,0 +1,23 @@
+package com.example.barber.automation.dto;
+
+/**
+ * Kuaförün son randevu değişikliği sırası (projection)
+ */
+public class TenantChangeSequence {
+    
+    private final Long tenantId;
+    private final Long sequence;
+    
+    public TenantChangeSequence(Long tenantId, Long sequence) {
+        this.tenantId = tenantId;
+        this.sequence = sequence;
+    }
+    
+    public Long getTenantId() {
+        return tenantId;
+    }
+    
+    public Long getSequence() {
+        return sequence;
+    }
+}
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
  * Randevu bilgileri
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // Tarih sıralı listeler ve keyset sayfalama (startTime, id)
+        @Index(name = "idx_appointments_tenant_start_id", columnList = "tenant_id, start_time, id"),
+        // Değişiklik akışı (changeSeq, id)
+        @Index(name = "idx_appointments_tenant_change_seq", columnList = "tenant_id, change_seq, id")
+})
 public class Appointment {
     
     @Id
@@ -54,6 +59,21 @@ public class Appointment {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    // İyimser kilit: panel ve zamanlanmış görevlerin eşzamanlı güncellemeleri birbirinin üzerine yazmaz
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
+    // Değişiklik akışı sırası: kuaför bazında artan, son değişikliğin sırası (AppointmentChangeSequencer yazar)
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long changeSeq;
+    
+    // Sıra bekleyen değişiklik: AppointmentChangeLog açar, AppointmentChangeSequencer sıra verip kapatır
+    @Column(name = "change_pending", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "boolean default false")
+    private Boolean changePending;
+    
     // Many-to-One relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id", nullable = false)
@@ -67,6 +87,11 @@ public class Appointment {
     @JoinColumn(name = "service_id", nullable = false)
     private Service service;
     
+    // Randevuya atanan koltuk (koltuk tanımlanmamış kuaförlerde boş)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chair_id")
+    private Chair chair;
+    
     public enum AppointmentStatus {
         PENDING,     // Beklemede
         CONFIRMED,   // Onaylandı
@@ -178,6 +203,22 @@ public class Appointment {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public Boolean getChangePending() {
+        return changePending;
+    }
+    
     public Tenant getTenant() {
         return tenant;
     }
@@ -202,6 +243,14 @@ public class Appointment {
         this.service = service;
     }
     
+    public Chair getChair() {
+        return chair;
+    }
+    
+    public void setChair(Chair chair) {
+        this.chair = chair;
+    }
+    
     /**
      * Randevunun tamamlanma durumunu kontrol eder
      */
@@ -0,0 +1,236 @@
+package com.example.barber.automation.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Randevu yaşam döngüsü olayları için outbox kaydı
+ *
+ * Randevu değişikliğiyle aynı transaction içinde yazılır; arka plandaki relay (OutboxRelay)
+ * bekleyen kayıtları sırayla abonelere iletir. Randevu ve kuaför yalnızca ID olarak tutulur
+ * (outbox satırları randevu silinmesini engellemez).
+ */
+@Entity
+@Table(name = "appointment_outbox", indexes = {
+        // Relay kuyruğu: hazır kayıtlar ID sırasıyla okunur
+        @Index(name = "idx_appointment_outbox_status_available_id", columnList = "status, available_at, id")
+})
+public class AppointmentOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventType eventType;
+    
+    @NotNull
+    @Column(nullable = false)
+    private Long tenantId;
+    
+    @NotNull
+    @Column(nullable = false)
+    private Long appointmentId;
+    
+    @Column
+    private LocalDateTime startTime;
+    
+    @Column
+    private LocalDateTime previousStartTime; // Sadece RESCHEDULED için
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(nullable = false)
+    private LocalDateTime availableAt; // Bu zamandan önce relay tarafından alınmaz (kiralama/tekrar deneme)
+    
+    @Column
+    private LocalDateTime publishedAt;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public enum EventType {
+        CREATED,      // Randevu oluşturuldu
+        CONFIRMED,    // Onaylandı
+        RESCHEDULED,  // Saati değişti
+        CANCELLED,    // İptal edildi
+        COMPLETED,    // Tamamlandı
+        NO_SHOW;      // Gelmedi
+        
+        /**
+         * Randevunun yeni durumuna karşılık gelen olay tipi
+         */
+        public static EventType forStatus(Appointment.AppointmentStatus status) {
+            switch (status) {
+                case PENDING:
+                    return CREATED;
+                case CONFIRMED:
+                    return CONFIRMED;
+                case CANCELLED:
+                    return CANCELLED;
+                case COMPLETED:
+                    return COMPLETED;
+                case NO_SHOW:
+                    return NO_SHOW;
+                default:
+                    throw new IllegalArgumentException("Olay tipi yok: " + status);
+            }
+        }
+    }
+    
+    public enum Status {
+        PENDING,    // İletilmeyi bekliyor
+        PUBLISHED,  // Tüm abonelere iletildi
+        FAILED      // Deneme sınırı aşıldı
+    }
+    
+    // Constructors
+    public AppointmentOutboxEvent() {}
+    
+    public AppointmentOutboxEvent(EventType eventType, Long tenantId, Long appointmentId,
+                                  LocalDateTime startTime, LocalDateTime availableAt) {
+        this.eventType = eventType;
+        this.tenantId = tenantId;
+        this.appointmentId = appointmentId;
+        this.startTime = startTime;
+        this.availableAt = availableAt;
+    }
+    
+    // Business methods
+    public void markPublished(LocalDateTime now) {
+        this.status = Status.PUBLISHED;
+        this.publishedAt = now;
+        this.lastError = null;
+    }
+    
+    public void markFailed(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.availableAt = retryAt;
+        if (attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+        }
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public EventType getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+    
+    public Long getTenantId() {
+        return tenantId;
+    }
+    
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+    
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalDateTime getPreviousStartTime() {
+        return previousStartTime;
+    }
+    
+    public void setPreviousStartTime(LocalDateTime previousStartTime) {
+        this.previousStartTime = previousStartTime;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+    
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "AppointmentOutboxEvent{" +
+                "id=" + id +
+                ", eventType=" + eventType +
+                ", tenantId=" + tenantId +
+                ", appointmentId=" + appointmentId +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
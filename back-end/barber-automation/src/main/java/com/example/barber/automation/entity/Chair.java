@@ -0,0 +1,111 @@
+package com.example.barber.automation.entity;
+
+import com.example.barber.automation.service.availability.ScheduleChangeListener;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kuaför koltuğu / çalışanı (aynı anda tek randevu alabilen kaynak)
+ *
+ * Kuaförün aktif koltuk sayısı aynı anda alınabilecek randevu sayısını (kapasite) belirler.
+ * Hiç koltuk tanımlanmamış kuaför tek kaynaklı kabul edilir.
+ */
+@Entity
+@Table(name = "chairs")
+@EntityListeners(ScheduleChangeListener.class)
+public class Chair {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Koltuk adı boş olamaz")
+    @Column(nullable = false, length = 100)
+    private String name; // Ör. "Koltuk 1", "Ahmet Usta"
+    
+    @Column(nullable = false)
+    private Boolean active = true;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Many-to-One relationship with Tenant
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+    
+    // Constructors
+    public Chair() {}
+    
+    public Chair(String name, Tenant tenant) {
+        this.name = name;
+        this.tenant = tenant;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Tenant getTenant() {
+        return tenant;
+    }
+    
+    public void setTenant(Tenant tenant) {
+        this.tenant = tenant;
+    }
+    
+    @Override
+    public String toString() {
+        return "Chair{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", active=" + active +
+                '}';
+    }
+}
@@ -14,7 +14,10 @@ import java.util.List;
  * Müşteri bilgileri
  */
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        // Keyset sayfalama (createdAt, id)
+        @Index(name = "idx_customers_tenant_created_id", columnList = "tenant_id, created_at, id")
+})
 public class Customer {
     
     @Id
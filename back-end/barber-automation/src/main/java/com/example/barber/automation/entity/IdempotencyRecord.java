@@ -0,0 +1,190 @@
+package com.example.barber.automation.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key ile gelen oluşturma isteklerinin kaydı
+ *
+ * Aynı kapsam (ör. kuaförün randevuları) ve anahtarla tekrar gelen istekte işlem yeniden
+ * çalıştırılmaz; saklanan yanıt döner. İşleniyor kaydı kilit süresi (lockedUntil) boyunca tekrarları
+ * engeller; yanıt saklanmadan süre geçerse yeni istek kaydı devralır. Kayıtlar TTL sonunda silinir
+ * (bkz. IdempotencyService).
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_scope_key", columnNames = {"scope", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    @Column(nullable = false, length = 100)
+    private String scope; // Ör. appointments:1, customers:1
+    
+    @NotBlank
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+    
+    @NotBlank
+    @Column(nullable = false, length = 64)
+    private String requestHash; // İstek gövdesinin SHA-256 özeti (aynı anahtarla farklı istek tespiti)
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.IN_PROGRESS;
+    
+    @Column
+    private Integer responseStatus;
+    
+    @Column(columnDefinition = "TEXT")
+    private String responseBody; // JSON
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column
+    private LocalDateTime completedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column
+    private LocalDateTime lockedUntil; // İşleniyor kaydının kilit sonu, tamamlanınca null
+    
+    public enum Status {
+        IN_PROGRESS,  // İlk istek işleniyor
+        COMPLETED     // Yanıt saklandı
+    }
+    
+    // Constructors
+    public IdempotencyRecord() {}
+    
+    public IdempotencyRecord(String scope, String idempotencyKey, String requestHash,
+                             LocalDateTime createdAt, LocalDateTime lockedUntil, LocalDateTime expiresAt) {
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.createdAt = createdAt;
+        this.lockedUntil = lockedUntil;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Business methods
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+    
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+    
+    /**
+     * İşleniyor kaydının kilit süresi geçti mi (ilk istek yanıt saklamadan sonlanmış sayılır)
+     */
+    public boolean isLockExpired(LocalDateTime now) {
+        return status == Status.IN_PROGRESS && lockedUntil != null && !lockedUntil.isAfter(now);
+    }
+    
+    public void complete(int responseStatus, String responseBody, LocalDateTime now) {
+        this.status = Status.COMPLETED;
+        this.responseStatus = responseStatus;
+        this.responseBody = responseBody;
+        this.completedAt = now;
+        this.lockedUntil = null;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getRequestHash() {
+        return requestHash;
+    }
+    
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+    
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+    
+    public String getResponseBody() {
+        return responseBody;
+    }
+    
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+    
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.barber.automation.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Webhook'tan gelen ve işlenmeyi bekleyen müşteri mesajı (kalıcı gelen kutusu)
+ *
+ * Webhook isteği mesajı bu tabloya yazıp hemen yanıt döner; AI agent çağrısı ve yanıt gönderimi
+ * arka plandaki işçiler (InboundMessageWorker) tarafından yapılır. Uygulama kapansa da kayıt kaybolmaz.
+ * Satırlar toplu olarak JDBC ile eklenir (InboundMessageRepositoryImpl); kolon adları orada da kullanılır.
+ */
+@Entity
+@Table(name = "inbound_messages",
+        // Sağlayıcının yeniden gönderdiği mesaj ikinci kez yazılmaz (ID'siz mesajlar kısıtlanmaz)
+        uniqueConstraints = @UniqueConstraint(name = "uk_inbound_messages_source_provider_message_id",
+                columnNames = {"source", "provider_message_id"}),
+        indexes = {
+                // İşçi kuyruğu: hazır kayıtlar ID sırasıyla okunur
+                @Index(name = "idx_inbound_messages_status_available_id", columnList = "status, available_at, id"),
+                // Konuşma sırası: konuşmanın bekleyen önceki mesajları
+                @Index(name = "idx_inbound_messages_conversation_id", columnList = "conversation_key, id")
+        })
+public class InboundMessage {
+    
+    // Kolon sınırları; kuyruğa yazılmadan önce uygulanır (InboundMessageQueue)
+    public static final int MAX_PHONE_LENGTH = 30;
+    public static final int MAX_TEXT_LENGTH = 4096;
+    public static final int MAX_PROVIDER_MESSAGE_ID_LENGTH = 100;
+    public static final int MAX_CONVERSATION_KEY_LENGTH = 64;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Source source;
+    
+    @Column
+    private Long tenantId; // Kaynak belirlemiyorsa kuyruğa yazılırken varsayılan kuaför (yoksa null)
+    
+    @NotNull
+    @Column(nullable = false, length = MAX_PHONE_LENGTH)
+    private String fromNumber;
+    
+    @Column(length = MAX_PHONE_LENGTH)
+    private String toNumber;
+    
+    @NotNull
+    @Column(nullable = false, length = MAX_TEXT_LENGTH)
+    private String text;
+    
+    @Column(length = MAX_PROVIDER_MESSAGE_ID_LENGTH)
+    private String providerMessageId; // Meta message id / Twilio MessageSid
+    
+    @NotNull
+    @Column(nullable = false, length = MAX_CONVERSATION_KEY_LENGTH)
+    private String conversationKey; // Sıra anahtarı, bkz. conversationKey(String, Long)
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(nullable = false)
+    private LocalDateTime availableAt; // Bu zamandan önce işçiler tarafından alınmaz (kiralama/tekrar deneme)
+    
+    @NotNull
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+    
+    @Column
+    private LocalDateTime processedAt;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    public enum Source {
+        META_CLOUD,   // WhatsApp Business (Meta) webhook
+        TWILIO_FORM,  // Twilio webhook (form)
+        TWILIO_JSON   // Twilio formatında JSON (orchestrator akışı)
+    }
+    
+    public enum Status {
+        PENDING,    // İşlenmeyi bekliyor
+        PROCESSED,  // İşlendi
+        FAILED      // Deneme sınırı aşıldı
+    }
+    
+    // Constructors
+    public InboundMessage() {}
+    
+    public InboundMessage(Source source, Long tenantId, String fromNumber, String toNumber, String text,
+                          String providerMessageId, LocalDateTime receivedAt) {
+        this.source = source;
+        this.tenantId = tenantId;
+        this.fromNumber = fromNumber;
+        this.toNumber = toNumber;
+        this.text = text;
+        this.providerMessageId = providerMessageId;
+        this.conversationKey = conversationKey(fromNumber, tenantId);
+        this.receivedAt = receivedAt;
+        this.availableAt = receivedAt;
+    }
+    
+    /**
+     * Konuşma anahtarı: müşteri telefonu + kuaför (kuaförü belirlenemeyen mesajlarda "default")
+     *
+     * Telefon, kaynağa göre değişen "whatsapp:" ve "+" önekleri atılarak karşılaştırılır; böylece aynı
+     * müşterinin Meta ve Twilio'dan gelen mesajları aynı konuşmada sıralanır.
+     */
+    public static String conversationKey(String fromNumber, Long tenantId) {
+        String phone = fromNumber.replace("whatsapp:", "").trim();
+        if (phone.startsWith("+")) {
+            phone = phone.substring(1);
+        }
+        return phone + "_" + (tenantId != null ? tenantId : "default");
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Source getSource() {
+        return source;
+    }
+    
+    public void setSource(Source source) {
+        this.source = source;
+    }
+    
+    public Long getTenantId() {
+        return tenantId;
+    }
+    
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+    
+    public String getFromNumber() {
+        return fromNumber;
+    }
+    
+    public void setFromNumber(String fromNumber) {
+        this.fromNumber = fromNumber;
+    }
+    
+    public String getToNumber() {
+        return toNumber;
+    }
+    
+    public void setToNumber(String toNumber) {
+        this.toNumber = toNumber;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public void setText(String text) {
+        this.text = text;
+    }
+    
+    public String getProviderMessageId() {
+        return providerMessageId;
+    }
+    
+    public void setProviderMessageId(String providerMessageId) {
+        this.providerMessageId = providerMessageId;
+    }
+    
+    public String getConversationKey() {
+        return conversationKey;
+    }
+    
+    public void setConversationKey(String conversationKey) {
+        this.conversationKey = conversationKey;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+    
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+    
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+    
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+    
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+    
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    @Override
+    public String toString() {
+        return "InboundMessage{" +
+                "id=" + id +
+                ", source=" + source +
+                ", fromNumber='" + fromNumber + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
  * Hatırlatma kayıtları (30 gün sonra tekrar gel mesajları)
  */
 @Entity
-@Table(name = "reminders")
+@Table(name = "reminders", indexes = {
+        // Gönderim kuyruğu ve keyset sayfalama (scheduledFor, id)
+        @Index(name = "idx_reminders_status_scheduled_id", columnList = "status, scheduled_for, id")
+})
 public class Reminder {
     
     @Id
@@ -78,6 +78,11 @@ public class Tenant {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    // Randevu değişiklik akışının son sırası; sadece AppointmentChangeSequencer artırır (entity üzerinden yazılmaz)
+    @Column(name = "appointment_change_seq", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long appointmentChangeSeq;
+    
     // One-to-Many relationships
     @OneToMany(mappedBy = "tenant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TenantUser> users = new ArrayList<>();
@@ -255,6 +260,10 @@ public class Tenant {
         this.updatedAt = updatedAt;
     }
     
+    public Long getAppointmentChangeSeq() {
+        return appointmentChangeSeq;
+    }
+    
     public List<TenantUser> getUsers() {
         return users;
     }
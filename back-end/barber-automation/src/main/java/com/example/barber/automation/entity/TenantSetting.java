@@ -1,5 +1,6 @@
 package com.example.barber.automation.entity;
 
+import com.example.barber.automation.service.availability.ScheduleChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "tenant_settings")
+@EntityListeners(ScheduleChangeListener.class)
 public class TenantSetting {
     
     @Id
@@ -60,6 +62,7 @@ public class TenantSetting {
         // Çalışma saatleri
         public static final String WORKING_HOURS = "working_hours"; // JSON format
         public static final String BREAK_HOURS = "break_hours"; // JSON format
+        public static final String SCHEDULE_EXCEPTIONS = "schedule_exceptions"; // JSON format (tatil, yarım gün, özel açılış)
         
         // Randevu ayarları
         public static final String BOOKING_INTERVAL_MINUTES = "booking_interval_minutes"; // INTEGER
@@ -0,0 +1,51 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Randevu olay outbox'ı Repository
+ */
+@Repository
+public interface AppointmentOutboxRepository extends JpaRepository<AppointmentOutboxEvent, Long> {
+    
+    /**
+     * Relay'in alacağı hazır kayıtlar (ID sırasıyla)
+     * 
+     * Satırlar yazma kilidiyle okunur; başka bir uygulama örneğinin kilitlediği satırlar
+     * beklenmeden atlanır (Postgres: FOR UPDATE SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AppointmentOutboxEvent e WHERE e.status = 'PENDING' AND e.availableAt <= :now ORDER BY e.id ASC")
+    List<AppointmentOutboxEvent> findReadyForRelay(@Param("now") LocalDateTime now, Limit limit);
+    
+    /**
+     * Belirli bir randevunun olayları (oluşma sırasıyla)
+     */
+    List<AppointmentOutboxEvent> findByAppointmentIdOrderByIdAsc(Long appointmentId);
+    
+    /**
+     * Durumuna göre kayıt sayısı (izleme için)
+     */
+    long countByStatus(AppointmentOutboxEvent.Status status);
+    
+    /**
+     * İletilmiş eski kayıtları silme
+     */
+    @Modifying
+    @Query("DELETE FROM AppointmentOutboxEvent e WHERE e.status = 'PUBLISHED' AND e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,12 +1,18 @@
 package com.example.barber.automation.repository;
 
+import com.example.barber.automation.dto.AppointmentDelta;
+import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.AppointmentStatusSnapshot;
+import com.example.barber.automation.dto.AppointmentTimeRange;
 import com.example.barber.automation.entity.Appointment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +20,18 @@ import java.util.Optional;
  * Appointment (Randevu) Repository
  */
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRepositoryCustom {
+    
+    /**
+     * Liste sorgularının ortak projection'ı: randevu + müşteri + hizmet kolonları tek sorguda,
+     * doğrudan AppointmentDto'ya (entity yüklenmez, lazy ilişkiler için ek sorgu atılmaz)
+     */
+    String LIST_SELECT = "SELECT new com.example.barber.automation.dto.AppointmentDto(" +
+            "a.id, a.startTime, a.endTime, a.status, a.notes, a.totalPrice, a.currency, " +
+            "a.reminderSent, a.reminderSentAt, a.createdAt, a.updatedAt, a.version, a.changeSeq, a.tenant.id, ch.id, " +
+            "c.id, c.name, c.phoneNumber, c.email, " +
+            "s.id, s.name, s.description, s.durationMinutes, s.price, s.currency) " +
+            "FROM Appointment a JOIN a.customer c JOIN a.service s LEFT JOIN a.chair ch ";
     
     /**
      * Tenant'a ait belirli bir randevuyu bulma
@@ -45,6 +62,12 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE a.tenant.id = :tenantId AND a.status IN ('PENDING', 'CONFIRMED') AND ((a.startTime < :endTime AND a.endTime > :startTime))")
     List<Appointment> findConflictingAppointments(@Param("tenantId") Long tenantId, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
     
+    /**
+     * Zaman aralığıyla çakışan aktif randevuların sadece zaman aralıkları (toplu slot kontrolü için)
+     */
+    @Query("SELECT new com.example.barber.automation.dto.AppointmentTimeRange(a.startTime, a.endTime) FROM Appointment a WHERE a.tenant.id = :tenantId AND a.status IN ('PENDING', 'CONFIRMED') AND a.startTime < :endTime AND a.endTime > :startTime ORDER BY a.startTime ASC")
+    List<AppointmentTimeRange> findConflictingTimeRanges(@Param("tenantId") Long tenantId, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+    
     /**
      * Günlük randevuları getirme
      */
@@ -113,6 +136,152 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE a.startTime < :cutoffTime AND a.status IN ('PENDING', 'CONFIRMED')")
     List<Appointment> findMissedAppointments(@Param("cutoffTime") LocalDateTime cutoffTime);
     
+    /**
+     * Kaçırılan randevuların durum/sürüm bilgisi (toplu "No Show" işaretleme için, entity yüklemeden)
+     */
+    @Query("SELECT new com.example.barber.automation.dto.AppointmentStatusSnapshot(a.id, a.tenant.id, a.status, a.version, a.startTime) " +
+           "FROM Appointment a WHERE a.startTime < :cutoffTime AND a.status IN ('PENDING', 'CONFIRMED')")
+    List<AppointmentStatusSnapshot> findMissedStatusSnapshots(@Param("cutoffTime") LocalDateTime cutoffTime);
+    
+    /**
+     * Tenant'a ait randevuların durum/sürüm bilgisi (toplu durum değişikliği için)
+     */
+    @Query("SELECT new com.example.barber.automation.dto.AppointmentStatusSnapshot(a.id, a.tenant.id, a.status, a.version, a.startTime) " +
+           "FROM Appointment a WHERE a.tenant.id = :tenantId AND a.id IN :ids")
+    List<AppointmentStatusSnapshot> findStatusSnapshots(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * [startTime, endTime) aralığında başlayan, verilen durumlardaki randevuların durum/sürüm bilgisi
+     */
+    @Query("SELECT new com.example.barber.automation.dto.AppointmentStatusSnapshot(a.id, a.tenant.id, a.status, a.version, a.startTime) " +
+           "FROM Appointment a WHERE a.tenant.id = :tenantId AND a.startTime >= :startTime AND a.startTime < :endTime " +
+           "AND a.status IN :statuses ORDER BY a.startTime ASC")
+    List<AppointmentStatusSnapshot> findStatusSnapshotsByDateRange(@Param("tenantId") Long tenantId,
+                                                                   @Param("startTime") LocalDateTime startTime,
+                                                                   @Param("endTime") LocalDateTime endTime,
+                                                                   @Param("statuses") Collection<Appointment.AppointmentStatus> statuses);
+    
+    /**
+     * Tenant'a ait aktif randevular, liste görünümü (tarih sıralı)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND a.status IN ('PENDING', 'CONFIRMED') ORDER BY a.startTime ASC")
+    List<AppointmentDto> findActiveDtosByTenantId(@Param("tenantId") Long tenantId);
+    
+    /**
+     * Tenant'a ait tüm randevular, liste görünümü (en yeni önce)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId ORDER BY a.startTime DESC")
+    List<AppointmentDto> findDtosByTenantId(@Param("tenantId") Long tenantId);
+    
+    /**
+     * Tüm randevular, liste görünümü (en yeni önce)
+     */
+    @Query(LIST_SELECT + "ORDER BY a.startTime DESC")
+    List<AppointmentDto> findAllDtos();
+    
+    /**
+     * Belirli tarih aralığındaki randevular, liste görünümü
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND a.startTime BETWEEN :startDate AND :endDate ORDER BY a.startTime ASC")
+    List<AppointmentDto> findDtosByTenantIdAndDateRange(@Param("tenantId") Long tenantId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Müşteriye ait randevular, liste görünümü
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND c.id = :customerId ORDER BY a.startTime DESC")
+    List<AppointmentDto> findDtosByTenantIdAndCustomerId(@Param("tenantId") Long tenantId, @Param("customerId") Long customerId);
+    
+    /**
+     * Bugünkü randevular, liste görünümü
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND CAST(a.startTime AS DATE) = CURRENT_DATE() ORDER BY a.startTime ASC")
+    List<AppointmentDto> findTodayDtos(@Param("tenantId") Long tenantId);
+    
+    /**
+     * Yaklaşan randevular (gelecek 7 gün), liste görünümü
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND a.status IN ('PENDING', 'CONFIRMED') AND a.startTime BETWEEN :now AND :weekFromNow ORDER BY a.startTime ASC")
+    List<AppointmentDto> findUpcomingDtos(@Param("tenantId") Long tenantId, @Param("now") LocalDateTime now, @Param("weekFromNow") LocalDateTime weekFromNow);
+    
+    /**
+     * Tenant'a ait randevuların ilk sayfası (en yeni önce, keyset: startTime, id)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId ORDER BY a.startTime DESC, a.id DESC")
+    List<AppointmentDto> findDtoPageByTenantId(@Param("tenantId") Long tenantId, Limit limit);
+    
+    /**
+     * Tenant'a ait randevuların imleçten sonraki sayfası (en yeni önce)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId " +
+           "AND (a.startTime < :cursorTime OR (a.startTime = :cursorTime AND a.id < :cursorId)) " +
+           "ORDER BY a.startTime DESC, a.id DESC")
+    List<AppointmentDto> findDtoPageByTenantIdBefore(@Param("tenantId") Long tenantId,
+                                                     @Param("cursorTime") LocalDateTime cursorTime,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Limit limit);
+    
+    /**
+     * Tüm randevuların ilk sayfası (en yeni önce)
+     */
+    @Query(LIST_SELECT + "ORDER BY a.startTime DESC, a.id DESC")
+    List<AppointmentDto> findDtoPage(Limit limit);
+    
+    /**
+     * Tüm randevuların imleçten sonraki sayfası (en yeni önce)
+     */
+    @Query(LIST_SELECT + "WHERE a.startTime < :cursorTime OR (a.startTime = :cursorTime AND a.id < :cursorId) " +
+           "ORDER BY a.startTime DESC, a.id DESC")
+    List<AppointmentDto> findDtoPageBefore(@Param("cursorTime") LocalDateTime cursorTime,
+                                           @Param("cursorId") Long cursorId,
+                                           Limit limit);
+    
+    /**
+     * Tarih aralığındaki randevuların ilk sayfası (tarih sıralı)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND a.startTime BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.startTime ASC, a.id ASC")
+    List<AppointmentDto> findDtoPageByTenantIdAndDateRange(@Param("tenantId") Long tenantId,
+                                                           @Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate,
+                                                           Limit limit);
+    
+    /**
+     * Tarih aralığındaki randevuların imleçten sonraki sayfası (tarih sıralı)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId AND a.startTime BETWEEN :startDate AND :endDate " +
+           "AND (a.startTime > :cursorTime OR (a.startTime = :cursorTime AND a.id > :cursorId)) " +
+           "ORDER BY a.startTime ASC, a.id ASC")
+    List<AppointmentDto> findDtoPageByTenantIdAndDateRangeAfter(@Param("tenantId") Long tenantId,
+                                                                @Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate,
+                                                                @Param("cursorTime") LocalDateTime cursorTime,
+                                                                @Param("cursorId") Long cursorId,
+                                                                Limit limit);
+    
+    /**
+     * Değişiklik akışı: (changeSeq, id) çiftinden sonra değişen randevular (değişiklik sırasıyla)
+     */
+    @Query(LIST_SELECT + "WHERE a.tenant.id = :tenantId " +
+           "AND (a.changeSeq > :sinceSeq OR (a.changeSeq = :sinceSeq AND a.id > :sinceId)) " +
+           "ORDER BY a.changeSeq ASC, a.id ASC")
+    List<AppointmentDto> findDtoChangesAfter(@Param("tenantId") Long tenantId,
+                                             @Param("sinceSeq") Long sinceSeq,
+                                             @Param("sinceId") Long sinceId,
+                                             Limit limit);
+    
+    /**
+     * Değişiklik akışının kısa hali (canlı güncelleme): müşteri/hizmet join'i olmadan
+     */
+    @Query("SELECT new com.example.barber.automation.dto.AppointmentDelta(" +
+           "a.id, a.status, a.startTime, a.endTime, ch.id, a.customer.id, a.service.id, a.version, a.changeSeq) " +
+           "FROM Appointment a LEFT JOIN a.chair ch WHERE a.tenant.id = :tenantId " +
+           "AND (a.changeSeq > :sinceSeq OR (a.changeSeq = :sinceSeq AND a.id > :sinceId)) " +
+           "ORDER BY a.changeSeq ASC, a.id ASC")
+    List<AppointmentDelta> findDeltasAfter(@Param("tenantId") Long tenantId,
+                                           @Param("sinceSeq") Long sinceSeq,
+                                           @Param("sinceId") Long sinceId,
+                                           Limit limit);
+    
     /**
      * Belirli tarih aralığındaki randevu sayısı
      */
@@ -139,7 +308,10 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findAllByOrderByStartTimeDesc();
     
     /**
-     * Belirli tenant ve tarih aralığında belirli statüde olmayan randevuları getirme
+     * İptal edilmemiş randevuların zaman aralıkları [from, to) - entity yüklemeden, başlangıca göre sıralı
      */
-    List<Appointment> findByTenantIdAndStartTimeBetweenAndStatusNot(Long tenantId, LocalDateTime startTime, LocalDateTime endTime, String status);
+    @Query("SELECT new com.example.barber.automation.dto.AppointmentTimeRange(a.startTime, a.endTime) FROM Appointment a " +
+           "WHERE a.tenant.id = :tenantId AND a.status <> 'CANCELLED' AND a.startTime >= :from AND a.startTime < :to " +
+           "ORDER BY a.startTime ASC")
+    List<AppointmentTimeRange> findActiveTimeRanges(@Param("tenantId") Long tenantId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
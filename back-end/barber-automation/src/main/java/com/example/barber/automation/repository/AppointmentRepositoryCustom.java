@@ -0,0 +1,27 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.entity.Appointment;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AppointmentRepository için Spring Data sorgularıyla ifade edilemeyen işlemler
+ */
+public interface AppointmentRepositoryCustom {
+    
+    /**
+     * Randevu durumlarını sürüm kontrolüyle toplu güncelleme
+     * 
+     * Her randevu, sürümü beklenen sürümle aynıysa ve durumu fromStatuses içindeyse hedef duruma geçer
+     * (sürüm bir artar). Güncellemeler JDBC batch olarak gönderilir; persistence context'teki
+     * entity'ler yenilenmez.
+     * 
+     * @param expectedVersions randevu ID'si → beklenen sürüm
+     * @return güncellenen randevu ID'leri (eşleşmeyenler eşzamanlı değiştirilmiştir)
+     */
+    Set<Long> updateStatusIfVersionMatches(Map<Long, Long> expectedVersions,
+                                           Appointment.AppointmentStatus targetStatus,
+                                           Collection<Appointment.AppointmentStatus> fromStatuses);
+}
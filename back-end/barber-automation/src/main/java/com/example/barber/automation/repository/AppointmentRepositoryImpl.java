@@ -0,0 +1,71 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.entity.Appointment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AppointmentRepositoryCustom implementasyonu (Spring Data, AppointmentRepository'ye ekler)
+ */
+public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+    
+    /**
+     * Tek JDBC batch'te gönderilen en fazla güncelleme sayısı
+     */
+    static final int BATCH_SIZE = 500;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public AppointmentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public Set<Long> updateStatusIfVersionMatches(Map<Long, Long> expectedVersions,
+                                                  Appointment.AppointmentStatus targetStatus,
+                                                  Collection<Appointment.AppointmentStatus> fromStatuses) {
+        if (expectedVersions.isEmpty() || fromStatuses.isEmpty()) {
+            return Collections.emptySet();
+        }
+        
+        String sql = "UPDATE appointments SET status = ?, version = version + 1, updated_at = ? " +
+                "WHERE id = ? AND version = ? AND status IN (" +
+                String.join(", ", Collections.nCopies(fromStatuses.size(), "?")) + ")";
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(expectedVersions.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        int[][] counts = jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+            int index = 1;
+            ps.setString(index++, targetStatus.name());
+            ps.setTimestamp(index++, now);
+            ps.setLong(index++, row.getKey());
+            ps.setLong(index++, row.getValue());
+            for (Appointment.AppointmentStatus status : fromStatuses) {
+                ps.setString(index++, status.name());
+            }
+        });
+        
+        // Satır sayısı vermeyen sürücüler SUCCESS_NO_INFO döner (PostgreSQL ve H2 gerçek sayıyı verir)
+        Set<Long> updated = new HashSet<>();
+        int row = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated.add(rows.get(row).getKey());
+                }
+                row++;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.entity.Chair;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Chair (Koltuk) Repository
+ */
+@Repository
+public interface ChairRepository extends JpaRepository<Chair, Long> {
+    
+    /**
+     * Tenant'a ait aktif koltukları listeleme (oluşturulma sırasıyla)
+     */
+    List<Chair> findByTenantIdAndActiveTrueOrderByIdAsc(Long tenantId);
+    
+    /**
+     * Tenant'a ait belirli bir koltuğu bulma
+     */
+    Optional<Chair> findByIdAndTenantId(Long id, Long tenantId);
+    
+    /**
+     * Tenant'a ait aktif koltuk sayısı (kapasite)
+     */
+    long countByTenantIdAndActiveTrue(Long tenantId);
+}
@@ -1,6 +1,7 @@
 package com.example.barber.automation.repository;
 
 import com.example.barber.automation.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,6 +32,39 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     List<Customer> findByTenantIdAndActiveTrue(Long tenantId);
     
+    /**
+     * Tenant'a ait aktif müşterilerin ilk sayfası (kayıt sırasıyla, keyset: createdAt, id)
+     */
+    @Query("SELECT c FROM Customer c WHERE c.tenant.id = :tenantId AND c.active = true ORDER BY c.createdAt ASC, c.id ASC")
+    List<Customer> findPageByTenantId(@Param("tenantId") Long tenantId, Limit limit);
+    
+    /**
+     * Tenant'a ait aktif müşterilerin imleçten sonraki sayfası
+     */
+    @Query("SELECT c FROM Customer c WHERE c.tenant.id = :tenantId AND c.active = true " +
+           "AND (c.createdAt > :cursorTime OR (c.createdAt = :cursorTime AND c.id > :cursorId)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Customer> findPageByTenantIdAfter(@Param("tenantId") Long tenantId,
+                                           @Param("cursorTime") LocalDateTime cursorTime,
+                                           @Param("cursorId") Long cursorId,
+                                           Limit limit);
+    
+    /**
+     * Tüm aktif müşterilerin ilk sayfası (kayıt sırasıyla)
+     */
+    @Query("SELECT c FROM Customer c WHERE c.active = true ORDER BY c.createdAt ASC, c.id ASC")
+    List<Customer> findPage(Limit limit);
+    
+    /**
+     * Tüm aktif müşterilerin imleçten sonraki sayfası
+     */
+    @Query("SELECT c FROM Customer c WHERE c.active = true " +
+           "AND (c.createdAt > :cursorTime OR (c.createdAt = :cursorTime AND c.id > :cursorId)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Customer> findPageAfter(@Param("cursorTime") LocalDateTime cursorTime,
+                                 @Param("cursorId") Long cursorId,
+                                 Limit limit);
+    
     /**
      * Tenant'a ait belirli bir müşteriyi bulma
      */
@@ -0,0 +1,70 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.entity.IdempotencyRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency kayıtları Repository
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    /**
+     * Kapsam ve anahtara göre kayıt
+     */
+    Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+    
+    /**
+     * En yeniden eskiye kayıt ID'leri (boyut sınırı için eşik bulma)
+     */
+    @Query("SELECT r.id FROM IdempotencyRecord r ORDER BY r.id DESC")
+    List<Long> findIdsNewestFirst(Pageable pageable);
+    
+    /**
+     * İşleniyor kaydına yanıtı yazma (işlemle aynı transaction içinde çağrılır)
+     *
+     * Satır kilidi commit'e kadar tutulur; kayıt bu arada devralındıysa (silindiyse) 0 döner.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', " +
+           "r.responseStatus = :responseStatus, r.responseBody = :responseBody, r.completedAt = :now, r.lockedUntil = NULL " +
+           "WHERE r.id = :id AND r.status = 'IN_PROGRESS'")
+    int complete(@Param("id") Long id, @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody, @Param("now") LocalDateTime now);
+    
+    /**
+     * Süresi dolan veya kilit süresi geçen işleniyor kaydını silme
+     *
+     * Kayıt okunduktan sonra tamamlandıysa (yanıt işlemle birlikte commit edildi) silinmez, 0 döner.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND (r.expiresAt <= :now OR " +
+           "(r.status = 'IN_PROGRESS' AND r.lockedUntil <= :now))")
+    int deleteIfStale(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Süresi dolan kayıtları silme
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+    
+    /**
+     * Verilen ID ve öncesindeki (daha eski) kayıtları silme
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id <= :id")
+    int deleteUpToId(@Param("id") Long id);
+}
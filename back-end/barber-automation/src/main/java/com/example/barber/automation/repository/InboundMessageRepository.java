@@ -0,0 +1,107 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.entity.InboundMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gelen mesaj kuyruğu Repository
+ */
+@Repository
+public interface InboundMessageRepository extends JpaRepository<InboundMessage, Long>, InboundMessageRepositoryCustom {
+    
+    /**
+     * İşçilerin alacağı hazır mesajlar (ID sırasıyla)
+     * 
+     * Konuşmasının önceki bir mesajı hazır değilse (tekrar denemeyi bekliyor veya başka bir işçide
+     * işleniyor) mesaj alınmaz. Satırlar yazma kilidiyle okunur; başka bir uygulama örneğinin
+     * kilitlediği satırlar beklenmeden atlanır (Postgres: FOR UPDATE SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM InboundMessage m WHERE m.status = 'PENDING' AND m.availableAt <= :now " +
+           "AND NOT EXISTS (SELECT e.id FROM InboundMessage e WHERE e.conversationKey = m.conversationKey " +
+           "AND e.status = 'PENDING' AND e.id < m.id AND e.availableAt > :now) " +
+           "ORDER BY m.id ASC")
+    List<InboundMessage> findReadyForProcessing(@Param("now") LocalDateTime now, Limit limit);
+    
+    /**
+     * Konuşmaların bekleyen mesajları (ID sırasıyla)
+     */
+    List<InboundMessage> findByStatusAndConversationKeyInOrderByIdAsc(InboundMessage.Status status,
+                                                                       Collection<String> conversationKeys);
+    
+    /**
+     * Konuşmanın verilen mesajdan önceki bekleyen mesajı var mı
+     */
+    boolean existsByConversationKeyAndStatusAndIdLessThan(String conversationKey, InboundMessage.Status status,
+                                                          Long id);
+    
+    /**
+     * İşleme başlarken kiralamayı yenileme
+     * 
+     * Sadece mesaj hâlâ bekliyorsa ve alındığı denemedeyse (başka bir işçi yeniden almadıysa) güncellenir.
+     * 
+     * @return güncellenen kayıt sayısı (0 ise mesaj işlenmemeli)
+     */
+    @Modifying
+    @Query("UPDATE InboundMessage m SET m.availableAt = :leaseUntil " +
+           "WHERE m.id = :id AND m.status = 'PENDING' AND m.attempts = :attempt")
+    int startLease(@Param("id") Long id, @Param("attempt") int attempt, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    /**
+     * Alınmış ama işlenmemiş mesajı geri bırakma (deneme sayılmaz, hemen yeniden alınabilir)
+     * 
+     * @return güncellenen kayıt sayısı (0 ise mesaj artık bu denemeye ait değil)
+     */
+    @Modifying
+    @Query("UPDATE InboundMessage m SET m.attempts = m.attempts - 1, m.availableAt = :now " +
+           "WHERE m.id = :id AND m.status = 'PENDING' AND m.attempts = :attempt")
+    int releaseClaim(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+    
+    /**
+     * Mesajı işlendi olarak işaretleme (sadece mesaj hâlâ bu denemedeyse)
+     * 
+     * @return güncellenen kayıt sayısı (0 ise kiralama dolmuş, mesaj başka bir işçide)
+     */
+    @Modifying
+    @Query("UPDATE InboundMessage m SET m.status = 'PROCESSED', m.processedAt = :now, m.lastError = NULL " +
+           "WHERE m.id = :id AND m.status = 'PENDING' AND m.attempts = :attempt")
+    int markProcessed(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+    
+    /**
+     * Başarısız denemeyi kaydetme (sadece mesaj hâlâ bu denemedeyse)
+     * 
+     * @param status tekrar denenecekse PENDING, deneme sınırı aşıldıysa FAILED
+     * @return güncellenen kayıt sayısı (0 ise kiralama dolmuş, mesaj başka bir işçide)
+     */
+    @Modifying
+    @Query("UPDATE InboundMessage m SET m.status = :status, m.lastError = :error, m.availableAt = :retryAt " +
+           "WHERE m.id = :id AND m.status = 'PENDING' AND m.attempts = :attempt")
+    int markFailed(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") InboundMessage.Status status,
+                   @Param("error") String error, @Param("retryAt") LocalDateTime retryAt);
+    
+    /**
+     * Durumuna göre kayıt sayısı (kuyruk derinliği)
+     */
+    long countByStatus(InboundMessage.Status status);
+    
+    /**
+     * İşlenmiş eski kayıtları silme
+     */
+    @Modifying
+    @Query("DELETE FROM InboundMessage m WHERE m.status = 'PROCESSED' AND m.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
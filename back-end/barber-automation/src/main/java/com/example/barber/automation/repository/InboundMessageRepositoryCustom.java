@@ -0,0 +1,22 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * InboundMessageRepository için Spring Data sorgularıyla ifade edilemeyen işlemler
+ */
+public interface InboundMessageRepositoryCustom {
+    
+    /**
+     * Bir teslimatın mesajlarını işlenmeyi bekleyen olarak toplu ekleme
+     * 
+     * Entity oluşturulmaz; satırlar tek transaction'da JDBC batch olarak yazılır (IDENTITY ID'li
+     * entity'lerde Hibernate batch kullanamaz). Hata olursa hiçbir mesaj yazılmaz.
+     */
+    void insertPending(InboundMessage.Source source, Long tenantId, List<InboundWebhookMessage> messages,
+                       LocalDateTime receivedAt);
+}
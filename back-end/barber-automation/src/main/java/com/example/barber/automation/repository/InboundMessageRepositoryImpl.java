@@ -0,0 +1,54 @@
+package com.example.barber.automation.repository;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * InboundMessageRepositoryCustom implementasyonu (Spring Data, InboundMessageRepository'ye ekler)
+ */
+public class InboundMessageRepositoryImpl implements InboundMessageRepositoryCustom {
+    
+    /**
+     * Tek JDBC batch'te gönderilen en fazla satır sayısı
+     */
+    static final int BATCH_SIZE = 500;
+    
+    private static final String INSERT_SQL = "INSERT INTO inbound_messages " +
+            "(source, tenant_id, from_number, to_number, text, provider_message_id, conversation_key, status, " +
+            "attempts, available_at, received_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public InboundMessageRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    @Transactional
+    public void insertPending(InboundMessage.Source source, Long tenantId, List<InboundWebhookMessage> messages,
+                              LocalDateTime receivedAt) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(receivedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, BATCH_SIZE, (ps, message) -> {
+            ps.setString(1, source.name());
+            ps.setObject(2, tenantId, Types.BIGINT);
+            ps.setString(3, message.getFrom());
+            ps.setString(4, message.getTo());
+            ps.setString(5, message.getText() != null ? message.getText() : "");
+            ps.setString(6, message.getMessageId());
+            ps.setString(7, InboundMessage.conversationKey(message.getFrom(), tenantId));
+            ps.setString(8, InboundMessage.Status.PENDING.name());
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.barber.automation.repository;
 
 import com.example.barber.automation.entity.Reminder;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,6 +28,20 @@ public interface ReminderRepository extends JpaRepository<Reminder, Long> {
     @Query("SELECT r FROM Reminder r WHERE r.status = 'PENDING' AND r.scheduledFor <= :now ORDER BY r.scheduledFor ASC")
     List<Reminder> findReadyToSendReminders(@Param("now") LocalDateTime now);
     
+    /**
+     * Gönderilmeye hazır hatırlatmaların imleçten sonraki sayfası (keyset: scheduledFor, id)
+     * 
+     * Müşteri ve kuaför aynı sorguda yüklenir; ilk sayfa için imleç olarak en eski zaman verilir.
+     */
+    @Query("SELECT r FROM Reminder r JOIN FETCH r.customer JOIN FETCH r.tenant " +
+           "WHERE r.status = 'PENDING' AND r.scheduledFor <= :now " +
+           "AND (r.scheduledFor > :cursorTime OR (r.scheduledFor = :cursorTime AND r.id > :cursorId)) " +
+           "ORDER BY r.scheduledFor ASC, r.id ASC")
+    List<Reminder> findReadyToSendRemindersAfter(@Param("now") LocalDateTime now,
+                                                 @Param("cursorTime") LocalDateTime cursorTime,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Limit limit);
+    
     /**
      * Tenant'a ait bekleyen hatırlatmaları getirme
      */
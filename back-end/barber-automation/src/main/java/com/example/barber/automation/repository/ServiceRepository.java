@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,11 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
      */
     Optional<Service> findByIdAndTenantId(Long id, Long tenantId);
     
+    /**
+     * Tenant'a ait birden fazla aktif hizmeti tek sorguda getirme
+     */
+    List<Service> findByIdInAndTenantIdAndActiveTrue(Collection<Long> ids, Long tenantId);
+    
     /**
      * Tenant'a ait hizmet adına göre arama
      */
@@ -1,11 +1,19 @@
 package com.example.barber.automation.repository;
 
+import com.example.barber.automation.dto.TenantChangeSequence;
 import com.example.barber.automation.entity.Tenant;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +23,24 @@ import java.util.Optional;
 @Repository
 public interface TenantRepository extends JpaRepository<Tenant, Long> {
     
+    /**
+     * Kuaför satırını transaction sonuna kadar kilitleme (SELECT ... FOR UPDATE)
+     * 
+     * Advisory lock desteklemeyen veritabanlarında randevu yazımının çakışma kontrolü + kayıt adımını
+     * uygulama örnekleri arasında sıraya koyar (BookingDayLock).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT t FROM Tenant t WHERE t.id = :tenantId")
+    Optional<Tenant> lockForBooking(@Param("tenantId") Long tenantId);
+    
+    /**
+     * Kuaförlerin son randevu değişikliği sıraları (canlı güncelleme için tek sorgu)
+     */
+    @Query("SELECT new com.example.barber.automation.dto.TenantChangeSequence(t.id, t.appointmentChangeSeq) " +
+           "FROM Tenant t WHERE t.id IN :tenantIds")
+    List<TenantChangeSequence> findAppointmentChangeSequences(@Param("tenantIds") Collection<Long> tenantIds);
+    
     /**
      * Telefon numarasına göre kuaför bulma (WhatsApp entegrasyonu için)
      */
@@ -30,6 +56,27 @@ public interface TenantRepository extends JpaRepository<Tenant, Long> {
      */
     List<Tenant> findByActiveTrue();
     
+    /**
+     * Varsayılan kuaför (ID sırasıyla ilk aktif kuaför; gelen mesajın kuaförü belli değilse)
+     */
+    Optional<Tenant> findFirstByActiveTrueOrderByIdAsc();
+    
+    /**
+     * Aktif kuaförlerin ilk sayfası (kayıt sırasıyla, keyset: createdAt, id)
+     */
+    @Query("SELECT t FROM Tenant t WHERE t.active = true ORDER BY t.createdAt ASC, t.id ASC")
+    List<Tenant> findActivePage(Limit limit);
+    
+    /**
+     * Aktif kuaförlerin imleçten sonraki sayfası
+     */
+    @Query("SELECT t FROM Tenant t WHERE t.active = true " +
+           "AND (t.createdAt > :cursorTime OR (t.createdAt = :cursorTime AND t.id > :cursorId)) " +
+           "ORDER BY t.createdAt ASC, t.id ASC")
+    List<Tenant> findActivePageAfter(@Param("cursorTime") LocalDateTime cursorTime,
+                                     @Param("cursorId") Long cursorId,
+                                     Limit limit);
+    
     /**
      * Kuaför adına göre arama
      */
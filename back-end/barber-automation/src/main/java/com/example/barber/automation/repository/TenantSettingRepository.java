@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,11 @@ public interface TenantSettingRepository extends JpaRepository<TenantSetting, Lo
      */
     Optional<TenantSetting> findByTenantIdAndSettingKey(Long tenantId, String settingKey);
     
+    /**
+     * Tenant'a ait birden fazla ayarı tek sorguda getirme
+     */
+    List<TenantSetting> findByTenantIdAndSettingKeyIn(Long tenantId, Collection<String> settingKeys);
+    
     /**
      * Tenant'a ait tüm ayarları getirme
      */
@@ -1,8 +1,12 @@
 package com.example.barber.automation.scheduler;
 
+import com.example.barber.automation.dto.AppointmentStatusSnapshot;
 import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
 import com.example.barber.automation.repository.AppointmentRepository;
 import com.example.barber.automation.service.NotificationService;
+import com.example.barber.automation.service.changefeed.AppointmentChangeLog;
+import com.example.barber.automation.service.outbox.AppointmentOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +15,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Randevu sistemi için zamanlanmış görevler
@@ -23,16 +32,25 @@ public class AppointmentScheduler {
     
     private final AppointmentRepository appointmentRepository;
     private final NotificationService notificationService;
+    private final AppointmentOutbox appointmentOutbox;
+    private final AppointmentChangeLog appointmentChangeLog;
     
     @Autowired
     public AppointmentScheduler(AppointmentRepository appointmentRepository,
-                               NotificationService notificationService) {
+                               NotificationService notificationService,
+                               AppointmentOutbox appointmentOutbox,
+                               AppointmentChangeLog appointmentChangeLog) {
         this.appointmentRepository = appointmentRepository;
         this.notificationService = notificationService;
+        this.appointmentOutbox = appointmentOutbox;
+        this.appointmentChangeLog = appointmentChangeLog;
     }
     
     /**
      * Tamamlanan randevular için hatırlatma oluşturma - Her gün saat 01:00'da
+     * 
+     * Hatırlatmalar normalde COMPLETED olayıyla oluşturulur (AppointmentNotificationSubscriber);
+     * bu görev olayı iletilemeyen randevuları yakalar.
      */
     @Scheduled(cron = "0 0 1 * * ?") // Her gün saat 01:00
     @Transactional
@@ -63,6 +81,7 @@ public class AppointmentScheduler {
                     appointment.setReminderSent(true);
                     appointment.setReminderSentAt(LocalDateTime.now());
                     appointmentRepository.save(appointment);
+                    appointmentChangeLog.touch(appointment);
                     
                     logger.debug("Hatırlatma oluşturuldu - Appointment ID: {}, Customer: {}", 
                             appointment.getId(), appointment.getCustomer().getName());
@@ -91,19 +110,34 @@ public class AppointmentScheduler {
         try {
             LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
             
-            // 1 saatten fazla geçmiş ama hala beklemede/onaylanmış randevuları bul
-            List<Appointment> missedAppointments = appointmentRepository
-                    .findMissedAppointments(oneHourAgo);
+            // 1 saatten fazla geçmiş ama hala beklemede/onaylanmış randevuları bul (sadece durum ve sürüm)
+            Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+            Map<Long, AppointmentStatusSnapshot> snapshots = new LinkedHashMap<>();
+            for (AppointmentStatusSnapshot snapshot : appointmentRepository.findMissedStatusSnapshots(oneHourAgo)) {
+                expectedVersions.put(snapshot.getId(), snapshot.getVersion());
+                snapshots.put(snapshot.getId(), snapshot);
+            }
             
-            if (!missedAppointments.isEmpty()) {
-                logger.info("Kaçırılan randevu sayısı: {}", missedAppointments.size());
+            if (!expectedVersions.isEmpty()) {
+                logger.info("Kaçırılan randevu sayısı: {}", expectedVersions.size());
                 
-                for (Appointment appointment : missedAppointments) {
-                    appointment.setStatus(Appointment.AppointmentStatus.NO_SHOW);
-                    appointmentRepository.save(appointment);
-                    
-                    logger.debug("Randevu 'No Show' olarak işaretlendi - Appointment ID: {}, Customer: {}", 
-                            appointment.getId(), appointment.getCustomer().getName());
+                // Sürüm kontrollü toplu güncelleme: bu arada panelden değiştirilen randevular atlanır
+                Set<Long> updated = appointmentRepository.updateStatusIfVersionMatches(
+                        expectedVersions,
+                        Appointment.AppointmentStatus.NO_SHOW,
+                        EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED));
+                
+                logger.info("'No Show' olarak işaretlenen randevu sayısı: {}", updated.size());
+                List<AppointmentStatusSnapshot> updatedSnapshots =
+                        snapshots.values().stream().filter(s -> updated.contains(s.getId())).toList();
+                appointmentOutbox.recordSnapshots(updatedSnapshots, AppointmentOutboxEvent.EventType.NO_SHOW);
+                updatedSnapshots.stream()
+                        .collect(Collectors.groupingBy(AppointmentStatusSnapshot::getTenantId,
+                                Collectors.mapping(AppointmentStatusSnapshot::getId, Collectors.toList())))
+                        .forEach(appointmentChangeLog::markChanged);
+                if (updated.size() < expectedVersions.size()) {
+                    logger.debug("Eşzamanlı değiştirildiği için atlanan randevular: {}", 
+                            expectedVersions.keySet().stream().filter(id -> !updated.contains(id)).toList());
                 }
             }
             
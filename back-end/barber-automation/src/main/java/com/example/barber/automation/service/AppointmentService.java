@@ -1,10 +1,18 @@
 package com.example.barber.automation.service;
 
+import com.example.barber.automation.dto.AppointmentChangesResponse;
 import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.AppointmentStatusSnapshot;
+import com.example.barber.automation.dto.BulkStatusTransitionRequest;
+import com.example.barber.automation.dto.BulkStatusTransitionResponse;
 import com.example.barber.automation.dto.CreateAppointmentRequest;
+import com.example.barber.automation.dto.CreateBundleAppointmentRequest;
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.dto.CustomerDto;
 import com.example.barber.automation.dto.ServiceDto;
 import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
+import com.example.barber.automation.entity.Chair;
 import com.example.barber.automation.entity.Customer;
 import com.example.barber.automation.entity.Service;
 import com.example.barber.automation.entity.Tenant;
@@ -12,16 +20,31 @@ import com.example.barber.automation.repository.AppointmentRepository;
 import com.example.barber.automation.repository.CustomerRepository;
 import com.example.barber.automation.repository.ServiceRepository;
 import com.example.barber.automation.repository.TenantRepository;
+import com.example.barber.automation.service.availability.AvailabilityCache;
+import com.example.barber.automation.service.booking.BookingGuard;
+import com.example.barber.automation.service.booking.SlotHold;
+import com.example.barber.automation.service.booking.SlotHoldService;
+import com.example.barber.automation.service.changefeed.AppointmentChangeLog;
+import com.example.barber.automation.service.changefeed.ChangeToken;
+import com.example.barber.automation.service.outbox.AppointmentOutbox;
+import com.example.barber.automation.service.pagination.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -31,12 +54,42 @@ import java.util.stream.Collectors;
 @Transactional
 public class AppointmentService {
     
+    /**
+     * Toplu durum değişikliğinde tek istekte gönderilebilecek en fazla randevu sayısı
+     */
+    public static final int MAX_BULK_ITEMS = 1000;
+    
+    /**
+     * Toplu durum değişikliğinde hedef duruma hangi durumlardan geçilebileceği
+     * (tekli onay/tamamlama/iptal kurallarıyla aynı; aynı duruma geçiş yapılmaz)
+     */
+    private static final Map<Appointment.AppointmentStatus, Set<Appointment.AppointmentStatus>> BULK_TRANSITIONS =
+            new EnumMap<>(Appointment.AppointmentStatus.class);
+    
+    static {
+        BULK_TRANSITIONS.put(Appointment.AppointmentStatus.CONFIRMED,
+                EnumSet.of(Appointment.AppointmentStatus.PENDING));
+        BULK_TRANSITIONS.put(Appointment.AppointmentStatus.COMPLETED,
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED,
+                        Appointment.AppointmentStatus.NO_SHOW));
+        BULK_TRANSITIONS.put(Appointment.AppointmentStatus.CANCELLED,
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED,
+                        Appointment.AppointmentStatus.NO_SHOW));
+        BULK_TRANSITIONS.put(Appointment.AppointmentStatus.NO_SHOW,
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED));
+    }
+    
     private final AppointmentRepository appointmentRepository;
     private final CustomerRepository customerRepository;
     private final ServiceRepository serviceRepository;
     private final TenantRepository tenantRepository;
     private final SlotService slotService;
     private final CustomerService customerService;
+    private final AvailabilityCache availabilityCache;
+    private final BookingGuard bookingGuard;
+    private final SlotHoldService slotHoldService;
+    private final AppointmentOutbox appointmentOutbox;
+    private final AppointmentChangeLog appointmentChangeLog;
     
     @Autowired
     public AppointmentService(AppointmentRepository appointmentRepository,
@@ -44,13 +97,23 @@ public class AppointmentService {
                              ServiceRepository serviceRepository,
                              TenantRepository tenantRepository,
                              SlotService slotService,
-                             CustomerService customerService) {
+                             CustomerService customerService,
+                             AvailabilityCache availabilityCache,
+                             BookingGuard bookingGuard,
+                             SlotHoldService slotHoldService,
+                             AppointmentOutbox appointmentOutbox,
+                             AppointmentChangeLog appointmentChangeLog) {
         this.appointmentRepository = appointmentRepository;
         this.customerRepository = customerRepository;
         this.serviceRepository = serviceRepository;
         this.tenantRepository = tenantRepository;
         this.slotService = slotService;
         this.customerService = customerService;
+        this.availabilityCache = availabilityCache;
+        this.bookingGuard = bookingGuard;
+        this.slotHoldService = slotHoldService;
+        this.appointmentOutbox = appointmentOutbox;
+        this.appointmentChangeLog = appointmentChangeLog;
     }
     
     /**
@@ -65,60 +128,42 @@ public class AppointmentService {
      * Tenant'a ait aktif randevuları listeleme
      */
     public List<AppointmentDto> findActiveAppointments(Long tenantId) {
-        return appointmentRepository.findActiveAppointmentsByTenantId(tenantId)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findActiveDtosByTenantId(tenantId);
     }
     
     /**
      * Tenant'a ait tüm randevuları listeleme (Controller için)
      */
     public List<AppointmentDto> findAllByTenantId(Long tenantId) {
-        return appointmentRepository.findByTenantIdOrderByStartTimeDesc(tenantId)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findDtosByTenantId(tenantId);
     }
     
     /**
      * Tüm randevuları listeleme
      */
     public List<AppointmentDto> findAll() {
-        return appointmentRepository.findAllByOrderByStartTimeDesc()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findAllDtos();
     }
     
     /**
      * Belirli tarih aralığındaki randevuları getirme
      */
     public List<AppointmentDto> findByDateRange(Long tenantId, LocalDateTime startDate, LocalDateTime endDate) {
-        return appointmentRepository.findByTenantIdAndDateRange(tenantId, startDate, endDate)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findDtosByTenantIdAndDateRange(tenantId, startDate, endDate);
     }
     
     /**
      * Müşteriye ait randevuları getirme
      */
     public List<AppointmentDto> findByCustomer(Long tenantId, Long customerId) {
-        return appointmentRepository.findByTenantIdAndCustomerId(tenantId, customerId)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findDtosByTenantIdAndCustomerId(tenantId, customerId);
     }
     
     /**
      * Bugünkü randevuları getirme
      */
     public List<AppointmentDto> findTodayAppointments(Long tenantId) {
-        return appointmentRepository.findTodayAppointments(tenantId)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findTodayDtos(tenantId);
     }
     
     /**
@@ -128,51 +173,112 @@ public class AppointmentService {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime weekFromNow = now.plusDays(7);
         
-        return appointmentRepository.findUpcomingAppointments(tenantId, now, weekFromNow)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return appointmentRepository.findUpcomingDtos(tenantId, now, weekFromNow);
+    }
+    
+    /**
+     * Randevuları sayfa sayfa listeleme (en yeni önce)
+     * 
+     * tenantId boşsa tüm kuaförlerin randevuları döner. Sayfalar (startTime, id) imleciyle okunur.
+     */
+    public CursorPage<AppointmentDto> findPage(Long tenantId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        
+        List<AppointmentDto> rows;
+        if (tenantId != null) {
+            rows = after == null
+                    ? appointmentRepository.findDtoPageByTenantId(tenantId, KeysetCursor.probeLimit(pageSize))
+                    : appointmentRepository.findDtoPageByTenantIdBefore(tenantId, after.getPosition(), after.getId(),
+                            KeysetCursor.probeLimit(pageSize));
+        } else {
+            rows = after == null
+                    ? appointmentRepository.findDtoPage(KeysetCursor.probeLimit(pageSize))
+                    : appointmentRepository.findDtoPageBefore(after.getPosition(), after.getId(),
+                            KeysetCursor.probeLimit(pageSize));
+        }
+        return KeysetCursor.toPage(rows, pageSize, dto -> new KeysetCursor(dto.getStartTime(), dto.getId()));
+    }
+    
+    /**
+     * Token'dan sonra eklenen veya değişen randevular (değişiklik sırasıyla)
+     * 
+     * İstemci ilk senkronizasyonda token göndermez (tüm randevular sayfa sayfa döner), sonrasında
+     * dönen nextToken ile sadece değişenleri alır. Değişiklik yoksa sorgu indeksten boş döner.
+     * 
+     * @throws IllegalArgumentException token veya sayfa boyutu geçersizse
+     */
+    public AppointmentChangesResponse findChanges(Long tenantId, String since, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit);
+        ChangeToken after = ChangeToken.decode(since);
+        
+        List<AppointmentDto> rows = appointmentRepository.findDtoChangesAfter(tenantId, after.getSequence(),
+                after.getId(), KeysetCursor.probeLimit(pageSize));
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentDto> changes = hasMore ? List.copyOf(rows.subList(0, pageSize)) : rows;
+        if (changes.isEmpty()) {
+            return new AppointmentChangesResponse(changes, after.encode(), false);
+        }
+        AppointmentDto last = changes.get(changes.size() - 1);
+        return new AppointmentChangesResponse(changes, new ChangeToken(last.getChangeSeq(), last.getId()).encode(), hasMore);
+    }
+    
+    /**
+     * Belirli tarih aralığındaki randevuları sayfa sayfa getirme (tarih sıralı)
+     */
+    public CursorPage<AppointmentDto> findPageByDateRange(Long tenantId, LocalDateTime startDate, LocalDateTime endDate,
+                                                          String cursor, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        
+        List<AppointmentDto> rows = after == null
+                ? appointmentRepository.findDtoPageByTenantIdAndDateRange(tenantId, startDate, endDate,
+                        KeysetCursor.probeLimit(pageSize))
+                : appointmentRepository.findDtoPageByTenantIdAndDateRangeAfter(tenantId, startDate, endDate,
+                        after.getPosition(), after.getId(), KeysetCursor.probeLimit(pageSize));
+        return KeysetCursor.toPage(rows, pageSize, dto -> new KeysetCursor(dto.getStartTime(), dto.getId()));
     }
     
     /**
      * Yeni randevu oluşturma
+     * 
+     * Müsaitlik kontrolü ve kayıt, aynı kuaförün aynı gününe yazan diğer isteklerle
+     * sırayla yapılır (BookingGuard); aynı slot'a gelen eşzamanlı isteklerden sadece biri başarılı olur.
      */
     public AppointmentDto createAppointment(CreateAppointmentRequest request, Long tenantId) {
+        return createAppointment(request, tenantId, null);
+    }
+    
+    /**
+     * Yeni randevu oluşturma (tutulan slot'u randevuya dönüştürerek)
+     * 
+     * Sahibin kendi tutması müsaitlik kontrolünde dolu sayılmaz; randevu commit edilince tutma bırakılır.
+     * 
+     * @param holdOwnerKey slot'u tutan sahip (WhatsApp oturumu), yoksa null
+     */
+    public AppointmentDto createAppointment(CreateAppointmentRequest request, Long tenantId, String holdOwnerKey) {
         // Tenant kontrolü
         Tenant tenant = tenantRepository.findById(tenantId)
                 .filter(t -> t.getActive())
                 .orElseThrow(() -> new IllegalArgumentException("Kuaför bulunamadı: " + tenantId));
         
         // Müşteri kontrolü/oluşturma
-        Customer customer;
-        if (request.getCustomerId() != null) {
-            customer = customerRepository.findByIdAndTenantId(request.getCustomerId(), tenantId)
-                    .filter(c -> c.getActive())
-                    .orElseThrow(() -> new IllegalArgumentException("Müşteri bulunamadı: " + request.getCustomerId()));
-        } else if (request.getCustomerPhone() != null) {
-            // WhatsApp'tan gelen randevu - müşteri otomatik oluştur
-            CustomerDto customerDto = customerService.createCustomerFromWhatsApp(
-                    request.getCustomerName(), 
-                    request.getCustomerPhone(), 
-                    tenantId);
-            customer = customerRepository.findById(customerDto.getId()).orElseThrow();
-        } else {
-            throw new IllegalArgumentException("Müşteri bilgisi eksik");
-        }
+        Customer customer = resolveCustomer(
+                request.getCustomerId(), request.getCustomerName(), request.getCustomerPhone(), tenantId);
         
         // Hizmet kontrolü
         Service service = serviceRepository.findByIdAndTenantId(request.getServiceId(), tenantId)
                 .filter(s -> s.getActive())
                 .orElseThrow(() -> new IllegalArgumentException("Hizmet bulunamadı: " + request.getServiceId()));
         
-        // Slot müsaitlik kontrolü
-        if (!slotService.isSlotAvailable(tenantId, service.getId(), request.getStartTime())) {
+        // Slot müsaitlik kontrolü (çakışan yazımlar transaction sonuna kadar bekler)
+        LocalDateTime endTime = request.getStartTime().plusMinutes(service.getDurationMinutes());
+        bookingGuard.acquire(tenantId, request.getStartTime(), endTime);
+        if (!slotService.isSlotAvailable(tenantId, service.getId(), request.getStartTime(), holdOwnerKey)) {
             throw new IllegalArgumentException("Seçilen saat artık müsait değil");
         }
         
         // Randevu oluştur
-        LocalDateTime endTime = request.getStartTime().plusMinutes(service.getDurationMinutes());
-        
         Appointment appointment = new Appointment(
                 request.getStartTime(),
                 endTime,
@@ -183,34 +289,144 @@ public class AppointmentService {
         
         appointment.setNotes(request.getNotes());
         appointment.setStatus(Appointment.AppointmentStatus.PENDING);
-        // Hizmet fiyatı ve para birimini randevuya işle
-        try {
-            if (service.getPrice() != null) {
-                appointment.setTotalPrice(service.getPrice());
-            }
-            if (service.getCurrency() != null && !service.getCurrency().isBlank()) {
-                appointment.setCurrency(service.getCurrency());
-            } else {
-                // Varsayılan para birimi
-                appointment.setCurrency("TRY");
-            }
-        } catch (Exception ignored) {
-            // Herhangi bir serileştirme/nullable probleminde randevuyu bloke etme
-            if (appointment.getCurrency() == null) {
-                appointment.setCurrency("TRY");
-            }
-        }
+        appointment.setChair(slotService.findFreeChair(tenantId, request.getStartTime(), endTime, null));
+        applyServicePrice(appointment, service);
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        appointmentOutbox.record(savedAppointment, AppointmentOutboxEvent.EventType.CREATED);
+        appointmentChangeLog.touch(savedAppointment);
+        availabilityCache.evictAfterCommit(tenantId, savedAppointment.getStartTime().toLocalDate());
+        slotHoldService.releaseAfterCommit(holdOwnerKey);
         return convertToDto(savedAppointment);
     }
     
+    /**
+     * Paket randevu oluşturma (birden fazla hizmet, arka arkaya)
+     * 
+     * Hizmetler tek sorguyla yüklenir, toplam süre için tek müsaitlik kontrolü yapılır ve
+     * her hizmet için bir randevu, bir öncekinin bitişinden başlayacak şekilde oluşturulur.
+     * Tüm randevular aynı transaction içinde kaydedilir; biri başarısız olursa hiçbiri kalmaz.
+     */
+    public List<AppointmentDto> createBundleAppointment(CreateBundleAppointmentRequest request, Long tenantId) {
+        return createBundleAppointment(request, tenantId, null);
+    }
+    
+    /**
+     * Paket randevu oluşturma (tutulan slot'u randevuya dönüştürerek)
+     * 
+     * @param holdOwnerKey slot'u tutan sahip (WhatsApp oturumu), yoksa null
+     */
+    public List<AppointmentDto> createBundleAppointment(CreateBundleAppointmentRequest request, Long tenantId,
+                                                        String holdOwnerKey) {
+        if (request.getServiceIds() == null || request.getServiceIds().isEmpty()) {
+            throw new IllegalArgumentException("En az bir hizmet seçilmeli");
+        }
+        
+        // Tenant kontrolü
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .filter(t -> t.getActive())
+                .orElseThrow(() -> new IllegalArgumentException("Kuaför bulunamadı: " + tenantId));
+        
+        // Müşteri kontrolü/oluşturma
+        Customer customer = resolveCustomer(
+                request.getCustomerId(), request.getCustomerName(), request.getCustomerPhone(), tenantId);
+        
+        // Hizmet kontrolü (tek sorgu, istek sırası korunur)
+        List<Service> services = findActiveServicesInOrder(request.getServiceIds(), tenantId);
+        int totalDuration = services.stream().mapToInt(Service::getDurationMinutes).sum();
+        
+        // Slot müsaitlik kontrolü (paketin tamamı için bir kez, çakışan yazımlar sırayla)
+        bookingGuard.acquire(tenantId, request.getStartTime(), request.getStartTime().plusMinutes(totalDuration));
+        if (!slotService.isRangeAvailable(tenantId, request.getStartTime(), totalDuration, holdOwnerKey)) {
+            throw new IllegalArgumentException("Seçilen saat artık müsait değil");
+        }
+        
+        // Paketin tamamı aynı koltukta yapılır
+        Chair chair = slotService.findFreeChair(tenantId, request.getStartTime(),
+                request.getStartTime().plusMinutes(totalDuration), null);
+        
+        // Randevuları oluştur
+        List<Appointment> appointments = new ArrayList<>(services.size());
+        LocalDateTime start = request.getStartTime();
+        for (Service service : services) {
+            LocalDateTime end = start.plusMinutes(service.getDurationMinutes());
+            Appointment appointment = new Appointment(start, end, tenant, customer, service);
+            appointment.setNotes(request.getNotes());
+            appointment.setStatus(Appointment.AppointmentStatus.PENDING);
+            appointment.setChair(chair);
+            applyServicePrice(appointment, service);
+            appointments.add(appointment);
+            start = end;
+        }
+        
+        List<Appointment> savedAppointments = appointmentRepository.saveAll(appointments);
+        appointmentOutbox.recordAll(savedAppointments, AppointmentOutboxEvent.EventType.CREATED);
+        appointmentChangeLog.touchAll(tenantId, savedAppointments);
+        LocalDate firstDate = request.getStartTime().toLocalDate();
+        availabilityCache.evictAfterCommit(tenantId, firstDate);
+        if (!start.toLocalDate().equals(firstDate)) {
+            availabilityCache.evictAfterCommit(tenantId, start.toLocalDate());
+        }
+        slotHoldService.releaseAfterCommit(holdOwnerKey);
+        return savedAppointments.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Onay bekleyen müşteri için slot tutma
+     * 
+     * Müsaitlik kontrolü randevu yazımlarıyla aynı kilit altında yapılır; slot doluysa
+     * IllegalArgumentException fırlatılır. Sahibin önceki tutması yenisiyle değiştirilir.
+     * 
+     * @param holdOwnerKey slot'u tutan sahip (WhatsApp oturumu)
+     */
+    public SlotHold holdSlot(String holdOwnerKey, Long tenantId, List<Long> serviceIds, LocalDateTime startTime) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            throw new IllegalArgumentException("En az bir hizmet seçilmeli");
+        }
+        
+        int totalDuration = findActiveServicesInOrder(serviceIds, tenantId).stream()
+                .mapToInt(Service::getDurationMinutes)
+                .sum();
+        return holdSlot(holdOwnerKey, tenantId, startTime, totalDuration);
+    }
+    
+    /**
+     * Süre ile slot tutma (hizmet henüz seçilmemişken, ör. konum aramasında sunulan saat)
+     * 
+     * @param holdOwnerKey slot'u tutan sahip (WhatsApp oturumu)
+     */
+    public SlotHold holdSlot(String holdOwnerKey, Long tenantId, LocalDateTime startTime, int durationMinutes) {
+        if (durationMinutes < 1) {
+            throw new IllegalArgumentException("Süre en az 1 dakika olmalı: " + durationMinutes);
+        }
+        LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
+        
+        bookingGuard.acquire(tenantId, startTime, endTime);
+        if (!slotService.isRangeAvailable(tenantId, startTime, durationMinutes, holdOwnerKey)) {
+            throw new IllegalArgumentException("Seçilen saat artık müsait değil");
+        }
+        
+        return slotHoldService.place(holdOwnerKey, tenantId, startTime, endTime);
+    }
+    
     /**
      * Randevu onaylama
      */
     public AppointmentDto confirmAppointment(Long id, Long tenantId) {
+        return confirmAppointment(id, tenantId, null);
+    }
+    
+    /**
+     * Randevu onaylama (istemcinin gördüğü sürümle)
+     * 
+     * @param expectedVersion istemcinin gördüğü sürüm; boşsa güncel sürüm kullanılır
+     */
+    public AppointmentDto confirmAppointment(Long id, Long tenantId, Long expectedVersion) {
         Appointment appointment = appointmentRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new IllegalArgumentException("Randevu bulunamadı: " + id));
+        checkVersion(appointment, expectedVersion);
         
         if (appointment.getStatus() != Appointment.AppointmentStatus.PENDING) {
             throw new IllegalArgumentException("Sadece beklemedeki randevular onaylanabilir");
@@ -218,6 +434,8 @@ public class AppointmentService {
         
         appointment.setStatus(Appointment.AppointmentStatus.CONFIRMED);
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        appointmentOutbox.record(updatedAppointment, AppointmentOutboxEvent.EventType.CONFIRMED);
+        appointmentChangeLog.touch(updatedAppointment);
         
         return convertToDto(updatedAppointment);
     }
@@ -226,8 +444,18 @@ public class AppointmentService {
      * Randevu tamamlama
      */
     public AppointmentDto completeAppointment(Long id, Long tenantId) {
+        return completeAppointment(id, tenantId, null);
+    }
+    
+    /**
+     * Randevu tamamlama (istemcinin gördüğü sürümle)
+     * 
+     * @param expectedVersion istemcinin gördüğü sürüm; boşsa güncel sürüm kullanılır
+     */
+    public AppointmentDto completeAppointment(Long id, Long tenantId, Long expectedVersion) {
         Appointment appointment = appointmentRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new IllegalArgumentException("Randevu bulunamadı: " + id));
+        checkVersion(appointment, expectedVersion);
         
         if (appointment.isCancelled()) {
             throw new IllegalArgumentException("İptal edilmiş randevu tamamlanamaz");
@@ -235,6 +463,8 @@ public class AppointmentService {
         
         appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        appointmentOutbox.record(updatedAppointment, AppointmentOutboxEvent.EventType.COMPLETED);
+        appointmentChangeLog.touch(updatedAppointment);
         
         return convertToDto(updatedAppointment);
     }
@@ -243,8 +473,18 @@ public class AppointmentService {
      * Randevu iptal etme
      */
     public AppointmentDto cancelAppointment(Long id, Long tenantId, String reason) {
+        return cancelAppointment(id, tenantId, reason, null);
+    }
+    
+    /**
+     * Randevu iptal etme (istemcinin gördüğü sürümle)
+     * 
+     * @param expectedVersion istemcinin gördüğü sürüm; boşsa güncel sürüm kullanılır
+     */
+    public AppointmentDto cancelAppointment(Long id, Long tenantId, String reason, Long expectedVersion) {
         Appointment appointment = appointmentRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new IllegalArgumentException("Randevu bulunamadı: " + id));
+        checkVersion(appointment, expectedVersion);
         
         if (appointment.isCompleted()) {
             throw new IllegalArgumentException("Tamamlanmış randevu iptal edilemez");
@@ -258,42 +498,161 @@ public class AppointmentService {
         }
         
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        appointmentOutbox.record(updatedAppointment, AppointmentOutboxEvent.EventType.CANCELLED);
+        appointmentChangeLog.touch(updatedAppointment);
+        availabilityCache.evictAfterCommit(tenantId, updatedAppointment.getStartTime().toLocalDate());
         return convertToDto(updatedAppointment);
     }
     
+    /**
+     * Toplu randevu durum değişikliği (ör. bugünkü tüm randevuları tamamlama)
+     * 
+     * Randevuların durum ve sürümü tek sorguyla okunur; geçişe uygun olanlar sürüm kontrollü
+     * JDBC batch güncellemesiyle hedef duruma alınır. Bulunamayan, durumu uygun olmayan veya
+     * arada başka bir işlemle (panel, zamanlanmış görev) değiştirilen randevular güncellenmez ve
+     * nedeniyle birlikte raporlanır; diğerleri yine güncellenir.
+     */
+    public BulkStatusTransitionResponse transitionStatuses(Long tenantId, BulkStatusTransitionRequest request) {
+        Appointment.AppointmentStatus targetStatus = request.getTargetStatus();
+        Set<Appointment.AppointmentStatus> fromStatuses = targetStatus != null ? BULK_TRANSITIONS.get(targetStatus) : null;
+        if (fromStatuses == null) {
+            throw new IllegalArgumentException("Toplu işlemle bu duruma geçilemez: " + targetStatus);
+        }
+        
+        boolean byItems = request.getItems() != null && !request.getItems().isEmpty();
+        if (byItems == (request.getDate() != null)) {
+            throw new IllegalArgumentException("Randevular ya ID listesiyle ya da tarih ile seçilmeli");
+        }
+        
+        // Randevu ID'si → beklenen sürüm (istek sırası korunur)
+        Map<Long, Long> requestedVersions = new LinkedHashMap<>();
+        Map<Long, AppointmentStatusSnapshot> snapshots = new HashMap<>();
+        if (byItems) {
+            if (request.getItems().size() > MAX_BULK_ITEMS) {
+                throw new IllegalArgumentException("Tek istekte en fazla " + MAX_BULK_ITEMS + " randevu güncellenebilir");
+            }
+            for (BulkStatusTransitionRequest.Item item : request.getItems()) {
+                if (item.getId() == null) {
+                    throw new IllegalArgumentException("Randevu ID'si boş olamaz");
+                }
+                requestedVersions.put(item.getId(), item.getVersion());
+            }
+            for (AppointmentStatusSnapshot snapshot : appointmentRepository.findStatusSnapshots(tenantId, requestedVersions.keySet())) {
+                snapshots.put(snapshot.getId(), snapshot);
+            }
+        } else {
+            LocalDateTime startOfDay = request.getDate().atStartOfDay();
+            for (AppointmentStatusSnapshot snapshot : appointmentRepository.findStatusSnapshotsByDateRange(
+                    tenantId, startOfDay, startOfDay.plusDays(1), fromStatuses)) {
+                requestedVersions.put(snapshot.getId(), snapshot.getVersion());
+                snapshots.put(snapshot.getId(), snapshot);
+            }
+        }
+        
+        // Okunan duruma göre eleme
+        List<BulkStatusTransitionResponse.Conflict> conflicts = new ArrayList<>();
+        Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+        for (Map.Entry<Long, Long> entry : requestedVersions.entrySet()) {
+            AppointmentStatusSnapshot snapshot = snapshots.get(entry.getKey());
+            if (snapshot == null) {
+                conflicts.add(new BulkStatusTransitionResponse.Conflict(
+                        entry.getKey(), BulkStatusTransitionResponse.ConflictReason.NOT_FOUND, null, null));
+            } else if (!fromStatuses.contains(snapshot.getStatus())) {
+                conflicts.add(new BulkStatusTransitionResponse.Conflict(snapshot.getId(),
+                        BulkStatusTransitionResponse.ConflictReason.INVALID_STATUS, snapshot.getStatus(), snapshot.getVersion()));
+            } else if (entry.getValue() != null && !entry.getValue().equals(snapshot.getVersion())) {
+                conflicts.add(new BulkStatusTransitionResponse.Conflict(snapshot.getId(),
+                        BulkStatusTransitionResponse.ConflictReason.VERSION_MISMATCH, snapshot.getStatus(), snapshot.getVersion()));
+            } else {
+                expectedVersions.put(snapshot.getId(), snapshot.getVersion());
+            }
+        }
+        
+        // Sürüm kontrollü toplu güncelleme; eşleşmeyen satırlar okumadan sonra değiştirilmiştir
+        Set<Long> updated = expectedVersions.isEmpty()
+                ? Set.of()
+                : appointmentRepository.updateStatusIfVersionMatches(expectedVersions, targetStatus, fromStatuses);
+        
+        List<Long> updatedIds = new ArrayList<>(updated.size());
+        List<AppointmentStatusSnapshot> updatedSnapshots = new ArrayList<>(updated.size());
+        Set<LocalDate> changedDates = new HashSet<>();
+        for (Long id : expectedVersions.keySet()) {
+            if (updated.contains(id)) {
+                updatedIds.add(id);
+                updatedSnapshots.add(snapshots.get(id));
+                changedDates.add(snapshots.get(id).getStartTime().toLocalDate());
+            } else {
+                conflicts.add(new BulkStatusTransitionResponse.Conflict(
+                        id, BulkStatusTransitionResponse.ConflictReason.VERSION_MISMATCH, null, null));
+            }
+        }
+        
+        if (!updatedSnapshots.isEmpty()) {
+            appointmentOutbox.recordSnapshots(updatedSnapshots, AppointmentOutboxEvent.EventType.forStatus(targetStatus));
+            appointmentChangeLog.markChanged(tenantId, updatedIds);
+        }
+        
+        // Onaylama müsaitliği değiştirmez; diğer geçişler slot'ları boşaltır
+        if (targetStatus != Appointment.AppointmentStatus.CONFIRMED) {
+            for (LocalDate date : changedDates) {
+                availabilityCache.evictAfterCommit(tenantId, date);
+            }
+        }
+        
+        return new BulkStatusTransitionResponse(updatedIds, conflicts);
+    }
+    
     /**
      * Randevu güncelleme
      */
     public AppointmentDto updateAppointment(Long id, CreateAppointmentRequest request, Long tenantId) {
+        return updateAppointment(id, request, tenantId, null);
+    }
+    
+    /**
+     * Randevu güncelleme (istemcinin gördüğü sürümle)
+     * 
+     * @param expectedVersion istemcinin gördüğü sürüm; boşsa güncel sürüm kullanılır
+     */
+    public AppointmentDto updateAppointment(Long id, CreateAppointmentRequest request, Long tenantId, Long expectedVersion) {
         Appointment appointment = appointmentRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new IllegalArgumentException("Randevu bulunamadı: " + id));
+        checkVersion(appointment, expectedVersion);
         
         if (appointment.isCompleted() || appointment.isCancelled()) {
             throw new IllegalArgumentException("Tamamlanmış veya iptal edilmiş randevu güncellenemez");
         }
         
         // Yeni zaman için slot kontrolü (mevcut randevu hariç)
+        LocalDateTime previousStartTime = appointment.getStartTime();
+        LocalDate previousDate = previousStartTime.toLocalDate();
         if (!request.getStartTime().equals(appointment.getStartTime())) {
             Service service = appointment.getService();
             LocalDateTime newEndTime = request.getStartTime().plusMinutes(service.getDurationMinutes());
+            bookingGuard.acquire(tenantId, request.getStartTime(), newEndTime);
             
-            List<Appointment> conflictingAppointments = appointmentRepository
-                    .findConflictingAppointments(tenantId, request.getStartTime(), newEndTime)
-                    .stream()
-                    .filter(a -> !a.getId().equals(id))
-                    .collect(Collectors.toList());
-            
-            if (!conflictingAppointments.isEmpty()) {
+            // Diğer randevular ve müşterilerin tutmaları; boş koltuk kaldığı sürece çakışma engel değildir
+            if (!slotService.isRangeAvailable(tenantId, request.getStartTime(), service.getDurationMinutes(), null, id)) {
                 throw new IllegalArgumentException("Seçilen saat başka bir randevuyla çakışıyor");
             }
             
             appointment.setStartTime(request.getStartTime());
             appointment.setEndTime(newEndTime);
+            appointment.setChair(slotService.findFreeChair(tenantId, request.getStartTime(), newEndTime, id));
         }
         
         appointment.setNotes(request.getNotes());
         
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        appointmentChangeLog.touch(updatedAppointment);
+        if (!updatedAppointment.getStartTime().equals(previousStartTime)) {
+            appointmentOutbox.recordRescheduled(updatedAppointment, previousStartTime);
+        }
+        LocalDate newDate = updatedAppointment.getStartTime().toLocalDate();
+        if (!newDate.equals(previousDate)) {
+            availabilityCache.evictAfterCommit(tenantId, previousDate);
+        }
+        availabilityCache.evictAfterCommit(tenantId, newDate);
         return convertToDto(updatedAppointment);
     }
     
@@ -340,6 +699,71 @@ public class AppointmentService {
     }
     
     // Utility methods
+    private Customer resolveCustomer(Long customerId, String customerName, String customerPhone, Long tenantId) {
+        if (customerId != null) {
+            return customerRepository.findByIdAndTenantId(customerId, tenantId)
+                    .filter(c -> c.getActive())
+                    .orElseThrow(() -> new IllegalArgumentException("Müşteri bulunamadı: " + customerId));
+        } else if (customerPhone != null) {
+            // WhatsApp'tan gelen randevu - müşteri otomatik oluştur
+            CustomerDto customerDto = customerService.createCustomerFromWhatsApp(
+                    customerName, 
+                    customerPhone, 
+                    tenantId);
+            return customerRepository.findById(customerDto.getId()).orElseThrow();
+        } else {
+            throw new IllegalArgumentException("Müşteri bilgisi eksik");
+        }
+    }
+    
+    /**
+     * Aktif hizmetleri tek sorguyla yükleyip istek sırasıyla döndürme (tekrar eden ID'ler tekrar eder)
+     */
+    private List<Service> findActiveServicesInOrder(List<Long> serviceIds, Long tenantId) {
+        Map<Long, Service> servicesById = serviceRepository
+                .findByIdInAndTenantIdAndActiveTrue(new HashSet<>(serviceIds), tenantId)
+                .stream()
+                .collect(Collectors.toMap(Service::getId, s -> s));
+        List<Service> services = new ArrayList<>(serviceIds.size());
+        for (Long serviceId : serviceIds) {
+            Service service = servicesById.get(serviceId);
+            if (service == null) {
+                throw new IllegalArgumentException("Hizmet bulunamadı: " + serviceId);
+            }
+            services.add(service);
+        }
+        return services;
+    }
+    
+    private void applyServicePrice(Appointment appointment, Service service) {
+        // Hizmet fiyatı ve para birimini randevuya işle
+        try {
+            if (service.getPrice() != null) {
+                appointment.setTotalPrice(service.getPrice());
+            }
+            if (service.getCurrency() != null && !service.getCurrency().isBlank()) {
+                appointment.setCurrency(service.getCurrency());
+            } else {
+                // Varsayılan para birimi
+                appointment.setCurrency("TRY");
+            }
+        } catch (Exception ignored) {
+            // Herhangi bir serileştirme/nullable probleminde randevuyu bloke etme
+            if (appointment.getCurrency() == null) {
+                appointment.setCurrency("TRY");
+            }
+        }
+    }
+    
+    /**
+     * İstemcinin gördüğü sürüm güncel değilse değişikliği reddetme (randevu arada başka işlemle değişmiş)
+     */
+    private void checkVersion(Appointment appointment, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(appointment.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Appointment.class, appointment.getId());
+        }
+    }
+    
     private AppointmentDto convertToDto(Appointment appointment) {
         AppointmentDto dto = new AppointmentDto();
         dto.setId(appointment.getId());
@@ -358,6 +782,10 @@ public class AppointmentService {
         dto.setTenantId(appointment.getTenant().getId());
         dto.setCustomerId(appointment.getCustomer().getId());
         dto.setServiceId(appointment.getService().getId());
+        if (appointment.getChair() != null) {
+            dto.setChairId(appointment.getChair().getId());
+        }
+        dto.setVersion(appointment.getVersion());
         
         // Related entities
         dto.setCustomer(convertCustomerToDto(appointment.getCustomer()));
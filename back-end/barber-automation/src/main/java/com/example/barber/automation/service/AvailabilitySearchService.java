@@ -0,0 +1,202 @@
+package com.example.barber.automation.service;
+
+import com.example.barber.automation.dto.AvailabilitySearchResponse;
+import com.example.barber.automation.dto.SlotResponse;
+import com.example.barber.automation.dto.TenantDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Konum bazlı müsaitlik arama servisi
+ *
+ * Bir şehir/ilçedeki kuaförlerin slot hesaplamaları sınırlı bir thread havuzunda paralel
+ * yapılır ve tek bir sıralı "kuaför + saat" listesinde birleştirilir. Her istek için bir
+ * süre sınırı vardır: sınırda bitmeyen kuaförler beklenmez, eldeki sonuçlar döner (partial).
+ *
+ * Sıralama: tercih edilen saate en yakın seçenek önce (eşitlikte erken saat),
+ * tercih yoksa en erken saat önce. Tek bir kuaförün listeyi doldurmaması için kuaför başına
+ * en fazla MAX_OPTIONS_PER_TENANT seçenek alınır.
+ */
+@Service
+public class AvailabilitySearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilitySearchService.class);
+
+    /**
+     * Yanıttaki en fazla seçenek sayısı
+     */
+    public static final int MAX_OPTIONS = 10;
+
+    /**
+     * Bir kuaförden alınabilecek en fazla seçenek sayısı
+     */
+    public static final int MAX_OPTIONS_PER_TENANT = 3;
+
+    private final SlotService slotService;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    @Autowired
+    public AvailabilitySearchService(SlotService slotService,
+                                     @Value("${availability.search.threads:8}") int threads,
+                                     @Value("${availability.search.queue-capacity:256}") int queueCapacity,
+                                     @Value("${availability.search.timeout-ms:1500}") long timeoutMillis) {
+        this.slotService = slotService;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "availability-search-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Kuaförler arasında belirli gün (ve tercihen saat) için müsait seçenekleri arama
+     *
+     * @param tenants         aranacak kuaförler (ör. şehir/ilçe listesi)
+     * @param date            gün
+     * @param preferredTime   tercih edilen saat (null ise en erken saatler)
+     * @param durationMinutes randevu süresi
+     */
+    public AvailabilitySearchResponse search(List<TenantDto> tenants, LocalDate date, LocalTime preferredTime,
+                                             int durationMinutes) {
+        return search(tenants, date, preferredTime, durationMinutes, null);
+    }
+
+    /**
+     * Kuaförler arasında müsait seçenekleri arama (sahibinin tuttuğu slot müsait görünür)
+     *
+     * @param holdOwnerKey slot tutan sahip (WhatsApp oturumu), yoksa null
+     */
+    public AvailabilitySearchResponse search(List<TenantDto> tenants, LocalDate date, LocalTime preferredTime,
+                                             int durationMinutes, String holdOwnerKey) {
+        if (date == null) {
+            throw new IllegalArgumentException("Tarih belirtilmeli");
+        }
+        if (durationMinutes < 1) {
+            throw new IllegalArgumentException("Süre en az 1 dakika olmalı: " + durationMinutes);
+        }
+        if (tenants == null || tenants.isEmpty()) {
+            return new AvailabilitySearchResponse(new ArrayList<>(), 0, 0);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        // Fan-out: her kuaför için ayrı görev (havuz/kuyruk doluysa kuaför atlanır)
+        List<Future<List<SlotResponse.TimeSlot>>> futures = new ArrayList<>(tenants.size());
+        for (TenantDto tenant : tenants) {
+            try {
+                futures.add(executor.submit(() ->
+                        slotService.getAvailableSlotsForDuration(tenant.getId(), date, durationMinutes, holdOwnerKey)));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Müsaitlik araması kuyruğu dolu, kuaför atlandı - tenant: {}", tenant.getId());
+                futures.add(null);
+            }
+        }
+
+        // Fan-in: süre sınırına kadar bekle, kalanları iptal et
+        LocalDateTime notBefore = date.equals(LocalDate.now()) ? LocalDateTime.now() : null;
+        List<RankedOption> candidates = new ArrayList<>();
+        int responded = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<List<SlotResponse.TimeSlot>> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            TenantDto tenant = tenants.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                List<SlotResponse.TimeSlot> slots = future.get(remaining, TimeUnit.NANOSECONDS);
+                responded++;
+                addTenantOptions(candidates, i, tenant, slots, preferredTime, notBefore);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                logger.debug("Müsaitlik araması süre sınırını aştı - tenant: {}", tenant.getId());
+            } catch (ExecutionException e) {
+                logger.warn("Müsaitlik hesaplanamadı - tenant: {}, hata: {}", tenant.getId(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.subList(i, futures.size()).forEach(f -> {
+                    if (f != null) {
+                        f.cancel(true);
+                    }
+                });
+                break;
+            }
+        }
+
+        candidates.sort(RANKING);
+        List<AvailabilitySearchResponse.Option> options = new ArrayList<>(Math.min(MAX_OPTIONS, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < MAX_OPTIONS; i++) {
+            options.add(candidates.get(i).option);
+        }
+
+        if (responded < tenants.size()) {
+            logger.info("Müsaitlik araması kısmi döndü - {}/{} kuaför", responded, tenants.size());
+        }
+        return new AvailabilitySearchResponse(options, tenants.size(), responded);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Kuaförün tercihe en yakın seçeneklerini aday listesine ekleme
+     */
+    private void addTenantOptions(List<RankedOption> candidates, int tenantOrder, TenantDto tenant,
+                                  List<SlotResponse.TimeSlot> slots, LocalTime preferredTime,
+                                  LocalDateTime notBefore) {
+        List<RankedOption> tenantOptions = new ArrayList<>();
+        for (SlotResponse.TimeSlot slot : slots) {
+            if (notBefore != null && slot.getStartTime().isBefore(notBefore)) {
+                continue; // Geçmiş saat
+            }
+            long distance = preferredTime == null ? 0
+                    : Math.abs(ChronoUnit.MINUTES.between(preferredTime, slot.getStartTime().toLocalTime()));
+            tenantOptions.add(new RankedOption(distance, tenantOrder, new AvailabilitySearchResponse.Option(
+                    tenant.getId(), tenant.getName(), tenant.getDistrict(), slot.getStartTime(), slot.getEndTime())));
+        }
+
+        tenantOptions.sort(RANKING);
+        candidates.addAll(tenantOptions.subList(0, Math.min(MAX_OPTIONS_PER_TENANT, tenantOptions.size())));
+    }
+
+    private static final Comparator<RankedOption> RANKING = Comparator
+            .comparingLong((RankedOption o) -> o.distanceMinutes)
+            .thenComparing(o -> o.option.getStartTime())
+            .thenComparingInt(o -> o.tenantOrder);
+
+    private static final class RankedOption {
+        final long distanceMinutes;
+        final int tenantOrder;
+        final AvailabilitySearchResponse.Option option;
+
+        RankedOption(long distanceMinutes, int tenantOrder, AvailabilitySearchResponse.Option option) {
+            this.distanceMinutes = distanceMinutes;
+            this.tenantOrder = tenantOrder;
+            this.option = option;
+        }
+    }
+}
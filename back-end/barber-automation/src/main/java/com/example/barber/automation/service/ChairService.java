@@ -0,0 +1,81 @@
+package com.example.barber.automation.service;
+
+import com.example.barber.automation.dto.ChairDto;
+import com.example.barber.automation.entity.Chair;
+import com.example.barber.automation.entity.Tenant;
+import com.example.barber.automation.repository.ChairRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Chair (Koltuk) business logic service
+ * 
+ * Aktif koltuk sayısı kuaförün kapasitesidir; koltuk eklenip çıkarıldığında takvim ve
+ * müsaitlik önbelleği ScheduleChangeListener ile temizlenir.
+ */
+@Service
+@Transactional
+public class ChairService {
+    
+    private final ChairRepository chairRepository;
+    private final TenantRepository tenantRepository;
+    
+    @Autowired
+    public ChairService(ChairRepository chairRepository, TenantRepository tenantRepository) {
+        this.chairRepository = chairRepository;
+        this.tenantRepository = tenantRepository;
+    }
+    
+    /**
+     * Tenant'a ait aktif koltukları listeleme
+     */
+    public List<ChairDto> findAllByTenant(Long tenantId) {
+        return chairRepository.findByTenantIdAndActiveTrueOrderByIdAsc(tenantId)
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Yeni koltuk oluşturma
+     */
+    public ChairDto createChair(ChairDto chairDto, Long tenantId) {
+        // Tenant kontrolü
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .filter(t -> t.getActive())
+                .orElseThrow(() -> new IllegalArgumentException("Kuaför bulunamadı: " + tenantId));
+        
+        Chair chair = new Chair(chairDto.getName(), tenant);
+        chair.setActive(true);
+        
+        Chair savedChair = chairRepository.save(chair);
+        return convertToDto(savedChair);
+    }
+    
+    /**
+     * Koltuğu pasif hale getirme (soft delete)
+     * 
+     * Koltuğa atanmış randevular korunur; kapasite bir azalır.
+     */
+    public void deactivateChair(Long id, Long tenantId) {
+        Chair chair = chairRepository.findByIdAndTenantId(id, tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("Koltuk bulunamadı: " + id));
+        
+        chair.setActive(false);
+        chairRepository.save(chair);
+    }
+    
+    private ChairDto convertToDto(Chair chair) {
+        ChairDto dto = new ChairDto();
+        dto.setId(chair.getId());
+        dto.setName(chair.getName());
+        dto.setActive(chair.getActive());
+        dto.setTenantId(chair.getTenant().getId());
+        return dto;
+    }
+}
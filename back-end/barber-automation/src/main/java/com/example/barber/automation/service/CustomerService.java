@@ -1,10 +1,12 @@
 package com.example.barber.automation.service;
 
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.dto.CustomerDto;
 import com.example.barber.automation.entity.Customer;
 import com.example.barber.automation.entity.Tenant;
 import com.example.barber.automation.repository.CustomerRepository;
 import com.example.barber.automation.repository.TenantRepository;
+import com.example.barber.automation.service.pagination.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -64,6 +66,33 @@ public class CustomerService {
         return findAllByTenant(tenantId);
     }
     
+    /**
+     * Aktif müşterileri sayfa sayfa listeleme (kayıt sırasıyla)
+     * 
+     * tenantId boşsa tüm kuaförlerin müşterileri döner. Sayfalar (createdAt, id) imleciyle okunur.
+     */
+    public CursorPage<CustomerDto> findPage(Long tenantId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        
+        List<Customer> rows;
+        if (tenantId != null) {
+            rows = after == null
+                    ? customerRepository.findPageByTenantId(tenantId, KeysetCursor.probeLimit(pageSize))
+                    : customerRepository.findPageByTenantIdAfter(tenantId, after.getPosition(), after.getId(),
+                            KeysetCursor.probeLimit(pageSize));
+        } else {
+            rows = after == null
+                    ? customerRepository.findPage(KeysetCursor.probeLimit(pageSize))
+                    : customerRepository.findPageAfter(after.getPosition(), after.getId(), KeysetCursor.probeLimit(pageSize));
+        }
+        
+        List<CustomerDto> dtos = rows.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return KeysetCursor.toPage(dtos, pageSize, dto -> new KeysetCursor(dto.getCreatedAt(), dto.getId()));
+    }
+    
     /**
      * Tüm aktif müşterileri listeleme
      */
@@ -6,9 +6,11 @@ import com.example.barber.automation.entity.Reminder;
 import com.example.barber.automation.entity.TenantSetting;
 import com.example.barber.automation.repository.ReminderRepository;
 import com.example.barber.automation.repository.TenantSettingRepository;
+import com.example.barber.automation.service.pagination.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,14 @@ public class NotificationService {
     
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     
+    /**
+     * Hazır hatırlatmalar bu boyutta sayfalarla okunur (tüm kuyruk belleğe alınmaz)
+     */
+    static final int REMINDER_BATCH_SIZE = 100;
+    
+    // Keyset taramasının başlangıç imleci (tüm gerçek kayıtlardan önce)
+    private static final KeysetCursor REMINDER_SCAN_START = new KeysetCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    
     private final ReminderRepository reminderRepository;
     private final TenantSettingRepository tenantSettingRepository;
     private final WhatsAppService whatsAppService;
@@ -105,41 +115,60 @@ public class NotificationService {
      * Bekleyen hatırlatmaları işleme
      */
     public void processReadyReminders() {
-        List<Reminder> readyReminders = reminderRepository.findReadyToSendReminders(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        KeysetCursor cursor = REMINDER_SCAN_START;
+        int processed = 0;
         
-        logger.info("İşlenecek hatırlatma sayısı: {}", readyReminders.size());
+        List<Reminder> batch;
+        do {
+            batch = reminderRepository.findReadyToSendRemindersAfter(
+                    now, cursor.getPosition(), cursor.getId(), Limit.of(REMINDER_BATCH_SIZE));
+            for (Reminder reminder : batch) {
+                processReadyReminder(reminder);
+            }
+            if (!batch.isEmpty()) {
+                Reminder last = batch.get(batch.size() - 1);
+                cursor = new KeysetCursor(last.getScheduledFor(), last.getId());
+                processed += batch.size();
+            }
+        } while (batch.size() == REMINDER_BATCH_SIZE);
         
-        for (Reminder reminder : readyReminders) {
-            try {
-                // Müşteri bildirim iznini kontrol et
-                if (!reminder.getCustomer().getAllowNotifications()) {
-                    reminder.setStatus(Reminder.ReminderStatus.CANCELLED);
-                    reminderRepository.save(reminder);
-                    continue;
-                }
-                
-                // Mesajı gönder
-                whatsAppService.sendMessage(
-                        reminder.getCustomer().getPhoneNumber(),
-                        reminder.getMessage(),
-                        reminder.getTenant().getId()
-                );
-                
-                // Başarılı olarak işaretle
-                reminder.markAsSent();
-                reminderRepository.save(reminder);
-                
-                logger.info("Hatırlatma gönderildi - Customer: {}, Type: {}", 
-                        reminder.getCustomer().getName(), reminder.getType());
-                
-            } catch (Exception e) {
-                // Hatalı olarak işaretle
-                reminder.markAsFailed(e.getMessage());
+        logger.info("İşlenen hatırlatma sayısı: {}", processed);
+    }
+    
+    /**
+     * Tek bir hatırlatmayı gönderme ve durumunu güncelleme
+     */
+    private void processReadyReminder(Reminder reminder) {
+        try {
+            // Müşteri bildirim iznini kontrol et
+            if (!reminder.getCustomer().getAllowNotifications()) {
+                reminder.setStatus(Reminder.ReminderStatus.CANCELLED);
                 reminderRepository.save(reminder);
-                
-                logger.error("Hatırlatma gönderilemedi - Reminder ID: {}", 
-                        reminder.getId(), e);
+                return;
             }
+            
+            // Mesajı gönder
+            whatsAppService.sendMessage(
+                    reminder.getCustomer().getPhoneNumber(),
+                    reminder.getMessage(),
+                    reminder.getTenant().getId()
+            );
+            
+            // Başarılı olarak işaretle
+            reminder.markAsSent();
+            reminderRepository.save(reminder);
+            
+            logger.info("Hatırlatma gönderildi - Customer: {}, Type: {}", 
+                    reminder.getCustomer().getName(), reminder.getType());
+            
+        } catch (Exception e) {
+            // Hatalı olarak işaretle
+            reminder.markAsFailed(e.getMessage());
+            reminderRepository.save(reminder);
+            
+            logger.error("Hatırlatma gönderilemedi - Reminder ID: {}", 
+                    reminder.getId(), e);
         }
     }
     
@@ -1,128 +1,275 @@
 package com.example.barber.automation.service;
 
+import com.example.barber.automation.dto.AppointmentTimeRange;
+import com.example.barber.automation.dto.BatchSlotCheckRequest;
 import com.example.barber.automation.dto.SlotResponse;
 import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.entity.Chair;
 import com.example.barber.automation.entity.Service;
-import com.example.barber.automation.entity.TenantSetting;
 import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.repository.ChairRepository;
 import com.example.barber.automation.repository.ServiceRepository;
-import com.example.barber.automation.repository.TenantSettingRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.barber.automation.service.availability.AvailabilityCache;
+import com.example.barber.automation.service.availability.BusyTimeline;
+import com.example.barber.automation.service.availability.DayAvailability;
+import com.example.barber.automation.service.availability.DayOccupancy;
+import com.example.barber.automation.service.availability.OccupancyCounter;
+import com.example.barber.automation.service.availability.TenantSchedule;
+import com.example.barber.automation.service.availability.TenantScheduleProvider;
+import com.example.barber.automation.service.booking.SlotHoldService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Müsait saat slot'ları hesaplama servisi
+ * 
+ * Birden fazla koltuğu olan kuaförlerde bir slot, süresi boyunca her dakikada en az bir koltuk
+ * boşsa müsaittir (doluluk sayacı ile). Koltuklar randevulara tek sorguyla atanır.
+ * 
+ * Onay bekleyen müşteriler için tutulan slot'lar (SlotHoldService) tek koltuklu bir randevu gibi
+ * dolu sayılır; sadece tutmanın sahibi kendi tutmasını müsait görür. Tutmalar önbellekteki gün
+ * görüntüsüne yazılmaz, her istekte sahibininki hariç tutularak görüntünün kopyasına işlenir.
  */
 @Component
 public class SlotService {
     
+    /**
+     * Tek istekte hesaplanabilecek en uzun tarih aralığı (gün)
+     */
+    public static final int MAX_RANGE_DAYS = 60;
+    
+    /**
+     * En yakın slot aramasında dönülebilecek en fazla slot sayısı
+     */
+    public static final int MAX_EARLIEST_LIMIT = 50;
+    
+    /**
+     * Toplu slot kontrolünde tek istekte kontrol edilebilecek en fazla aday sayısı
+     */
+    public static final int MAX_BATCH_CHECKS = 50;
+    
+    /**
+     * En yakın slot aramasında randevuların tek sorguda yüklendiği gün sayısı
+     */
+    private static final int EARLIEST_CHUNK_DAYS = 7;
+    
     private final AppointmentRepository appointmentRepository;
     private final ServiceRepository serviceRepository;
-    private final TenantSettingRepository tenantSettingRepository;
-    private final ObjectMapper objectMapper;
+    private final ChairRepository chairRepository;
+    private final TenantScheduleProvider tenantScheduleProvider;
+    private final AvailabilityCache availabilityCache;
+    private final SlotHoldService slotHoldService;
     
     @Autowired
     public SlotService(AppointmentRepository appointmentRepository, 
                       ServiceRepository serviceRepository,
-                      TenantSettingRepository tenantSettingRepository,
-                      ObjectMapper objectMapper) {
+                      ChairRepository chairRepository,
+                      TenantScheduleProvider tenantScheduleProvider,
+                      AvailabilityCache availabilityCache,
+                      SlotHoldService slotHoldService) {
         this.appointmentRepository = appointmentRepository;
         this.serviceRepository = serviceRepository;
-        this.tenantSettingRepository = tenantSettingRepository;
-        this.objectMapper = objectMapper;
+        this.chairRepository = chairRepository;
+        this.tenantScheduleProvider = tenantScheduleProvider;
+        this.availabilityCache = availabilityCache;
+        this.slotHoldService = slotHoldService;
     }
     
     /**
      * Belirli bir tarih ve hizmet için müsait slot'ları getirme
      */
     public SlotResponse getAvailableSlots(Long tenantId, Long serviceId, LocalDate date) {
+        return getAvailableSlots(tenantId, serviceId, date, null);
+    }
+    
+    /**
+     * Belirli bir tarih ve hizmet için müsait slot'ları getirme (sahibinin tuttuğu slot müsait görünür)
+     * 
+     * @param holdOwnerKey slot tutan sahip (WhatsApp oturumu), yoksa null
+     */
+    public SlotResponse getAvailableSlots(Long tenantId, Long serviceId, LocalDate date, String holdOwnerKey) {
         // Hizmet kontrolü
         Service service = serviceRepository.findByIdAndTenantId(serviceId, tenantId)
                 .filter(s -> s.getActive())
                 .orElseThrow(() -> new IllegalArgumentException("Hizmet bulunamadı: " + serviceId));
         
-        // Çalışma saatleri
-        Map<String, Object> workingHours = getWorkingHours(tenantId);
-        List<TimeRange> workingRanges = getWorkingRangesForDate(workingHours, date);
+        return computeDailySlots(getDay(tenantId, date, holdOwnerKey), service.getDurationMinutes());
+    }
+    
+    /**
+     * Birden fazla hizmet (paket, ör. "Saç ve Sakal") için müsait slot'ları getirme
+     * 
+     * Hizmetler tek sorguyla yüklenir; paket, süreleri toplamı kadar kesintisiz bir blok olarak
+     * bir kez hesaplanır.
+     */
+    public SlotResponse getAvailableSlotsForServices(Long tenantId, List<Long> serviceIds, LocalDate date) {
+        return getAvailableSlotsForServices(tenantId, serviceIds, date, null);
+    }
+    
+    /**
+     * Paket için müsait slot'ları getirme (sahibinin tuttuğu slot müsait görünür)
+     * 
+     * @param holdOwnerKey slot tutan sahip (WhatsApp oturumu), yoksa null
+     */
+    public SlotResponse getAvailableSlotsForServices(Long tenantId, List<Long> serviceIds, LocalDate date,
+                                                     String holdOwnerKey) {
+        int duration = getTotalDuration(tenantId, serviceIds);
         
-        if (workingRanges.isEmpty()) {
-            return new SlotResponse(date.atStartOfDay(), Collections.emptyList());
+        return computeDailySlots(getDay(tenantId, date, holdOwnerKey), duration);
+    }
+    
+    /**
+     * Belirli bir tarih ve süre için müsait slot'ları getirme
+     * 
+     * Hizmet henüz seçilmemişken (ör. konum bazlı aramada) kullanılır.
+     */
+    public List<SlotResponse.TimeSlot> getAvailableSlotsForDuration(Long tenantId, LocalDate date, int durationMinutes) {
+        return getAvailableSlotsForDuration(tenantId, date, durationMinutes, null);
+    }
+    
+    /**
+     * Belirli bir tarih ve süre için müsait slot'ları getirme (sahibinin tuttuğu slot müsait görünür)
+     * 
+     * @param holdOwnerKey slot tutan sahip (WhatsApp oturumu), yoksa null
+     */
+    public List<SlotResponse.TimeSlot> getAvailableSlotsForDuration(Long tenantId, LocalDate date, int durationMinutes,
+                                                                    String holdOwnerKey) {
+        if (durationMinutes < 1) {
+            throw new IllegalArgumentException("Süre en az 1 dakika olmalı: " + durationMinutes);
         }
         
-        // Mola saatleri
-        List<TimeRange> breakRanges = getBreakRanges(tenantId, date);
-        
-        // Randevu aralığı (varsayılan 30 dakika)
-        int intervalMinutes = getBookingInterval(tenantId);
+        return computeDailySlots(getDay(tenantId, date, holdOwnerKey), durationMinutes).getAvailableSlots();
+    }
+    
+    /**
+     * Gelecek 7 gün için müsait slot'ları getirme
+     */
+    public List<SlotResponse> getAvailableSlotsForWeek(Long tenantId, Long serviceId) {
+        LocalDate today = LocalDate.now();
+        return getAvailableSlotsForRange(tenantId, serviceId, today, today.plusDays(6));
+    }
+    
+    /**
+     * Tarih aralığı için müsait slot'ları tek seferde getirme
+     * 
+     * Hizmet, ayarlar ve aralıktaki tüm randevular bir kez yüklenir; günler tek geçişte hesaplanır.
+     * Önbellekte olan günler tekrar yüklenmez; eksik günler tek sorguyla tamamlanır.
+     */
+    public List<SlotResponse> getAvailableSlotsForRange(Long tenantId, Long serviceId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Geçersiz tarih aralığı: " + from + " - " + to);
+        }
+        long dayCount = ChronoUnit.DAYS.between(from, to) + 1;
+        if (dayCount > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Tarih aralığı en fazla " + MAX_RANGE_DAYS + " gün olabilir");
+        }
         
-        // Mevcut randevular
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23, 59, 59);
-        List<Appointment> existingAppointments = appointmentRepository
-                .findByTenantIdAndDateRange(tenantId, startOfDay, endOfDay);
+        // Hizmet kontrolü
+        Service service = serviceRepository.findByIdAndTenantId(serviceId, tenantId)
+                .filter(s -> s.getActive())
+                .orElseThrow(() -> new IllegalArgumentException("Hizmet bulunamadı: " + serviceId));
         
-        // Slot'ları hesapla
-        List<SlotResponse.TimeSlot> availableSlots = new ArrayList<>();
+        // Önbellekteki günler
+        DayAvailability[] days = new DayAvailability[(int) dayCount];
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (int i = 0; i < days.length; i++) {
+            LocalDate date = from.plusDays(i);
+            days[i] = availabilityCache.getIfPresent(tenantId, date);
+            if (days[i] == null) {
+                if (firstMissing == null) {
+                    firstMissing = date;
+                }
+                lastMissing = date;
+            }
+        }
         
-        for (TimeRange workingRange : workingRanges) {
-            LocalDateTime currentTime = workingRange.start;
+        if (firstMissing != null) {
+            long version = availabilityCache.currentVersion(tenantId);
             
-            while (currentTime.plusMinutes(service.getDurationMinutes()).isBefore(workingRange.end) ||
-                   currentTime.plusMinutes(service.getDurationMinutes()).equals(workingRange.end)) {
-                
-                LocalDateTime slotEnd = currentTime.plusMinutes(service.getDurationMinutes());
-                
-                // Mola saatlerini kontrol et
-                if (isTimeInBreaks(currentTime, slotEnd, breakRanges)) {
-                    currentTime = currentTime.plusMinutes(intervalMinutes);
+            // Derlenmiş takvim (aralık boyunca bir kez)
+            TenantSchedule schedule = tenantScheduleProvider.getSchedule(tenantId);
+            
+            // Eksik günleri kapsayan tüm randevular (başlangıç saatine göre sıralı)
+            List<Appointment> appointments = appointmentRepository
+                    .findByTenantIdAndDateRange(tenantId, firstMissing.atStartOfDay(), lastMissing.atTime(23, 59, 59));
+            Map<LocalDate, List<Appointment>> appointmentsByDay = appointments.stream()
+                    .collect(Collectors.groupingBy(a -> a.getStartTime().toLocalDate()));
+            
+            for (int i = 0; i < days.length; i++) {
+                if (days[i] != null) {
                     continue;
                 }
-                
-                // Lambda için final variable
-                final LocalDateTime finalCurrentTime = currentTime;
-                final LocalDateTime finalSlotEnd = slotEnd;
-                
-                // Mevcut randevularla çakışma kontrolü
-                boolean isAvailable = existingAppointments.stream()
-                        .noneMatch(appointment -> 
-                            appointment.getStartTime().isBefore(finalSlotEnd) && 
-                            appointment.getEndTime().isAfter(finalCurrentTime));
-                
-                if (isAvailable) {
-                    availableSlots.add(new SlotResponse.TimeSlot(currentTime, slotEnd, true));
-                }
-                
-                currentTime = currentTime.plusMinutes(intervalMinutes);
+                LocalDate date = from.plusDays(i);
+                days[i] = buildDay(date, schedule, appointmentsByDay.getOrDefault(date, Collections.emptyList()));
+                availabilityCache.put(tenantId, date, days[i], version);
             }
         }
         
-        return new SlotResponse(date.atStartOfDay(), availableSlots);
+        List<SlotResponse> result = new ArrayList<>(days.length);
+        for (DayAvailability day : days) {
+            result.add(computeDailySlots(withHolds(tenantId, day, null), service.getDurationMinutes()));
+        }
+        
+        return result;
     }
     
     /**
-     * Gelecek 7 gün için müsait slot'ları getirme
+     * Belirtilen andan itibaren en yakın müsait slot'ları bulma
+     * 
+     * Günler sırayla taranır, limit dolunca durulur. Randevular 7 günlük parçalar halinde
+     * ve sadece gerektiğinde yüklenir; önbellekteki ve kapalı günler için sorgu yapılmaz.
+     * Birden fazla hizmet verilirse süreleri toplanır (arka arkaya yapılacak hizmetler).
      */
-    public List<SlotResponse> getAvailableSlotsForWeek(Long tenantId, Long serviceId) {
-        List<SlotResponse> weeklySlots = new ArrayList<>();
-        LocalDate today = LocalDate.now();
+    public List<SlotResponse.TimeSlot> findEarliestSlots(Long tenantId, List<Long> serviceIds, LocalDateTime from, int limit) {
+        if (limit < 1 || limit > MAX_EARLIEST_LIMIT) {
+            throw new IllegalArgumentException("Limit 1 ile " + MAX_EARLIEST_LIMIT + " arasında olmalı: " + limit);
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        
+        int duration = getTotalDuration(tenantId, serviceIds);
+        TenantSchedule schedule = tenantScheduleProvider.getSchedule(tenantId);
+        
+        LocalDate firstDay = start.toLocalDate();
+        LocalDate lastDay = firstDay.plusDays(MAX_RANGE_DAYS - 1);
+        // İlk günde başlangıç anından önceki slot'lar atlanır (saniyeler yukarı yuvarlanır)
+        int firstDayMinStart = start.getHour() * 60 + start.getMinute()
+                + (start.getSecond() > 0 || start.getNano() > 0 ? 1 : 0);
         
-        for (int i = 0; i < 7; i++) {
-            LocalDate date = today.plusDays(i);
-            SlotResponse dailySlots = getAvailableSlots(tenantId, serviceId, date);
-            weeklySlots.add(dailySlots);
+        List<SlotResponse.TimeSlot> result = new ArrayList<>(limit);
+        Map<LocalDate, DayAvailability> prefetched = new HashMap<>();
+        
+        for (LocalDate date = firstDay; !date.isAfter(lastDay) && result.size() < limit; date = date.plusDays(1)) {
+            if (!schedule.isOpen(date)) {
+                continue;
+            }
+            
+            DayAvailability day = prefetched.remove(date);
+            if (day == null) {
+                day = availabilityCache.getIfPresent(tenantId, date);
+            }
+            if (day == null) {
+                // Bu günden itibaren bir parça yükle
+                LocalDate chunkEnd = date.plusDays(EARLIEST_CHUNK_DAYS - 1);
+                if (chunkEnd.isAfter(lastDay)) {
+                    chunkEnd = lastDay;
+                }
+                prefetched = loadDays(tenantId, schedule, date, chunkEnd);
+                day = prefetched.remove(date);
+            }
+            
+            int minStart = date.equals(firstDay) ? firstDayMinStart : 0;
+            collectSlots(withHolds(tenantId, day, null), duration, minStart, limit, result);
         }
         
-        return weeklySlots;
+        return result;
     }
     
     /**
@@ -161,151 +308,408 @@ public class SlotService {
      * Randevu oluşturmadan önce slot'un hala müsait olup olmadığını kontrol etme
      */
     public boolean isSlotAvailable(Long tenantId, Long serviceId, LocalDateTime startTime) {
+        return isSlotAvailable(tenantId, serviceId, startTime, null);
+    }
+    
+    /**
+     * Slot'un müsait olup olmadığını, verilen sahibin kendi tutmasını dolu saymadan kontrol etme
+     * 
+     * @param holdOwnerKey tutmayı randevuya dönüştüren sahip, yoksa null
+     */
+    public boolean isSlotAvailable(Long tenantId, Long serviceId, LocalDateTime startTime, String holdOwnerKey) {
         // Hizmet kontrolü
         Service service = serviceRepository.findByIdAndTenantId(serviceId, tenantId)
                 .filter(s -> s.getActive())
                 .orElseThrow(() -> new IllegalArgumentException("Hizmet bulunamadı: " + serviceId));
         
-        LocalDateTime endTime = startTime.plusMinutes(service.getDurationMinutes());
+        return isRangeAvailable(tenantId, startTime, service.getDurationMinutes(), holdOwnerKey);
+    }
+    
+    /**
+     * Paket randevu (birden fazla hizmet) için slot'un müsait olup olmadığını kontrol etme
+     */
+    public boolean isSlotAvailableForServices(Long tenantId, List<Long> serviceIds, LocalDateTime startTime) {
+        return isRangeAvailable(tenantId, startTime, getTotalDuration(tenantId, serviceIds));
+    }
+    
+    /**
+     * [startTime, startTime + durationMinutes) aralığında boş koltuk olup olmadığını kontrol etme
+     */
+    public boolean isRangeAvailable(Long tenantId, LocalDateTime startTime, int durationMinutes) {
+        return isRangeAvailable(tenantId, startTime, durationMinutes, null);
+    }
+    
+    /**
+     * Aralıkta boş koltuk olup olmadığını, verilen sahibin kendi tutmasını dolu saymadan kontrol etme
+     * 
+     * @param holdOwnerKey tutmayı randevuya dönüştüren sahip, yoksa null
+     */
+    public boolean isRangeAvailable(Long tenantId, LocalDateTime startTime, int durationMinutes, String holdOwnerKey) {
+        return isRangeAvailable(tenantId, startTime, durationMinutes, holdOwnerKey, null);
+    }
+    
+    /**
+     * Randevu taşınırken aralıkta boş koltuk olup olmadığını kontrol etme
+     * 
+     * Müşterilerin tutmaları da dolu sayılır; taşınan randevunun kendi eski zamanı sayılmaz.
+     * 
+     * @param holdOwnerKey tutmayı randevuya dönüştüren sahip, yoksa null
+     * @param excludeAppointmentId taşınan randevu, yoksa null
+     */
+    public boolean isRangeAvailable(Long tenantId, LocalDateTime startTime, int durationMinutes, String holdOwnerKey,
+                                    Long excludeAppointmentId) {
+        LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
         
-        // Çakışan randevu kontrolü
+        // Çakışan randevu ve diğer müşterilerin tutmaları
         List<Appointment> conflictingAppointments = appointmentRepository
                 .findConflictingAppointments(tenantId, startTime, endTime);
+        if (excludeAppointmentId != null) {
+            conflictingAppointments = conflictingAppointments.stream()
+                    .filter(a -> !a.getId().equals(excludeAppointmentId))
+                    .collect(Collectors.toList());
+        }
+        List<AppointmentTimeRange> holds = slotHoldService.findOverlapping(tenantId, startTime, endTime, holdOwnerKey);
         
-        return conflictingAppointments.isEmpty();
+        return fitsCapacity(tenantId, startTime, durationMinutes, conflictingAppointments, holds);
     }
     
-    // Private helper methods
-    
-    private Map<String, Object> getWorkingHours(Long tenantId) {
-        Optional<TenantSetting> workingHoursSetting = tenantSettingRepository
-                .findByTenantIdAndSettingKey(tenantId, TenantSetting.Keys.WORKING_HOURS);
+    /**
+     * Verilen çakışan randevu ve tutmalarla birlikte aralıkta hala boş koltuk kalıp kalmadığını kontrol etme
+     * 
+     * Çakışma yoksa takvim okunmaz. Tek koltukta her çakışma aralığı doldurur; birden fazla koltukta
+     * slot başlangıcına sabitlenmiş doluluk sayacıyla en yoğun dakika kapasiteyle karşılaştırılır.
+     */
+    private boolean fitsCapacity(Long tenantId, LocalDateTime startTime, int durationMinutes,
+                                 List<Appointment> conflictingAppointments, List<AppointmentTimeRange> holds) {
+        if (conflictingAppointments.isEmpty() && holds.isEmpty()) {
+            return true;
+        }
         
-        if (workingHoursSetting.isEmpty()) {
-            // Varsayılan çalışma saatleri
-            return getDefaultWorkingHours();
+        int capacity = tenantScheduleProvider.getSchedule(tenantId).getCapacity();
+        if (capacity <= 1) {
+            return false;
         }
         
-        try {
-            return objectMapper.readValue(workingHoursSetting.get().getSettingValue(), 
-                    new TypeReference<Map<String, Object>>() {});
-        } catch (Exception e) {
-            return getDefaultWorkingHours();
+        OccupancyCounter counter = new OccupancyCounter(startTime, durationMinutes);
+        for (Appointment appointment : conflictingAppointments) {
+            counter.occupy(appointment.getStartTime(), appointment.getEndTime());
         }
+        for (AppointmentTimeRange hold : holds) {
+            counter.occupy(hold.getStartTime(), hold.getEndTime());
+        }
+        
+        return counter.isFree(0, durationMinutes, capacity);
     }
     
-    private Map<String, Object> getDefaultWorkingHours() {
-        Map<String, Object> defaultHours = new HashMap<>();
-        
-        // Pazartesi-Cumartesi 09:00-18:00
-        for (String day : Arrays.asList("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY")) {
-            Map<String, String> dayHours = new HashMap<>();
-            dayHours.put("start", "09:00");
-            dayHours.put("end", "18:00");
-            dayHours.put("enabled", "true");
-            defaultHours.put(day, dayHours);
+    /**
+     * [startTime, endTime) aralığında boş olan ilk koltuğu bulma
+     * 
+     * Aktif koltuklar ve çakışan randevular birer sorguyla yüklenir. Koltuk tanımlanmamışsa veya
+     * doluluk koltuklara parçalı dağıldığı için tek bir koltuk aralığın tamamında boş değilse null döner
+     * (randevu kapasiteye yine sayılır, koltuk elle atanabilir).
+     * 
+     * @param excludeAppointmentId güncellenen randevu (kendi eski zamanıyla çakışmaz), yoksa null
+     */
+    public Chair findFreeChair(Long tenantId, LocalDateTime startTime, LocalDateTime endTime, Long excludeAppointmentId) {
+        List<Chair> chairs = chairRepository.findByTenantIdAndActiveTrueOrderByIdAsc(tenantId);
+        if (chairs.isEmpty()) {
+            return null;
         }
         
-        // Pazar kapalı
-        Map<String, String> sundayHours = new HashMap<>();
-        sundayHours.put("enabled", "false");
-        defaultHours.put("SUNDAY", sundayHours);
+        Set<Long> busyChairIds = new HashSet<>();
+        for (Appointment appointment : appointmentRepository.findConflictingAppointments(tenantId, startTime, endTime)) {
+            if (appointment.getChair() != null && !appointment.getId().equals(excludeAppointmentId)) {
+                busyChairIds.add(appointment.getChair().getId());
+            }
+        }
         
-        return defaultHours;
+        for (Chair chair : chairs) {
+            if (!busyChairIds.contains(chair.getId())) {
+                return chair;
+            }
+        }
+        return null;
     }
     
-    private List<TimeRange> getWorkingRangesForDate(Map<String, Object> workingHours, LocalDate date) {
-        String dayKey = date.getDayOfWeek().name();
-        Object dayHoursObj = workingHours.get(dayKey);
+    /**
+     * Birden fazla aday saati tek seferde kontrol etme
+     * 
+     * Tüm hizmetler tek sorguyla, en erken başlangıç ile en geç bitiş arasındaki aktif randevular
+     * tek aralık sorgusuyla yüklenir; adaylar bellekte, başlangıca göre sıralı tek geçişte
+     * değerlendirilir. Sonuçlar istek sırasıyla döner.
+     */
+    public List<Boolean> checkSlots(Long tenantId, List<BatchSlotCheckRequest.Item> checks) {
+        if (checks == null || checks.isEmpty()) {
+            throw new IllegalArgumentException("En az bir kontrol gönderilmeli");
+        }
+        if (checks.size() > MAX_BATCH_CHECKS) {
+            throw new IllegalArgumentException("Tek istekte en fazla " + MAX_BATCH_CHECKS + " kontrol yapılabilir");
+        }
         
-        if (dayHoursObj == null) {
-            return Collections.emptyList();
+        // Tüm hizmetler (tek sorgu)
+        List<List<Long>> serviceIdsPerCheck = new ArrayList<>(checks.size());
+        Set<Long> allServiceIds = new HashSet<>();
+        for (BatchSlotCheckRequest.Item check : checks) {
+            if (check.getStartTime() == null) {
+                throw new IllegalArgumentException("Başlangıç zamanı boş olamaz");
+            }
+            List<Long> serviceIds = check.getServiceIds() != null && !check.getServiceIds().isEmpty()
+                    ? check.getServiceIds()
+                    : check.getServiceId() != null ? List.of(check.getServiceId()) : List.of();
+            if (serviceIds.isEmpty()) {
+                throw new IllegalArgumentException("En az bir hizmet seçilmeli");
+            }
+            serviceIdsPerCheck.add(serviceIds);
+            allServiceIds.addAll(serviceIds);
+        }
+        Map<Long, Service> services = findActiveServices(tenantId, allServiceIds);
+        
+        // Süreler ve kontrol penceresi
+        int[] durations = new int[checks.size()];
+        LocalDateTime windowStart = null;
+        LocalDateTime windowEnd = null;
+        for (int i = 0; i < checks.size(); i++) {
+            durations[i] = sumDurations(services, serviceIdsPerCheck.get(i));
+            LocalDateTime start = checks.get(i).getStartTime();
+            LocalDateTime end = start.plusMinutes(durations[i]);
+            if (windowStart == null || start.isBefore(windowStart)) {
+                windowStart = start;
+            }
+            if (windowEnd == null || end.isAfter(windowEnd)) {
+                windowEnd = end;
+            }
+        }
+        if (ChronoUnit.DAYS.between(windowStart, windowEnd) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Kontrol edilen saatler en fazla " + MAX_RANGE_DAYS + " günlük aralıkta olabilir");
         }
         
-        @SuppressWarnings("unchecked")
-        Map<String, String> dayHours = (Map<String, String>) dayHoursObj;
+        // Penceredeki aktif randevular (tek sorgu) ve tutulan slot'lar
+        LocalDateTime origin = windowStart.truncatedTo(ChronoUnit.MINUTES);
+        List<AppointmentTimeRange> ranges = appointmentRepository.findConflictingTimeRanges(tenantId, windowStart, windowEnd);
+        List<AppointmentTimeRange> holds = slotHoldService.findOverlapping(tenantId, windowStart, windowEnd, null);
+        if (!holds.isEmpty()) {
+            ranges = new ArrayList<>(ranges);
+            ranges.addAll(holds);
+        }
         
-        if (!"true".equals(dayHours.get("enabled"))) {
-            return Collections.emptyList();
+        // Adayların pencere içindeki dakika aralıkları
+        int[] fromMinutes = new int[checks.size()];
+        int[] toMinutes = new int[checks.size()];
+        for (int i = 0; i < checks.size(); i++) {
+            long startSeconds = ChronoUnit.SECONDS.between(origin, checks.get(i).getStartTime());
+            fromMinutes[i] = (int) Math.floorDiv(startSeconds, 60);
+            toMinutes[i] = (int) -Math.floorDiv(-(startSeconds + durations[i] * 60L), 60);
         }
         
-        String startStr = dayHours.get("start");
-        String endStr = dayHours.get("end");
+        Boolean[] results = new Boolean[checks.size()];
+        int capacity = ranges.isEmpty() ? 1 : tenantScheduleProvider.getSchedule(tenantId).getCapacity();
+        if (capacity > 1) {
+            // Birden fazla koltuk: pencere boyunca doluluk sayacı
+            int windowMinutes = (int) -Math.floorDiv(-ChronoUnit.SECONDS.between(origin, windowEnd), 60);
+            OccupancyCounter counter = new OccupancyCounter(origin, windowMinutes);
+            for (AppointmentTimeRange range : ranges) {
+                counter.occupy(range.getStartTime(), range.getEndTime());
+            }
+            for (int i = 0; i < results.length; i++) {
+                results[i] = counter.isFree(fromMinutes[i], toMinutes[i] - fromMinutes[i], capacity);
+            }
+            return Arrays.asList(results);
+        }
         
-        if (startStr == null || endStr == null) {
-            return Collections.emptyList();
+        // Tek koltuk: adaylar başlangıca göre sıralı sorulur (iki işaretçili tek geçiş)
+        Integer[] order = new Integer[checks.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
         }
+        Arrays.sort(order, Comparator.comparing(i -> checks.get(i).getStartTime()));
         
-        try {
-            LocalTime startTime = LocalTime.parse(startStr);
-            LocalTime endTime = LocalTime.parse(endStr);
-            
-            LocalDateTime start = date.atTime(startTime);
-            LocalDateTime end = date.atTime(endTime);
-            
-            return Arrays.asList(new TimeRange(start, end));
-        } catch (Exception e) {
-            return Collections.emptyList();
+        BusyTimeline.Cursor cursor = BusyTimeline.of(origin, ranges, 0).cursor();
+        for (int i : order) {
+            results[i] = cursor.isFree(fromMinutes[i], toMinutes[i] - fromMinutes[i]);
         }
+        
+        return Arrays.asList(results);
     }
     
-    private List<TimeRange> getBreakRanges(Long tenantId, LocalDate date) {
-        Optional<TenantSetting> breakHoursSetting = tenantSettingRepository
-                .findByTenantIdAndSettingKey(tenantId, TenantSetting.Keys.BREAK_HOURS);
-        
-        if (breakHoursSetting.isEmpty()) {
-            return Collections.emptyList();
+    // Private helper methods
+    
+    /**
+     * Hizmetlerin toplam süresi (tek sorgu; tekrar eden ID'ler tekrar sayılır)
+     */
+    private int getTotalDuration(Long tenantId, List<Long> serviceIds) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            throw new IllegalArgumentException("En az bir hizmet seçilmeli");
         }
         
-        try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, String>> breakHours = objectMapper.readValue(
-                    breakHoursSetting.get().getSettingValue(), 
-                    new TypeReference<List<Map<String, String>>>() {});
+        return sumDurations(findActiveServices(tenantId, serviceIds), serviceIds);
+    }
+    
+    /**
+     * Aktif hizmetleri tek sorguyla ID'ye göre yükleme
+     */
+    private Map<Long, Service> findActiveServices(Long tenantId, Collection<Long> serviceIds) {
+        return serviceRepository.findByIdInAndTenantIdAndActiveTrue(new HashSet<>(serviceIds), tenantId)
+                .stream()
+                .collect(Collectors.toMap(Service::getId, s -> s));
+    }
+    
+    private int sumDurations(Map<Long, Service> services, List<Long> serviceIds) {
+        int total = 0;
+        for (Long serviceId : serviceIds) {
+            Service service = services.get(serviceId);
+            if (service == null) {
+                throw new IllegalArgumentException("Hizmet bulunamadı: " + serviceId);
+            }
+            total += service.getDurationMinutes();
+        }
+        return total;
+    }
+    
+    /**
+     * [from, to] günlerinin görüntülerini tek randevu sorgusuyla yükleyip önbelleğe yazma
+     */
+    private Map<LocalDate, DayAvailability> loadDays(Long tenantId, TenantSchedule schedule, LocalDate from, LocalDate to) {
+        long version = availabilityCache.currentVersion(tenantId);
+        
+        List<Appointment> appointments = appointmentRepository
+                .findByTenantIdAndDateRange(tenantId, from.atStartOfDay(), to.atTime(23, 59, 59));
+        Map<LocalDate, List<Appointment>> appointmentsByDay = appointments.stream()
+                .collect(Collectors.groupingBy(a -> a.getStartTime().toLocalDate()));
+        
+        Map<LocalDate, DayAvailability> days = new HashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayAvailability day = buildDay(date, schedule, appointmentsByDay.getOrDefault(date, Collections.emptyList()));
+            availabilityCache.put(tenantId, date, day, version);
+            days.put(date, day);
+        }
+        return days;
+    }
+    
+    /**
+     * Tek bir günün görüntüsünü takvim ve randevulardan yükleyip önbelleğe yazma
+     * 
+     * Kapalı günlerde randevu sorgusu yapılmaz.
+     */
+    private DayAvailability loadDay(Long tenantId, LocalDate date) {
+        long version = availabilityCache.currentVersion(tenantId);
+        
+        // Derlenmiş takvim (çalışma saatleri, molalar, istisnalar, randevu aralığı)
+        TenantSchedule schedule = tenantScheduleProvider.getSchedule(tenantId);
+        
+        DayAvailability day;
+        if (!schedule.isOpen(date)) {
+            day = DayAvailability.closed(date);
+        } else {
+            // Mevcut randevular
+            LocalDateTime startOfDay = date.atStartOfDay();
+            LocalDateTime endOfDay = date.atTime(23, 59, 59);
+            List<Appointment> existingAppointments = appointmentRepository
+                    .findByTenantIdAndDateRange(tenantId, startOfDay, endOfDay);
             
-            return breakHours.stream()
-                    .filter(breakHour -> "true".equals(breakHour.get("enabled")))
-                    .map(breakHour -> {
-                        LocalTime start = LocalTime.parse(breakHour.get("start"));
-                        LocalTime end = LocalTime.parse(breakHour.get("end"));
-                        return new TimeRange(date.atTime(start), date.atTime(end));
-                    })
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            return Collections.emptyList();
+            day = buildDay(date, schedule, existingAppointments);
         }
+        
+        availabilityCache.put(tenantId, date, day, version);
+        return day;
     }
     
-    private boolean isTimeInBreaks(LocalDateTime startTime, LocalDateTime endTime, List<TimeRange> breakRanges) {
-        return breakRanges.stream()
-                .anyMatch(breakRange -> 
-                    startTime.isBefore(breakRange.end) && endTime.isAfter(breakRange.start));
+    /**
+     * Günün tutmalar işlenmiş görüntüsü (önbellekte yoksa yüklenir)
+     */
+    private DayAvailability getDay(Long tenantId, LocalDate date, String holdOwnerKey) {
+        DayAvailability day = availabilityCache.getIfPresent(tenantId, date);
+        if (day == null) {
+            day = loadDay(tenantId, date);
+        }
+        return withHolds(tenantId, day, holdOwnerKey);
     }
     
-    private int getBookingInterval(Long tenantId) {
-        Optional<TenantSetting> intervalSetting = tenantSettingRepository
-                .findByTenantIdAndSettingKey(tenantId, TenantSetting.Keys.BOOKING_INTERVAL_MINUTES);
+    /**
+     * Günle kesişen tutmaları (sahibininki hariç) görüntünün kopyasına işleme; önbellekteki görüntü değişmez
+     */
+    private DayAvailability withHolds(Long tenantId, DayAvailability day, String holdOwnerKey) {
+        if (day.isClosed()) {
+            return day;
+        }
+        LocalDateTime startOfDay = day.getDate().atStartOfDay();
+        return day.withHolds(
+                slotHoldService.findOverlapping(tenantId, startOfDay, startOfDay.plusDays(1), holdOwnerKey));
+    }
+    
+    /**
+     * Günün doluluk haritasını (molalar + randevular) oluşturma
+     * 
+     * Birden fazla koltukta her randevu bir koltuk, her mola tüm koltukları doldurur.
+     */
+    private DayAvailability buildDay(LocalDate date, TenantSchedule schedule, List<Appointment> appointments) {
+        int[] openRanges = schedule.getOpenRanges(date);
+        if (openRanges.length == 0) {
+            return DayAvailability.closed(date);
+        }
         
-        if (intervalSetting.isPresent()) {
-            Integer interval = intervalSetting.get().getAsInteger();
-            if (interval != null && interval > 0) {
-                return interval;
+        int capacity = schedule.getCapacity();
+        if (capacity > 1) {
+            OccupancyCounter counter = OccupancyCounter.forDay(date);
+            int[] breakRanges = schedule.getBreakRanges(date);
+            for (int i = 0; i < breakRanges.length; i += 2) {
+                counter.add(breakRanges[i], breakRanges[i + 1], capacity);
+            }
+            for (Appointment appointment : appointments) {
+                counter.occupy(appointment.getStartTime(), appointment.getEndTime());
             }
+            return new DayAvailability(date, openRanges, schedule.getIntervalMinutes(), counter, capacity);
+        }
+        
+        DayOccupancy occupancy = DayOccupancy.forDay(date);
+        int[] breakRanges = schedule.getBreakRanges(date);
+        for (int i = 0; i < breakRanges.length; i += 2) {
+            occupancy.occupyMinutes(breakRanges[i], breakRanges[i + 1]);
+        }
+        for (Appointment appointment : appointments) {
+            occupancy.occupy(appointment.getStartTime(), appointment.getEndTime());
+        }
+        
+        return new DayAvailability(date, openRanges, schedule.getIntervalMinutes(), occupancy);
+    }
+    
+    /**
+     * Tek bir günün slot'larını doluluk haritası üzerinden hesaplama
+     */
+    private SlotResponse computeDailySlots(DayAvailability day, int duration) {
+        LocalDate date = day.getDate();
+        if (day.isClosed()) {
+            return new SlotResponse(date.atStartOfDay(), Collections.emptyList());
         }
         
-        return 30; // Varsayılan 30 dakika
+        List<SlotResponse.TimeSlot> availableSlots = new ArrayList<>();
+        collectSlots(day, duration, 0, Integer.MAX_VALUE, availableSlots);
+        
+        return new SlotResponse(date.atStartOfDay(), availableSlots);
     }
     
     /**
-     * Zaman aralığı için helper class
+     * Günün müsait slot'larını minStartMinute'ten itibaren, liste limit'e ulaşana kadar ekleme
      */
-    private static class TimeRange {
-        final LocalDateTime start;
-        final LocalDateTime end;
+    private void collectSlots(DayAvailability day, int duration, int minStartMinute, int limit,
+                              List<SlotResponse.TimeSlot> out) {
+        if (day.isClosed()) {
+            return;
+        }
         
-        TimeRange(LocalDateTime start, LocalDateTime end) {
-            this.start = start;
-            this.end = end;
+        int intervalMinutes = day.getIntervalMinutes();
+        
+        for (int r = 0; r < day.getOpenRangeCount(); r++) {
+            int end = day.getOpenEnd(r);
+            for (int minute = day.getOpenStart(r); minute + duration <= end; minute += intervalMinutes) {
+                if (minute < minStartMinute || !day.isFree(minute, duration)) {
+                    continue;
+                }
+                out.add(new SlotResponse.TimeSlot(
+                        day.toDateTime(minute), day.toDateTime(minute + duration), true));
+                if (out.size() >= limit) {
+                    return;
+                }
+            }
         }
     }
 }
@@ -1,8 +1,12 @@
 package com.example.barber.automation.service;
 
-import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.dto.AppointmentTimeRange;
 import com.example.barber.automation.entity.Tenant;
 import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.service.availability.BusyTimeline;
+import com.example.barber.automation.service.availability.DayOccupancy;
+import com.example.barber.automation.service.availability.TenantSchedule;
+import com.example.barber.automation.service.availability.TenantScheduleProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,9 +24,14 @@ import java.util.stream.Collectors;
 @Service
 public class SmartSchedulingService {
 
+    private static final int SLOT_STEP_MINUTES = 15;
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private TenantScheduleProvider tenantScheduleProvider;
+
     /**
      * Belirli bir tarih için uygun randevu saatlerini hesaplar
      * @param tenant Kuaför
@@ -31,80 +40,67 @@ public class SmartSchedulingService {
      * @return Uygun saatlerin listesi
      */
     public List<LocalTime> getAvailableTimeSlots(Tenant tenant, com.example.barber.automation.entity.Service service, LocalDate date) {
-        List<LocalTime> availableSlots = new ArrayList<>();
-        
-        // Çalışma saatlerini parse et
-        LocalTime workingStart = LocalTime.parse(tenant.getWorkingHoursStart());
-        LocalTime workingEnd = LocalTime.parse(tenant.getWorkingHoursEnd());
-        
-        // Hizmet süresi ve mola süresi
-        int serviceDuration = service.getDurationMinutes();
-        int breakDuration = tenant.getBreakMinutes();
-        int totalSlotDuration = serviceDuration + breakDuration;
-        
-        // O günkü mevcut randevuları al
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23, 59, 59);
-        
-        List<Appointment> existingAppointments = appointmentRepository
-            .findByTenantIdAndStartTimeBetweenAndStatusNot(
-                tenant.getId(), 
-                startOfDay, 
-                endOfDay, 
-                "CANCELLED"
-            );
-        
-        // Mevcut randevuları sırala
-        existingAppointments.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
-        
-        // Çalışma saatleri içinde uygun slotları bul
-        LocalTime currentTime = workingStart;
-        
-        while (currentTime.plusMinutes(serviceDuration).isBefore(workingEnd) || 
-               currentTime.plusMinutes(serviceDuration).equals(workingEnd)) {
-            
-            // Bu saatte randevu alınabilir mi kontrol et
-            if (isTimeSlotAvailable(currentTime, serviceDuration, existingAppointments, tenant)) {
-                availableSlots.add(currentTime);
-            }
-            
-            // 15 dakika aralıklarla kontrol et
-            currentTime = currentTime.plusMinutes(15);
-        }
-        
-        return availableSlots;
+        return findSlots(tenant, service, date, date).get(0).getAvailableSlots();
     }
     
     /**
-     * Belirli bir saat diliminin uygun olup olmadığını kontrol eder
+     * Tarih aralığındaki tüm günlerin uygun saatlerini tek sorgu ve tek geçişte hesaplar
+     * 
+     * Randevular sadece (başlangıç, bitiş) olarak yüklenir; entity veya hizmet yüklenmez.
+     * Dolu aralıklar (bitiş + mola) ilkel dakika dizilerinde birleştirilir ve 15 dakikalık
+     * adaylar iki işaretçili taramayla kontrol edilir.
      */
-    private boolean isTimeSlotAvailable(LocalTime startTime, int serviceDuration, 
-                                      List<Appointment> existingAppointments, Tenant tenant) {
+    private List<TimeSlotInfo> findSlots(Tenant tenant, com.example.barber.automation.entity.Service service,
+                                         LocalDate startDate, LocalDate endDate) {
+        List<TimeSlotInfo> result = new ArrayList<>();
+        if (endDate.isBefore(startDate)) {
+            return result;
+        }
         
-        LocalTime endTime = startTime.plusMinutes(serviceDuration);
-        int breakDuration = tenant.getBreakMinutes();
+        // Derlenmiş takvim (çalışma saatleri, molalar, istisnalar)
+        TenantSchedule schedule = tenantScheduleProvider.getSchedule(tenant.getId());
         
-        for (Appointment appointment : existingAppointments) {
-            LocalTime appointmentStart = appointment.getStartTime().toLocalTime();
-            LocalTime appointmentEnd = appointmentStart.plusMinutes(
-                appointment.getService().getDurationMinutes()
-            ).plusMinutes(breakDuration); // Mola süresi ekle
+        // Hizmet süresi ve randevular arası mola süresi
+        int serviceDuration = service.getDurationMinutes();
+        int breakDuration = tenant.getBreakMinutes() != null ? tenant.getBreakMinutes() : 0;
+        
+        // Aralıktaki iptal edilmemiş randevular (tek sorgu)
+        LocalDateTime origin = startDate.atStartOfDay();
+        List<AppointmentTimeRange> bookedRanges = appointmentRepository
+            .findActiveTimeRanges(tenant.getId(), origin, endDate.plusDays(1).atStartOfDay());
+        BusyTimeline.Cursor cursor = BusyTimeline.of(origin, bookedRanges, breakDuration).cursor();
+        
+        int dayOffset = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1), dayOffset += DayOccupancy.MINUTES_PER_DAY) {
+            List<LocalTime> availableSlots = new ArrayList<>();
+            int[] openRanges = schedule.getOpenRanges(date);
+            int[] breakRanges = schedule.getBreakRanges(date);
             
-            // Çakışma kontrolü
-            if (isTimeOverlap(startTime, endTime, appointmentStart, appointmentEnd)) {
-                return false;
+            // Çalışma aralıkları içinde uygun slotları bul (15 dakika aralıklarla)
+            for (int r = 0; r < openRanges.length; r += 2) {
+                for (int minute = openRanges[r]; minute + serviceDuration <= openRanges[r + 1]; minute += SLOT_STEP_MINUTES) {
+                    if (!overlapsBreak(minute, serviceDuration, breakRanges)
+                            && cursor.isFree(dayOffset + minute, serviceDuration)) {
+                        availableSlots.add(LocalTime.of(minute / 60, minute % 60));
+                    }
+                }
             }
+            result.add(new TimeSlotInfo(date, availableSlots));
         }
         
-        return true;
+        return result;
     }
     
     /**
-     * İki zaman diliminin çakışıp çakışmadığını kontrol eder
+     * Aday slot'un mola aralıklarından biriyle çakışıp çakışmadığını kontrol eder
      */
-    private boolean isTimeOverlap(LocalTime start1, LocalTime end1, 
-                                LocalTime start2, LocalTime end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
+    private boolean overlapsBreak(int startMinute, int duration, int[] breakRanges) {
+        for (int i = 0; i < breakRanges.length; i += 2) {
+            if (startMinute < breakRanges[i + 1] && startMinute + duration > breakRanges[i]) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -138,18 +134,9 @@ public class SmartSchedulingService {
      */
         public List<TimeSlotInfo> getAvailableTimeSlotsForDateRange(Tenant tenant, com.example.barber.automation.entity.Service service, 
                                                                 LocalDate startDate, LocalDate endDate) {
-        List<TimeSlotInfo> result = new ArrayList<>();
-        
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            List<LocalTime> availableSlots = getAvailableTimeSlots(tenant, service, currentDate);
-            if (!availableSlots.isEmpty()) {
-                result.add(new TimeSlotInfo(currentDate, availableSlots));
-            }
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        return result;
+        return findSlots(tenant, service, startDate, endDate).stream()
+            .filter(info -> !info.getAvailableSlots().isEmpty())
+            .collect(Collectors.toList());
     }
     
     /**
@@ -1,11 +1,13 @@
 package com.example.barber.automation.service;
 
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.dto.TenantDto;
 import com.example.barber.automation.dto.CreateTenantRequest;
 import com.example.barber.automation.entity.Tenant;
 
 import com.example.barber.automation.repository.TenantRepository;
 import com.example.barber.automation.repository.ServiceRepository;
+import com.example.barber.automation.service.pagination.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -54,6 +56,23 @@ public class TenantService {
                 .filter(tenant -> tenant.getActive());
     }
     
+    /**
+     * Aktif kuaförleri sayfa sayfa listeleme (kayıt sırasıyla, (createdAt, id) imleciyle)
+     */
+    public CursorPage<TenantDto> findActivePage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        
+        List<Tenant> rows = after == null
+                ? tenantRepository.findActivePage(KeysetCursor.probeLimit(pageSize))
+                : tenantRepository.findActivePageAfter(after.getPosition(), after.getId(), KeysetCursor.probeLimit(pageSize));
+        
+        List<TenantDto> dtos = rows.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return KeysetCursor.toPage(dtos, pageSize, dto -> new KeysetCursor(dto.getCreatedAt(), dto.getId()));
+    }
+    
     /**
      * Aktif kuaförleri listeleme
      */
@@ -46,7 +46,7 @@ public class WhatsAppBotService {
     private final RestTemplate restTemplate;
     
     // Bot state management (basit in-memory cache)
-    private final Map<String, BotSession> userSessions = new HashMap<>();
+    private final Map<String, BotSession> userSessions = new ConcurrentHashMap<>();
     
     @Autowired
     public WhatsAppBotService(TenantService tenantService,
@@ -70,152 +70,116 @@ public class WhatsAppBotService {
     }
     
     /**
-     * Raw body'den gelen WhatsApp mesajını işle
+     * Çözümlenmiş mesajı kural tabanlı akışla işle (orchestrator başarısız olduğunda)
+     * 
+     * Hatalar çağırana iletilir; gelen mesaj kuyruğu mesajı yeniden dener.
      */
-    public void processIncomingMessage(String rawBody, Long tenantId) {
-        try {
-            logger.info("Raw body işleniyor: {}", rawBody);
-            
-            // JSON veya Twilio formatını parse et
-            String fromNumber = extractFromNumber(rawBody);
-            String messageText = extractMessageText(rawBody);
-            
-            if (fromNumber != null && messageText != null) {
-                logger.info("Mesaj parse edildi - From: {}, Text: {}", fromNumber, messageText);
-                
-                // Bot session'ı bul veya oluştur
-                BotSession session = getOrCreateSession(fromNumber, tenantId);
-                
-                // Mesajı işle
-                processMessage(session, messageText);
-            } else {
-                logger.warn("Mesaj parse edilemedi - From: {}, Text: {}", fromNumber, messageText);
-            }
-        } catch (Exception e) {
-            logger.error("Raw body işlenirken hata oluştu", e);
-        }
+    public void processIncomingMessage(String fromNumber, String messageText, Long tenantId) {
+        logger.info("Mesaj parse edildi - From: {}, Text: {}", fromNumber, messageText);
+        
+        // Bot session'ı bul veya oluştur
+        BotSession session = getOrCreateSession(fromNumber, tenantId);
+        
+        // Mesajı işle
+        processMessage(session, messageText);
     }
     
     /**
-     * Gelen WhatsApp mesajını işle
+     * Tek bir metin mesajını AI akışıyla işle ve yanıtı gönder
+     * 
+     * Kuaför bulunamazsa, AI Agent yanıt vermezse veya yanıt gönderilemezse hata fırlatılır;
+     * gelen mesaj kuyruğu mesajı artan beklemeyle yeniden dener.
      */
-    public void processIncomingMessage(WhatsAppWebhookRequest request) {
-        try {
-            logger.info("WhatsApp webhook mesajı alındı: {}", request.getObject());
-            
-            if (request.getEntry() != null && !request.getEntry().isEmpty()) {
-                var entry = request.getEntry().get(0);
-                if (entry.getChanges() != null && !entry.getChanges().isEmpty()) {
-                    var change = entry.getChanges().get(0);
-                    if (change.getValue() != null && change.getValue().getMessages() != null) {
-                        var message = change.getValue().getMessages().get(0);
-                        
-                        String fromNumber = message.getFrom();
-                        String messageType = message.getType();
-                        String messageText = message.getText() != null ? message.getText().getBody() : "";
-                        
-                        logger.info("Gelen mesaj - From: {}, Type: {}, Text: {}", fromNumber, messageType, messageText);
-                        
-                        // Müşteri herhangi bir numaradan yazabilir, varsayılan kuaförü kullan
-                        Tenant defaultTenant = getDefaultTenant();
-                        if (defaultTenant == null) {
-                            logger.error("Sistemde hiç aktif kuaför yok");
-                            return;
-                        }
-                        
-                        // Session'ı al veya oluştur (müşteri numarası + varsayılan kuaför)
-                        BotSession session = getOrCreateSession(fromNumber, defaultTenant.getId());
-                        if (session == null) {
-                            logger.error("Session oluşturulamadı - Phone: {}", fromNumber);
-                return;
-            }
-            
-                        // Son mesajı session'a kaydet
-                        session.setLastMessage(messageText);
-                        
-                        // AI Agent ile akıllı mesaj işleme
-                        String aiResponse = processWithAI(session, messageText, defaultTenant);
-                        
-                        if (aiResponse != null) {
-                            logger.info("AI Agent yanıt verdi: {}", aiResponse);
-                            // AI yanıt verirse, Twilio üzerinden gönder
-                            try {
-                                String to = "+".concat(fromNumber.startsWith("+") ? fromNumber.substring(1) : fromNumber);
-                                twilioSendService.sendWhatsAppText("whatsapp:" + to, aiResponse);
-                            } catch (Exception e) {
-                                logger.error("Twilio üzerinden mesaj gönderilemedi", e);
-                            }
-                        } else {
-                            logger.info("AI Agent yanıt vermedi");
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.error("WhatsApp webhook mesajı işlenirken hata oluştu", e);
+    public void processIncomingText(String fromNumber, String messageText) {
+        processIncomingText(fromNumber, messageText, null);
+    }
+    
+    /**
+     * Tek bir metin mesajını verilen kuaförün AI akışıyla işle ve yanıtı gönder
+     * 
+     * @param tenantId mesajın kuaförü (gelen mesaj kuyruğunun seçtiği); null ise varsayılan kuaför
+     */
+    public void processIncomingText(String fromNumber, String messageText, Long tenantId) {
+        // Müşteri herhangi bir numaradan yazabilir, kuaför belli değilse varsayılan kuaförü kullan
+        Tenant tenant = tenantId != null ? tenantService.findEntityById(tenantId).orElse(null) : getDefaultTenant();
+        if (tenant == null) {
+            throw new IllegalStateException(tenantId != null
+                    ? "Kuaför bulunamadı veya aktif değil: " + tenantId : "Sistemde hiç aktif kuaför yok");
+        }
+        
+        // Session'ı al veya oluştur (müşteri numarası + kuaför)
+        BotSession session = getOrCreateSession(fromNumber, tenant.getId());
+        
+        // Son mesajı session'a kaydet
+        session.setLastMessage(messageText);
+        
+        // AI Agent ile akıllı mesaj işleme
+        String aiResponse = processWithAI(session, messageText, tenant);
+        if (aiResponse == null) {
+            throw new IllegalStateException("AI Agent yanıt vermedi");
         }
+        
+        logger.info("AI Agent yanıt verdi: {}", aiResponse);
+        // AI yanıt verirse, Twilio üzerinden gönder
+        String to = "+".concat(fromNumber.startsWith("+") ? fromNumber.substring(1) : fromNumber);
+        twilioSendService.sendWhatsAppText("whatsapp:" + to, aiResponse);
     }
     
     /**
      * AI Agent ile akıllı mesaj işleme
      */
     private String processWithAI(BotSession session, String messageText, Tenant tenant) {
-        try {
-            logger.info("=== AI AGENT ÇAĞRISI BAŞLADI ===");
-            logger.info("Session: phone={}, state={}, tenant={}", 
-                       session.getPhoneNumber(), session.getState(), session.getTenantId());
-            logger.info("Message: {}", messageText);
-            
-            // AI Agent'a sadece mesajı gönder, session management AI Agent'da olsun
-            com.example.barber.automation.dto.AgentRespondRequest req = new com.example.barber.automation.dto.AgentRespondRequest();
-            req.setTenant_id(session.getTenantId());
-            req.setFrom_number(session.getPhoneNumber());
-            req.setMessage(messageText);
-            
-            logger.info("AI Agent'a gönderilen request: {}", req);
-            
-            var agentResp = aiAgentClient.respond(req);
-            logger.info("AI-Agent raw response: {}", agentResp);
+        logger.info("=== AI AGENT ÇAĞRISI BAŞLADI ===");
+        logger.info("Session: phone={}, state={}, tenant={}", 
+                   session.getPhoneNumber(), session.getState(), session.getTenantId());
+        logger.info("Message: {}", messageText);
+        
+        // AI Agent'a sadece mesajı gönder, session management AI Agent'da olsun
+        com.example.barber.automation.dto.AgentRespondRequest req = new com.example.barber.automation.dto.AgentRespondRequest();
+        req.setTenant_id(session.getTenantId());
+        req.setFrom_number(session.getPhoneNumber());
+        req.setMessage(messageText);
+        
+        logger.info("AI Agent'a gönderilen request: {}", req);
+        
+        var agentResp = aiAgentClient.respond(req);
+        logger.info("AI-Agent raw response: {}", agentResp);
+        
+        if (agentResp != null) {
+            logger.info("AI Agent response details:");
+            logger.info("  - ok: {}", agentResp.isOk());
+            logger.info("  - intent: {}", agentResp.getIntent());
+            logger.info("  - reply: {}", agentResp.getReply());
+            logger.info("  - nextState: {}", agentResp.getNextState());
+            logger.info("  - extractedInfo: {}", agentResp.getExtractedInfo());
             
-            if (agentResp != null) {
-                logger.info("AI Agent response details:");
-                logger.info("  - ok: {}", agentResp.isOk());
-                logger.info("  - intent: {}", agentResp.getIntent());
-                logger.info("  - reply: {}", agentResp.getReply());
-                logger.info("  - nextState: {}", agentResp.getNextState());
-                logger.info("  - extractedInfo: {}", agentResp.getExtractedInfo());
+            if (agentResp.isOk() && agentResp.getReply() != null) {
+                logger.info("AI Agent yanıt verdi: {}", agentResp.getReply());
                 
-                if (agentResp.isOk() && agentResp.getReply() != null) {
-                    logger.info("AI Agent yanıt verdi: {}", agentResp.getReply());
-                    
-                    // AI Agent response'ını işle ve database'e kaydet
-                    processAIResponse(session, agentResp, tenant);
-                    
-                    logger.info("=== AI AGENT ÇAĞRISI TAMAMLANDI ===");
-                    
-                    // Konum önerisi varsa AI yanıtına ekle
-                    String finalResponse = agentResp.getReply();
-                    if (session.getLocationSuggestion() != null && !session.getLocationSuggestion().isEmpty()) {
-                        finalResponse += "\n\n" + session.getLocationSuggestion();
-                        logger.info("Konum önerisi eklendi: {}", session.getLocationSuggestion());
-                    }
-                    
-                    // Kuaför listesi varsa AI yanıtına ekle
-                    if (session.getBarberList() != null && !session.getBarberList().isEmpty()) {
-                        finalResponse = session.getBarberList(); // Kuaför listesi varsa onu göster
-                        logger.info("Kuaför listesi gösteriliyor");
-                    }
-                    
-                    return finalResponse;
-                } else {
-                    logger.info("AI Agent yanıtı geçersiz");
+                // AI Agent response'ını işle ve database'e kaydet
+                processAIResponse(session, agentResp, tenant);
+                
+                logger.info("=== AI AGENT ÇAĞRISI TAMAMLANDI ===");
+                
+                // Konum önerisi varsa AI yanıtına ekle
+                String finalResponse = agentResp.getReply();
+                if (session.getLocationSuggestion() != null && !session.getLocationSuggestion().isEmpty()) {
+                    finalResponse += "\n\n" + session.getLocationSuggestion();
+                    logger.info("Konum önerisi eklendi: {}", session.getLocationSuggestion());
+                }
+                
+                // Kuaför listesi varsa AI yanıtına ekle
+                if (session.getBarberList() != null && !session.getBarberList().isEmpty()) {
+                    finalResponse = session.getBarberList(); // Kuaför listesi varsa onu göster
+                    logger.info("Kuaför listesi gösteriliyor");
                 }
+                
+                return finalResponse;
             } else {
-                logger.info("AI Agent null yanıt döndü");
+                logger.info("AI Agent yanıtı geçersiz");
             }
-            
-        } catch (Exception e) {
-            logger.error("AI-Agent yanıtı işlenirken hata oluştu", e);
+        } else {
+            logger.info("AI Agent null yanıt döndü");
         }
         
         logger.info("=== AI AGENT ÇAĞRISI BAŞARISIZ ===");
@@ -665,28 +629,17 @@ public class WhatsAppBotService {
     private void processMessage(BotSession session, String messageText) {
         logger.info("AI Agent ile mesaj işleniyor: session={}, message={}", session.getPhoneNumber(), messageText);
         
-        try {
-            // AI Agent ile akıllı mesaj işleme
-            Tenant tenant = tenantService.findEntityById(session.getTenantId()).orElse(null);
-            if (tenant == null) {
-                logger.error("Tenant bulunamadı: {}", session.getTenantId());
-                sendMessage(session, "❌ Sistem hatası. Lütfen daha sonra tekrar deneyin.");
-                return;
-            }
-            
-            String aiResponse = processWithAI(session, messageText, tenant);
-            
-            if (aiResponse != null && !aiResponse.trim().isEmpty()) {
-                logger.info("AI Agent yanıt verdi: {}", aiResponse);
-                sendMessage(session, aiResponse);
-            } else {
-                logger.error("AI Agent yanıt vermedi - sistem hatası");
-                sendMessage(session, "❌ Üzgünüm, şu anda bir teknik sorun yaşıyorum. Lütfen daha sonra tekrar deneyin.");
-            }
-        } catch (Exception e) {
-            logger.error("AI Agent ile mesaj işlenirken hata oluştu", e);
-            sendMessage(session, "❌ Üzgünüm, şu anda bir teknik sorun yaşıyorum. Lütfen daha sonra tekrar deneyin.");
+        // AI Agent ile akıllı mesaj işleme
+        Tenant tenant = tenantService.findEntityById(session.getTenantId())
+                .orElseThrow(() -> new IllegalStateException("Tenant bulunamadı: " + session.getTenantId()));
+        
+        String aiResponse = processWithAI(session, messageText, tenant);
+        if (aiResponse == null || aiResponse.trim().isEmpty()) {
+            throw new IllegalStateException("AI Agent yanıt vermedi");
         }
+        
+        logger.info("AI Agent yanıt verdi: {}", aiResponse);
+        sendMessage(session, aiResponse);
     }
     
     // Manuel flow metodları kaldırıldı - artık sadece AI Agent kullanılıyor
@@ -939,56 +892,6 @@ public class WhatsAppBotService {
         whatsAppService.sendMessage(session.getPhoneNumber(), message, session.getTenantId());
     }
     
-    private String extractFromNumber(String rawBody) {
-        try {
-            // JSON formatını kontrol et
-            if (rawBody.trim().startsWith("{")) {
-                // JSON formatı
-                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                com.fasterxml.jackson.databind.JsonNode jsonNode = mapper.readTree(rawBody);
-                String fromNumber = jsonNode.get("From").asText();
-                // whatsapp: prefix'ini kaldır
-                if (fromNumber.startsWith("whatsapp:")) {
-                    fromNumber = fromNumber.substring(9);
-                }
-                return fromNumber;
-            } else if (rawBody.contains("From=")) {
-                // Twilio webhook formatı
-                String fromPart = rawBody.substring(rawBody.indexOf("From=") + 5);
-                String fromNumber = fromPart.split("&")[0];
-                // whatsapp: prefix'ini kaldır
-                if (fromNumber.startsWith("whatsapp:")) {
-                    fromNumber = fromNumber.substring(9);
-                }
-                return fromNumber;
-            }
-        } catch (Exception e) {
-            logger.error("From numarası çıkarılamadı", e);
-        }
-        return null;
-    }
-    
-    private String extractMessageText(String rawBody) {
-        try {
-            // JSON formatını kontrol et
-            if (rawBody.trim().startsWith("{")) {
-                // JSON formatı
-                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                com.fasterxml.jackson.databind.JsonNode jsonNode = mapper.readTree(rawBody);
-                return jsonNode.get("Body").asText();
-            } else if (rawBody.contains("Body=")) {
-                // Twilio webhook formatı
-                String bodyPart = rawBody.substring(rawBody.indexOf("Body=") + 5);
-                String messageText = bodyPart.split("&")[0];
-                // URL decode
-                return java.net.URLDecoder.decode(messageText, "UTF-8");
-            }
-        } catch (Exception e) {
-            logger.error("Mesaj metni çıkarılamadı", e);
-        }
-        return null;
-    }
-    
     /**
      * Session'ı al veya oluştur
      */
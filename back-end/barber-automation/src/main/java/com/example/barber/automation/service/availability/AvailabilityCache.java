@@ -0,0 +1,212 @@
+package com.example.barber.automation.service.availability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kuaför + gün bazlı müsaitlik önbelleği
+ *
+ * DayAvailability görüntülerini (tenantId, tarih) anahtarıyla tutar.
+ * - Boyut sınırlı LRU: en uzun süredir okunmayan kayıt atılır
+ * - TTL: süresi dolan kayıt okunurken atılır (ayarların veritabanından elle değiştirilmesine karşı)
+ * - Randevu/ayar değişikliklerinde ilgili gün ya da kuaförün tamamı geçersiz kılınır
+ *
+ * Yükleme sırasında aynı kuaför için bir geçersiz kılma olursa (kuaförün versiyonu değiştiyse) yüklenen
+ * görüntü önbelleğe yazılmaz; böylece eski veriyle okunan sonuç yeni yazımın üzerine yazılamaz.
+ * Versiyon kuaför bazındadır: bir kuaförün yazımları diğer kuaförlerin yüklemelerini boşa çıkarmaz.
+ *
+ * Önbellek uygulama örneğine özeldir ve geçersiz kılma sadece yazımı yapan örnekte olur: önbellek
+ * tek örnekte doğrudur. Birden fazla örnekte diğer örnekler değişikliği en geç TTL sonunda görür
+ * (bu yüzden varsayılan TTL kısadır). Randevu yazımı çakışmayı önbellekten değil veritabanından
+ * kontrol eder; eski görüntü sadece dolu bir slotun önerilmesine yol açar.
+ *
+ * Metrikler (actuator /actuator/metrics): cache.gets{result=hit|miss}, cache.evictions,
+ * cache.invalidations, cache.size — hepsi cache=availability etiketiyle.
+ */
+@Component
+public class AvailabilityCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityCache.class);
+    private static final String CACHE_NAME = "availability";
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final LinkedHashMap<DayKey, Entry> entries;
+    private final Map<Long, Long> versions = new HashMap<>(); // Kuaför → versiyon (entries kilidiyle korunur)
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    @Autowired
+    public AvailabilityCache(MeterRegistry meterRegistry,
+                             @Value("${availability.cache.max-entries:10000}") int maxEntries,
+                             @Value("${availability.cache.ttl-seconds:30}") long ttlSeconds) {
+        this(meterRegistry, maxEntries, ttlSeconds, Clock.systemUTC());
+    }
+
+    AvailabilityCache(MeterRegistry meterRegistry, int maxEntries, long ttlSeconds, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Önbellek boyutu en az 1 olmalı: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Önbellekten karşılanan gün sorguları").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Veritabanından yüklenen gün sorguları").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Boyut veya TTL nedeniyle atılan kayıtlar").register(meterRegistry);
+        this.invalidations = Counter.builder("cache.invalidations").tag("cache", CACHE_NAME)
+                .description("Randevu/ayar değişikliği nedeniyle geçersiz kılınan kayıtlar").register(meterRegistry);
+        Gauge.builder("cache.size", this, AvailabilityCache::size).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Önbellekteki gün görüntüsünü getirme (yoksa veya süresi dolduysa null)
+     */
+    public DayAvailability getIfPresent(Long tenantId, LocalDate date) {
+        DayKey key = new DayKey(tenantId, date);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= clock.millis()) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * Kuaförün, yüklemeye başlamadan önce alınan versiyonu; put çağrısına verilir
+     */
+    public long currentVersion(Long tenantId) {
+        synchronized (entries) {
+            return versions.getOrDefault(tenantId, 0L);
+        }
+    }
+
+    /**
+     * Yüklenen gün görüntüsünü önbelleğe yazma
+     *
+     * loadVersion'dan bu yana kuaför için geçersiz kılma olduysa yazılmaz.
+     */
+    public void put(Long tenantId, LocalDate date, DayAvailability value, long loadVersion) {
+        synchronized (entries) {
+            if (versions.getOrDefault(tenantId, 0L) != loadVersion) {
+                return;
+            }
+            entries.put(new DayKey(tenantId, date), new Entry(value, clock.millis() + ttlMillis));
+            while (entries.size() > maxEntries) {
+                Iterator<DayKey> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Tek bir günü geçersiz kılma
+     */
+    public void evict(Long tenantId, LocalDate date) {
+        if (tenantId == null || date == null) {
+            return;
+        }
+        synchronized (entries) {
+            versions.merge(tenantId, 1L, Long::sum);
+            if (entries.remove(new DayKey(tenantId, date)) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Kuaförün tüm günlerini geçersiz kılma (çalışma/mola saati değişikliği)
+     */
+    public void evictTenant(Long tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        synchronized (entries) {
+            versions.merge(tenantId, 1L, Long::sum);
+            Iterator<Map.Entry<DayKey, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (tenantId.equals(iterator.next().getKey().tenantId())) {
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+        logger.debug("Müsaitlik önbelleği temizlendi - tenant: {}", tenantId);
+    }
+
+    /**
+     * Günü hemen ve (aktif transaction varsa) commit sonrasında tekrar geçersiz kılma
+     *
+     * İkinci temizlik, commit'ten önce başka bir isteğin eski veriyi yeniden yüklemesine karşıdır.
+     */
+    public void evictAfterCommit(Long tenantId, LocalDate date) {
+        evict(tenantId, date);
+        runAfterCommit(() -> evict(tenantId, date));
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    private record DayKey(Long tenantId, LocalDate date) {
+    }
+
+    private static final class Entry {
+        final DayAvailability value;
+        final long expiresAt;
+
+        Entry(DayAvailability value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
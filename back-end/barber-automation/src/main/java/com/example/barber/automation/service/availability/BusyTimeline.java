@@ -0,0 +1,129 @@
+package com.example.barber.automation.service.availability;
+
+import com.example.barber.automation.dto.AppointmentTimeRange;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Çok günlük dolu zaman çizelgesi (ilkel dakika dizileri)
+ *
+ * Randevular başlangıç anından (origin) itibaren dakika olarak (start, end, bufferedEnd)
+ * dizilerine çevrilir; bufferedEnd = end + randevular arası mola. Örtüşen aralıklar
+ * birleştirilerek sıralı ve ayrık dolu aralıklar elde edilir. Artan sırada sorulan aday
+ * slot'lar Cursor ile iki işaretçili tek geçişte kontrol edilir.
+ *
+ * Saniye içeren randevular dakikaya genişletilir (başlangıç aşağı, bitiş yukarı).
+ */
+public final class BusyTimeline {
+
+    private final int[] busyStarts;
+    private final int[] busyEnds;
+    private final int size;
+
+    private BusyTimeline(int[] busyStarts, int[] busyEnds, int size) {
+        this.busyStarts = busyStarts;
+        this.busyEnds = busyEnds;
+        this.size = size;
+    }
+
+    /**
+     * Randevu aralıklarından zaman çizelgesi oluşturma
+     *
+     * @param origin        dakika 0'ın karşılığı (genelde aralığın ilk gününün başı)
+     * @param ranges        randevu aralıkları (başlangıca göre sıralı olması beklenir)
+     * @param bufferMinutes her randevunun bitişine eklenen mola süresi
+     */
+    public static BusyTimeline of(LocalDateTime origin, List<AppointmentTimeRange> ranges, int bufferMinutes) {
+        int n = ranges.size();
+        int[] starts = new int[n];
+        int[] ends = new int[n];
+        int[] bufferedEnds = new int[n];
+        boolean sorted = true;
+
+        for (int i = 0; i < n; i++) {
+            AppointmentTimeRange range = ranges.get(i);
+            long startSeconds = ChronoUnit.SECONDS.between(origin, range.getStartTime());
+            long endSeconds = ChronoUnit.SECONDS.between(origin, range.getEndTime());
+            starts[i] = (int) Math.floorDiv(startSeconds, 60);
+            ends[i] = (int) -Math.floorDiv(-endSeconds, 60);
+            bufferedEnds[i] = ends[i] + bufferMinutes;
+            if (i > 0 && starts[i] < starts[i - 1]) {
+                sorted = false;
+            }
+        }
+
+        if (!sorted) {
+            sortByStart(starts, bufferedEnds, n);
+        }
+
+        // Örtüşen/bitişik aralıkları birleştir (yerinde)
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (bufferedEnds[i] <= starts[i]) {
+                continue;
+            }
+            if (size > 0 && starts[i] <= bufferedEnds[size - 1]) {
+                bufferedEnds[size - 1] = Math.max(bufferedEnds[size - 1], bufferedEnds[i]);
+            } else {
+                starts[size] = starts[i];
+                bufferedEnds[size] = bufferedEnds[i];
+                size++;
+            }
+        }
+
+        return new BusyTimeline(starts, bufferedEnds, size);
+    }
+
+    /**
+     * Birleştirilmiş dolu aralık sayısı
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Artan sırada aday kontrolü için yeni işaretçi
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * İki işaretçili tarama: adaylar artan sırada sorulduğunda toplam maliyet O(aday + aralık)
+     */
+    public final class Cursor {
+        private int index;
+        private int lastFrom = Integer.MIN_VALUE;
+
+        /**
+         * [fromMinute, fromMinute + durationMinutes) hiçbir dolu aralıkla çakışmıyorsa true
+         */
+        public boolean isFree(int fromMinute, int durationMinutes) {
+            if (fromMinute < lastFrom) {
+                // Geriye dönüldü, baştan tara
+                index = 0;
+            }
+            lastFrom = fromMinute;
+
+            while (index < size && busyEnds[index] <= fromMinute) {
+                index++;
+            }
+            return index == size || busyStarts[index] >= fromMinute + durationMinutes;
+        }
+    }
+
+    private static void sortByStart(int[] starts, int[] ends, int n) {
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) starts[i] << 32) | (ends[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < n; i++) {
+            starts[i] = (int) (packed[i] >> 32);
+            ends[i] = (int) packed[i];
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.barber.automation.service.availability;
+
+import com.example.barber.automation.dto.AppointmentTimeRange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir kuaförün tek bir günü için slot hesaplamaya hazır değişmez görüntü
+ *
+ * Çalışma aralıkları (gece yarısından itibaren dakika), randevu aralığı ve
+ * mola + randevuların işlendiği doluluğu taşır. Tek koltuklu kuaförlerde doluluk haritası
+ * (DayOccupancy), birden fazla koltukta doluluk sayacı (OccupancyCounter) kullanılır.
+ * Hizmete bağlı değildir; aynı görüntü farklı süredeki hizmetler için tekrar kullanılabilir.
+ * Slot tutmaları görüntüye işlenmez (önbellek herkes için aynıdır); istek bazında withHolds ile eklenir.
+ */
+public final class DayAvailability {
+
+    private static final int[] NO_RANGES = new int[0];
+
+    private final LocalDate date;
+    private final int[] openRanges;
+    private final int intervalMinutes;
+    private final DayOccupancy occupancy;
+    private final OccupancyCounter counter;
+    private final int capacity;
+
+    /**
+     * Tek koltuklu gün
+     *
+     * @param openRanges [başlangıç0, bitiş0, başlangıç1, bitiş1, ...] dakika çiftleri
+     * @param occupancy  oluşturulduktan sonra değiştirilmemesi gereken doluluk haritası
+     */
+    public DayAvailability(LocalDate date, int[] openRanges, int intervalMinutes, DayOccupancy occupancy) {
+        this.date = date;
+        this.openRanges = openRanges;
+        this.intervalMinutes = intervalMinutes;
+        this.occupancy = occupancy;
+        this.counter = null;
+        this.capacity = 1;
+    }
+
+    /**
+     * Birden fazla koltuklu gün
+     *
+     * @param counter  oluşturulduktan sonra değiştirilmemesi gereken doluluk sayacı
+     * @param capacity aynı anda alınabilecek randevu sayısı
+     */
+    public DayAvailability(LocalDate date, int[] openRanges, int intervalMinutes, OccupancyCounter counter,
+                           int capacity) {
+        this.date = date;
+        this.openRanges = openRanges;
+        this.intervalMinutes = intervalMinutes;
+        this.occupancy = null;
+        this.counter = counter;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Kapalı gün (çalışma aralığı yok)
+     */
+    public static DayAvailability closed(LocalDate date) {
+        return new DayAvailability(date, NO_RANGES, 0, null);
+    }
+
+    /**
+     * Tutmaların tek koltuklu randevu gibi işlendiği yeni görüntü (bu görüntü değişmez)
+     *
+     * Tutma yoksa aynı görüntü döner; varsa doluluk kopyalanır.
+     */
+    public DayAvailability withHolds(List<AppointmentTimeRange> holds) {
+        if (holds.isEmpty() || isClosed()) {
+            return this;
+        }
+        if (counter != null) {
+            OccupancyCounter held = counter.copy();
+            for (AppointmentTimeRange hold : holds) {
+                held.occupy(hold.getStartTime(), hold.getEndTime());
+            }
+            return new DayAvailability(date, openRanges, intervalMinutes, held, capacity);
+        }
+        DayOccupancy held = occupancy.copy();
+        for (AppointmentTimeRange hold : holds) {
+            held.occupy(hold.getStartTime(), hold.getEndTime());
+        }
+        return new DayAvailability(date, openRanges, intervalMinutes, held);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public boolean isClosed() {
+        return openRanges.length == 0;
+    }
+
+    public int getOpenRangeCount() {
+        return openRanges.length / 2;
+    }
+
+    public int getOpenStart(int index) {
+        return openRanges[index * 2];
+    }
+
+    public int getOpenEnd(int index) {
+        return openRanges[index * 2 + 1];
+    }
+
+    public int getIntervalMinutes() {
+        return intervalMinutes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Tek koltuklu günlerin doluluk haritası (birden fazla koltukta null)
+     */
+    public DayOccupancy getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * fromMinute'ten başlayarak durationMinutes boyunca en az bir koltuk boşsa true
+     */
+    public boolean isFree(int fromMinute, int durationMinutes) {
+        if (counter != null) {
+            return counter.isFree(fromMinute, durationMinutes, capacity);
+        }
+        return occupancy.isFree(fromMinute, durationMinutes);
+    }
+
+    /**
+     * Belirtilen dakikanın mutlak zamanı
+     */
+    public LocalDateTime toDateTime(int minute) {
+        return date.atStartOfDay().plusMinutes(minute);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.barber.automation.service.availability;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Dakika çözünürlüklü doluluk haritası (bitset)
+ *
+ * Her bit, başlangıç anından (origin) itibaren bir dakikayı temsil eder; 1 = dolu.
+ * Randevular ve molalar haritaya işlenir, "t dakikasından itibaren N dakika boş mu?"
+ * sorusu 64 bitlik kelimeler üzerinde maskelerle cevaplanır.
+ *
+ * Saniye içeren aralıklar dakikaya genişletilir (başlangıç aşağı, bitiş yukarı yuvarlanır).
+ * Sorgulanan aralık tam dakika sınırlarında olduğu sürece sonuç, LocalDateTime
+ * üzerinden yapılan "start < end2 && end > start2" çakışma kontrolüyle birebir aynıdır.
+ */
+public final class DayOccupancy {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final LocalDateTime origin;
+    private final int lengthMinutes;
+    private final long[] words;
+
+    public DayOccupancy(LocalDateTime origin, int lengthMinutes) {
+        if (lengthMinutes < 0) {
+            throw new IllegalArgumentException("Süre negatif olamaz: " + lengthMinutes);
+        }
+        this.origin = origin;
+        this.lengthMinutes = lengthMinutes;
+        this.words = new long[(lengthMinutes + 63) >>> 6];
+    }
+
+    /**
+     * Bir günün tamamını (00:00 - 24:00) kapsayan boş harita
+     */
+    public static DayOccupancy forDay(LocalDate date) {
+        return new DayOccupancy(date.atStartOfDay(), MINUTES_PER_DAY);
+    }
+
+    /**
+     * Aynı içerikte bağımsız kopya (önbellekteki haritayı değiştirmeden üzerine işlemek için)
+     */
+    public DayOccupancy copy() {
+        DayOccupancy copy = new DayOccupancy(origin, lengthMinutes);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    public LocalDateTime getOrigin() {
+        return origin;
+    }
+
+    public int getLengthMinutes() {
+        return lengthMinutes;
+    }
+
+    /**
+     * [start, end) zaman aralığını dolu olarak işaretle
+     */
+    public void occupy(LocalDateTime start, LocalDateTime end) {
+        long startSeconds = ChronoUnit.SECONDS.between(origin, start);
+        long endSeconds = ChronoUnit.SECONDS.between(origin, end);
+        long fromMinute = Math.floorDiv(startSeconds, 60);
+        long toMinute = -Math.floorDiv(-endSeconds, 60);
+        occupyMinutes(clamp(fromMinute), clamp(toMinute));
+    }
+
+    /**
+     * [fromMinute, toMinute) dakika aralığını dolu olarak işaretle (harita dışı kısım yok sayılır)
+     */
+    public void occupyMinutes(int fromMinute, int toMinute) {
+        int from = Math.max(0, fromMinute);
+        int to = Math.min(lengthMinutes, toMinute);
+        if (from >= to) {
+            return;
+        }
+
+        int fromWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (fromWord == lastWord) {
+            words[fromWord] |= firstMask & lastMask;
+            return;
+        }
+        words[fromWord] |= firstMask;
+        for (int i = fromWord + 1; i < lastWord; i++) {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    /**
+     * fromMinute'ten başlayarak durationMinutes boyunca hiç dolu dakika yoksa true
+     */
+    public boolean isFree(int fromMinute, int durationMinutes) {
+        int from = Math.max(0, fromMinute);
+        int to = Math.min(lengthMinutes, fromMinute + durationMinutes);
+        if (from >= to) {
+            return true;
+        }
+
+        int fromWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (fromWord == lastWord) {
+            return (words[fromWord] & firstMask & lastMask) == 0;
+        }
+        if ((words[fromWord] & firstMask) != 0) {
+            return false;
+        }
+        for (int i = fromWord + 1; i < lastWord; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return (words[lastWord] & lastMask) == 0;
+    }
+
+    /**
+     * Belirtilen dakikanın mutlak zamanı
+     */
+    public LocalDateTime toDateTime(int minute) {
+        return origin.plusMinutes(minute);
+    }
+
+    private int clamp(long minute) {
+        return (int) Math.max(0, Math.min(lengthMinutes, minute));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.barber.automation.service.availability;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Dakika çözünürlüklü doluluk sayacı (segment tree)
+ *
+ * Birden fazla koltuğu olan kuaförler için her dakikada kaç randevunun süregittiği tutulur.
+ * Aralığa ekleme ve "aralıktaki en yüksek doluluk" sorgusu O(log n) ile yapılır;
+ * "t dakikasından itibaren N dakika boyunca boş koltuk var mı?" sorusu
+ * max(t, t + N) &lt; kapasite olarak cevaplanır.
+ *
+ * Randevular tek bir koltuğu, molalar tüm koltukları (kapasite kadar) doldurur. Koltuklar arası
+ * geçiş serbest olduğundan (aralık grafiği), her dakikada doluluk kapasitenin altındaysa
+ * randevular koltuklara çakışmadan dağıtılabilir.
+ *
+ * Saniye içeren aralıklar DayOccupancy ile aynı şekilde dakikaya genişletilir.
+ */
+public final class OccupancyCounter {
+
+    private final LocalDateTime origin;
+    private final int lengthMinutes;
+    // Düğüm aralığındaki en yüksek doluluk (düğüme bekleyen ekleme dahil)
+    private final int[] max;
+    // Düğümün tüm aralığına uygulanmış, çocuklara indirilmemiş ekleme
+    private final int[] pending;
+
+    public OccupancyCounter(LocalDateTime origin, int lengthMinutes) {
+        if (lengthMinutes < 0) {
+            throw new IllegalArgumentException("Süre negatif olamaz: " + lengthMinutes);
+        }
+        this.origin = origin;
+        this.lengthMinutes = lengthMinutes;
+        int nodes = 4 * Math.max(1, lengthMinutes);
+        this.max = new int[nodes];
+        this.pending = new int[nodes];
+    }
+
+    /**
+     * Bir günün tamamını (00:00 - 24:00) kapsayan boş sayaç
+     */
+    public static OccupancyCounter forDay(LocalDate date) {
+        return new OccupancyCounter(date.atStartOfDay(), DayOccupancy.MINUTES_PER_DAY);
+    }
+
+    /**
+     * Aynı içerikte bağımsız kopya (önbellekteki sayacı değiştirmeden üzerine işlemek için)
+     */
+    public OccupancyCounter copy() {
+        OccupancyCounter copy = new OccupancyCounter(origin, lengthMinutes);
+        System.arraycopy(max, 0, copy.max, 0, max.length);
+        System.arraycopy(pending, 0, copy.pending, 0, pending.length);
+        return copy;
+    }
+
+    public LocalDateTime getOrigin() {
+        return origin;
+    }
+
+    public int getLengthMinutes() {
+        return lengthMinutes;
+    }
+
+    /**
+     * [start, end) zaman aralığında doluluğu bir artır (tek koltuk)
+     */
+    public void occupy(LocalDateTime start, LocalDateTime end) {
+        long startSeconds = ChronoUnit.SECONDS.between(origin, start);
+        long endSeconds = ChronoUnit.SECONDS.between(origin, end);
+        long fromMinute = Math.floorDiv(startSeconds, 60);
+        long toMinute = -Math.floorDiv(-endSeconds, 60);
+        add(clamp(fromMinute), clamp(toMinute), 1);
+    }
+
+    /**
+     * [fromMinute, toMinute) dakika aralığına delta ekle (sayaç dışı kısım yok sayılır)
+     */
+    public void add(int fromMinute, int toMinute, int delta) {
+        int from = Math.max(0, fromMinute);
+        int to = Math.min(lengthMinutes, toMinute);
+        if (from >= to || delta == 0) {
+            return;
+        }
+        add(1, 0, lengthMinutes, from, to, delta);
+    }
+
+    /**
+     * [fromMinute, toMinute) aralığındaki en yüksek doluluk (boş aralık için 0)
+     */
+    public int max(int fromMinute, int toMinute) {
+        int from = Math.max(0, fromMinute);
+        int to = Math.min(lengthMinutes, toMinute);
+        if (from >= to) {
+            return 0;
+        }
+        return max(1, 0, lengthMinutes, from, to);
+    }
+
+    /**
+     * fromMinute'ten başlayarak durationMinutes boyunca her dakikada boş koltuk varsa true
+     */
+    public boolean isFree(int fromMinute, int durationMinutes, int capacity) {
+        return max(fromMinute, fromMinute + durationMinutes) < capacity;
+    }
+
+    /**
+     * Belirtilen dakikanın mutlak zamanı
+     */
+    public LocalDateTime toDateTime(int minute) {
+        return origin.plusMinutes(minute);
+    }
+
+    private void add(int node, int lo, int hi, int from, int to, int delta) {
+        if (from <= lo && hi <= to) {
+            max[node] += delta;
+            pending[node] += delta;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (from < mid) {
+            add(2 * node, lo, mid, from, to, delta);
+        }
+        if (to > mid) {
+            add(2 * node + 1, mid, hi, from, to, delta);
+        }
+        max[node] = pending[node] + Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private int max(int node, int lo, int hi, int from, int to) {
+        if (from <= lo && hi <= to) {
+            return max[node];
+        }
+        int mid = (lo + hi) >>> 1;
+        int result = Integer.MIN_VALUE;
+        if (from < mid) {
+            result = max(2 * node, lo, mid, from, to);
+        }
+        if (to > mid) {
+            result = Math.max(result, max(2 * node + 1, mid, hi, from, to));
+        }
+        return pending[node] + result;
+    }
+
+    private int clamp(long minute) {
+        return (int) Math.max(0, Math.min(lengthMinutes, minute));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.barber.automation.service.availability;
+
+import com.example.barber.automation.entity.Chair;
+import com.example.barber.automation.entity.TenantSetting;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * Takvimi etkileyen entity'ler için JPA listener'ı (TenantSetting, Chair)
+ *
+ * Takvimi etkileyen ayarlar (çalışma saatleri, molalar, istisnalar, randevu aralığı) veya
+ * koltuklar (kapasite) değiştiğinde kuaförün derlenmiş takvimini ve müsaitlik önbelleğini
+ * hemen ve commit sonrasında temizler.
+ * Temizlik sadece değişikliği yapan uygulama örneğinde olur; diğer örnekler TTL ile güncellenir
+ * (bkz. AvailabilityCache).
+ * Hibernate, listener'ı Spring üzerinden oluşturur; bean'lerin olmadığı bağlamlarda
+ * (ör. @DataJpaTest) hiçbir şey yapmaz.
+ */
+@Component
+public class ScheduleChangeListener {
+
+    private static final Set<String> SCHEDULE_KEYS = Set.of(
+            TenantSetting.Keys.WORKING_HOURS,
+            TenantSetting.Keys.BREAK_HOURS,
+            TenantSetting.Keys.SCHEDULE_EXCEPTIONS,
+            TenantSetting.Keys.BOOKING_INTERVAL_MINUTES
+    );
+
+    private final ObjectProvider<TenantScheduleProvider> tenantScheduleProvider;
+    private final ObjectProvider<AvailabilityCache> availabilityCache;
+
+    @Autowired
+    public ScheduleChangeListener(ObjectProvider<TenantScheduleProvider> tenantScheduleProvider,
+                                  ObjectProvider<AvailabilityCache> availabilityCache) {
+        this.tenantScheduleProvider = tenantScheduleProvider;
+        this.availabilityCache = availabilityCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEntityChanged(Object entity) {
+        Long tenantId = resolveTenantId(entity);
+        if (tenantId == null) {
+            return;
+        }
+
+        invalidate(tenantId);
+
+        // Commit'ten önce eski değerlerle yeniden derlenen takvime karşı ikinci temizlik
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(tenantId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Takvimi etkileyen değişiklikse kuaför ID'si, değilse null
+     */
+    private Long resolveTenantId(Object entity) {
+        if (entity instanceof TenantSetting setting) {
+            if (!SCHEDULE_KEYS.contains(setting.getSettingKey()) || setting.getTenant() == null) {
+                return null;
+            }
+            return setting.getTenant().getId();
+        }
+        if (entity instanceof Chair chair && chair.getTenant() != null) {
+            return chair.getTenant().getId();
+        }
+        return null;
+    }
+
+    private void invalidate(Long tenantId) {
+        // Önce takvim, sonra günler: günler yeniden yüklenirken yeni takvim kullanılır
+        tenantScheduleProvider.ifAvailable(provider -> provider.invalidate(tenantId));
+        availabilityCache.ifAvailable(cache -> cache.evictTenant(tenantId));
+    }
+}
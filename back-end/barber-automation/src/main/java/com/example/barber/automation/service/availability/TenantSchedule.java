@@ -0,0 +1,101 @@
+package com.example.barber.automation.service.availability;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bir kuaförün derlenmiş çalışma takvimi (değişmez)
+ *
+ * Haftalık şablon + tarihe özel istisnalar (tatil, yarım gün, özel açılış günü).
+ * Ayarlar bir kez ayrıştırılır; bir tarihin açık ve mola aralıkları O(1) ile,
+ * gece yarısından itibaren dakika çiftleri olarak döner: [başlangıç0, bitiş0, başlangıç1, bitiş1, ...].
+ *
+ * Kapasite, aynı anda alınabilecek randevu sayısıdır (aktif koltuk sayısı, en az 1).
+ *
+ * Dönen diziler paylaşılır, çağıran tarafından değiştirilmemelidir.
+ */
+public final class TenantSchedule {
+
+    private static final int[] NO_RANGES = new int[0];
+
+    private final int[][] weeklyOpenRanges;
+    private final int[] breakRanges;
+    private final Map<LocalDate, int[]> openOverrides;
+    private final int intervalMinutes;
+    private final int capacity;
+
+    /**
+     * Tek koltuklu takvim
+     */
+    public TenantSchedule(int[][] weeklyOpenRanges, int[] breakRanges,
+                          Map<LocalDate, int[]> openOverrides, int intervalMinutes) {
+        this(weeklyOpenRanges, breakRanges, openOverrides, intervalMinutes, 1);
+    }
+
+    /**
+     * @param weeklyOpenRanges DayOfWeek sırasıyla (Pazartesi = 0) 7 günün açık aralıkları
+     * @param breakRanges      her açık günde uygulanan mola aralıkları
+     * @param openOverrides    tarihe özel açık aralıklar (boş dizi = kapalı)
+     * @param capacity         aynı anda alınabilecek randevu sayısı (1'den küçükse 1)
+     */
+    public TenantSchedule(int[][] weeklyOpenRanges, int[] breakRanges,
+                          Map<LocalDate, int[]> openOverrides, int intervalMinutes, int capacity) {
+        if (weeklyOpenRanges.length != 7) {
+            throw new IllegalArgumentException("Haftalık şablon 7 gün içermeli: " + weeklyOpenRanges.length);
+        }
+        this.weeklyOpenRanges = new int[7][];
+        for (int i = 0; i < 7; i++) {
+            this.weeklyOpenRanges[i] = weeklyOpenRanges[i] != null ? weeklyOpenRanges[i].clone() : NO_RANGES;
+        }
+        this.breakRanges = breakRanges != null ? breakRanges.clone() : NO_RANGES;
+        this.openOverrides = new HashMap<>();
+        if (openOverrides != null) {
+            openOverrides.forEach((date, ranges) -> this.openOverrides.put(date, ranges != null ? ranges.clone() : NO_RANGES));
+        }
+        this.intervalMinutes = intervalMinutes;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Tarihin açık aralıkları (istisna varsa istisna, yoksa haftalık şablon)
+     */
+    public int[] getOpenRanges(LocalDate date) {
+        int[] override = openOverrides.get(date);
+        if (override != null) {
+            return override;
+        }
+        return getWeeklyOpenRanges(date.getDayOfWeek());
+    }
+
+    /**
+     * Haftalık şablondaki açık aralıklar
+     */
+    public int[] getWeeklyOpenRanges(DayOfWeek dayOfWeek) {
+        return weeklyOpenRanges[dayOfWeek.ordinal()];
+    }
+
+    /**
+     * Tarihin mola aralıkları (kapalı günlerde boş)
+     */
+    public int[] getBreakRanges(LocalDate date) {
+        return isOpen(date) ? breakRanges : NO_RANGES;
+    }
+
+    public boolean isOpen(LocalDate date) {
+        return getOpenRanges(date).length > 0;
+    }
+
+    public boolean hasOverride(LocalDate date) {
+        return openOverrides.containsKey(date);
+    }
+
+    public int getIntervalMinutes() {
+        return intervalMinutes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
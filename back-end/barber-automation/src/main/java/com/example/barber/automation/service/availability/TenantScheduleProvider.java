@@ -0,0 +1,302 @@
+package com.example.barber.automation.service.availability;
+
+import com.example.barber.automation.entity.TenantSetting;
+import com.example.barber.automation.repository.ChairRepository;
+import com.example.barber.automation.repository.TenantSettingRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kuaför takvimlerini ayarlardan derleyen ve saklayan bileşen
+ *
+ * working_hours, break_hours, booking_interval_minutes ve schedule_exceptions ayarları
+ * tek sorguyla okunur, bir kez ayrıştırılır ve TenantSchedule olarak saklanır. Kapasite, aktif
+ * koltuk sayısından alınır (koltuk tanımlanmamışsa 1).
+ * Ayar veya koltuk değiştiğinde (ScheduleChangeListener) takvim geçersiz kılınır ve bir sonraki
+ * istekte yeniden derlenir; TTL, veritabanından elle yapılan değişikliklere karşıdır.
+ * Derleme sırasında gelen geçersiz kılmalar kuaför bazında sürümle yakalanır; bir kuaförün geçersiz
+ * kılınması diğer kuaförlerin derlemelerini etkilemez ve ortak bir kilit kullanılmaz.
+ * Takvimler uygulama örneğine özeldir; birden fazla örnekte diğer örnekler ayar değişikliğini en geç
+ * TTL sonunda görür.
+ *
+ * schedule_exceptions formatı:
+ * [{"date": "2025-04-23", "enabled": "false"},
+ *  {"date": "2025-12-31", "start": "09:00", "end": "13:00", "enabled": "true"}]
+ * Aynı tarihteki birden fazla açık aralık birleştirilir.
+ */
+@Component
+public class TenantScheduleProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantScheduleProvider.class);
+
+    private static final List<String> SCHEDULE_KEYS = List.of(
+            TenantSetting.Keys.WORKING_HOURS,
+            TenantSetting.Keys.BREAK_HOURS,
+            TenantSetting.Keys.BOOKING_INTERVAL_MINUTES,
+            TenantSetting.Keys.SCHEDULE_EXCEPTIONS
+    );
+
+    private static final int DEFAULT_INTERVAL_MINUTES = 30;
+    private static final int[] NO_RANGES = new int[0];
+
+    private final TenantSettingRepository tenantSettingRepository;
+    private final ChairRepository chairRepository;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<Long, CompiledSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>(); // Kuaför → geçersiz kılma sürümü
+
+    @Autowired
+    public TenantScheduleProvider(TenantSettingRepository tenantSettingRepository,
+                                  ChairRepository chairRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${availability.schedule.ttl-seconds:30}") long ttlSeconds) {
+        this(tenantSettingRepository, chairRepository, objectMapper, ttlSeconds, Clock.systemUTC());
+    }
+
+    TenantScheduleProvider(TenantSettingRepository tenantSettingRepository, ChairRepository chairRepository,
+                           ObjectMapper objectMapper, long ttlSeconds, Clock clock) {
+        this.tenantSettingRepository = tenantSettingRepository;
+        this.chairRepository = chairRepository;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+    }
+
+    /**
+     * Kuaförün derlenmiş takvimi (gerekirse ayarlardan derlenir)
+     */
+    public TenantSchedule getSchedule(Long tenantId) {
+        CompiledSchedule compiled = schedules.get(tenantId);
+        if (compiled != null && compiled.expiresAt > clock.millis()) {
+            return compiled.schedule;
+        }
+
+        long loadVersion = versions.getOrDefault(tenantId, 0L);
+        TenantSchedule schedule = compile(tenantSettingRepository.findByTenantIdAndSettingKeyIn(tenantId, SCHEDULE_KEYS),
+                (int) chairRepository.countByTenantIdAndActiveTrue(tenantId));
+        // Derleme sırasında kuaförün ayarı değiştiyse eski takvimi saklama. invalidate sürümü takvimi
+        // silmeden önce artırdığı için buradaki kontrolden sonra yazılan takvim de silinir.
+        schedules.compute(tenantId, (id, current) ->
+                versions.getOrDefault(id, 0L) == loadVersion
+                        ? new CompiledSchedule(schedule, clock.millis() + ttlMillis)
+                        : current);
+        return schedule;
+    }
+
+    /**
+     * Kuaförün takvimini geçersiz kılma (ayar veya koltuk değişikliği)
+     */
+    public void invalidate(Long tenantId) {
+        versions.merge(tenantId, 1L, Long::sum);
+        schedules.remove(tenantId);
+    }
+
+    /**
+     * Ayar kayıtlarından tek koltuklu takvim derleme
+     */
+    TenantSchedule compile(List<TenantSetting> settings) {
+        return compile(settings, 1);
+    }
+
+    /**
+     * Ayar kayıtlarından ve koltuk sayısından takvim derleme
+     */
+    TenantSchedule compile(List<TenantSetting> settings, int capacity) {
+        Map<String, String> values = new HashMap<>();
+        for (TenantSetting setting : settings) {
+            values.put(setting.getSettingKey(), setting.getSettingValue());
+        }
+
+        Map<String, Object> workingHours = parseWorkingHours(values.get(TenantSetting.Keys.WORKING_HOURS));
+        int[][] weekly = new int[7][];
+        for (DayOfWeek day : DayOfWeek.values()) {
+            weekly[day.ordinal()] = parseDayRange(workingHours.get(day.name()));
+        }
+
+        return new TenantSchedule(
+                weekly,
+                parseBreakRanges(values.get(TenantSetting.Keys.BREAK_HOURS)),
+                parseExceptions(values.get(TenantSetting.Keys.SCHEDULE_EXCEPTIONS)),
+                parseInterval(values.get(TenantSetting.Keys.BOOKING_INTERVAL_MINUTES)),
+                capacity);
+    }
+
+    private Map<String, Object> parseWorkingHours(String json) {
+        if (json == null) {
+            // Varsayılan çalışma saatleri
+            return getDefaultWorkingHours();
+        }
+
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            logger.warn("working_hours ayrıştırılamadı, varsayılan kullanılıyor: {}", e.getMessage());
+            return getDefaultWorkingHours();
+        }
+    }
+
+    private Map<String, Object> getDefaultWorkingHours() {
+        Map<String, Object> defaultHours = new HashMap<>();
+
+        // Pazartesi-Cumartesi 09:00-18:00
+        for (String day : Arrays.asList("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY")) {
+            Map<String, String> dayHours = new HashMap<>();
+            dayHours.put("start", "09:00");
+            dayHours.put("end", "18:00");
+            dayHours.put("enabled", "true");
+            defaultHours.put(day, dayHours);
+        }
+
+        // Pazar kapalı
+        Map<String, String> sundayHours = new HashMap<>();
+        sundayHours.put("enabled", "false");
+        defaultHours.put("SUNDAY", sundayHours);
+
+        return defaultHours;
+    }
+
+    private int[] parseDayRange(Object dayHoursObj) {
+        if (!(dayHoursObj instanceof Map)) {
+            return NO_RANGES;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> dayHours = (Map<String, Object>) dayHoursObj;
+
+        if (!"true".equals(String.valueOf(dayHours.get("enabled")))) {
+            return NO_RANGES;
+        }
+
+        return parseRange(dayHours.get("start"), dayHours.get("end"));
+    }
+
+    private int[] parseBreakRanges(String json) {
+        if (json == null) {
+            return NO_RANGES;
+        }
+
+        try {
+            List<Map<String, String>> breakHours = objectMapper.readValue(json,
+                    new TypeReference<List<Map<String, String>>>() {});
+
+            int[] ranges = NO_RANGES;
+            for (Map<String, String> breakHour : breakHours) {
+                if ("true".equals(breakHour.get("enabled"))) {
+                    ranges = concat(ranges, parseRange(breakHour.get("start"), breakHour.get("end")));
+                }
+            }
+            return ranges;
+        } catch (Exception e) {
+            logger.warn("break_hours ayrıştırılamadı, mola yok sayılıyor: {}", e.getMessage());
+            return NO_RANGES;
+        }
+    }
+
+    private Map<LocalDate, int[]> parseExceptions(String json) {
+        if (json == null) {
+            return Collections.emptyMap();
+        }
+
+        List<Map<String, String>> exceptions;
+        try {
+            exceptions = objectMapper.readValue(json, new TypeReference<List<Map<String, String>>>() {});
+        } catch (Exception e) {
+            logger.warn("schedule_exceptions ayrıştırılamadı, istisnalar yok sayılıyor: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+
+        Map<LocalDate, int[]> overrides = new HashMap<>();
+        for (Map<String, String> exception : exceptions) {
+            LocalDate date;
+            try {
+                date = LocalDate.parse(exception.get("date"));
+            } catch (Exception e) {
+                logger.warn("Geçersiz istisna tarihi atlandı: {}", exception.get("date"));
+                continue;
+            }
+
+            if ("false".equals(exception.get("enabled"))) {
+                // Tatil / kapalı gün
+                overrides.put(date, NO_RANGES);
+                continue;
+            }
+
+            int[] range = parseRange(exception.get("start"), exception.get("end"));
+            if (range.length > 0) {
+                // Yarım gün / özel açılış günü
+                overrides.merge(date, range, TenantScheduleProvider::concat);
+            }
+        }
+        return overrides;
+    }
+
+    private int parseInterval(String value) {
+        if (value != null) {
+            try {
+                int interval = Integer.parseInt(value.trim());
+                if (interval > 0) {
+                    return interval;
+                }
+            } catch (NumberFormatException ignored) {
+                // Varsayılana düş
+            }
+        }
+
+        return DEFAULT_INTERVAL_MINUTES; // Varsayılan 30 dakika
+    }
+
+    private int[] parseRange(Object start, Object end) {
+        if (start == null || end == null) {
+            return NO_RANGES;
+        }
+
+        try {
+            int startMinute = toMinuteOfDay(LocalTime.parse(start.toString()));
+            int endMinute = toMinuteOfDay(LocalTime.parse(end.toString()));
+            return endMinute > startMinute ? new int[]{startMinute, endMinute} : NO_RANGES;
+        } catch (Exception e) {
+            return NO_RANGES;
+        }
+    }
+
+    private static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        if (first.length == 0) {
+            return second;
+        }
+        if (second.length == 0) {
+            return first;
+        }
+        int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static final class CompiledSchedule {
+        final TenantSchedule schedule;
+        final long expiresAt;
+
+        CompiledSchedule(TenantSchedule schedule, long expiresAt) {
+            this.schedule = schedule;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
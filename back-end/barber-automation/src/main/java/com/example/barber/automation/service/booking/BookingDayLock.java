@@ -0,0 +1,84 @@
+package com.example.barber.automation.service.booking;
+
+import com.example.barber.automation.repository.TenantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Uygulama örnekleri arası (kuaför, gün) yazım kilidi
+ *
+ * PostgreSQL'de transaction'a bağlı advisory lock kullanılır (pg_advisory_xact_lock(kuaför, gün));
+ * kilit satır gerektirmez ve commit/rollback'te kendiliğinden bırakılır. Sadece aynı kuaförün aynı
+ * gününe yazan transaction'lar birbirini bekler.
+ * Advisory lock desteklemeyen veritabanlarında (testlerdeki H2) kuaför satırı kilitlenir; bu durumda
+ * kuaförün tüm günleri sırayla yazılır.
+ *
+ * Değişiklik akışı (AppointmentChangeLog) yazım sırasında kuaför satırını kilitlemez; sıra commit'ten
+ * sonra AppointmentChangeSequencer tarafından verilir.
+ *
+ * Günler artan sırada kilitlenmelidir (kilitlenme olmaz). Aktif bir transaction içinde çağrılmalıdır.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class BookingDayLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingDayLock.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRepository tenantRepository;
+    private volatile Boolean advisoryLocks;
+
+    @Autowired
+    public BookingDayLock(JdbcTemplate jdbcTemplate, TenantRepository tenantRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantRepository = tenantRepository;
+    }
+
+    /**
+     * Kuaförün verilen günlerini transaction sonuna kadar kilitleme
+     *
+     * @param days artan sırada, tekrarsız günler
+     * @param timeoutMillis kilit bekleme sınırı
+     * @throws IllegalArgumentException süre sınırında kilit alınamazsa
+     */
+    public void lock(Long tenantId, List<LocalDate> days, long timeoutMillis) {
+        if (!supportsAdvisoryLocks()) {
+            tenantRepository.lockForBooking(tenantId);
+            return;
+        }
+        try {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + timeoutMillis);
+            for (LocalDate day : days) {
+                // İki int anahtarlı biçim: kuaför ID'si ve epoch günü (çakışmasız)
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null,
+                        Math.toIntExact(tenantId), Math.toIntExact(day.toEpochDay()));
+            }
+            jdbcTemplate.execute("SET LOCAL lock_timeout TO DEFAULT");
+        } catch (PessimisticLockingFailureException e) {
+            throw new IllegalArgumentException("Randevu sistemi şu an yoğun, lütfen tekrar deneyin", e);
+        }
+    }
+
+    private boolean supportsAdvisoryLocks() {
+        Boolean supported = advisoryLocks;
+        if (supported == null) {
+            supported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            advisoryLocks = supported;
+            if (!Boolean.TRUE.equals(supported)) {
+                logger.info("Veritabanı advisory lock desteklemiyor, randevu yazımında kuaför satırı kilitlenecek");
+            }
+        }
+        return Boolean.TRUE.equals(supported);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.barber.automation.service.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Randevu yazımını (müsaitlik kontrolü + kayıt) çakışan istekler arasında sıraya koyan koruma
+ *
+ * İki katmanlıdır:
+ * - Uygulama içi: (kuaför, gün) anahtarına göre şeritlenmiş (striped) kilitler. Sadece aynı kuaförün
+ *   aynı gününe yazan istekler birbirini bekler; farklı kuaförler ve günler paralel ilerler.
+ * - Veritabanı: (kuaför, gün) kilidi (BookingDayLock); birden fazla uygulama örneği çalıştığında da
+ *   aynı güne yapılan yazımlar sırayla kontrol edilir.
+ *
+ * Kilit, çağıranın transaction'ı içinde alınır; bekleyen istek bu sırada bir havuz bağlantısı tutar.
+ * Tek bir kuaför-gününe gelen yoğunluğun havuzu tüketmemesi için bekleme iki yönden sınırlıdır:
+ * şerit başına en fazla max-waiters istek bekler (fazlası hemen reddedilir) ve bekleme süresi havuzun
+ * bağlantı bekleme süresinden kısa olmalıdır (başlangıçta kontrol edilir).
+ *
+ * Kilitler çağıranın transaction'ı bitince (commit/rollback sonrası) bırakılır; böylece sıradaki istek
+ * önceki randevuyu görerek müsaitlik kontrolü yapar. Birden fazla güne yayılan aralıkta şeritler ve
+ * günler artan sırada alınır (kilitlenme olmaz). Kilitler reentrant'tır.
+ */
+@Component
+public class BookingGuard {
+
+    private final BookingDayLock bookingDayLock;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutMillis;
+    private final int maxWaiters;
+
+    @Autowired
+    public BookingGuard(BookingDayLock bookingDayLock,
+                        @Value("${booking.lock.stripes:1024}") int stripeCount,
+                        @Value("${booking.lock.timeout-ms:2000}") long timeoutMillis,
+                        @Value("${booking.lock.max-waiters:4}") int maxWaiters,
+                        @Value("${spring.datasource.hikari.connection-timeout:30000}") long poolTimeoutMillis) {
+        this(bookingDayLock, stripeCount, timeoutMillis, maxWaiters);
+        if (timeoutMillis >= poolTimeoutMillis) {
+            throw new IllegalArgumentException("Randevu kilidi bekleme süresi (" + timeoutMillis
+                    + " ms) havuzun bağlantı bekleme süresinden (" + poolTimeoutMillis + " ms) kısa olmalı");
+        }
+    }
+
+    BookingGuard(BookingDayLock bookingDayLock, int stripeCount, long timeoutMillis, int maxWaiters) {
+        if (stripeCount < 1 || maxWaiters < 0) {
+            throw new IllegalArgumentException("Kilit şeridi sayısı en az 1, bekleyen sınırı en az 0 olmalı");
+        }
+        this.bookingDayLock = bookingDayLock;
+        this.timeoutMillis = timeoutMillis;
+        this.maxWaiters = maxWaiters;
+
+        // 2'nin kuvvetine yuvarla (indeks maskeyle hesaplanır)
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * [startTime, endTime) aralığına randevu yazmadan önce kilitleri alma
+     *
+     * Aktif bir transaction içinde çağrılmalıdır; kilitler transaction bitince bırakılır.
+     * Şeritte bekleyen sınırı doluysa veya süre sınırında kilit alınamazsa IllegalArgumentException
+     * fırlatılır.
+     */
+    public void acquire(Long tenantId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Randevu kilidi aktif bir transaction içinde alınmalı");
+        }
+
+        List<LocalDate> days = days(startTime, endTime);
+        List<ReentrantLock> acquired = lockStripes(tenantId, days);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlockAll(acquired);
+            }
+        });
+
+        // Uygulama örnekleri arası koruma
+        bookingDayLock.lock(tenantId, days, timeoutMillis);
+    }
+
+    /**
+     * Aralığın kapsadığı günlerin şeritlerini artan sırada kilitleme
+     */
+    private List<ReentrantLock> lockStripes(Long tenantId, List<LocalDate> days) {
+        int[] indexes = stripeIndexes(tenantId, days);
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.length);
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                // Kuyruk uzunluğu yaklaşık bir değerdir; sınır havuzun korunması için yeterlidir
+                boolean locked = lock.tryLock()
+                        || (lock.getQueueLength() < maxWaiters && lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS));
+                if (!locked) {
+                    throw new IllegalArgumentException("Randevu sistemi şu an yoğun, lütfen tekrar deneyin");
+                }
+                acquired.add(lock);
+            }
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlockAll(acquired);
+            throw new IllegalArgumentException("Randevu işlemi yarıda kesildi");
+        } catch (RuntimeException e) {
+            unlockAll(acquired);
+            throw e;
+        }
+    }
+
+    /**
+     * Aralığın kapsadığı (kuaför, gün) şerit indeksleri (tekrarsız, artan sırada)
+     */
+    int[] stripeIndexes(Long tenantId, LocalDateTime startTime, LocalDateTime endTime) {
+        return stripeIndexes(tenantId, days(startTime, endTime));
+    }
+
+    private int[] stripeIndexes(Long tenantId, List<LocalDate> days) {
+        return days.stream()
+                .mapToInt(day -> stripeIndex(tenantId, day.toEpochDay()))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Aralığın kapsadığı günler (artan sırada)
+     */
+    private static List<LocalDate> days(LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDate firstDay = startTime.toLocalDate();
+        LocalDate lastDay = endTime.isAfter(startTime) ? endTime.minusNanos(1).toLocalDate() : firstDay;
+
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    private int stripeIndex(Long tenantId, long epochDay) {
+        long hash = tenantId * 0x9E3779B97F4A7C15L + epochDay;
+        int h = Long.hashCode(hash);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
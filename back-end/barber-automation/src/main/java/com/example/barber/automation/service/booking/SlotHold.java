@@ -0,0 +1,62 @@
+package com.example.barber.automation.service.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Onay bekleyen müşteri için geçici olarak tutulan zaman aralığı
+ *
+ * ownerKey, konuşmayı tanımlar (telefon + kuaför); aynı sahip tek bir slot tutabilir.
+ */
+public final class SlotHold {
+
+    private final String ownerKey;
+    private final Long tenantId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final long expiresAtMillis;
+
+    public SlotHold(String ownerKey, Long tenantId, LocalDateTime startTime, LocalDateTime endTime, long expiresAtMillis) {
+        this.ownerKey = ownerKey;
+        this.tenantId = tenantId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getOwnerKey() {
+        return ownerKey;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * [from, to) aralığıyla kesişiyorsa true
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return startTime.isBefore(to) && endTime.isAfter(from);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotHold{" +
+                "ownerKey='" + ownerKey + '\'' +
+                ", tenantId=" + tenantId +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                '}';
+    }
+}
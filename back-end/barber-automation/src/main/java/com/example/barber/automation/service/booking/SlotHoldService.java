@@ -0,0 +1,209 @@
+package com.example.barber.automation.service.booking;
+
+import com.example.barber.automation.dto.AppointmentTimeRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * WhatsApp onay adımı için kısa süreli slot tutma
+ *
+ * Müşteri saat seçip onay beklerken seçilen aralık bellekte, TTL süresince tutulur. Tutulan aralıklar
+ * diğer müşteriler için slot hesabında dolu sayılır; sahibinin onayıyla gerçek randevuya dönüşür
+ * (randevu commit edilince tutma bırakılır). Süresi dolan tutmalar timer wheel ile bulunur;
+ * tüm tutmalar taranmaz.
+ *
+ * Tutmalar uygulama örneğine özeldir (bot oturumları gibi): birden fazla örnekte bir örneğin tutması
+ * diğer örneklerin slot hesabında görünmez, tutma sadece tek örnekte (veya aynı konuşmanın hep aynı
+ * örneğe yönlendirildiği kurulumda) garantidir. Randevu yazımı çakışmayı veritabanından kontrol
+ * ettiği için tutulan slot başka örnekte randevuya dönüşse bile çift randevu oluşmaz; tutma sahibi
+ * onayda slotun dolduğunu görür. Müsaitlik önbelleğine yazılmazlar;
+ * SlotService her istekte güncel tutmaları okur, bu yüzden tutma eklenip kaldırıldığında önbellek
+ * geçersiz kılınmaz.
+ */
+@Component
+public class SlotHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotHoldService.class);
+
+    private final long ttlMillis;
+    private final Clock clock;
+
+    // Tüm alanlar bu nesne üzerinde senkronize erişilir
+    private final TimerWheel<SlotHold> wheel;
+    private final Map<String, Entry> holdsByOwner = new HashMap<>();
+    private final Map<Long, List<SlotHold>> holdsByTenant = new HashMap<>();
+
+    @Autowired
+    public SlotHoldService(@Value("${booking.hold.ttl-seconds:300}") long ttlSeconds,
+                           @Value("${booking.hold.tick-ms:1000}") long tickMillis) {
+        this(ttlSeconds, tickMillis, Clock.systemUTC());
+    }
+
+    SlotHoldService(long ttlSeconds, long tickMillis, Clock clock) {
+        if (ttlSeconds < 1) {
+            throw new IllegalArgumentException("Tutma süresi en az 1 saniye olmalı: " + ttlSeconds);
+        }
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+        // Bir tur en az bir TTL kadar sürer; kayıtlar çoğunlukla ilk turda işlenir
+        int buckets = (int) Math.min(1 << 16, Math.max(64, ttlMillis / tickMillis + 1));
+        this.wheel = new TimerWheel<>(tickMillis, buckets, clock.millis());
+    }
+
+    /**
+     * Sahibi için [startTime, endTime) aralığını tutma
+     *
+     * Sahibin önceki tutması varsa bırakılır. Müsaitlik kontrolü çağıranın sorumluluğundadır
+     * (bkz. AppointmentService#holdSlot).
+     */
+    public synchronized SlotHold place(String ownerKey, Long tenantId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (ownerKey == null || tenantId == null || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("Geçersiz slot tutma isteği");
+        }
+        long now = clock.millis();
+        expire(now);
+        remove(ownerKey);
+
+        SlotHold hold = new SlotHold(ownerKey, tenantId, startTime, endTime, now + ttlMillis);
+        TimerWheel.Timeout<SlotHold> timeout = wheel.schedule(hold, hold.getExpiresAtMillis());
+        holdsByOwner.put(ownerKey, new Entry(hold, timeout));
+        holdsByTenant.computeIfAbsent(tenantId, id -> new ArrayList<>()).add(hold);
+        return hold;
+    }
+
+    /**
+     * Sahibin süresi dolmamış tutması
+     */
+    public synchronized Optional<SlotHold> find(String ownerKey) {
+        if (ownerKey == null) {
+            return Optional.empty();
+        }
+        expire(clock.millis());
+        Entry entry = holdsByOwner.get(ownerKey);
+        return entry != null ? Optional.of(entry.hold) : Optional.empty();
+    }
+
+    /**
+     * Kuaförün [startTime, endTime) ile kesişen tutmaları (başlangıca göre sıralı)
+     *
+     * @param excludeOwnerKey kendi tutması dolu sayılmayacak sahip, yoksa null
+     */
+    public synchronized List<AppointmentTimeRange> findOverlapping(Long tenantId, LocalDateTime startTime,
+                                                                   LocalDateTime endTime, String excludeOwnerKey) {
+        expire(clock.millis());
+        List<SlotHold> holds = holdsByTenant.get(tenantId);
+        if (holds == null) {
+            return List.of();
+        }
+
+        List<AppointmentTimeRange> result = new ArrayList<>();
+        for (SlotHold hold : holds) {
+            if (hold.overlaps(startTime, endTime) && !hold.getOwnerKey().equals(excludeOwnerKey)) {
+                result.add(new AppointmentTimeRange(hold.getStartTime(), hold.getEndTime()));
+            }
+        }
+        result.sort(Comparator.comparing(AppointmentTimeRange::getStartTime));
+        return result;
+    }
+
+    /**
+     * Sahibin tutmasını hemen bırakma (iptal, saat değişikliği, başarısız onay)
+     */
+    public synchronized void release(String ownerKey) {
+        if (ownerKey == null) {
+            return;
+        }
+        expire(clock.millis());
+        remove(ownerKey);
+    }
+
+    /**
+     * Tutmayı randevuya dönüştürme: randevu commit edilince tutma bırakılır
+     *
+     * Transaction geri alınırsa tutma süresi dolana kadar korunur (müşteri tekrar deneyebilir).
+     */
+    public void releaseAfterCommit(String ownerKey) {
+        if (ownerKey == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(ownerKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(ownerKey);
+            }
+        });
+    }
+
+    /**
+     * Süresi dolan tutmaları düzenli olarak bırakma
+     *
+     * Okumalar da çarkı ilerlettiği için bu görev sadece okunmayan kuaförlerin tutmalarını bellekten siler.
+     */
+    @Scheduled(fixedDelayString = "${booking.hold.tick-ms:1000}")
+    public synchronized void expireHolds() {
+        expire(clock.millis());
+    }
+
+    /**
+     * Aktif tutma sayısı
+     */
+    public synchronized int size() {
+        return holdsByOwner.size();
+    }
+
+    private void expire(long now) {
+        wheel.advance(now, hold -> {
+            Entry entry = holdsByOwner.get(hold.getOwnerKey());
+            if (entry != null && entry.hold == hold) {
+                logger.debug("Slot tutma süresi doldu: {}", hold);
+                remove(hold.getOwnerKey());
+            }
+        });
+    }
+
+    private void remove(String ownerKey) {
+        Entry entry = holdsByOwner.remove(ownerKey);
+        if (entry == null) {
+            return;
+        }
+        entry.timeout.cancel();
+
+        List<SlotHold> holds = holdsByTenant.get(entry.hold.getTenantId());
+        if (holds != null) {
+            holds.remove(entry.hold);
+            if (holds.isEmpty()) {
+                holdsByTenant.remove(entry.hold.getTenantId());
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final SlotHold hold;
+        private final TimerWheel.Timeout<SlotHold> timeout;
+
+        private Entry(SlotHold hold, TimerWheel.Timeout<SlotHold> timeout) {
+            this.hold = hold;
+            this.timeout = timeout;
+        }
+    }
+}
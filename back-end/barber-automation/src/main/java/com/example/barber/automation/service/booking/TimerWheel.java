@@ -0,0 +1,107 @@
+package com.example.barber.automation.service.booking;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel (süresi dolan kayıtları taramadan bulmak için)
+ *
+ * Zaman tickMillis uzunluğunda dilimlere bölünür; her kayıt süresinin dolduğu dilimin kovasına
+ * (tick mod kova sayısı) eklenir. İlerletirken sadece geçilen dilimlerin kovalarına bakılır;
+ * böylece maliyet toplam kayıt sayısıyla değil, süresi dolan kayıt ve geçen dilim sayısıyla orantılıdır.
+ * Bir turdan uzak kayıtlar kovada kalır ve ilgili turda işlenir.
+ *
+ * Kayıtlar hiçbir zaman süresinden önce bildirilmez; en fazla bir dilim geç bildirilir.
+ * İptal edilen kayıtlar kovası işlenirken atılır. Thread-safe değildir; çağıran senkronize etmelidir.
+ */
+final class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private final int mask;
+    // İşlenmiş son dilim
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int bucketCount, long nowMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Dilim süresi en az 1 ms olmalı: " + tickMillis);
+        }
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("Kova sayısı en az 1 olmalı: " + bucketCount);
+        }
+        // 2'nin kuvvetine yuvarla (kova indeksi maskeyle hesaplanır)
+        int size = Integer.highestOneBit(bucketCount);
+        if (size < bucketCount) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * Kaydı deadlineMillis anında süresi dolacak şekilde ekleme
+     */
+    Timeout<T> schedule(T item, long deadlineMillis) {
+        // Yukarı yuvarla: kayıt süresinden önce bildirilmez
+        long tick = -Math.floorDiv(-deadlineMillis, tickMillis);
+        if (tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+        Timeout<T> timeout = new Timeout<>(item, tick);
+        buckets[(int) (tick & mask)].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Çarkı nowMillis anına kadar ilerletip süresi dolan kayıtları bildirme
+     *
+     * Bir turdan uzun süre ilerletilmediyse tüm kovalar bir kez taranır.
+     */
+    void advance(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick <= currentTick) {
+            return;
+        }
+
+        long lastTick = Math.min(targetTick, currentTick + buckets.length);
+        for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+            Iterator<Timeout<T>> it = buckets[(int) (tick & mask)].iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.cancelled) {
+                    it.remove();
+                } else if (timeout.deadlineTick <= targetTick) {
+                    it.remove();
+                    onExpired.accept(timeout.item);
+                }
+            }
+        }
+        currentTick = targetTick;
+    }
+
+    /**
+     * Çarka eklenmiş kayıt (iptal edilebilir)
+     */
+    static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.barber.automation.service.changefeed;
+
+import com.example.barber.automation.entity.Appointment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Randevu değişikliklerini değişiklik akışı için işaretleme
+ *
+ * Değişen randevunun appointments.change_pending bayrağı değişiklikle aynı transaction içinde açılır;
+ * sadece randevu satırları yazılır, kuaför satırı kilitlenmez. Böylece aynı kuaförün farklı gün ve
+ * koltuklardaki randevuları birbirini beklemez. Sıra, commit'ten sonra AppointmentChangeSequencer
+ * tarafından kısa bir transaction'da verilir.
+ * Değişiklikle aynı transaction içinde çağrılmalıdır (transaction yoksa hata verir).
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class AppointmentChangeLog {
+
+    /**
+     * Tek UPDATE'te işaretlenen en fazla randevu sayısı
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AppointmentChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Kaydedilmiş randevuyu değişmiş olarak işaretleme
+     */
+    public void touch(Appointment appointment) {
+        touchAll(appointment.getTenant().getId(), List.of(appointment));
+    }
+
+    /**
+     * Aynı kuaförün randevularını değişmiş olarak işaretleme (paket randevu)
+     */
+    public void touchAll(Long tenantId, Collection<Appointment> appointments) {
+        List<Long> ids = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            ids.add(appointment.getId());
+        }
+        markChanged(tenantId, ids);
+    }
+
+    /**
+     * Randevuları ID ile değişmiş olarak işaretleme (toplu güncellemeler)
+     */
+    public void markChanged(Long tenantId, Collection<Long> appointmentIds) {
+        List<Long> ids = new ArrayList<>(appointmentIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            String sql = "UPDATE appointments SET change_pending = TRUE WHERE tenant_id = ? AND id IN (" +
+                    String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(tenantId);
+            args.addAll(chunk);
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+
+    /**
+     * Kuaförün son sırası
+     */
+    public long currentSequence(Long tenantId) {
+        Long sequence = jdbcTemplate.queryForObject(
+                "SELECT appointment_change_seq FROM tenants WHERE id = ?", Long.class, tenantId);
+        return sequence != null ? sequence : 0L;
+    }
+}
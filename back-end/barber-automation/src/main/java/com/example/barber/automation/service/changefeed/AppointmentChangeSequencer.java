@@ -0,0 +1,92 @@
+package com.example.barber.automation.service.changefeed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Değişmiş olarak işaretlenen randevulara değişiklik akışı sırası veren arka plan görevi
+ *
+ * Her kuaför için kısa bir transaction'da:
+ * 1. tenants.appointment_change_seq artırılır (kuaför satırı bu transaction sonuna kadar kilitli kalır),
+ * 2. change_pending bayrağı açık, commit edilmiş randevular yeni sırayla işaretlenip bayrakları kapatılır.
+ * İşaretlenecek randevu yoksa transaction geri alınır (sıra boşuna artmaz).
+ *
+ * Sıra verme kuaför bazında tek sırayla yapıldığı için sıralar commit sırasıyla görünür olur (sıra N
+ * okunabildiğinde N'den küçük tüm değişiklikler de commit edilmiştir). Kilit sadece bu kısa transaction
+ * süresince tutulur; randevu yazan transaction'lar kuaför satırını kilitlemez. Birden fazla örnekte
+ * çalışması güvenlidir (aynı kuaför için turlar kilitte sıraya girer).
+ * Değişiklik, commit'ten sonra en geç bir tur aralığında (changefeed.sequencer.interval-ms) akışta görünür.
+ */
+@Component
+public class AppointmentChangeSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentChangeSequencer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public AppointmentChangeSequencer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Bekleyen değişikliği olan tüm kuaförlere sıra verme
+     */
+    @Scheduled(fixedDelayString = "${changefeed.sequencer.interval-ms:200}")
+    public void sequencePending() {
+        List<Long> tenantIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tenant_id FROM appointments WHERE change_pending = TRUE", Long.class);
+        for (Long tenantId : tenantIds) {
+            try {
+                sequenceTenant(tenantId);
+            } catch (RuntimeException e) {
+                // Bayraklar açık kalır, sonraki turda yeniden denenir
+                logger.warn("Değişiklik sırası verilemedi - Kuaför ID: {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Kuaförün bekleyen değişikliklerine kendi transaction'ında tek sıra verme
+     *
+     * @return sıra verilen randevu sayısı
+     */
+    public int sequenceTenant(Long tenantId) {
+        Integer sequenced = transactionTemplate.execute(status -> {
+            int stamped = sequence(tenantId);
+            if (stamped == 0) {
+                status.setRollbackOnly();
+            }
+            return stamped;
+        });
+        return sequenced != null ? sequenced : 0;
+    }
+
+    /**
+     * Açık transaction içinde sıra verme (kuaför satırı → randevu satırları kilit sırasıyla)
+     */
+    int sequence(Long tenantId) {
+        int updated = jdbcTemplate.update(
+                "UPDATE tenants SET appointment_change_seq = appointment_change_seq + 1 WHERE id = ?", tenantId);
+        if (updated == 0) {
+            return 0;
+        }
+        Long sequence = jdbcTemplate.queryForObject(
+                "SELECT appointment_change_seq FROM tenants WHERE id = ?", Long.class, tenantId);
+        return jdbcTemplate.update(
+                "UPDATE appointments SET change_seq = ?, change_pending = FALSE " +
+                "WHERE tenant_id = ? AND change_pending = TRUE", sequence, tenantId);
+    }
+}
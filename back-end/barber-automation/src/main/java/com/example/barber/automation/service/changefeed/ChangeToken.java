@@ -0,0 +1,67 @@
+package com.example.barber.automation.service.changefeed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Değişiklik akışı token'ı: istemcinin gördüğü son değişikliğin (sıra, randevu id) çifti
+ *
+ * Aynı işlemde değişen randevular aynı sırayı paylaşır; id, bu grubun sayfa sınırında bölünmesini sağlar.
+ * İstemciye opak bir token olarak verilir; token yoksa akış baştan okunur.
+ */
+public final class ChangeToken {
+
+    /**
+     * Akışın başı: hiç işaretlenmemiş (sıra 0) randevular dahil tüm kayıtlar
+     */
+    public static final ChangeToken START = new ChangeToken(-1L, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    private final long sequence;
+    private final long id;
+
+    public ChangeToken(long sequence, long id) {
+        this.sequence = sequence;
+        this.id = id;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Token'ı metne çevirme
+     */
+    public String encode() {
+        String raw = sequence + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Token'ı çözme; token yoksa akışın başı
+     *
+     * @throws IllegalArgumentException token bozuksa
+     */
+    public static ChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Geçersiz değişiklik token'ı");
+            }
+            return new ChangeToken(Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException da IllegalArgumentException'dır
+            throw new IllegalArgumentException("Geçersiz değişiklik token'ı", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.barber.automation.service.export;
+
+import java.util.Locale;
+
+/**
+ * Dışa aktarma formatı
+ */
+public enum ExportFormat {
+    
+    /** Excel ile açılabilen virgülle ayrılmış değerler (UTF-8 BOM'lu) */
+    CSV("text/csv", "csv"),
+    
+    /** Her satırı ayrı bir JSON nesnesi olan metin */
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String extension;
+    
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    /**
+     * İstek parametresinden format çözme (boşsa CSV)
+     */
+    public static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Desteklenmeyen dışa aktarma formatı: " + value);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.barber.automation.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dışa aktarılan satırları çıktıya yazan sınıf
+ *
+ * Satırlar tamponlu yazıcıdan doğrudan çıkışa akar; bellekte sadece o anki satır tutulur.
+ */
+abstract class ExportRowWriter implements AutoCloseable {
+    
+    protected final List<String> columns;
+    
+    protected ExportRowWriter(List<String> columns) {
+        this.columns = columns;
+    }
+    
+    static ExportRowWriter create(ExportFormat format, List<String> columns, OutputStream out,
+                                  ObjectMapper objectMapper) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> new Csv(columns, writer);
+            case NDJSON -> new Ndjson(columns, writer, objectMapper);
+        };
+    }
+    
+    /**
+     * Tek satır yazma (değerler kolon sırasıyla)
+     */
+    abstract void write(Object[] values) throws IOException;
+    
+    @Override
+    public abstract void close() throws IOException;
+    
+    private static final class Csv extends ExportRowWriter {
+        
+        private final Writer writer;
+        
+        private Csv(List<String> columns, Writer writer) throws IOException {
+            super(columns);
+            this.writer = writer;
+            // Excel'in Türkçe karakterleri doğru açması için BOM
+            writer.write('\uFEFF');
+            writeLine(columns.toArray());
+        }
+        
+        @Override
+        void write(Object[] values) throws IOException {
+            writeLine(values);
+        }
+        
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(format(values[i])));
+                }
+            }
+            writer.write("\r\n");
+        }
+        
+        private static String format(Object value) {
+            if (value instanceof BigDecimal decimal) {
+                return decimal.toPlainString();
+            }
+            return value.toString();
+        }
+        
+        private static String escape(String value) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            // Formül enjeksiyonuna karşı (=, +, -, @ ile başlayan hücreler Excel'de çalıştırılır)
+            boolean formula = !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 && !isNumber(value);
+            String safe = formula ? "'" + value : value;
+            return quote ? '"' + safe.replace("\"", "\"\"") + '"' : safe;
+        }
+        
+        private static boolean isNumber(String value) {
+            try {
+                new BigDecimal(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+    
+    private static final class Ndjson extends ExportRowWriter {
+        
+        private final JsonGenerator generator;
+        
+        private Ndjson(List<String> columns, Writer writer, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // Çıkış akışını servlet kapatır
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Kök değerler arasına boşluk değil satır sonu (write içinde) yazılır
+            this.generator.setRootValueSeparator(null);
+        }
+        
+        @Override
+        void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                String name = columns.get(i);
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNullField(name);
+                } else if (value instanceof Long number) {
+                    generator.writeNumberField(name, number);
+                } else if (value instanceof Integer number) {
+                    generator.writeNumberField(name, number);
+                } else if (value instanceof BigDecimal number) {
+                    generator.writeNumberField(name, number);
+                } else if (value instanceof Boolean flag) {
+                    generator.writeBooleanField(name, flag);
+                } else if (value instanceof LocalDateTime time) {
+                    generator.writeStringField(name, time.toString());
+                } else {
+                    generator.writeStringField(name, value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
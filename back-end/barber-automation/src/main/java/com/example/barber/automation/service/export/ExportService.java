@@ -0,0 +1,179 @@
+package com.example.barber.automation.service.export;
+
+import com.example.barber.automation.entity.Appointment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Randevu ve müşteri geçmişini CSV/NDJSON olarak dışa aktaran servis
+ *
+ * Satırlar JDBC cursor'ından sabit fetch size ile okunur ve okundukça çıkışa yazılır; entity
+ * yüklenmez, liste biriktirilmez. Bellek kullanımı kuaförün kayıt sayısından bağımsızdır.
+ * PostgreSQL cursor'ı sadece transaction içinde kullandığından okuma read-only transaction'da yapılır.
+ */
+@Service
+public class ExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    
+    private static final List<String> APPOINTMENT_COLUMNS = List.of(
+            "id", "startTime", "endTime", "status", "customerName", "customerPhone",
+            "serviceName", "chairId", "totalPrice", "currency", "notes", "createdAt");
+    
+    private static final List<String> CUSTOMER_COLUMNS = List.of(
+            "id", "name", "phoneNumber", "email", "notes", "active", "allowNotifications", "createdAt");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    
+    @Autowired
+    public ExportService(JdbcTemplate jdbcTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${export.fetch-size:500}") int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size en az 1 olmalı: " + fetchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+    
+    /**
+     * Kuaförün randevularını başlangıç zamanına göre sıralı dışa aktarma
+     *
+     * @param from     bu zamandan itibaren başlayanlar (dahil), boşsa sınırsız
+     * @param to       bu zamandan önce başlayanlar (hariç), boşsa sınırsız
+     * @param statuses sadece bu durumdakiler, boşsa hepsi
+     * @return yazılan satır sayısı
+     */
+    @Transactional(readOnly = true)
+    public long exportAppointments(Long tenantId, LocalDateTime from, LocalDateTime to,
+                                   Collection<Appointment.AppointmentStatus> statuses,
+                                   ExportFormat format, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.id, a.start_time, a.end_time, a.status, c.name, c.phone_number, s.name, a.chair_id, " +
+                "a.total_price, a.currency, a.notes, a.created_at " +
+                "FROM appointments a JOIN customers c ON c.id = a.customer_id JOIN services s ON s.id = a.service_id " +
+                "WHERE a.tenant_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(tenantId);
+        if (from != null) {
+            sql.append(" AND a.start_time >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND a.start_time < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND a.status IN (").append(String.join(", ", Collections.nCopies(statuses.size(), "?"))).append(")");
+            statuses.forEach(status -> args.add(status.name()));
+        }
+        sql.append(" ORDER BY a.start_time, a.id");
+        
+        long rows = stream(sql.toString(), args, APPOINTMENT_COLUMNS, format, out, rs -> new Object[] {
+                rs.getLong(1),
+                toLocalDateTime(rs.getTimestamp(2)),
+                toLocalDateTime(rs.getTimestamp(3)),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getObject(8, Long.class),
+                rs.getBigDecimal(9),
+                rs.getString(10),
+                rs.getString(11),
+                toLocalDateTime(rs.getTimestamp(12))
+        });
+        logger.info("Randevular dışa aktarıldı - Tenant: {}, Format: {}, Satır: {}", tenantId, format, rows);
+        return rows;
+    }
+    
+    /**
+     * Kuaförün müşterilerini kayıt sırasıyla dışa aktarma
+     *
+     * @param active sadece aktif (true) veya pasif (false) müşteriler, boşsa hepsi
+     * @return yazılan satır sayısı
+     */
+    @Transactional(readOnly = true)
+    public long exportCustomers(Long tenantId, Boolean active, ExportFormat format, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, name, phone_number, email, notes, active, allow_notifications, created_at " +
+                "FROM customers WHERE tenant_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(tenantId);
+        if (active != null) {
+            sql.append(" AND active = ?");
+            args.add(active);
+        }
+        sql.append(" ORDER BY created_at, id");
+        
+        long rows = stream(sql.toString(), args, CUSTOMER_COLUMNS, format, out, rs -> new Object[] {
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getObject(6, Boolean.class),
+                rs.getObject(7, Boolean.class),
+                toLocalDateTime(rs.getTimestamp(8))
+        });
+        logger.info("Müşteriler dışa aktarıldı - Tenant: {}, Format: {}, Satır: {}", tenantId, format, rows);
+        return rows;
+    }
+    
+    private long stream(String sql, List<Object> args, List<String> columns, ExportFormat format,
+                        OutputStream out, RowMapper rowMapper) {
+        try (ExportRowWriter writer = ExportRowWriter.create(format, columns, out, objectMapper)) {
+            long[] count = new long[1];
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, rs -> {
+                try {
+                    writer.write(rowMapper.map(rs));
+                } catch (IOException e) {
+                    // İstemci bağlantıyı kapattıysa okuma da durur
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+    
+    @FunctionalInterface
+    private interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+}
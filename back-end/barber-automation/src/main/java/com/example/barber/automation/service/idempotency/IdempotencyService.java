@@ -0,0 +1,288 @@
+package com.example.barber.automation.service.idempotency;
+
+import com.example.barber.automation.entity.IdempotencyRecord;
+import com.example.barber.automation.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key başlığıyla gelen oluşturma isteklerinin tekrarını önleyen servis
+ *
+ * İlk istekte (kapsam, anahtar) için IN_PROGRESS kaydı açılır, işlem çalıştırılır ve başarılı (2xx)
+ * yanıt kayda yazılır. Aynı anahtarla tekrar gelen istekte işlem yeniden çalıştırılmaz:
+ * - Yanıt saklanmışsa aynı durum kodu ve gövde döner (Idempotent-Replayed: true)
+ * - İlk istek hâlâ işleniyorsa 409 döner
+ * - Anahtar farklı bir istek gövdesiyle kullanılmışsa 422 döner
+ *
+ * İşlem ve yanıtın kayda yazılması tek transaction'da yapılır: yanıt yazılamazsa işlem de geri alınır, işlem
+ * commit edildiyse yanıtı da saklanmıştır. İşlem hata verirse veya 2xx dışı yanıt dönerse transaction geri alınır
+ * ve kayıt silinir; istemci aynı anahtarla yeniden deneyebilir.
+ * IN_PROGRESS kaydı kilit süresi (lease-seconds) boyunca tekrarları 409 ile bekletir. İlk istek commit edemeden
+ * uygulama çökerse süre geçince yeni istek kaydı devralır ve işlem yeniden çalışır; geç biten ilk istek
+ * devralınan kayda yazamaz, işlemi geri alınır ve 409 döner. Kilit süresi en uzun isteğin süresinden uzun olmalıdır.
+ * Kayıtlar veritabanında tutulduğu için yeniden başlatma sonrasında ve tüm uygulama örneklerinde geçerlidir.
+ * Süresi dolan kayıtlar ve en fazla kayıt sayısını aşan en eski kayıtlar periyodik olarak silinir.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate actionTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    private final int maxEntries;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.lease-seconds:300}") long leaseSeconds,
+                              @Value("${idempotency.max-entries:100000}") int maxEntries) {
+        this(recordRepository, objectMapper, transactionManager, ttlHours, leaseSeconds, maxEntries,
+                Clock.systemDefaultZone());
+    }
+
+    IdempotencyService(IdempotencyRecordRepository recordRepository, ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager, long ttlHours, long leaseSeconds,
+                       int maxEntries, Clock clock) {
+        if (ttlHours < 1 || leaseSeconds < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException("Idempotency süresi, kilit süresi ve kayıt sınırı en az 1 olmalı");
+        }
+        if (leaseSeconds >= ttlHours * 3600) {
+            throw new IllegalArgumentException("Idempotency kilit süresi kayıt süresinden kısa olmalı");
+        }
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.actionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * İşlemi anahtar başına en fazla bir kez çalıştırma
+     *
+     * @param scope        anahtarın geçerli olduğu kapsam (ör. appointments:1)
+     * @param key          Idempotency-Key başlığı
+     * @param request      istek gövdesi (aynı anahtarla farklı istek tespiti için)
+     * @param responseType saklanan yanıtın tipi
+     * @param action       asıl işlem
+     * @throws IllegalArgumentException anahtar boş veya çok uzunsa
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        return execute(scope, key, request, objectMapper.constructType(responseType), action);
+    }
+
+    /**
+     * Generic yanıt tipleri (ör. List&lt;AppointmentDto&gt;) için execute
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, TypeReference<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        return execute(scope, key, request, objectMapper.getTypeFactory().constructType(responseType), action);
+    }
+
+    private <T> ResponseEntity<T> execute(String scope, String key, Object request, JavaType responseType,
+                                          Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 1-" + MAX_KEY_LENGTH + " karakter olmalı");
+        }
+        String requestHash = hash(request);
+
+        Reservation reservation = reserve(scope, key, requestHash);
+        if (reservation.existing() != null) {
+            return replay(reservation.existing(), requestHash, responseType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = actionTemplate.execute(status -> {
+                ResponseEntity<T> result = action.get();
+                if (!result.getStatusCode().is2xxSuccessful()) {
+                    status.setRollbackOnly();
+                    return result;
+                }
+                if (!store(reservation.recordId(), result)) {
+                    // Kayıt kilit süresi geçtiği için devralındı; işlemin sonucunu devralan istek belirler
+                    status.setRollbackOnly();
+                    logger.warn("Idempotent işlem geri alındı, kayıt kilit süresi geçtiği için devralınmış - ID: {}",
+                            reservation.recordId());
+                    return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            release(reservation.recordId());
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(reservation.recordId());
+        }
+        return response;
+    }
+
+    /**
+     * Süresi dolan ve kayıt sınırını aşan en eski kayıtları silme
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purge() {
+        int expired = recordRepository.deleteExpired(now());
+
+        int evicted = 0;
+        List<Long> threshold = recordRepository.findIdsNewestFirst(PageRequest.of(maxEntries, 1));
+        if (!threshold.isEmpty()) {
+            evicted = recordRepository.deleteUpToId(threshold.get(0));
+        }
+
+        if (expired > 0 || evicted > 0) {
+            logger.info("Idempotency kayıtları temizlendi - Süresi dolan: {}, Sınır aşımı: {}", expired, evicted);
+        }
+    }
+
+    /**
+     * Anahtarı ayırma
+     *
+     * Süresi dolan kayıt ve kilit süresi geçen IN_PROGRESS kaydı silinip yerine yeni kayıt açılır.
+     *
+     * @return anahtar daha önce kullanılmışsa mevcut kayıt, ayrıldıysa açılan kaydın ID'si
+     */
+    private Reservation reserve(String scope, String key, String requestHash) {
+        try {
+            return transactionTemplate.execute(status -> {
+                LocalDateTime now = now();
+                IdempotencyRecord existing = recordRepository.findByScopeAndIdempotencyKey(scope, key).orElse(null);
+                if (existing != null) {
+                    if (!existing.isExpired(now) && !existing.isLockExpired(now)) {
+                        return new Reservation(null, existing);
+                    }
+                    if (recordRepository.deleteIfStale(existing.getId(), now) == 0) {
+                        // Okunduktan sonra ilk istek yanıtıyla commit etti (veya kaydı sildi)
+                        IdempotencyRecord current = recordRepository.findByScopeAndIdempotencyKey(scope, key).orElse(null);
+                        if (current != null) {
+                            return new Reservation(null, current);
+                        }
+                    } else if (!existing.isExpired(now)) {
+                        logger.warn("Yanıtı saklanmayan idempotency kaydı devralındı - Kapsam: {}, Anahtar: {}",
+                                scope, key);
+                    }
+                }
+                IdempotencyRecord reserved = recordRepository.saveAndFlush(
+                        new IdempotencyRecord(scope, key, requestHash, now, now.plus(lease), now.plus(ttl)));
+                return new Reservation(reserved.getId(), null);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Aynı anahtarla eşzamanlı gelen istek kaydı önce açtı
+            return transactionTemplate.execute(status -> new Reservation(null,
+                    recordRepository.findByScopeAndIdempotencyKey(scope, key).orElseThrow(() -> e)));
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord existing, String requestHash, JavaType responseType) {
+        if (!existing.getRequestHash().equals(requestHash)) {
+            logger.warn("Idempotency-Key farklı istekle kullanıldı - Kapsam: {}, Anahtar: {}",
+                    existing.getScope(), existing.getIdempotencyKey());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        if (!existing.isCompleted()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        try {
+            T body = existing.getResponseBody() != null
+                    ? objectMapper.readValue(existing.getResponseBody(), responseType)
+                    : null;
+            logger.debug("Idempotent yanıt tekrar döndü - Kapsam: {}, Anahtar: {}",
+                    existing.getScope(), existing.getIdempotencyKey());
+            return ResponseEntity.status(existing.getResponseStatus())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Saklanan idempotent yanıt okunamadı", e);
+        }
+    }
+
+    /**
+     * Yanıtı işlemin transaction'ında ayrılan kayda yazma
+     *
+     * Yanıt yazılamazsa hata fırlatılır ve işlem de geri alınır.
+     *
+     * @return kayıt bu arada devralındıysa (silindiyse) false
+     */
+    private boolean store(Long recordId, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = response.getBody() != null ? objectMapper.writeValueAsString(response.getBody()) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent yanıt saklanamadı", e);
+        }
+        return recordRepository.complete(recordId, response.getStatusCode().value(), body, now()) > 0;
+    }
+
+    private void release(Long recordId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordRepository
+                    .findById(recordId)
+                    .ifPresent(recordRepository::delete));
+        } catch (RuntimeException e) {
+            logger.error("Idempotency kaydı silinemedi - ID: {}", recordId, e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("İstek özeti hesaplanamadı", e);
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Anahtar ayırma sonucu: ayrılan kaydın ID'si veya daha önce açılmış kayıt
+     */
+    private record Reservation(Long recordId, IdempotencyRecord existing) {
+    }
+}
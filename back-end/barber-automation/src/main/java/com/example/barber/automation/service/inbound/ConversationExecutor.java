@@ -0,0 +1,126 @@
+package com.example.barber.automation.service.inbound;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Konuşma bazlı sıralı, konuşmalar arası paralel görev çalıştırıcı
+ *
+ * Aynı anahtara (telefon + kuaför) verilen görevler verildikleri sırayla ve asla aynı anda çalışmaz;
+ * farklı anahtarların görevleri ortak havuzun tüm thread'lerinde paralel çalışır. Böylece aynı
+ * müşterinin art arda gelen iki mesajı aynı BotSession üzerinde yarışmaz.
+ *
+ * Her anahtar için yalnızca bekleyen görevi olduğu sürece bir kuyruk tutulur: kuyruk boşalınca
+ * anahtar haritadan silinir, boştaki konuşmalar ne thread ne bellek tutar. Bir konuşma en fazla
+ * MAX_TASKS_PER_TURN görev çalıştırdıktan sonra havuzun sonuna geçer (yoğun konuşma diğerlerini bekletmez).
+ *
+ * Kuyruk durumu ConcurrentHashMap.compute içinde (anahtar kilidiyle) değiştirilir; görevler kilit dışında çalışır.
+ */
+final class ConversationExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationExecutor.class);
+
+    static final int MAX_TASKS_PER_TURN = 16;
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    ConversationExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Görevi anahtarın kuyruğuna ekleme
+     *
+     * @throws RejectedExecutionException havuz kapanmışsa (anahtarın bekleyen görevleri de bırakılır)
+     */
+    void execute(String key, Runnable task) {
+        boolean[] start = new boolean[1];
+        Partition partition = partitions.compute(key, (k, current) -> {
+            Partition p = current != null ? current : new Partition(k);
+            p.tasks.add(task);
+            if (!p.running) {
+                p.running = true;
+                start[0] = true;
+            }
+            return p;
+        });
+        if (start[0]) {
+            submit(partition);
+        }
+    }
+
+    /**
+     * Bekleyen veya çalışan görevi olan konuşma sayısı
+     */
+    int activePartitions() {
+        return partitions.size();
+    }
+
+    private void submit(Partition partition) {
+        try {
+            executor.execute(partition);
+        } catch (RejectedExecutionException e) {
+            partitions.remove(partition.key, partition);
+            throw e;
+        }
+    }
+
+    /**
+     * Bir anahtarın bekleyen görevleri (alanlar sadece compute içinde değiştirilir)
+     */
+    private final class Partition implements Runnable {
+
+        private final String key;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        private Partition(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            for (int executed = 0; executed < MAX_TASKS_PER_TURN; executed++) {
+                Runnable next = poll();
+                if (next == null) {
+                    return;
+                }
+                try {
+                    next.run();
+                } catch (RuntimeException e) {
+                    logger.error("Konuşma görevi başarısız - key: {}", key, e);
+                }
+            }
+            // Sıra diğer konuşmalara geçer; kalan görevler bu konuşmada sırayla devam eder
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                partitions.remove(key, this);
+            }
+        }
+
+        private Runnable poll() {
+            Runnable[] next = new Runnable[1];
+            partitions.compute(key, (k, current) -> {
+                if (current != this) {
+                    return current;
+                }
+                next[0] = tasks.poll();
+                if (next[0] == null) {
+                    running = false;
+                    return null; // Boştaki konuşma silinir
+                }
+                return this;
+            });
+            return next[0];
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.AgentRespondResponse;
+import com.example.barber.automation.entity.InboundMessage;
+import com.example.barber.automation.service.WhatsAppBotService;
+import com.example.barber.automation.service.WhatsAppService;
+import com.example.barber.automation.service.conversation.ConversationOrchestrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gelen mesajları konuşma akışına iletme (webhook controller'larının önceki senkron işi)
+ *
+ * - META_CLOUD, TWILIO_FORM: WhatsAppBotService AI akışı (kuyruğa yazılırken seçilen kuaförle), yanıt Twilio
+ *   üzerinden gönderilir
+ * - TWILIO_JSON: ConversationOrchestrator; başarısız olursa kural tabanlı akışa düşülür
+ *
+ * İşleme hataları yutulmaz: InboundMessageWorker'a iletilir, mesaj artan beklemeyle yeniden denenir ve
+ * deneme sınırında FAILED olarak bırakılır.
+ */
+@Component
+public class ConversationInboundHandler implements InboundEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationInboundHandler.class);
+
+    private final WhatsAppBotService whatsAppBotService;
+    private final WhatsAppService whatsAppService;
+    private final ConversationOrchestrator conversationOrchestrator;
+
+    @Autowired
+    public ConversationInboundHandler(WhatsAppBotService whatsAppBotService, WhatsAppService whatsAppService,
+                                      ConversationOrchestrator conversationOrchestrator) {
+        this.whatsAppBotService = whatsAppBotService;
+        this.whatsAppService = whatsAppService;
+        this.conversationOrchestrator = conversationOrchestrator;
+    }
+
+    @Override
+    public void handle(InboundEvent event) {
+        if (event.getSource() == InboundMessage.Source.TWILIO_JSON) {
+            orchestrate(event);
+        } else {
+            whatsAppBotService.processIncomingText(event.getFromNumber(), event.getText(), event.getTenantId());
+        }
+    }
+
+    private void orchestrate(InboundEvent event) {
+        AgentRespondResponse aiResp;
+        try {
+            aiResp = conversationOrchestrator.handleIncoming(event.getFromNumber(), event.getTenantId(), event.getText());
+        } catch (RuntimeException e) {
+            // Eski akışın hatası worker'a iletilir (yeniden deneme)
+            logger.warn("Orchestrator başarısız, eski akışa düşülüyor: {}", e.getMessage());
+            whatsAppBotService.processIncomingMessage(event.getFromNumber(), event.getText(), event.getTenantId());
+            return;
+        }
+        // Gönderim hatası worker'a iletilir; orchestrator turu eski akışla ikinci kez işlenmez
+        if (aiResp != null && aiResp.getReply() != null) {
+            whatsAppService.sendMessage(event.getFromNumber(), aiResp.getReply(), event.getTenantId());
+        }
+    }
+}
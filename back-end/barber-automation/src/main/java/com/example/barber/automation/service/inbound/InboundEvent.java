@@ -0,0 +1,100 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.entity.InboundMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * İşçiye verilen gelen mesaj (kuyruk kaydının değişmez görüntüsü)
+ *
+ * İşleme en az bir kez garantilidir: işçi işlem sırasında kapanırsa aynı mesaj kiralama süresi
+ * dolunca yeniden işlenir.
+ */
+public final class InboundEvent {
+
+    private final Long id;
+    private final InboundMessage.Source source;
+    private final Long tenantId;
+    private final String fromNumber;
+    private final String toNumber;
+    private final String text;
+    private final String providerMessageId;
+    private final String conversationKey;
+    private final LocalDateTime receivedAt;
+    private final int attempt;
+
+    public InboundEvent(Long id, InboundMessage.Source source, Long tenantId, String fromNumber, String toNumber,
+                        String text, String providerMessageId, String conversationKey, LocalDateTime receivedAt,
+                        int attempt) {
+        this.id = id;
+        this.source = source;
+        this.tenantId = tenantId;
+        this.fromNumber = fromNumber;
+        this.toNumber = toNumber;
+        this.text = text;
+        this.providerMessageId = providerMessageId;
+        this.conversationKey = conversationKey;
+        this.receivedAt = receivedAt;
+        this.attempt = attempt;
+    }
+
+    static InboundEvent from(InboundMessage row) {
+        return new InboundEvent(row.getId(), row.getSource(), row.getTenantId(), row.getFromNumber(),
+                row.getToNumber(), row.getText(), row.getProviderMessageId(), row.getConversationKey(), row.getReceivedAt(),
+                row.getAttempts());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public InboundMessage.Source getSource() {
+        return source;
+    }
+
+    /**
+     * Mesajın kuaförü (kaynak belirlemiyorsa kuyruğa yazılırken seçilen varsayılan kuaför, yoksa null)
+     */
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public String getFromNumber() {
+        return fromNumber;
+    }
+
+    public String getToNumber() {
+        return toNumber;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Konuşma anahtarı: normalleştirilmiş müşteri telefonu + kuaför (bkz. InboundMessage#conversationKey)
+     */
+    public String getConversationKey() {
+        return conversationKey;
+    }
+
+    public String getProviderMessageId() {
+        return providerMessageId;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    /**
+     * Kaçıncı işleme denemesi (1'den başlar)
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    @Override
+    public String toString() {
+        return "InboundEvent{id=" + id + ", source=" + source + ", from=" + fromNumber + ", attempt=" + attempt + '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.barber.automation.service.inbound;
+
+/**
+ * Kuyruktan alınan gelen mesajı işleyen bileşen
+ *
+ * Exception fırlatılırsa mesaj artan bekleme süresiyle yeniden denenir; deneme sınırında FAILED
+ * olarak bırakılır.
+ */
+public interface InboundEventHandler {
+
+    void handle(InboundEvent event);
+}
@@ -0,0 +1,167 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sağlayıcının yeniden gönderdiği webhook mesajlarını eleme
+ *
+ * Meta ve Twilio, onay geç kalınca aynı mesajı (aynı message id / MessageSid ile) yeniden gönderir.
+ * Son görülen mesaj ID'leri bellekte iki nesil halinde tutulur: yeni ID'ler güncel nesle eklenir,
+ * nesil süresi (pencere) dolunca veya güncel nesil kapasitesine ulaşınca güncel nesil öncekinin yerine
+ * geçer ve en eski nesil bırakılır. Bir ID böylece en az bir pencere boyunca hatırlanır; bellek,
+ * toplam kayıt sınırıyla (max-entries) sınırlıdır. Kontrol kilitsizdir ve O(1)'dir; tekrar eden mesaj
+ * veritabanına ve AI agent'a ulaşmaz.
+ *
+ * Aynı ID'yi eşzamanlı gören isteklerden sadece biri kabul edilir: ID, güncel nesle sahiplik işaretiyle
+ * putIfAbsent ile eklenir, önceki nesil aynı görüntü üzerinden kontrol edilir ve arada nesil değiştiyse
+ * kontrol yeni nesilde tekrarlanır.
+ *
+ * Kayıtlar uygulama örneği başınadır; yeniden başlatmadan sonra veya başka örneğe düşen tekrarlar burada
+ * elenmez. Asıl koruma inbound_messages tablosundaki (source, provider_message_id) tekil anahtarıdır;
+ * bu önbellek sadece tekrarların veritabanına gitmesini önler. ID'si olmayan mesajlar elenmez.
+ *
+ * Metrikler: inbound.duplicates (elenen tekrar mesajlar).
+ */
+@Component
+public class InboundMessageDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundMessageDeduplicator.class);
+
+    private final AtomicReference<Generations> generations;
+    private final long windowMillis;
+    private final int generationCapacity;
+    private final Counter duplicates;
+    private final Clock clock;
+
+    @Autowired
+    public InboundMessageDeduplicator(MeterRegistry meterRegistry,
+                                      @Value("${inbound.dedup.window-seconds:900}") long windowSeconds,
+                                      @Value("${inbound.dedup.max-entries:50000}") int maxEntries) {
+        this(meterRegistry, windowSeconds, maxEntries, Clock.systemDefaultZone());
+    }
+
+    InboundMessageDeduplicator(MeterRegistry meterRegistry, long windowSeconds, int maxEntries, Clock clock) {
+        if (windowSeconds < 1 || maxEntries < 2) {
+            throw new IllegalArgumentException("Tekrar penceresi en az 1 saniye, kayıt sınırı en az 2 olmalı");
+        }
+        this.windowMillis = windowSeconds * 1000;
+        this.generationCapacity = maxEntries / 2;
+        this.clock = clock;
+        this.generations = new AtomicReference<>(new Generations(new ConcurrentHashMap<>(), clock.millis()));
+        this.duplicates = Counter.builder("inbound.duplicates")
+                .description("Yeniden gönderildiği için elenen webhook mesajları").register(meterRegistry);
+    }
+
+    /**
+     * Daha önce görülmeyen mesajları seçme ve görüldü olarak işaretleme
+     *
+     * Aynı teslimat içindeki tekrarlar da elenir.
+     *
+     * @return yeni mesajlar (teslimat sırasıyla; ID'si olmayanlar dahil)
+     */
+    public List<InboundWebhookMessage> filterNew(List<InboundWebhookMessage> messages) {
+        List<InboundWebhookMessage> fresh = new ArrayList<>(messages.size());
+        for (InboundWebhookMessage message : messages) {
+            String messageId = message.getMessageId();
+            if (messageId == null || messageId.isBlank() || markSeen(messageId)) {
+                fresh.add(message);
+            } else {
+                duplicates.increment();
+                logger.debug("Tekrar eden webhook mesajı elendi - id: {}", messageId);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Veritabanının tekil anahtarla reddettiği mesajı tekrar olarak sayma (başka örnek veya yeniden başlatma)
+     */
+    public void recordStoredDuplicate(InboundWebhookMessage message) {
+        duplicates.increment();
+        logger.debug("Tekrar eden webhook mesajı veritabanında elendi - id: {}", message.getMessageId());
+    }
+
+    /**
+     * Kuyruğa yazılamayan mesajları unutma (sağlayıcı yeniden gönderdiğinde tekrar kabul edilir)
+     */
+    public void forget(List<InboundWebhookMessage> messages) {
+        Generations current = generations.get();
+        for (InboundWebhookMessage message : messages) {
+            if (message.getMessageId() != null) {
+                current.current.remove(message.getMessageId());
+                current.previous.remove(message.getMessageId());
+            }
+        }
+    }
+
+    /**
+     * @return ID ilk kez görüldüyse true
+     */
+    private boolean markSeen(String messageId) {
+        Object token = new Object();
+        while (true) {
+            Generations snapshot = rotateIfNeeded();
+            Object owner = snapshot.current.putIfAbsent(messageId, token);
+            if (owner != null && owner != token) {
+                return false;
+            }
+            Object previousOwner = snapshot.previous.get(messageId);
+            if (previousOwner != null && previousOwner != token) {
+                return false;
+            }
+            // Nesil değişmediyse ID bu çağrınındır; değiştiyse eşzamanlı eklemeye karşı yeni nesilde tekrar
+            if (generations.get() == snapshot) {
+                return true;
+            }
+        }
+    }
+
+    private Generations rotateIfNeeded() {
+        long now = clock.millis();
+        Generations current = generations.get();
+        while (now - current.startedAt >= windowMillis || current.current.size() >= generationCapacity) {
+            // Uzun süre mesaj gelmediyse güncel nesil de eskimiştir
+            Map<String, Object> previous = now - current.startedAt >= 2 * windowMillis
+                    ? new ConcurrentHashMap<>() : current.current;
+            Generations rotated = new Generations(previous, now);
+            if (generations.compareAndSet(current, rotated)) {
+                if (now - current.startedAt < windowMillis) {
+                    // Pencere dolmadan kapasite doldu: ID'ler pencereden kısa süre hatırlanır
+                    logger.debug("Tekrar eleme nesli kapasite nedeniyle erken değişti - kapasite: {}",
+                            generationCapacity);
+                }
+                return rotated;
+            }
+            current = generations.get();
+        }
+        return current;
+    }
+
+    /**
+     * Güncel ve önceki nesil (ID → ekleyen çağrının işareti); nesil değişimi tek referans değişimiyle yapılır
+     */
+    private static final class Generations {
+        private final Map<String, Object> previous;
+        private final Map<String, Object> current = new ConcurrentHashMap<>();
+        private final long startedAt;
+
+        private Generations(Map<String, Object> previous, long startedAt) {
+            this.previous = previous;
+            this.startedAt = startedAt;
+        }
+    }
+}
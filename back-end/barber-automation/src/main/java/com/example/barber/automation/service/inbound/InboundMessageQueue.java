@@ -0,0 +1,235 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
+import com.example.barber.automation.entity.Tenant;
+import com.example.barber.automation.repository.InboundMessageRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Webhook mesajlarını kalıcı kuyruğa yazma
+ *
+ * Bir teslimatın mesajları tek transaction'da, JDBC batch olarak yazılır; istek AI agent'ı veya
+ * gönderimi beklemez.
+ * Kuyruk sınırlıdır: bekleyen mesaj sayısı sınıra ulaştıysa yeni teslimat reddedilir ve sağlayıcı
+ * (Meta/Twilio) daha sonra yeniden gönderir. Derinlik, işçi her turda veritabanından tazeler;
+ * aradaki eklemeler ve tamamlanan mesajlar bellekte sayılır.
+ * Sağlayıcının yeniden gönderdiği mesajlar yazılmadan önce elenir (InboundMessageDeduplicator); başka
+ * örneğe düşen veya yeniden başlatmadan sonra gelen tekrarları (source, provider_message_id) tekil
+ * anahtarı reddeder ve mesaj tekrar olarak sayılıp atlanır.
+ * Kuaförü belirlemeyen kaynakların (Meta, Twilio form) mesajları varsayılan kuaförle yazılır; böylece
+ * konuşma anahtarı (telefon + kuaför) ve bot oturumu, kuaförü belli kaynaktan gelen mesajlarla aynı olur.
+ *
+ * Tüm kaynaklarda aynı kurallar uygulanır: metin olmayan, göndereni boş olan veya gönderen numarası kolon
+ * sınırını aşan mesajlar atlanır; uzun metin kolon sınırına kısaltılır. Batch yazımı bir satırın kısıt
+ * ihlaliyle başarısız olursa satırlar tek tek yazılır ve sadece hatalı satır atlanır; teslimatın geçerli
+ * mesajları kaybolmaz ve sağlayıcı aynı teslimatı sonsuza dek yeniden göndermez.
+ *
+ * Metrikler: inbound.queue.depth (bekleyen + işlenmekte olan mesajlar), inbound.enqueue (yazma süresi),
+ * inbound.rejected (kuyruk dolu olduğu için reddedilen mesajlar), inbound.invalid (atlanan geçersiz mesajlar).
+ */
+@Component
+public class InboundMessageQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundMessageQueue.class);
+
+    private final InboundMessageRepository repository;
+    private final TenantRepository tenantRepository;
+    private final InboundMessageDeduplicator deduplicator;
+    private final AtomicLong depth = new AtomicLong();
+    private final long maxPending;
+    private final Timer enqueueTimer;
+    private final Counter rejected;
+    private final Counter invalid;
+    private final Clock clock;
+
+    @Autowired
+    public InboundMessageQueue(InboundMessageRepository repository, TenantRepository tenantRepository,
+                               InboundMessageDeduplicator deduplicator, MeterRegistry meterRegistry,
+                               @Value("${inbound.queue.max-pending:10000}") long maxPending) {
+        this(repository, tenantRepository, deduplicator, meterRegistry, maxPending, Clock.systemDefaultZone());
+    }
+
+    InboundMessageQueue(InboundMessageRepository repository, TenantRepository tenantRepository,
+                        InboundMessageDeduplicator deduplicator, MeterRegistry meterRegistry, long maxPending,
+                        Clock clock) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Gelen mesaj kuyruğu sınırı en az 1 olmalı: " + maxPending);
+        }
+        this.repository = repository;
+        this.tenantRepository = tenantRepository;
+        this.deduplicator = deduplicator;
+        this.maxPending = maxPending;
+        this.clock = clock;
+        this.enqueueTimer = Timer.builder("inbound.enqueue")
+                .description("Webhook mesajlarının kuyruğa yazılma süresi").register(meterRegistry);
+        this.rejected = Counter.builder("inbound.rejected")
+                .description("Kuyruk dolu olduğu için reddedilen webhook mesajları").register(meterRegistry);
+        this.invalid = Counter.builder("inbound.invalid")
+                .description("Geçersiz olduğu için kuyruğa yazılmayan webhook mesajları").register(meterRegistry);
+        Gauge.builder("inbound.queue.depth", depth, AtomicLong::get)
+                .description("İşlenmeyi bekleyen webhook mesajları").register(meterRegistry);
+    }
+
+    /**
+     * Bir teslimatın mesajlarını kuyruğa yazma
+     *
+     * Geçersiz mesajlar ve daha önce alınmış mesajlar (aynı sağlayıcı mesaj ID'si) atlanır.
+     *
+     * @param tenantId mesajların kuaförü (kaynak kuaförü belirlemiyorsa null; varsayılan kuaför kullanılır)
+     * @throws IllegalStateException kuyruk doluysa (hiçbir mesaj yazılmaz)
+     */
+    public void enqueue(InboundMessage.Source source, Long tenantId, List<InboundWebhookMessage> messages) {
+        List<InboundWebhookMessage> fresh = deduplicator.filterNew(sanitize(messages));
+        if (fresh.isEmpty()) {
+            return;
+        }
+        if (depth.get() + fresh.size() > maxPending) {
+            // Sağlayıcının yeniden göndereceği mesajlar tekrar sayılmamalı
+            deduplicator.forget(fresh);
+            rejected.increment(fresh.size());
+            throw new IllegalStateException("Gelen mesaj kuyruğu dolu");
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        int written;
+        try {
+            Long messageTenantId = resolveTenant(tenantId);
+            written = enqueueTimer.record((Supplier<Integer>) () -> insert(source, messageTenantId, fresh, now));
+        } catch (RuntimeException e) {
+            deduplicator.forget(fresh);
+            throw e;
+        }
+        depth.addAndGet(written);
+    }
+
+    /**
+     * Mesajların kuaförü: kaynak belirlemiyorsa varsayılan kuaför (aktif kuaför yoksa null)
+     */
+    private Long resolveTenant(Long tenantId) {
+        if (tenantId != null) {
+            return tenantId;
+        }
+        return tenantRepository.findFirstByActiveTrueOrderByIdAsc().map(Tenant::getId).orElse(null);
+    }
+
+    /**
+     * Mesajları tek batch'te, kısıt ihlalinde tek tek yazma
+     *
+     * @return yazılan mesaj sayısı
+     */
+    private int insert(InboundMessage.Source source, Long tenantId, List<InboundWebhookMessage> messages,
+                       LocalDateTime now) {
+        try {
+            repository.insertPending(source, tenantId, messages, now);
+            return messages.size();
+        } catch (DataIntegrityViolationException e) {
+            if (messages.size() == 1) {
+                skip(messages.get(0), e);
+                return 0;
+            }
+            logger.warn("Gelen mesaj batch'i yazılamadı, mesajlar tek tek yazılıyor: {}", e.getMessage());
+        }
+        int written = 0;
+        for (InboundWebhookMessage message : messages) {
+            try {
+                repository.insertPending(source, tenantId, List.of(message), now);
+                written++;
+            } catch (DataIntegrityViolationException e) {
+                skip(message, e);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Yazılamayan mesajı atlama: tekil anahtar ihlali tekrar, diğer kısıt ihlalleri geçersiz mesajdır
+     */
+    private void skip(InboundWebhookMessage message, DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            deduplicator.recordStoredDuplicate(message);
+            return;
+        }
+        invalid.increment();
+        logger.warn("Gelen mesaj yazılamadı, atlandı - {}: {}", message, e.getMessage());
+    }
+
+    /**
+     * Kolon sınırlarına uymayan ve işlenemeyecek mesajları eleme, uzun metni kısaltma
+     */
+    private List<InboundWebhookMessage> sanitize(List<InboundWebhookMessage> messages) {
+        List<InboundWebhookMessage> valid = new ArrayList<>(messages.size());
+        for (InboundWebhookMessage message : messages) {
+            if (!message.isProcessableText()) {
+                logger.debug("Metin olmayan veya göndereni boş mesaj atlandı - {}", message);
+                continue;
+            }
+            if (message.getFrom().length() > InboundMessage.MAX_PHONE_LENGTH) {
+                invalid.increment();
+                logger.warn("Gönderen numarası çok uzun, mesaj atlandı - {}", message);
+                continue;
+            }
+            String to = message.getTo();
+            String text = message.getText();
+            String messageId = message.getMessageId();
+            if ((to != null && to.length() > InboundMessage.MAX_PHONE_LENGTH)
+                    || text.length() > InboundMessage.MAX_TEXT_LENGTH
+                    || (messageId != null && messageId.length() > InboundMessage.MAX_PROVIDER_MESSAGE_ID_LENGTH)) {
+                logger.warn("Mesaj alanları kolon sınırlarına kısaltıldı - {}", message);
+                message = new InboundWebhookMessage(message.getFrom(),
+                        to != null && to.length() > InboundMessage.MAX_PHONE_LENGTH ? null : to,
+                        message.getType(), truncate(text, InboundMessage.MAX_TEXT_LENGTH),
+                        messageId != null && messageId.length() > InboundMessage.MAX_PROVIDER_MESSAGE_ID_LENGTH
+                                ? null : messageId,
+                        message.getTimestamp());
+            }
+            valid.add(message);
+        }
+        return valid;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value.length() <= maxLength) {
+            return value;
+        }
+        // Vekil çift (emoji) ortadan bölünmez
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    /**
+     * Kuyruk derinliğini veritabanından tazeleme
+     */
+    void refreshDepth() {
+        depth.set(repository.countByStatus(InboundMessage.Status.PENDING));
+    }
+
+    /**
+     * Mesaj işlendi veya deneme sınırını aştı
+     */
+    void completed() {
+        depth.updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+
+    long depth() {
+        return depth.get();
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.entity.InboundMessage;
+import com.example.barber.automation.repository.InboundMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gelen mesaj kuyruğunu işçi havuzunda işleyen arka plan görevi
+ *
+ * Her turda işlemdeki mesaj sınırına kadar hazır mesaj alınır:
+ * 1. Alma (kısa transaction): satırlar kilitlenerek okunur (diğer örneklerin kilitledikleri atlanır),
+ *    deneme sayısı artırılır ve kiralama süresi boyunca tekrar alınmamak üzere ertelenir. Bir mesaj ancak
+ *    konuşmasının (telefon + kuaför) bekleyen önceki tüm mesajları da aynı turda alındıysa alınır; önceki
+ *    mesaj tekrar denemeyi bekliyor veya başka bir işçide/örnekte işleniyorsa sonrakiler veritabanında bekler.
+ * 2. İşleme: mesaj konuşmasının kuyruğuna verilir (ConversationExecutor). Aynı konuşmanın mesajları alınma
+ *    (ID) sırasıyla tek tek, farklı konuşmalar havuzda paralel işlenir. İşleme başlarken kiralama yeniden
+ *    başlatılır; mesaj bu arada işlendiyse veya kuyrukta beklerken kiralaması dolup başka bir işçi tarafından
+ *    yeniden alındıysa atlanır. Konuşmanın önceki mesajı bu arada başarısız olup tekrar denemeyi bekliyorsa
+ *    mesaj deneme sayılmadan geri bırakılır. Mesaj InboundEventHandler'a verildikten sonra, hâlâ aynı
+ *    denemedeyse işlendi olarak işaretlenir.
+ * 3. Hata: mesaj artan bekleme süresiyle yeniden kuyruğa girer (sadece hâlâ aynı denemedeyse); konuşmanın
+ *    sonraki mesajları o tekrar denenene kadar bekler. Deneme sınırı aşılırsa FAILED olarak bırakılır ve
+ *    konuşma devam eder.
+ *
+ * Sıra, aynı konuşmanın mesajlarını alan örnek tek olduğu için birden fazla örnekte de korunur. Kiralama
+ * süresi AI agent çağrısı ve gönderimden uzun olmalıdır; örnek işlem sırasında kapanırsa mesaj kiralama
+ * süresi dolunca yeniden işlenir. İşlemdeki
+ * mesaj sınırı doluyken yeni mesaj alınmaz, veritabanında bekler; sınır varsayılan olarak thread sayısıdır,
+ * böylece alınan mesajlar konuşma kuyruklarında uzun beklemez.
+ *
+ * Metrikler: inbound.lag (mesajın alınmasından işlenmeye başlanmasına kadar geçen süre),
+ * inbound.failed (deneme sınırını aşan mesajlar).
+ */
+@Component
+public class InboundMessageWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundMessageWorker.class);
+
+    // Tekrar denemeler arası bekleme: 5 sn'den başlayıp her denemede ikiye katlanır, en fazla 5 dk
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final InboundMessageRepository repository;
+    private final InboundMessageQueue queue;
+    private final InboundEventHandler handler;
+    private final TransactionTemplate transactionTemplate;
+    private final ConversationExecutor conversations;
+    private final ExecutorService ownedExecutor;
+    private final Semaphore inFlight;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retention;
+    private final Timer lag;
+    private final Counter failed;
+    private final Clock clock;
+
+    @Autowired
+    public InboundMessageWorker(InboundMessageRepository repository,
+                                InboundMessageQueue queue,
+                                InboundEventHandler handler,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${inbound.worker.threads:0}") int threads,
+                                @Value("${inbound.worker.max-in-flight:0}") int maxInFlight,
+                                @Value("${inbound.worker.batch-size:50}") int batchSize,
+                                @Value("${inbound.worker.max-attempts:3}") int maxAttempts,
+                                @Value("${inbound.worker.lease-seconds:120}") long leaseSeconds,
+                                @Value("${inbound.retention-days:3}") int retentionDays) {
+        this(repository, queue, handler, transactionManager, meterRegistry, newWorkerExecutor(poolSize(threads)),
+                maxInFlight != 0 ? maxInFlight : poolSize(threads), batchSize, maxAttempts, leaseSeconds, retentionDays,
+                Clock.systemDefaultZone());
+    }
+
+    InboundMessageWorker(InboundMessageRepository repository, InboundMessageQueue queue, InboundEventHandler handler,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         Executor executor, int maxInFlight, int batchSize, int maxAttempts, long leaseSeconds,
+                         int retentionDays, Clock clock) {
+        if (maxInFlight < 1 || batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("İşlemdeki mesaj sınırı, parti boyutu ve deneme sınırı en az 1 olmalı");
+        }
+        this.repository = repository;
+        this.queue = queue;
+        this.handler = handler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.conversations = new ConversationExecutor(executor);
+        this.ownedExecutor = executor instanceof ExecutorService service ? service : null;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        this.clock = clock;
+        this.lag = Timer.builder("inbound.lag")
+                .description("Webhook mesajının alınmasından işlenmeye başlanmasına kadar geçen süre")
+                .register(meterRegistry);
+        this.failed = Counter.builder("inbound.failed")
+                .description("Deneme sınırını aşan webhook mesajları").register(meterRegistry);
+    }
+
+    /**
+     * Hazır mesajları konuşma kuyruklarına dağıtma
+     */
+    @Scheduled(fixedDelayString = "${inbound.worker.poll-interval-ms:200}")
+    public void poll() {
+        queue.refreshDepth();
+        int capacity;
+        int claimed;
+        do {
+            capacity = Math.min(batchSize, inFlight.availablePermits());
+            if (capacity == 0) {
+                return;
+            }
+            int limit = capacity;
+            List<InboundEvent> events = transactionTemplate.execute(status -> claim(limit));
+            claimed = events != null ? events.size() : 0;
+            for (int i = 0; i < claimed; i++) {
+                if (!dispatch(events.get(i))) {
+                    // Havuz kapanıyor; kalanlar kiralama süresi dolunca yeniden alınır
+                    return;
+                }
+            }
+        } while (claimed == capacity);
+    }
+
+    /**
+     * İşlenmiş eski kayıtları temizleme - Her gün saat 03:45'te
+     */
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void purgeProcessed() {
+        LocalDateTime cutoff = now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteProcessedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("İşlenmiş gelen mesajlar temizlendi - Silinen sayı: {}", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private List<InboundEvent> claim(int limit) {
+        LocalDateTime now = now();
+        List<InboundMessage> rows = inConversationOrder(repository.findReadyForProcessing(now, Limit.of(limit)));
+        List<InboundEvent> events = new ArrayList<>(rows.size());
+        for (InboundMessage row : rows) {
+            row.setAttempts(row.getAttempts() + 1);
+            row.setAvailableAt(now.plus(lease));
+            events.add(InboundEvent.from(row));
+        }
+        return events;
+    }
+
+    /**
+     * Konuşmasının bekleyen önceki mesajlarının hepsi bu turda alınan mesajlar
+     *
+     * Başka bir örneğin aynı anda kilitlediği (bu yüzden atlanan) önceki mesaj hâlâ PENDING görünür;
+     * konuşmanın o mesajdan sonraki mesajları bu turda alınmaz.
+     */
+    private List<InboundMessage> inConversationOrder(List<InboundMessage> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (InboundMessage row : rows) {
+            keys.add(row.getConversationKey());
+        }
+        Map<String, Deque<Long>> pendingIds = new HashMap<>();
+        for (InboundMessage pending : repository.findByStatusAndConversationKeyInOrderByIdAsc(
+                InboundMessage.Status.PENDING, keys)) {
+            pendingIds.computeIfAbsent(pending.getConversationKey(), key -> new ArrayDeque<>()).add(pending.getId());
+        }
+        List<InboundMessage> ordered = new ArrayList<>(rows.size());
+        Set<String> blocked = new HashSet<>();
+        for (InboundMessage row : rows) {
+            String key = row.getConversationKey();
+            Deque<Long> ids = pendingIds.get(key);
+            if (!blocked.contains(key) && ids != null && row.getId().equals(ids.peekFirst())) {
+                ids.pollFirst();
+                ordered.add(row);
+            } else {
+                blocked.add(key);
+            }
+        }
+        if (ordered.size() < rows.size()) {
+            logger.debug("Önceki mesajı başka bir işçide olan {} gelen mesaj bu turda alınmadı",
+                    rows.size() - ordered.size());
+        }
+        return ordered;
+    }
+
+    private boolean dispatch(InboundEvent event) {
+        inFlight.acquireUninterruptibly(); // Kapasite kadar alındığı için beklemez
+        try {
+            conversations.execute(event.getConversationKey(), () -> {
+                try {
+                    process(event);
+                } finally {
+                    inFlight.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            return false;
+        }
+    }
+
+    private void process(InboundEvent event) {
+        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> releaseIfBehindRetry(event)))) {
+            logger.debug("Gelen mesaj geri bırakıldı, konuşmanın önceki mesajı tekrar denenecek - {}", event);
+            return;
+        }
+        Integer started = transactionTemplate.execute(status ->
+                repository.startLease(event.getId(), event.getAttempt(), now().plus(lease)));
+        if (started == null || started == 0) {
+            // Kuyrukta beklerken kiralama doldu ve başka bir işçi aldı veya mesaj işlendi
+            logger.debug("Gelen mesaj atlandı, artık bu denemeye ait değil - {}", event);
+            return;
+        }
+        if (event.getAttempt() == 1 && event.getReceivedAt() != null) {
+            Duration elapsed = Duration.between(event.getReceivedAt(), now());
+            if (!elapsed.isNegative()) {
+                lag.record(elapsed);
+            }
+        }
+        try {
+            handler.handle(event);
+        } catch (RuntimeException e) {
+            logger.warn("Gelen mesaj işlenemedi - {}: {}", event, e.getMessage(), e);
+            recordFailure(event, e);
+            return;
+        }
+        Integer processed = transactionTemplate.execute(status ->
+                repository.markProcessed(event.getId(), event.getAttempt(), now()));
+        if (processed != null && processed > 0) {
+            queue.completed();
+        } else {
+            // İşlem kiralamadan uzun sürdü; mesajı yeniden alan işçi sonucu kaydeder
+            logger.warn("Gelen mesaj işlendi ama başka bir denemeye geçmiş, işaretlenmedi - {}", event);
+        }
+    }
+
+    /**
+     * Konuşmanın önceki mesajı tekrar denemeyi bekliyorsa mesajı deneme saymadan geri bırakma
+     *
+     * @return mesaj geri bırakıldıysa (işlenmemeli) true
+     */
+    private boolean releaseIfBehindRetry(InboundEvent event) {
+        if (!repository.existsByConversationKeyAndStatusAndIdLessThan(event.getConversationKey(),
+                InboundMessage.Status.PENDING, event.getId())) {
+            return false;
+        }
+        repository.releaseClaim(event.getId(), event.getAttempt(), now());
+        return true;
+    }
+
+    private void recordFailure(InboundEvent event, RuntimeException cause) {
+        String error = String.valueOf(cause.getMessage());
+        String lastError = error.length() > 500 ? error.substring(0, 500) : error;
+        boolean exhausted = event.getAttempt() >= maxAttempts;
+        InboundMessage.Status status = exhausted ? InboundMessage.Status.FAILED : InboundMessage.Status.PENDING;
+        LocalDateTime retryAt = now().plus(backoff(event.getAttempt()));
+        try {
+            Integer updated = transactionTemplate.execute(tx ->
+                    repository.markFailed(event.getId(), event.getAttempt(), status, lastError, retryAt));
+            if (updated == null || updated == 0) {
+                logger.warn("Gelen mesaj hatası kaydedilmedi, mesaj başka bir denemeye geçmiş - {}", event);
+                return;
+            }
+            if (exhausted) {
+                queue.completed();
+                failed.increment();
+                logger.error("Gelen mesaj deneme sınırını aştı - {}", event);
+            }
+        } catch (RuntimeException e) {
+            // Kayıt güncellenemezse kiralama süresi dolunca mesaj yeniden alınır
+            logger.error("Gelen mesaj hata kaydı yazılamadı - {}", event, e);
+        }
+    }
+
+    static Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << shift);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * İşçi thread sayısı; 0 ise çekirdek sayısının 4 katı (işin çoğu AI agent ve gönderim beklemesi)
+     */
+    private static int poolSize(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("İşçi thread sayısı negatif olamaz: " + threads);
+        }
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 4;
+    }
+
+    private static ExecutorService newWorkerExecutor(int poolSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "inbound-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
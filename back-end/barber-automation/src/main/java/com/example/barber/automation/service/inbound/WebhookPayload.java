@@ -0,0 +1,41 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+
+import java.util.List;
+
+/**
+ * Çözümlenmiş webhook gövdesi: kaynağı ve içindeki mesajlar
+ */
+public final class WebhookPayload {
+
+    private final boolean whatsAppBusiness;
+    private final List<InboundWebhookMessage> messages;
+
+    private WebhookPayload(boolean whatsAppBusiness, List<InboundWebhookMessage> messages) {
+        this.whatsAppBusiness = whatsAppBusiness;
+        this.messages = messages;
+    }
+
+    static WebhookPayload whatsAppBusiness(List<InboundWebhookMessage> messages) {
+        return new WebhookPayload(true, List.copyOf(messages));
+    }
+
+    static WebhookPayload twilio(InboundWebhookMessage message) {
+        return new WebhookPayload(false, List.of(message));
+    }
+
+    /**
+     * WhatsApp Business (Meta) teslimatı mı; değilse Twilio formatında tek mesaj
+     */
+    public boolean isWhatsAppBusiness() {
+        return whatsAppBusiness;
+    }
+
+    /**
+     * Teslimattaki tüm mesajlar (entry, change ve mesaj sırasıyla; metin olmayanlar dahil)
+     */
+    public List<InboundWebhookMessage> getMessages() {
+        return messages;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Webhook gövdesini tek geçişte okuyan akış (streaming) parser
+ *
+ * İstek gövdesi String'e çevrilmeden, uygulamanın ortak ObjectMapper'ının JsonFactory'siyle token token
+ * okunur; yalnızca gereken alanlar (from, to, type, text, message id, timestamp) alınır, diğer alt
+ * ağaçlar okunmadan atlanır. Ara DTO veya JsonNode ağacı oluşturulmaz.
+ *
+ * Biçimler:
+ * - WhatsApp Business (Meta): object = whatsapp_business_account veya entry dizisi olan gövde
+ * - Twilio formatında JSON: From / Body / To / MessageSid alanları
+ *
+ * Meta, change içinde "field" alanını "value"dan sonra, "metadata"yı "messages"tan sonra gönderebilir;
+ * bu yüzden bir change'in mesajları change bitene kadar tutulur.
+ */
+@Component
+public class WebhookPayloadParser {
+
+    private static final String WHATSAPP_BUSINESS_ACCOUNT = "whatsapp_business_account";
+    private static final String WHATSAPP_PREFIX = "whatsapp:";
+
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public WebhookPayloadParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Gövdeyi çözümleme
+     *
+     * @throws IllegalArgumentException gövde geçerli JSON değilse veya Twilio mesajında From/Body yoksa
+     * @throws IOException gövde okunamazsa
+     */
+    public WebhookPayload parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Webhook gövdesi JSON nesnesi olmalı");
+            }
+
+            String object = null;
+            boolean hasEntry = false;
+            List<InboundWebhookMessage> messages = new ArrayList<>();
+            String from = null;
+            String to = null;
+            String text = null;
+            String messageSid = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (name) {
+                    case "object" -> object = scalar(parser, token);
+                    case "entry" -> {
+                        hasEntry = true;
+                        readEntries(parser, token, messages);
+                    }
+                    case "From" -> from = scalar(parser, token);
+                    case "Body" -> text = scalar(parser, token);
+                    case "To" -> to = scalar(parser, token);
+                    case "MessageSid" -> messageSid = scalar(parser, token);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (hasEntry || WHATSAPP_BUSINESS_ACCOUNT.equals(object)) {
+                return WebhookPayload.whatsAppBusiness(messages);
+            }
+            if (from == null || text == null) {
+                throw new IllegalArgumentException("From ve Body alanları zorunlu");
+            }
+            return WebhookPayload.twilio(new InboundWebhookMessage(stripPrefix(from), to != null ? stripPrefix(to) : null,
+                    InboundWebhookMessage.TYPE_TEXT, text, messageSid, null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Webhook JSON parse edilemedi", e);
+        }
+    }
+
+    private void readEntries(JsonParser parser, JsonToken token, List<InboundWebhookMessage> out) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+            if (element != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("changes".equals(name) && value == JsonToken.START_ARRAY) {
+                    readChanges(parser, out);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readChanges(JsonParser parser, List<InboundWebhookMessage> out) throws IOException {
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+            if (element != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String field = null;
+            ChangeValue value = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("field".equals(name)) {
+                    field = scalar(parser, token);
+                } else if ("value".equals(name) && token == JsonToken.START_OBJECT) {
+                    value = readValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (value != null && (field == null || "messages".equals(field))) {
+                value.drainTo(out);
+            }
+        }
+    }
+
+    private ChangeValue readValue(JsonParser parser) throws IOException {
+        ChangeValue value = new ChangeValue();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("metadata".equals(name) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String metadataName = parser.currentName();
+                    JsonToken metadataToken = parser.nextToken();
+                    if ("display_phone_number".equals(metadataName)) {
+                        value.displayPhoneNumber = scalar(parser, metadataToken);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("messages".equals(name) && token == JsonToken.START_ARRAY) {
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                    if (element == JsonToken.START_OBJECT) {
+                        value.messages.add(readMessage(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private MessageFields readMessage(JsonParser parser) throws IOException {
+        MessageFields message = new MessageFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (name) {
+                case "from" -> message.from = scalar(parser, token);
+                case "id" -> message.id = scalar(parser, token);
+                case "timestamp" -> message.timestamp = scalar(parser, token);
+                case "type" -> message.type = scalar(parser, token);
+                case "text" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String textName = parser.currentName();
+                            JsonToken textToken = parser.nextToken();
+                            if ("body".equals(textName)) {
+                                message.text = scalar(parser, textToken);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Sayı veya metin değer; null ya da nesne/dizi ise null (alt ağaç atlanır)
+     */
+    private static String scalar(JsonParser parser, JsonToken token) throws IOException {
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private static String stripPrefix(String number) {
+        String stripped = number.startsWith(WHATSAPP_PREFIX) ? number.substring(WHATSAPP_PREFIX.length()) : number;
+        return stripped.trim();
+    }
+
+    /**
+     * Bir change'in value alanı (metadata mesajlardan sonra gelebilir)
+     */
+    private static final class ChangeValue {
+        private String displayPhoneNumber;
+        private final List<MessageFields> messages = new ArrayList<>();
+
+        void drainTo(List<InboundWebhookMessage> out) {
+            for (MessageFields message : messages) {
+                out.add(new InboundWebhookMessage(message.from, displayPhoneNumber, message.type, message.text,
+                        message.id, InboundWebhookMessage.parseTimestamp(message.timestamp)));
+            }
+        }
+    }
+
+    private static final class MessageFields {
+        private String from;
+        private String id;
+        private String timestamp;
+        private String type;
+        private String text;
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.barber.automation.service.intent;
 
 import com.example.barber.automation.dto.CreateAppointmentRequest;
+import com.example.barber.automation.dto.CreateBundleAppointmentRequest;
 import com.example.barber.automation.dto.AgentRespondResponse;
 import com.example.barber.automation.dto.ServiceDto;
 import com.example.barber.automation.service.AppointmentService;
 import com.example.barber.automation.service.ServiceService;
 import com.example.barber.automation.service.session.BotSessionService.BotSession;
+import com.example.barber.automation.service.booking.SlotHoldService;
 import com.example.barber.automation.service.session.BotSessionService.BotState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -16,12 +20,17 @@ import java.util.List;
 @Component
 public class ConfirmAppointmentHandler implements IntentHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(ConfirmAppointmentHandler.class);
+
     private final AppointmentService appointmentService;
     private final ServiceService serviceService;
+    private final SlotHoldService slotHoldService;
 
-    public ConfirmAppointmentHandler(AppointmentService appointmentService, ServiceService serviceService) {
+    public ConfirmAppointmentHandler(AppointmentService appointmentService, ServiceService serviceService,
+                                     SlotHoldService slotHoldService) {
         this.appointmentService = appointmentService;
         this.serviceService = serviceService;
+        this.slotHoldService = slotHoldService;
     }
 
     @Override
@@ -49,13 +58,30 @@ public class ConfirmAppointmentHandler implements IntentHandler {
                 start = (date != null) ? date.atTime(12, 0) : LocalDateTime.now().plusHours(1);
             }
 
-            CreateAppointmentRequest req = new CreateAppointmentRequest();
-            req.setCustomerId(session.getCustomerId());
-            req.setServiceId(serviceId);
-            req.setStartTime(start);
-            appointmentService.createAppointment(req, tenantId);
+            // Oturumun tuttuğu slot randevuya dönüştürülür
+            if (session.getSelectedServiceIds().size() > 1) {
+                // Paket: tüm hizmetler arka arkaya, tek işlemde
+                CreateBundleAppointmentRequest req = new CreateBundleAppointmentRequest(
+                        session.getCustomerId(), session.getSelectedServiceIds(), start);
+                appointmentService.createBundleAppointment(req, tenantId, session.key());
+            } else {
+                CreateAppointmentRequest req = new CreateAppointmentRequest();
+                req.setCustomerId(session.getCustomerId());
+                req.setServiceId(serviceId);
+                req.setStartTime(start);
+                appointmentService.createAppointment(req, tenantId, session.key());
+            }
             session.setState(BotState.COMPLETED);
-        } catch (Exception ignored) {
+        } catch (IllegalArgumentException e) {
+            // Slot dolmuş (tutma süresi geçmiş olabilir) veya bilgiler geçersiz: yeni saat istenir
+            logger.warn("Randevu oluşturulamadı ({}): {}", session.key(), e.getMessage());
+            slotHoldService.release(session.key());
+            session.setSelectedTime(null);
+            session.setState(BotState.AWAITING_TIME);
+            response.setReply("Seçtiğiniz saat artık müsait değil, lütfen başka bir saat seçin.");
+        } catch (RuntimeException e) {
+            logger.error("Randevu oluşturulurken hata ({})", session.key(), e);
+            response.setReply("Randevunuz şu an oluşturulamadı, lütfen biraz sonra tekrar deneyin.");
         }
     }
 }
@@ -19,22 +19,28 @@ public class ProvideDateHandler implements IntentHandler {
         if (info == null) return;
         Object datePref = info.get("date_preference");
         if (datePref == null) return;
-        // YYYY-MM-DD ya da DD.MM.YYYY kabul et
-        String raw = datePref.toString().trim();
-        LocalDate parsed = null;
+        LocalDate parsed = parseDate(datePref.toString());
+        if (parsed == null) parsed = LocalDate.now();
+        session.setSelectedDate(parsed);
+        session.setState(BotState.AWAITING_TIME);
+    }
+
+    /**
+     * YYYY-MM-DD ya da DD.MM.YYYY kabul et (ayrıştırılamazsa null)
+     */
+    static LocalDate parseDate(String value) {
+        String raw = value.trim();
         try {
             if (raw.contains(".")) {
                 String[] p = raw.split("\\.");
                 if (p.length >= 3) {
-                    parsed = LocalDate.of(Integer.parseInt(p[2]), Integer.parseInt(p[1]), Integer.parseInt(p[0]));
+                    return LocalDate.of(Integer.parseInt(p[2]), Integer.parseInt(p[1]), Integer.parseInt(p[0]));
                 }
             } else {
-                parsed = LocalDate.parse(raw);
+                return LocalDate.parse(raw);
             }
         } catch (Exception ignored) {}
-        if (parsed == null) parsed = LocalDate.now();
-        session.setSelectedDate(parsed);
-        session.setState(BotState.AWAITING_TIME);
+        return null;
     }
 }
 
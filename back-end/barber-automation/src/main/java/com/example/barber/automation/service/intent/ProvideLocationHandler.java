@@ -1,26 +1,41 @@
 package com.example.barber.automation.service.intent;
 
 import com.example.barber.automation.dto.AgentRespondResponse;
+import com.example.barber.automation.dto.AvailabilitySearchResponse;
 import com.example.barber.automation.dto.TenantDto;
+import com.example.barber.automation.service.AvailabilitySearchService;
 import com.example.barber.automation.service.TenantService;
 import com.example.barber.automation.service.session.BotSessionService;
 import com.example.barber.automation.service.session.BotSessionService.BotSession;
 import com.example.barber.automation.service.session.BotSessionService.BotState;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Component
 public class ProvideLocationHandler implements IntentHandler {
 
+    // Hizmet henüz seçilmediyse aramada kullanılan randevu süresi
+    private static final int DEFAULT_SEARCH_DURATION_MINUTES = 30;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
     private final TenantService tenantService;
     private final BotSessionService sessionService;
+    private final AvailabilitySearchService availabilitySearchService;
 
-    public ProvideLocationHandler(TenantService tenantService, BotSessionService sessionService) {
+    public ProvideLocationHandler(TenantService tenantService, BotSessionService sessionService,
+                                  AvailabilitySearchService availabilitySearchService) {
         this.tenantService = tenantService;
         this.sessionService = sessionService;
+        this.availabilitySearchService = availabilitySearchService;
     }
 
     @Override
@@ -48,9 +63,64 @@ public class ProvideLocationHandler implements IntentHandler {
                 ? tenantService.findByCityAndDistrictDto(city, district)
                 : tenantService.findByCityDto(city);
 
+        // Konumla birlikte gün (ve saat) verildiyse kuaförler arasında müsaitlik ara
+        Object datePref = info.get("date_preference");
+        LocalDate date = datePref != null ? ProvideDateHandler.parseDate(datePref.toString()) : null;
+        session.setAvailableOptions(new ArrayList<>()); // Önceki aramanın saatleri yeni listeye uymaz
+        if (date != null && !list.isEmpty()) {
+            Object timePref = info.get("time_preference");
+            LocalTime time = timePref != null ? ProvideTimeHandler.parseTime(timePref.toString()) : null;
+            int duration = session.getTotalDurationMinutes() != null
+                    ? session.getTotalDurationMinutes() : DEFAULT_SEARCH_DURATION_MINUTES;
+
+            // Oturumun kendi tuttuğu slot yeni aramada müsait görünür
+            AvailabilitySearchResponse result = availabilitySearchService.search(list, date, time, duration, session.key());
+            session.setSelectedDate(date);
+            session.setAvailableOptions(result.getOptions());
+            list = rankByAvailability(list, result.getOptions());
+            if (!result.getOptions().isEmpty()) {
+                // Bulunan saatleri aynı turda müşteriye sun; numaralar oturumdaki seçenek sırasıyla aynı
+                response.setReply(renderOptions(date, result.getOptions()));
+            }
+        }
+
         session.setAvailableBarbers(list);
         session.setState(BotState.AWAITING_BARBER_SELECTION);
     }
+
+    /**
+     * Bulunan seçenekleri (kuaför + saat) numaralı metin olarak yazma
+     */
+    private String renderOptions(LocalDate date, List<AvailabilitySearchResponse.Option> options) {
+        StringBuilder reply = new StringBuilder()
+                .append(date.format(DATE_FORMAT)).append(" için müsait saatler:\n");
+        for (int i = 0; i < options.size(); i++) {
+            AvailabilitySearchResponse.Option option = options.get(i);
+            reply.append(i + 1).append(". ").append(option.getTenantName())
+                    .append(" - ").append(option.getStartTime().format(TIME_FORMAT)).append("\n");
+        }
+        return reply.append("Lütfen seçeneğin numarasını yazın; seçtiğiniz saat sizin için ayrılır.").toString();
+    }
+
+    /**
+     * Müsait seçeneği olan kuaförleri seçenek sırasıyla öne alma (diğerleri ardından, mevcut sırayla)
+     */
+    private List<TenantDto> rankByAvailability(List<TenantDto> tenants, List<AvailabilitySearchResponse.Option> options) {
+        Map<Long, TenantDto> remaining = new LinkedHashMap<>();
+        for (TenantDto tenant : tenants) {
+            remaining.put(tenant.getId(), tenant);
+        }
+
+        List<TenantDto> ranked = new ArrayList<>(tenants.size());
+        for (AvailabilitySearchResponse.Option option : options) {
+            TenantDto tenant = remaining.remove(option.getTenantId());
+            if (tenant != null) {
+                ranked.add(tenant);
+            }
+        }
+        ranked.addAll(remaining.values());
+        return ranked;
+    }
 }
 
 
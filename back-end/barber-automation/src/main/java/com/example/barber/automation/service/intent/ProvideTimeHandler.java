@@ -1,14 +1,27 @@
 package com.example.barber.automation.service.intent;
 
 import com.example.barber.automation.dto.AgentRespondResponse;
+import com.example.barber.automation.service.AppointmentService;
 import com.example.barber.automation.service.session.BotSessionService.BotSession;
 import com.example.barber.automation.service.session.BotSessionService.BotState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalTime;
 import java.util.Map;
 
 @Component
 public class ProvideTimeHandler implements IntentHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProvideTimeHandler.class);
+
+    private final AppointmentService appointmentService;
+
+    public ProvideTimeHandler(AppointmentService appointmentService) {
+        this.appointmentService = appointmentService;
+    }
+
     @Override
     public String intentKey() { return "provide_time"; }
 
@@ -18,23 +31,42 @@ public class ProvideTimeHandler implements IntentHandler {
         if (info == null) return;
         Object timePref = info.get("time_preference");
         if (timePref == null) return;
-        String raw = timePref.toString().trim();
-        // 15:00 veya 1500
-        int hour = 9, minute = 0;
+        LocalTime parsed = parseTime(timePref.toString());
+        if (parsed == null) parsed = LocalTime.of(9, 0);
+        if (session.getSelectedDate() != null) {
+            session.setSelectedTime(session.getSelectedDate().atTime(parsed));
+        }
+
+        // Onay beklenirken saati diğer müşterilere karşı tut
+        Long tenantId = session.getSelectedTenantId() != null ? session.getSelectedTenantId() : session.getTenantId();
+        if (session.getSelectedTime() != null && tenantId != null && !session.getSelectedServiceIds().isEmpty()) {
+            try {
+                appointmentService.holdSlot(session.key(), tenantId, session.getSelectedServiceIds(), session.getSelectedTime());
+            } catch (IllegalArgumentException e) {
+                logger.info("Slot tutulamadı ({}): {}", session.key(), e.getMessage());
+                session.setSelectedTime(null);
+                session.setState(BotState.AWAITING_TIME);
+                response.setReply("Seçtiğiniz saat dolu, lütfen başka bir saat seçin.");
+                return;
+            }
+        }
+        session.setState(BotState.AWAITING_CONFIRMATION);
+    }
+
+    /**
+     * 15:00 veya 1500 kabul et (ayrıştırılamazsa null)
+     */
+    static LocalTime parseTime(String value) {
+        String raw = value.trim();
         try {
             if (raw.contains(":")) {
                 String[] p = raw.split(":");
-                hour = Integer.parseInt(p[0]);
-                minute = Integer.parseInt(p[1]);
+                return LocalTime.of(Integer.parseInt(p[0]), Integer.parseInt(p[1]));
             } else if (raw.length() >= 3) {
-                hour = Integer.parseInt(raw.substring(0, 2));
-                minute = Integer.parseInt(raw.substring(2, 4));
+                return LocalTime.of(Integer.parseInt(raw.substring(0, 2)), Integer.parseInt(raw.substring(2, 4)));
             }
         } catch (Exception ignored) {}
-        if (session.getSelectedDate() != null) {
-            session.setSelectedTime(session.getSelectedDate().atTime(hour, minute));
-        }
-        session.setState(BotState.AWAITING_CONFIRMATION);
+        return null;
     }
 }
 
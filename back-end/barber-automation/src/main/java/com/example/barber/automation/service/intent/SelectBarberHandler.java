@@ -1,16 +1,30 @@
 package com.example.barber.automation.service.intent;
 
 import com.example.barber.automation.dto.AgentRespondResponse;
+import com.example.barber.automation.dto.AvailabilitySearchResponse;
 import com.example.barber.automation.dto.TenantDto;
+import com.example.barber.automation.service.AppointmentService;
 import com.example.barber.automation.service.session.BotSessionService.BotSession;
 import com.example.barber.automation.service.session.BotSessionService.BotState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 @Component
 public class SelectBarberHandler implements IntentHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SelectBarberHandler.class);
+
+    private final AppointmentService appointmentService;
+
+    public SelectBarberHandler(AppointmentService appointmentService) {
+        this.appointmentService = appointmentService;
+    }
+
     @Override
     public String intentKey() { return "select_barber"; }
 
@@ -23,6 +37,15 @@ public class SelectBarberHandler implements IntentHandler {
         int index;
         try { index = Integer.parseInt(String.valueOf(selectionObj)) - 1; } catch (Exception e) { return; }
 
+        // Konum aramasında saatler sunulduysa numara sunulan seçeneği gösterir
+        List<AvailabilitySearchResponse.Option> offered = session.getAvailableOptions();
+        if (offered != null && !offered.isEmpty()) {
+            if (index >= 0 && index < offered.size()) {
+                selectOption(session, offered.get(index), response);
+            }
+            return;
+        }
+
         // AI’den liste geldiyse onu kullan
         if (info.containsKey("barber_options")) {
             @SuppressWarnings("unchecked")
@@ -30,8 +53,7 @@ public class SelectBarberHandler implements IntentHandler {
             if (index >= 0 && index < options.size()) {
                 Object idObj = options.get(index).get("id");
                 if (idObj instanceof Number) {
-                    session.setSelectedTenantId(((Number) idObj).longValue());
-                    session.setState(BotState.AWAITING_NAME);
+                    select(session, ((Number) idObj).longValue());
                     return;
                 }
             }
@@ -40,9 +62,31 @@ public class SelectBarberHandler implements IntentHandler {
         // Aksi halde session’daki listeyi kullan
         List<TenantDto> available = session.getAvailableBarbers();
         if (available != null && index >= 0 && index < available.size()) {
-            session.setSelectedTenantId(available.get(index).getId());
-            session.setState(BotState.AWAITING_NAME);
+            select(session, available.get(index).getId());
+        }
+    }
+
+    private void select(BotSession session, Long tenantId) {
+        session.setSelectedTenantId(tenantId);
+        session.setState(BotState.AWAITING_NAME);
+    }
+
+    /**
+     * Sunulan seçeneği onay beklenirken diğer müşterilere karşı tutup seçili kuaför/saat yapma
+     */
+    private void selectOption(BotSession session, AvailabilitySearchResponse.Option option, AgentRespondResponse response) {
+        int duration = (int) Duration.between(option.getStartTime(), option.getEndTime()).toMinutes();
+        try {
+            appointmentService.holdSlot(session.key(), option.getTenantId(), option.getStartTime(), duration);
+        } catch (IllegalArgumentException e) {
+            logger.info("Slot tutulamadı ({}): {}", session.key(), e.getMessage());
+            response.setReply("Seçtiğiniz saat artık müsait değil, lütfen listeden başka bir numara seçin.");
+            return;
         }
+        session.setSelectedTenantId(option.getTenantId());
+        session.setSelectedDate(option.getStartTime().toLocalDate());
+        session.setSelectedTime(option.getStartTime());
+        session.setState(BotState.AWAITING_NAME);
     }
 }
 
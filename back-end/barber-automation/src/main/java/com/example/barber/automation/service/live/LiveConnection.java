@@ -0,0 +1,98 @@
+package com.example.barber.automation.service.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tek bir SSE bağlantısı: sınırlı olay kuyruğu ve kuyruğu boşaltan gönderim görevi
+ *
+ * Bağlantı boştayken hiçbir thread tutmaz (istek async modda bekler). Olay geldiğinde kuyruğa eklenir
+ * ve bağlantı için en fazla bir gönderim görevi ortak havuzda çalışır; olaylar sırayla yazılır.
+ * Kuyruk dolarsa (istemci yetişemiyorsa) bağlantı kapatılır: istemci yeniden bağlanır ve kaçırdıklarını
+ * değişiklik akışından (/appointments/changes) alır.
+ */
+final class LiveConnection {
+
+    private final Long tenantId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<LiveEvent> queue;
+    private final Executor executor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    LiveConnection(Long tenantId, SseEmitter emitter, int queueCapacity, Executor executor) {
+        this.tenantId = tenantId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = executor;
+    }
+
+    Long getTenantId() {
+        return tenantId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Olayı kuyruğa ekleme
+     *
+     * @return kuyruk dolu olduğu için bağlantı kapatıldıysa false
+     */
+    boolean offer(LiveEvent event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Bağlantıyı kapatma (istemci EventSource ile yeniden bağlanır)
+     */
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            LiveEvent event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                try {
+                    emitter.send(event.toSse());
+                } catch (IOException | IllegalStateException e) {
+                    // İstemci bağlantıyı kapatmış veya yanıt tamamlanmış
+                    closed.set(true);
+                    queue.clear();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            draining.set(false);
+            // Bayrak bırakıldıktan sonra eklenen olay, yeni görev başlatamamış olabilir
+        } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.barber.automation.service.live;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bağlantılara gönderilecek SSE olayı (değişmez; aynı olay tüm bağlantıların kuyruğuna girer)
+ *
+ * SseEmitter.SseEventBuilder her gönderimde değiştiği için paylaşılamaz; builder gönderim anında oluşturulur.
+ */
+final class LiveEvent {
+
+    /**
+     * Boşta bağlantıları açık tutan ve kopmuş bağlantıları ortaya çıkaran yorum satırı
+     */
+    static final LiveEvent HEARTBEAT = new LiveEvent(null, null);
+
+    private final String name;
+    private final Object data;
+
+    private LiveEvent(String name, Object data) {
+        this.name = name;
+        this.data = data;
+    }
+
+    static LiveEvent of(String name, Object data) {
+        if (name == null || data == null) {
+            throw new IllegalArgumentException("Olay adı ve verisi boş olamaz");
+        }
+        return new LiveEvent(name, data);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Object getData() {
+        return data;
+    }
+
+    SseEmitter.SseEventBuilder toSse() {
+        if (this == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.barber.automation.service.live;
+
+import com.example.barber.automation.dto.AppointmentDelta;
+import com.example.barber.automation.dto.TenantChangeSequence;
+import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import com.example.barber.automation.service.changefeed.ChangeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Değişiklik akışından canlı güncelleme olayları üretme
+ *
+ * Bağlı panelleri olan kuaförlerin sıraları periyodik olarak tek sorguyla okunur; sırası ilerleyen
+ * kuaförlerin değişen randevuları akıştan çekilip LiveUpdateHub'a verilir. Değişiklikler veritabanından
+ * okunduğu için başka bir sunucuda yapılan işlemler de yayınlanır; bağlı panel sayısından bağımsız olarak
+ * her turda kuaför başına en fazla bir sorgu çalışır.
+ *
+ * İmleç bağlantı açılmadan önce (register) yazılır; bağlantısı olmayan kuaförün imleci ancak art arda iki
+ * turda bağlantısız görülürse bırakılır, böylece register ile subscribe arasına düşen tur imleci silmez.
+ * İmleci olmayan bağlı kuaför için imleç o turda okunan sıradan açılır.
+ *
+ * Olaylar:
+ * - appointment: değişen randevunun kısa hali (AppointmentDelta, token ile)
+ * - availability: müsaitliği değişen günler ({"dates": [...]}); panel bu günlerin slotlarını yeniden ister
+ */
+@Component
+public class LiveUpdateFeed {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateFeed.class);
+    
+    /**
+     * Tek sorguda okunan en fazla kuaför sırası
+     */
+    static final int TENANT_CHUNK_SIZE = 500;
+    
+    /**
+     * Akıştan tek sorguda çekilen değişiklik sayısı
+     */
+    static final int PAGE_SIZE = 200;
+    
+    /**
+     * Bir turda kuaför başına çekilen en fazla sayfa (kalanı sonraki turda)
+     */
+    static final int MAX_PAGES_PER_POLL = 10;
+    
+    /**
+     * Yayınlanan son değişiklik; id'si MAX_VALUE ise sıranın tamamı yayınlanmıştır
+     */
+    private final Map<Long, ChangeToken> cursors = new ConcurrentHashMap<>();
+    
+    /**
+     * Önceki turda imleci olup bağlantısı olmayan kuaförler (sadece poll kullanır)
+     */
+    private Set<Long> idleLastPoll = Set.of();
+    private final LiveUpdateHub hub;
+    private final TenantRepository tenantRepository;
+    private final AppointmentRepository appointmentRepository;
+    
+    @Autowired
+    public LiveUpdateFeed(LiveUpdateHub hub, TenantRepository tenantRepository,
+                          AppointmentRepository appointmentRepository) {
+        this.hub = hub;
+        this.tenantRepository = tenantRepository;
+        this.appointmentRepository = appointmentRepository;
+    }
+    
+    /**
+     * Kuaförü takibe alma
+     *
+     * @return bağlantının başlangıç token'ı (istemci bağlantı koparsa bu veya son aldığı token'la
+     *         değişiklik akışından devam eder)
+     * @throws IllegalArgumentException kuaför bulunamazsa
+     */
+    public ChangeToken register(Long tenantId) {
+        List<TenantChangeSequence> sequences = tenantRepository.findAppointmentChangeSequences(List.of(tenantId));
+        if (sequences.isEmpty()) {
+            throw new IllegalArgumentException("Kuaför bulunamadı: " + tenantId);
+        }
+        ChangeToken token = new ChangeToken(sequenceOf(sequences.get(0)), Long.MAX_VALUE);
+        cursors.putIfAbsent(tenantId, token);
+        return token;
+    }
+    
+    /**
+     * Bağlı kuaförlerin yeni değişikliklerini yayınlama
+     */
+    @Scheduled(fixedDelayString = "${live.poll-interval-ms:1000}")
+    public void poll() {
+        Set<Long> tenantIds = hub.connectedTenantIds();
+        Set<Long> idle = new HashSet<>(cursors.keySet());
+        idle.removeAll(tenantIds);
+        Set<Long> previouslyIdle = idleLastPoll;
+        cursors.keySet().removeIf(tenantId -> idle.contains(tenantId) && previouslyIdle.contains(tenantId));
+        idleLastPoll = idle;
+        if (tenantIds.isEmpty()) {
+            return;
+        }
+        
+        List<Long> tracked = new ArrayList<>(tenantIds);
+        for (int from = 0; from < tracked.size(); from += TENANT_CHUNK_SIZE) {
+            List<Long> chunk = tracked.subList(from, Math.min(from + TENANT_CHUNK_SIZE, tracked.size()));
+            for (TenantChangeSequence sequence : tenantRepository.findAppointmentChangeSequences(chunk)) {
+                try {
+                    cursors.putIfAbsent(sequence.getTenantId(),
+                            new ChangeToken(sequenceOf(sequence), Long.MAX_VALUE));
+                    publishChanges(sequence.getTenantId(), sequenceOf(sequence));
+                } catch (RuntimeException e) {
+                    // Bir kuaförün hatası diğerlerini durdurmaz; sonraki turda aynı yerden denenir
+                    logger.error("Canlı güncelleme yayınlanamadı - tenant: {}", sequence.getTenantId(), e);
+                }
+            }
+        }
+    }
+    
+    private void publishChanges(Long tenantId, long latestSequence) {
+        ChangeToken cursor = cursors.get(tenantId);
+        if (cursor == null || (cursor.getSequence() >= latestSequence && cursor.getId() == Long.MAX_VALUE)) {
+            return;
+        }
+        
+        Set<LocalDate> changedDates = new TreeSet<>();
+        ChangeToken position = cursor;
+        boolean drained = false;
+        for (int page = 0; page < MAX_PAGES_PER_POLL && !drained; page++) {
+            List<AppointmentDelta> deltas = appointmentRepository.findDeltasAfter(
+                    tenantId, position.getSequence(), position.getId(), Limit.of(PAGE_SIZE));
+            for (AppointmentDelta delta : deltas) {
+                position = new ChangeToken(delta.getChangeSeq(), delta.getId());
+                delta.setToken(position.encode());
+                hub.publish(tenantId, "appointment", delta);
+                changedDates.add(delta.getStartTime().toLocalDate());
+                changedDates.add(delta.getEndTime().toLocalDate());
+            }
+            drained = deltas.size() < PAGE_SIZE;
+        }
+        
+        if (!changedDates.isEmpty()) {
+            hub.publish(tenantId, "availability", Map.of("dates", List.copyOf(changedDates)));
+        }
+        if (drained) {
+            // Sıralar commit sırasıyla görünür: okunan sıraya kadar her şey yayınlandı (satırı olmayan sıralar dahil)
+            position = new ChangeToken(Math.max(latestSequence, position.getSequence()), Long.MAX_VALUE);
+        }
+        cursors.replace(tenantId, cursor, position);
+    }
+    
+    private static long sequenceOf(TenantChangeSequence sequence) {
+        return sequence.getSequence() != null ? sequence.getSequence() : 0L;
+    }
+}
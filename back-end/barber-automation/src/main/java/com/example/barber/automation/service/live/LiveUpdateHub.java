@@ -0,0 +1,185 @@
+package com.example.barber.automation.service.live;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kuaför bazlı canlı güncelleme dağıtıcısı (SSE)
+ *
+ * Açık panellerin bağlantılarını kuaföre göre tutar ve yayınlanan olayı o kuaförün tüm bağlantılarının
+ * kuyruğuna ekler. Bağlantılar boştayken thread tutmaz; gönderimler küçük ortak bir havuzda yapılır,
+ * böylece binlerce boşta bağlantı birkaç thread'le taşınır.
+ * - Heartbeat: boşta bağlantılara periyodik yorum satırı gönderilir (proxy zaman aşımı, kopuk bağlantı tespiti)
+ * - Geri basınç: kuyruğu dolan yavaş istemcinin bağlantısı kapatılır, diğerleri etkilenmez
+ *
+ * Metrikler: live.connections (gauge), live.dropped (yavaş istemci nedeniyle kapatılan bağlantılar).
+ */
+@Component
+public class LiveUpdateHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateHub.class);
+
+    private final Map<Long, Set<LiveConnection>> connectionsByTenant = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final long timeoutMillis;
+    private final Counter dropped;
+
+    @Autowired
+    public LiveUpdateHub(MeterRegistry meterRegistry,
+                         @Value("${live.send-threads:4}") int sendThreads,
+                         @Value("${live.queue-capacity:256}") int queueCapacity,
+                         @Value("${live.max-connections:10000}") int maxConnections,
+                         @Value("${live.timeout-ms:1800000}") long timeoutMillis) {
+        this(meterRegistry, newSendExecutor(sendThreads), queueCapacity, maxConnections, timeoutMillis);
+    }
+
+    LiveUpdateHub(MeterRegistry meterRegistry, Executor executor, int queueCapacity, int maxConnections,
+                  long timeoutMillis) {
+        if (queueCapacity < 1 || maxConnections < 1) {
+            throw new IllegalArgumentException("Canlı güncelleme kuyruğu ve bağlantı sınırı en az 1 olmalı");
+        }
+        this.executor = executor;
+        this.ownedExecutor = executor instanceof ExecutorService service ? service : null;
+        this.queueCapacity = queueCapacity;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeoutMillis;
+        this.dropped = Counter.builder("live.dropped")
+                .description("Yavaş istemci nedeniyle kapatılan canlı güncelleme bağlantıları").register(meterRegistry);
+        Gauge.builder("live.connections", connectionCount, AtomicInteger::get)
+                .description("Açık canlı güncelleme bağlantıları").register(meterRegistry);
+    }
+
+    /**
+     * Kuaförün olaylarına abone olma
+     *
+     * @param firstEventName bağlantıya ilk gönderilecek olay (ör. ready)
+     * @param firstEventData ilk olayın verisi
+     * @throws IllegalStateException bağlantı sınırı doluysa
+     */
+    public SseEmitter subscribe(Long tenantId, String firstEventName, Object firstEventData) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new IllegalStateException("Canlı güncelleme bağlantı sınırı dolu");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        LiveConnection connection = new LiveConnection(tenantId, emitter, queueCapacity, executor);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        connectionsByTenant.compute(tenantId, (id, connections) -> {
+            Set<LiveConnection> tenantConnections = connections != null ? connections : ConcurrentHashMap.newKeySet();
+            tenantConnections.add(connection);
+            return tenantConnections;
+        });
+        connection.offer(LiveEvent.of(firstEventName, firstEventData));
+        logger.debug("Canlı güncelleme bağlantısı açıldı - tenant: {}, açık bağlantı: {}", tenantId,
+                connectionCount.get());
+        return emitter;
+    }
+
+    /**
+     * Kuaförün tüm bağlantılarına olay gönderme (bağlantı yoksa hiçbir şey yapmaz)
+     */
+    public void publish(Long tenantId, String eventName, Object data) {
+        Set<LiveConnection> connections = connectionsByTenant.get(tenantId);
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+        LiveEvent event = LiveEvent.of(eventName, data);
+        for (LiveConnection connection : connections) {
+            offer(connection, event);
+        }
+    }
+
+    /**
+     * Bağlantısı olan kuaförler
+     */
+    public Set<Long> connectedTenantIds() {
+        return Set.copyOf(connectionsByTenant.keySet());
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Tüm bağlantılara heartbeat gönderme
+     */
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<LiveConnection> connections : connectionsByTenant.values()) {
+            for (LiveConnection connection : connections) {
+                offer(connection, LiveEvent.HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionsByTenant.values().forEach(connections -> connections.forEach(LiveConnection::close));
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private void offer(LiveConnection connection, LiveEvent event) {
+        boolean alreadyClosed = connection.isClosed(); // Gönderimde kopan bağlantı
+        if (!connection.offer(event) && remove(connection) && !alreadyClosed) {
+            dropped.increment();
+            logger.warn("Yavaş canlı güncelleme istemcisi kapatıldı - tenant: {}", connection.getTenantId());
+        }
+    }
+
+    /**
+     * Bağlantıyı kaldırma
+     *
+     * @return bağlantı bu çağrıyla kaldırıldıysa true
+     */
+    private boolean remove(LiveConnection connection) {
+        boolean[] removed = new boolean[1];
+        connectionsByTenant.computeIfPresent(connection.getTenantId(), (tenantId, connections) -> {
+            removed[0] = connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        if (removed[0]) {
+            connectionCount.decrementAndGet();
+            connection.close();
+        }
+        return removed[0];
+    }
+
+    private static ExecutorService newSendExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Gönderim thread sayısı en az 1 olmalı: " + threads);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "live-update-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
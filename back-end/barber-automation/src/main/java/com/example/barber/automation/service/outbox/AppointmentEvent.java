@@ -0,0 +1,85 @@
+package com.example.barber.automation.service.outbox;
+
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Abonelere iletilen randevu yaşam döngüsü olayı (outbox kaydının değişmez görüntüsü)
+ *
+ * İletim en az bir kez garantilidir: aynı olay (aynı id ile) birden fazla kez gelebilir,
+ * aboneler olay id'si veya randevunun güncel durumuna bakarak tekrarı yok saymalıdır.
+ */
+public final class AppointmentEvent {
+
+    private final Long id;
+    private final AppointmentOutboxEvent.EventType type;
+    private final Long tenantId;
+    private final Long appointmentId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime previousStartTime;
+    private final LocalDateTime occurredAt;
+    private final int attempt;
+
+    public AppointmentEvent(Long id, AppointmentOutboxEvent.EventType type, Long tenantId, Long appointmentId,
+                            LocalDateTime startTime, LocalDateTime previousStartTime, LocalDateTime occurredAt,
+                            int attempt) {
+        this.id = id;
+        this.type = type;
+        this.tenantId = tenantId;
+        this.appointmentId = appointmentId;
+        this.startTime = startTime;
+        this.previousStartTime = previousStartTime;
+        this.occurredAt = occurredAt;
+        this.attempt = attempt;
+    }
+
+    static AppointmentEvent from(AppointmentOutboxEvent row) {
+        return new AppointmentEvent(row.getId(), row.getEventType(), row.getTenantId(), row.getAppointmentId(),
+                row.getStartTime(), row.getPreviousStartTime(), row.getCreatedAt(), row.getAttempts());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public AppointmentOutboxEvent.EventType getType() {
+        return type;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Saat değişikliğinden önceki başlangıç (sadece RESCHEDULED için, diğerlerinde null)
+     */
+    public LocalDateTime getPreviousStartTime() {
+        return previousStartTime;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /**
+     * Kaçıncı iletim denemesi (1'den başlar)
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentEvent{id=" + id + ", type=" + type + ", tenantId=" + tenantId
+                + ", appointmentId=" + appointmentId + ", attempt=" + attempt + '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.barber.automation.service.outbox;
+
+/**
+ * Randevu yaşam döngüsü olaylarının uygulama içi abonesi
+ *
+ * OutboxRelay her olayı tüm abonelere, olayı iletildi olarak işaretleyen transaction içinde
+ * iletir. Bir abone exception fırlatırsa o transaction geri alınır ve olay daha sonra tüm
+ * abonelere yeniden iletilir; bu yüzden aboneler aynı olayı tekrar işlemeye dayanıklı olmalıdır.
+ */
+public interface AppointmentEventSubscriber {
+
+    void onEvent(AppointmentEvent event);
+}
@@ -0,0 +1,50 @@
+package com.example.barber.automation.service.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Randevu olay istatistikleri
+ *
+ * Metrikler (actuator /actuator/metrics): appointments.events{type} — olay tipine göre sayaç,
+ * appointments.events.lag — olayın yazılmasından abonelere ulaşmasına kadar geçen süre.
+ * Tekrar iletilen olaylar sayaçta yalnızca ilk denemede sayılır.
+ */
+@Component
+public class AppointmentMetricsSubscriber implements AppointmentEventSubscriber {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+
+    @Autowired
+    public AppointmentMetricsSubscriber(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("appointments.events.lag")
+                .description("Outbox'a yazılan olayın abonelere iletilme gecikmesi")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onEvent(AppointmentEvent event) {
+        if (event.getAttempt() > 1) {
+            return;
+        }
+        Counter.builder("appointments.events")
+                .tag("type", event.getType().name())
+                .description("Randevu yaşam döngüsü olayları")
+                .register(meterRegistry)
+                .increment();
+        if (event.getOccurredAt() != null) {
+            Duration elapsed = Duration.between(event.getOccurredAt(), LocalDateTime.now());
+            if (!elapsed.isNegative()) {
+                lag.record(elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.barber.automation.service.outbox;
+
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.service.NotificationService;
+import com.example.barber.automation.service.changefeed.AppointmentChangeLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Randevu olaylarına bağlı müşteri bildirimleri
+ *
+ * - CONFIRMED: randevu hala onaylıysa WhatsApp onay mesajı gönderilir
+ * - COMPLETED: hatırlatması oluşturulmamışsa takip hatırlatması oluşturulur ve randevu işaretlenir
+ *   (gece çalışan AppointmentScheduler görevi bu randevuyu tekrar işlemez)
+ *
+ * Randevunun güncel durumuna bakılır; olay tekrar iletilirse veya randevu bu arada değiştiyse
+ * işlem yapılmaz.
+ */
+@Component
+public class AppointmentNotificationSubscriber implements AppointmentEventSubscriber {
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final AppointmentChangeLog appointmentChangeLog;
+
+    @Autowired
+    public AppointmentNotificationSubscriber(AppointmentRepository appointmentRepository,
+                                             NotificationService notificationService,
+                                             AppointmentChangeLog appointmentChangeLog) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.appointmentChangeLog = appointmentChangeLog;
+    }
+
+    @Override
+    public void onEvent(AppointmentEvent event) {
+        switch (event.getType()) {
+            case CONFIRMED:
+                appointmentRepository.findByIdAndTenantId(event.getAppointmentId(), event.getTenantId())
+                        .filter(a -> a.getStatus() == Appointment.AppointmentStatus.CONFIRMED)
+                        .ifPresent(notificationService::sendAppointmentConfirmation);
+                break;
+            case COMPLETED:
+                appointmentRepository.findByIdAndTenantId(event.getAppointmentId(), event.getTenantId())
+                        .filter(a -> a.getStatus() == Appointment.AppointmentStatus.COMPLETED)
+                        .filter(a -> !Boolean.TRUE.equals(a.getReminderSent()))
+                        .ifPresent(this::createFollowUpReminder);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void createFollowUpReminder(Appointment appointment) {
+        notificationService.createFollowUpReminder(appointment);
+        appointment.setReminderSent(true);
+        appointment.setReminderSentAt(LocalDateTime.now());
+        appointmentRepository.save(appointment);
+        appointmentChangeLog.touch(appointment);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.barber.automation.service.outbox;
+
+import com.example.barber.automation.dto.AppointmentStatusSnapshot;
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
+import com.example.barber.automation.repository.AppointmentOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Randevu yaşam döngüsü olaylarını outbox tablosuna yazma
+ *
+ * Olay, randevu değişikliğiyle aynı transaction içinde yazılır (transaction yoksa hata verir);
+ * böylece randevu commit edilirse olay da kaydedilmiş olur, geri alınırsa olay da kalmaz.
+ * İstek mesajlaşmayı beklemez: olaylar OutboxRelay tarafından arka planda iletilir.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class AppointmentOutbox {
+
+    private final AppointmentOutboxRepository outboxRepository;
+    private final Clock clock;
+
+    @Autowired
+    public AppointmentOutbox(AppointmentOutboxRepository outboxRepository) {
+        this(outboxRepository, Clock.systemDefaultZone());
+    }
+
+    AppointmentOutbox(AppointmentOutboxRepository outboxRepository, Clock clock) {
+        this.outboxRepository = outboxRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Kaydedilmiş randevu için olay yazma
+     */
+    public void record(Appointment appointment, AppointmentOutboxEvent.EventType type) {
+        outboxRepository.save(newEvent(type, appointment.getTenant().getId(), appointment.getId(),
+                appointment.getStartTime()));
+    }
+
+    /**
+     * Birden fazla randevu için aynı tipte olay yazma (paket randevu)
+     */
+    public void recordAll(Collection<Appointment> appointments, AppointmentOutboxEvent.EventType type) {
+        List<AppointmentOutboxEvent> events = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            events.add(newEvent(type, appointment.getTenant().getId(), appointment.getId(), appointment.getStartTime()));
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    /**
+     * Saati değişen randevu için olay yazma
+     */
+    public void recordRescheduled(Appointment appointment, LocalDateTime previousStartTime) {
+        AppointmentOutboxEvent event = newEvent(AppointmentOutboxEvent.EventType.RESCHEDULED,
+                appointment.getTenant().getId(), appointment.getId(), appointment.getStartTime());
+        event.setPreviousStartTime(previousStartTime);
+        outboxRepository.save(event);
+    }
+
+    /**
+     * Toplu durum değişikliğinde güncellenen randevular için olay yazma (entity yüklemeden)
+     */
+    public void recordSnapshots(Collection<AppointmentStatusSnapshot> snapshots, AppointmentOutboxEvent.EventType type) {
+        List<AppointmentOutboxEvent> events = new ArrayList<>(snapshots.size());
+        for (AppointmentStatusSnapshot snapshot : snapshots) {
+            events.add(newEvent(type, snapshot.getTenantId(), snapshot.getId(), snapshot.getStartTime()));
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    private AppointmentOutboxEvent newEvent(AppointmentOutboxEvent.EventType type, Long tenantId, Long appointmentId,
+                                            LocalDateTime startTime) {
+        return new AppointmentOutboxEvent(type, tenantId, appointmentId, startTime, LocalDateTime.now(clock));
+    }
+}
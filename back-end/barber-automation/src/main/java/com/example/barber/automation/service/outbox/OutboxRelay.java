@@ -0,0 +1,180 @@
+package com.example.barber.automation.service.outbox;
+
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
+import com.example.barber.automation.repository.AppointmentOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox'taki randevu olaylarını uygulama içi abonelere ileten arka plan görevi
+ *
+ * Her turda hazır kayıtlar partiler halinde alınır:
+ * 1. Alma (kısa transaction): satırlar kilitlenerek okunur (diğer örneklerin kilitledikleri atlanır),
+ *    deneme sayısı artırılır ve kiralama süresi boyunca tekrar alınmamak üzere ertelenir.
+ * 2. İletim (olay başına transaction): olay tüm abonelere iletilir ve aynı transaction içinde
+ *    iletildi olarak işaretlenir. Abonelerin veritabanı yazımları işaretle birlikte commit edilir.
+ * 3. Hata: transaction geri alınır, olay artan bekleme süresiyle yeniden kuyruğa girer; deneme
+ *    sınırı aşılırsa FAILED olarak bırakılır.
+ *
+ * Örnek iletim sırasında kapanırsa kiralama süresi dolunca olay yeniden alınır (en az bir kez iletim).
+ * Olaylar ID sırasıyla alınır; tekrar denenen bir olay sonraki olaylardan sonra iletilebilir.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Tekrar denemeler arası bekleme: 5 sn'den başlayıp her denemede ikiye katlanır, en fazla 1 saat
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final AppointmentOutboxRepository outboxRepository;
+    private final List<AppointmentEventSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public OutboxRelay(AppointmentOutboxRepository outboxRepository,
+                       List<AppointmentEventSubscriber> subscribers,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.lease-seconds:60}") long leaseSeconds,
+                       @Value("${outbox.retention-days:7}") int retentionDays) {
+        this(outboxRepository, subscribers, transactionManager, batchSize, maxAttempts, leaseSeconds, retentionDays,
+                Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(AppointmentOutboxRepository outboxRepository, List<AppointmentEventSubscriber> subscribers,
+                PlatformTransactionManager transactionManager, int batchSize, int maxAttempts, long leaseSeconds,
+                int retentionDays, Clock clock) {
+        if (batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Outbox parti boyutu ve deneme sınırı en az 1 olmalı");
+        }
+        this.outboxRepository = outboxRepository;
+        this.subscribers = List.copyOf(subscribers);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        this.clock = clock;
+    }
+
+    /**
+     * Hazır olayları kuyruk boşalana kadar partiler halinde iletme
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        int claimed;
+        do {
+            claimed = relayBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Tek parti: en fazla batchSize olay alınır ve iletilir
+     *
+     * @return alınan olay sayısı
+     */
+    int relayBatch() {
+        List<AppointmentEvent> events = transactionTemplate.execute(status -> claim());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        int published = 0;
+        for (AppointmentEvent event : events) {
+            if (deliver(event)) {
+                published++;
+            }
+        }
+        logger.debug("Outbox partisi iletildi - Alınan: {}, Başarılı: {}", events.size(), published);
+        return events.size();
+    }
+
+    /**
+     * İletilmiş eski kayıtları temizleme - Her gün saat 03:30'da
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgePublished() {
+        LocalDateTime cutoff = now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("İletilmiş outbox kayıtları temizlendi - Silinen sayı: {}", deleted);
+        }
+    }
+
+    private List<AppointmentEvent> claim() {
+        LocalDateTime now = now();
+        List<AppointmentOutboxEvent> rows = outboxRepository.findReadyForRelay(now, Limit.of(batchSize));
+        List<AppointmentEvent> events = new ArrayList<>(rows.size());
+        for (AppointmentOutboxEvent row : rows) {
+            row.setAttempts(row.getAttempts() + 1);
+            row.setAvailableAt(now.plus(lease));
+            events.add(AppointmentEvent.from(row));
+        }
+        return events;
+    }
+
+    private boolean deliver(AppointmentEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (AppointmentEventSubscriber subscriber : subscribers) {
+                    subscriber.onEvent(event);
+                }
+                outboxRepository.findById(event.getId()).ifPresent(row -> row.markPublished(now()));
+            });
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Outbox olayı iletilemedi - {}: {}", event, e.getMessage(), e);
+            recordFailure(event, e);
+            return false;
+        }
+    }
+
+    private void recordFailure(AppointmentEvent event, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(event.getId())
+                    .ifPresent(row -> {
+                        row.markFailed(String.valueOf(cause.getMessage()), now().plus(backoff(row.getAttempts())),
+                                maxAttempts);
+                        if (row.getStatus() == AppointmentOutboxEvent.Status.FAILED) {
+                            logger.error("Outbox olayı deneme sınırını aştı - {}", row);
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            // Kayıt güncellenemezse kiralama süresi dolunca olay yeniden alınır
+            logger.error("Outbox hata kaydı yazılamadı - {}", event, e);
+        }
+    }
+
+    static Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << shift);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.barber.automation.service.pagination;
+
+import com.example.barber.automation.dto.CursorPage;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset sayfalama imleci: sayfanın son satırının (sıralama zamanı, id) çifti
+ * 
+ * Sonraki sayfa "bu çiftten sonra gelenler" olarak, indeks üzerinden OFFSET olmadan okunur;
+ * derin sayfalar ilk sayfa kadar ucuzdur. İstemciye opak bir token olarak verilir.
+ */
+public final class KeysetCursor {
+    
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    
+    private static final String SEPARATOR = "|";
+    
+    private final LocalDateTime position;
+    private final Long id;
+    
+    public KeysetCursor(LocalDateTime position, Long id) {
+        if (position == null || id == null) {
+            throw new IllegalArgumentException("İmleç zamanı ve ID'si boş olamaz");
+        }
+        this.position = position;
+        this.id = id;
+    }
+    
+    public LocalDateTime getPosition() {
+        return position;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * İmleci opak token'a çevirme
+     */
+    public String encode() {
+        String raw = position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Token'ı çözme; token yoksa (ilk sayfa) null
+     * 
+     * @throws IllegalArgumentException token bozuksa
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Geçersiz sayfa imleci");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException da IllegalArgumentException'dır
+            throw new IllegalArgumentException("Geçersiz sayfa imleci", e);
+        }
+    }
+    
+    /**
+     * İstenen sayfa boyutunu doğrulama (boşsa varsayılan, üst sınırı aşarsa üst sınır)
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Sayfa boyutu en az 1 olmalı: " + limit);
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+    
+    /**
+     * Sorgu limiti: sonraki sayfanın varlığını anlamak için bir fazla satır okunur
+     */
+    public static Limit probeLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+    
+    /**
+     * limit + 1 satırla okunan sonuçtan sayfa oluşturma
+     */
+    public static <T> CursorPage<T> toPage(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, limit);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)).encode(), limit);
+    }
+}
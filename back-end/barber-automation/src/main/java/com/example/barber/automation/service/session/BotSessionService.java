@@ -1,5 +1,6 @@
 package com.example.barber.automation.service.session;
 
+import com.example.barber.automation.dto.AvailabilitySearchResponse;
 import com.example.barber.automation.dto.TenantDto;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +32,7 @@ public class BotSessionService {
         private Long selectedTenantId;
         private String selectedLocation;
         private List<TenantDto> availableBarbers = new ArrayList<>();
+        private List<AvailabilitySearchResponse.Option> availableOptions = new ArrayList<>();
         private LocalDate selectedDate;
         private LocalDateTime selectedTime;
         private List<Long> selectedServiceIds = new ArrayList<>();
@@ -56,6 +58,8 @@ public class BotSessionService {
         public void setSelectedLocation(String selectedLocation) { this.selectedLocation = selectedLocation; }
         public List<TenantDto> getAvailableBarbers() { return availableBarbers; }
         public void setAvailableBarbers(List<TenantDto> availableBarbers) { this.availableBarbers = availableBarbers; }
+        public List<AvailabilitySearchResponse.Option> getAvailableOptions() { return availableOptions; }
+        public void setAvailableOptions(List<AvailabilitySearchResponse.Option> availableOptions) { this.availableOptions = availableOptions; }
         public String getPhoneNumber() { return phoneNumber; }
         public Long getTenantId() { return tenantId; }
         public LocalDate getSelectedDate() { return selectedDate; }
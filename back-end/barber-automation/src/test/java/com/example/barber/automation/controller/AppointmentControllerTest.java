@@ -1,11 +1,17 @@
 package com.example.barber.automation.controller;
 
 import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.BulkStatusTransitionRequest;
+import com.example.barber.automation.dto.BulkStatusTransitionResponse;
 import com.example.barber.automation.dto.CreateAppointmentRequest;
+import com.example.barber.automation.dto.CreateBundleAppointmentRequest;
+import com.example.barber.automation.dto.CursorPage;
 import com.example.barber.automation.dto.CustomerDto;
 import com.example.barber.automation.dto.ServiceDto;
 import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.security.JwtUtil;
 import com.example.barber.automation.service.AppointmentService;
+import com.example.barber.automation.service.idempotency.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -47,6 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * GET /tenants/{tenantId}/appointments - Randevu listesi
  * POST /tenants/{tenantId}/appointments - Yeni randevu oluşturma
  * PUT /tenants/{tenantId}/appointments/{id}/confirm - Randevu onaylama
+ * POST /tenants/{tenantId}/appointments/bulk-status - Toplu durum değişikliği
  * PUT /tenants/{tenantId}/appointments/{id}/cancel - Randevu iptal etme
  * GET /tenants/{tenantId}/appointments/today - Bugünkü randevular
  * GET /tenants/{tenantId}/appointments/stats - Randevu istatistikleri
@@ -66,6 +74,12 @@ class AppointmentControllerTest {
     @MockBean
     private AppointmentService appointmentService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
     // Test data
     private AppointmentDto appointmentDto;
     private CreateAppointmentRequest createRequest;
@@ -123,7 +137,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].status", is("PENDING")))
@@ -156,7 +170,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.notes", is("Test randevu notu")));
 
@@ -191,7 +205,7 @@ class AppointmentControllerTest {
                         .content(objectMapper.writeValueAsString(createRequest)))
                 .andDo(print())
                 .andExpect(status().isCreated())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.status", is("PENDING")));
 
@@ -234,29 +248,73 @@ class AppointmentControllerTest {
         verify(appointmentService).createAppointment(any(CreateAppointmentRequest.class), eq(TENANT_ID));
     }
 
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/bundle - Paket randevu oluşturma - Başarılı")
+    void createBundleAppointment_WithValidData_ShouldReturn201() throws Exception {
+        // Given: Service'den paketin iki randevusu döner
+        AppointmentDto beardAppointment = new AppointmentDto();
+        beardAppointment.setId(2L);
+        beardAppointment.setStartTime(appointmentDto.getEndTime());
+        beardAppointment.setEndTime(appointmentDto.getEndTime().plusMinutes(30));
+        beardAppointment.setStatus(Appointment.AppointmentStatus.PENDING);
+        when(appointmentService.createBundleAppointment(any(CreateBundleAppointmentRequest.class), eq(TENANT_ID)))
+                .thenReturn(Arrays.asList(appointmentDto, beardAppointment));
+
+        CreateBundleAppointmentRequest bundleRequest = new CreateBundleAppointmentRequest(
+                1L, Arrays.asList(1L, 2L), appointmentDto.getStartTime());
+
+        // When & Then: POST request
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/bundle", TENANT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bundleRequest)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(2)));
+
+        verify(appointmentService).createBundleAppointment(any(CreateBundleAppointmentRequest.class), eq(TENANT_ID));
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/bundle - Hizmet listesi boşsa 400")
+    void createBundleAppointment_WithoutServices_ShouldReturn400() throws Exception {
+        // Given: Hizmet listesi boş
+        CreateBundleAppointmentRequest bundleRequest = new CreateBundleAppointmentRequest(
+                1L, List.of(), appointmentDto.getStartTime());
+
+        // When & Then: Validation hatası
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/bundle", TENANT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bundleRequest)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentService, never()).createBundleAppointment(any(CreateBundleAppointmentRequest.class), anyLong());
+    }
+
     @Test
     @DisplayName("POST /tenants/{tenantId}/appointments/{id}/confirm - Randevu onaylama - Başarılı")
     void confirmAppointment_WhenPending_ShouldReturn200() throws Exception {
         // Given: Service'den onaylanmış randevu döner
         appointmentDto.setStatus(Appointment.AppointmentStatus.CONFIRMED);
-        when(appointmentService.confirmAppointment(1L, TENANT_ID)).thenReturn(appointmentDto);
+        when(appointmentService.confirmAppointment(1L, TENANT_ID, null)).thenReturn(appointmentDto);
 
         // When & Then: POST request
         mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/confirm", TENANT_ID, 1L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status", is("CONFIRMED")));
 
-        verify(appointmentService).confirmAppointment(1L, TENANT_ID);
+        verify(appointmentService).confirmAppointment(1L, TENANT_ID, null);
     }
 
     @Test
     @DisplayName("POST /tenants/{tenantId}/appointments/{id}/confirm - Pending olmayan randevu için 400")
     void confirmAppointment_WhenNotPending_ShouldReturn400() throws Exception {
         // Given: Service'den geçersiz durum hatası
-        when(appointmentService.confirmAppointment(1L, TENANT_ID))
+        when(appointmentService.confirmAppointment(1L, TENANT_ID, null))
                 .thenThrow(new IllegalArgumentException("Sadece beklemedeki randevular onaylanabilir"));
 
         // When & Then: POST request
@@ -265,7 +323,104 @@ class AppointmentControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
 
-        verify(appointmentService).confirmAppointment(1L, TENANT_ID);
+        verify(appointmentService).confirmAppointment(1L, TENANT_ID, null);
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/{id}/confirm - Eşzamanlı değişiklikte 409")
+    void confirmAppointment_WhenConcurrentlyModified_ShouldReturn409() throws Exception {
+        // Given: Randevu aynı anda başka bir işlemle güncellendi
+        when(appointmentService.confirmAppointment(1L, TENANT_ID, null))
+                .thenThrow(new OptimisticLockingFailureException("Randevu başka bir işlemle güncellendi"));
+
+        // When & Then: POST request
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/confirm", TENANT_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/{id}/confirm - If-Match sürümü servise iletilir, eski sürümde 409")
+    void confirmAppointment_WithStaleIfMatch_ShouldReturn409() throws Exception {
+        // Given: Panelin gördüğü sürüm 3, randevu bu arada değişti
+        when(appointmentService.confirmAppointment(1L, TENANT_ID, 3L))
+                .thenThrow(new OptimisticLockingFailureException("Randevu başka bir işlemle güncellendi"));
+
+        // When & Then: If-Match ile POST request
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/confirm", TENANT_ID, 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isConflict());
+
+        verify(appointmentService).confirmAppointment(1L, TENANT_ID, 3L);
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/{id}/complete - version parametresi iletilir, yanıt yeni sürümü ETag ile döner")
+    void completeAppointment_WithVersionParam_ShouldReturnNewVersionAsETag() throws Exception {
+        // Given: Sürüm 3 ile tamamlanan randevu sürüm 4 olur
+        appointmentDto.setStatus(Appointment.AppointmentStatus.COMPLETED);
+        appointmentDto.setVersion(4L);
+        when(appointmentService.completeAppointment(1L, TENANT_ID, 3L)).thenReturn(appointmentDto);
+
+        // When & Then: version parametresiyle POST request
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/complete", TENANT_ID, 1L)
+                        .param("version", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/{id}/cancel - Geçersiz If-Match için 400")
+    void cancelAppointment_WithInvalidIfMatch_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/cancel", TENANT_ID, 1L)
+                        .header("If-Match", "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentService, never()).cancelAppointment(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/bulk-status - Güncellenen ve çakışan randevular döner")
+    void transitionStatuses_ShouldReturnUpdatedAndConflicts() throws Exception {
+        // Given: Biri güncellenir, biri sürüm çakışması
+        BulkStatusTransitionRequest request = new BulkStatusTransitionRequest(Appointment.AppointmentStatus.COMPLETED,
+                List.of(new BulkStatusTransitionRequest.Item(1L, 0L), new BulkStatusTransitionRequest.Item(2L, 0L)));
+        BulkStatusTransitionResponse response = new BulkStatusTransitionResponse(List.of(1L), List.of(
+                new BulkStatusTransitionResponse.Conflict(2L, BulkStatusTransitionResponse.ConflictReason.VERSION_MISMATCH,
+                        Appointment.AppointmentStatus.CONFIRMED, 1L)));
+        when(appointmentService.transitionStatuses(eq(TENANT_ID), any(BulkStatusTransitionRequest.class)))
+                .thenReturn(response);
+
+        // When & Then: POST request
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/bulk-status", TENANT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedIds", contains(1)))
+                .andExpect(jsonPath("$.conflicts[0].id", is(2)))
+                .andExpect(jsonPath("$.conflicts[0].reason", is("VERSION_MISMATCH")))
+                .andExpect(jsonPath("$.conflicts[0].currentVersion", is(1)));
+    }
+
+    @Test
+    @DisplayName("POST /tenants/{tenantId}/appointments/bulk-status - Hedef durum yoksa 400")
+    void transitionStatuses_WithoutTargetStatus_ShouldReturn400() throws Exception {
+        // When & Then: Hedef durum olmadan POST request
+        mockMvc.perform(post("/tenants/{tenantId}/appointments/bulk-status", TENANT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"date\":\"2025-01-15\"}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentService, never()).transitionStatuses(anyLong(), any());
     }
 
     @Test
@@ -273,7 +428,7 @@ class AppointmentControllerTest {
     void cancelAppointment_WithReason_ShouldReturn200() throws Exception {
         // Given: Service'den iptal edilmiş randevu döner
         appointmentDto.setStatus(Appointment.AppointmentStatus.CANCELLED);
-        when(appointmentService.cancelAppointment(eq(1L), eq(TENANT_ID), anyString())).thenReturn(appointmentDto);
+        when(appointmentService.cancelAppointment(eq(1L), eq(TENANT_ID), anyString(), isNull())).thenReturn(appointmentDto);
 
         Map<String, String> cancelRequest = new HashMap<>();
         cancelRequest.put("reason", "Müşteri iptal etti");
@@ -286,7 +441,7 @@ class AppointmentControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(appointmentService).cancelAppointment(eq(1L), eq(TENANT_ID), eq("Müşteri iptal etti"));
+        verify(appointmentService).cancelAppointment(eq(1L), eq(TENANT_ID), eq("Müşteri iptal etti"), isNull());
     }
 
     @Test
@@ -294,7 +449,7 @@ class AppointmentControllerTest {
     void completeAppointment_WhenActive_ShouldReturn200() throws Exception {
         // Given: Service'den tamamlanmış randevu döner
         appointmentDto.setStatus(Appointment.AppointmentStatus.COMPLETED);
-        when(appointmentService.completeAppointment(1L, TENANT_ID)).thenReturn(appointmentDto);
+        when(appointmentService.completeAppointment(1L, TENANT_ID, null)).thenReturn(appointmentDto);
 
         // When & Then: PUT request
         mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/complete", TENANT_ID, 1L)
@@ -302,10 +457,10 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status", is("COMPLETED")));
 
-        verify(appointmentService).completeAppointment(1L, TENANT_ID);
+        verify(appointmentService).completeAppointment(1L, TENANT_ID, null);
     }
 
     @Test
@@ -321,7 +476,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)));
 
         verify(appointmentService).findTodayAppointments(TENANT_ID);
@@ -340,7 +495,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)));
 
         verify(appointmentService).findUpcomingAppointments(TENANT_ID);
@@ -364,7 +519,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.pending", is(5)))
                 .andExpect(jsonPath("$.confirmed", is(10)))
                 .andExpect(jsonPath("$.completed", is(20)))
@@ -386,7 +541,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].customer.id", is(1)));
 
@@ -412,7 +567,7 @@ class AppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)));
 
         verify(appointmentService).findByDateRange(eq(TENANT_ID), any(LocalDateTime.class), any(LocalDateTime.class));
@@ -433,11 +588,47 @@ class AppointmentControllerTest {
         verify(appointmentService, never()).findByDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
+    @Test
+    @DisplayName("GET /tenants/{tenantId}/appointments/page - Sayfa ve sonraki sayfa imleci döner")
+    void getAppointmentPageByDateRange_ShouldReturnPageWithCursor() throws Exception {
+        // Given: Service'den dolu bir sayfa döner
+        when(appointmentService.findPageByDateRange(eq(TENANT_ID), any(LocalDateTime.class), any(LocalDateTime.class), eq("abc"), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(appointmentDto), "next-token", 1));
+
+        // When & Then: GET request with cursor
+        mockMvc.perform(get("/tenants/{tenantId}/appointments/page", TENANT_ID)
+                        .param("startDate", "2024-12-01T00:00:00")
+                        .param("endDate", "2024-12-31T23:59:59")
+                        .param("cursor", "abc")
+                        .param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next-token")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    @DisplayName("GET /tenants/{tenantId}/appointments/page - Bozuk imleçte 400")
+    void getAppointmentPageByDateRange_WithInvalidCursor_ShouldReturn400() throws Exception {
+        // Given: Service imleci çözemez
+        when(appointmentService.findPageByDateRange(eq(TENANT_ID), any(LocalDateTime.class), any(LocalDateTime.class), eq("bozuk"), any()))
+                .thenThrow(new IllegalArgumentException("Geçersiz sayfa imleci"));
+
+        // When & Then: GET request
+        mockMvc.perform(get("/tenants/{tenantId}/appointments/page", TENANT_ID)
+                        .param("startDate", "2024-12-01T00:00:00")
+                        .param("endDate", "2024-12-31T23:59:59")
+                        .param("cursor", "bozuk"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PUT /tenants/{tenantId}/appointments/{id} - Randevu güncelleme - Başarılı")
     void updateAppointment_WithValidData_ShouldReturn200() throws Exception {
         // Given: Service'den güncellenmiş randevu döner
-        when(appointmentService.updateAppointment(eq(1L), any(CreateAppointmentRequest.class), eq(TENANT_ID)))
+        when(appointmentService.updateAppointment(eq(1L), any(CreateAppointmentRequest.class), eq(TENANT_ID), isNull()))
                 .thenReturn(appointmentDto);
 
         // When & Then: PUT request
@@ -447,10 +638,10 @@ class AppointmentControllerTest {
                         .content(objectMapper.writeValueAsString(createRequest)))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)));
 
-        verify(appointmentService).updateAppointment(eq(1L), any(CreateAppointmentRequest.class), eq(TENANT_ID));
+        verify(appointmentService).updateAppointment(eq(1L), any(CreateAppointmentRequest.class), eq(TENANT_ID), isNull());
     }
 
     @Test
@@ -5,7 +5,9 @@ import com.example.barber.automation.dto.CreateAppointmentRequest;
 import com.example.barber.automation.dto.CustomerDto;
 import com.example.barber.automation.dto.ServiceDto;
 import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.security.JwtUtil;
 import com.example.barber.automation.service.AppointmentService;
+import com.example.barber.automation.service.idempotency.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -54,6 +56,12 @@ class SimpleAppointmentControllerTest {
     @MockBean
     private AppointmentService appointmentService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
     // Test data
     private AppointmentDto appointmentDto;
     private CreateAppointmentRequest createRequest;
@@ -110,7 +118,7 @@ class SimpleAppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].status", is("PENDING")))
@@ -131,7 +139,7 @@ class SimpleAppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.notes", is("Test randevu notu")));
 
@@ -166,7 +174,7 @@ class SimpleAppointmentControllerTest {
                         .content(objectMapper.writeValueAsString(createRequest)))
                 .andDo(print())
                 .andExpect(status().isCreated())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.status", is("PENDING")));
 
@@ -178,17 +186,17 @@ class SimpleAppointmentControllerTest {
     void confirmAppointment_WhenPending_ShouldReturn200() throws Exception {
         // Given: Service'den onaylanmış randevu döner
         appointmentDto.setStatus(Appointment.AppointmentStatus.CONFIRMED);
-        when(appointmentService.confirmAppointment(1L, TENANT_ID)).thenReturn(appointmentDto);
+        when(appointmentService.confirmAppointment(1L, TENANT_ID, null)).thenReturn(appointmentDto);
 
         // When & Then: PUT request
         mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/confirm", TENANT_ID, 1L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status", is("CONFIRMED")));
 
-        verify(appointmentService).confirmAppointment(1L, TENANT_ID);
+        verify(appointmentService).confirmAppointment(1L, TENANT_ID, null);
     }
 
     @Test
@@ -196,7 +204,7 @@ class SimpleAppointmentControllerTest {
     void cancelAppointment_WithReason_ShouldReturn200() throws Exception {
         // Given: Service'den iptal edilmiş randevu döner
         appointmentDto.setStatus(Appointment.AppointmentStatus.CANCELLED);
-        when(appointmentService.cancelAppointment(eq(1L), eq(TENANT_ID), anyString())).thenReturn(appointmentDto);
+        when(appointmentService.cancelAppointment(eq(1L), eq(TENANT_ID), anyString(), isNull())).thenReturn(appointmentDto);
 
         Map<String, String> cancelRequest = new HashMap<>();
         cancelRequest.put("reason", "Müşteri iptal etti");
@@ -208,7 +216,7 @@ class SimpleAppointmentControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(appointmentService).cancelAppointment(eq(1L), eq(TENANT_ID), eq("Müşteri iptal etti"));
+        verify(appointmentService).cancelAppointment(eq(1L), eq(TENANT_ID), eq("Müşteri iptal etti"), isNull());
     }
 
     @Test
@@ -216,17 +224,17 @@ class SimpleAppointmentControllerTest {
     void completeAppointment_WhenActive_ShouldReturn200() throws Exception {
         // Given: Service'den tamamlanmış randevu döner
         appointmentDto.setStatus(Appointment.AppointmentStatus.COMPLETED);
-        when(appointmentService.completeAppointment(1L, TENANT_ID)).thenReturn(appointmentDto);
+        when(appointmentService.completeAppointment(1L, TENANT_ID, null)).thenReturn(appointmentDto);
 
         // When & Then: PUT request
         mockMvc.perform(post("/tenants/{tenantId}/appointments/{id}/complete", TENANT_ID, 1L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status", is("COMPLETED")));
 
-        verify(appointmentService).completeAppointment(1L, TENANT_ID);
+        verify(appointmentService).completeAppointment(1L, TENANT_ID, null);
     }
 
     @Test
@@ -241,7 +249,7 @@ class SimpleAppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)));
 
         verify(appointmentService).findTodayAppointments(TENANT_ID);
@@ -264,7 +272,7 @@ class SimpleAppointmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.pending", is(5)))
                 .andExpect(jsonPath("$.confirmed", is(10)))
                 .andExpect(jsonPath("$.completed", is(20)))
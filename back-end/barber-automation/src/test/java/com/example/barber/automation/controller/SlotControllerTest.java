@@ -1,6 +1,7 @@
 package com.example.barber.automation.controller;
 
 import com.example.barber.automation.dto.SlotResponse;
+import com.example.barber.automation.security.JwtUtil;
 import com.example.barber.automation.service.SlotService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -49,6 +51,9 @@ class SlotControllerTest {
     @MockBean
     private SlotService slotService;
 
+    @MockBean
+    private JwtUtil jwtUtil;
+
     // Test data
     private SlotResponse slotResponse;
     private static final Long TENANT_ID = 1L;
@@ -84,7 +89,7 @@ class SlotControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.date", notNullValue()))
                 .andExpect(jsonPath("$.availableSlots", hasSize(3)))
                 .andExpect(jsonPath("$.availableSlots[0].available", is(true)));
@@ -153,13 +158,134 @@ class SlotControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].availableSlots", hasSize(3)));
 
         verify(slotService).getAvailableSlotsForWeek(TENANT_ID, SERVICE_ID);
     }
 
+    @Test
+    @DisplayName("GET /slots/range - Tarih aralığı müsait slotlar")
+    void getRangeAvailableSlots_ShouldReturnDailySlots() throws Exception {
+        // Given: Service'den iki günlük slot listesi döner
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(1);
+        when(slotService.getAvailableSlotsForRange(TENANT_ID, SERVICE_ID, from, to))
+                .thenReturn(Arrays.asList(slotResponse, slotResponse));
+
+        // When & Then: GET request
+        mockMvc.perform(get("/tenants/{tenantId}/slots/range", TENANT_ID)
+                        .param("serviceId", SERVICE_ID.toString())
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].availableSlots", hasSize(3)));
+
+        verify(slotService).getAvailableSlotsForRange(TENANT_ID, SERVICE_ID, from, to);
+    }
+
+    @Test
+    @DisplayName("GET /slots/range - Geçersiz aralık için 400")
+    void getRangeAvailableSlots_WithTooLongRange_ShouldReturn400() throws Exception {
+        // Given: Service aralığı reddeder
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(90);
+        when(slotService.getAvailableSlotsForRange(TENANT_ID, SERVICE_ID, from, to))
+                .thenThrow(new IllegalArgumentException("Tarih aralığı en fazla 60 gün olabilir"));
+
+        // When & Then: GET request
+        mockMvc.perform(get("/tenants/{tenantId}/slots/range", TENANT_ID)
+                        .param("serviceId", SERVICE_ID.toString())
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /slots/check/batch - Toplu kontrol sonuçları istek sırasıyla döner")
+    void checkSlotsAvailability_ShouldReturnResultsInRequestOrder() throws Exception {
+        // Given: İki aday saat, ikincisi dolu
+        LocalDateTime first = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime second = first.plusHours(1);
+        when(slotService.checkSlots(eq(TENANT_ID), anyList()))
+                .thenReturn(Arrays.asList(true, false));
+
+        String body = """
+                {"checks": [
+                    {"serviceId": 1, "startTime": "%s"},
+                    {"serviceIds": [1, 2], "startTime": "%s"}
+                ]}
+                """.formatted(first, second);
+
+        // When & Then: POST request
+        mockMvc.perform(post("/tenants/{tenantId}/slots/check/batch", TENANT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].available", is(true)))
+                .andExpect(jsonPath("$[1].available", is(false)));
+    }
+
+    @Test
+    @DisplayName("POST /slots/check/batch - Geçersiz istek için 400")
+    void checkSlotsAvailability_WithInvalidRequest_ShouldReturn400() throws Exception {
+        // Given: Service isteği reddeder (ör. boş liste)
+        when(slotService.checkSlots(eq(TENANT_ID), any()))
+                .thenThrow(new IllegalArgumentException("En az bir kontrol gönderilmeli"));
+
+        // When & Then: POST request
+        mockMvc.perform(post("/tenants/{tenantId}/slots/check/batch", TENANT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"checks\": []}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /slots/earliest - En yakın müsait slotlar")
+    void findEarliestSlots_ShouldReturnSlots() throws Exception {
+        // Given: Service'den en yakın slotlar döner
+        LocalDateTime from = LocalDateTime.now().withSecond(0).withNano(0);
+        when(slotService.findEarliestSlots(TENANT_ID, Arrays.asList(1L, 2L), from, 2))
+                .thenReturn(slotResponse.getAvailableSlots().subList(0, 2));
+
+        // When & Then: GET request
+        mockMvc.perform(get("/tenants/{tenantId}/slots/earliest", TENANT_ID)
+                        .param("serviceIds", "1,2")
+                        .param("from", from.toString())
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        verify(slotService).findEarliestSlots(TENANT_ID, Arrays.asList(1L, 2L), from, 2);
+    }
+
+    @Test
+    @DisplayName("GET /slots/earliest - Geçersiz limit için 400")
+    void findEarliestSlots_WithInvalidLimit_ShouldReturn400() throws Exception {
+        // Given: Service limiti reddeder
+        when(slotService.findEarliestSlots(eq(TENANT_ID), eq(Arrays.asList(SERVICE_ID)), isNull(), eq(500)))
+                .thenThrow(new IllegalArgumentException("Limit 1 ile 50 arasında olmalı: 500"));
+
+        // When & Then: GET request
+        mockMvc.perform(get("/tenants/{tenantId}/slots/earliest", TENANT_ID)
+                        .param("serviceIds", SERVICE_ID.toString())
+                        .param("limit", "500")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /slots/check - Slot müsaitlik kontrolü - Müsait")
     void checkSlotAvailability_WhenAvailable_ShouldReturnTrue() throws Exception {
@@ -180,7 +306,7 @@ class SlotControllerTest {
                         .content(objectMapper.writeValueAsString(checkRequest)))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.available", is(true)))
                 .andExpect(jsonPath("$.startTime", notNullValue()));
 
@@ -207,7 +333,7 @@ class SlotControllerTest {
                         .content(objectMapper.writeValueAsString(checkRequest)))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.available", is(false)));
 
         verify(slotService).isSlotAvailable(TENANT_ID, SERVICE_ID, appointmentTime);
@@ -230,7 +356,7 @@ class SlotControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().contentType("text/plain"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
                 .andExpect(content().string(containsString("sait Saatler")))
                 .andExpect(content().string(containsString("09:00")));
 
@@ -1,19 +1,30 @@
 package com.example.barber.automation.repository;
 
 import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.AppointmentStatusSnapshot;
+import com.example.barber.automation.dto.AppointmentTimeRange;
 import com.example.barber.automation.entity.*;
 import com.example.barber.automation.entity.Service;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -330,4 +341,146 @@ class AppointmentRepositoryIntegrationTest {
             assertThat(appointment.getTenant().getId()).isEqualTo(testData.tenant1.getId());
         }
     }
+    
+    @Test
+    @DisplayName("Zaman aralığı projection'ı - İptal hariç, tenant bazlı, başlangıca göre sıralı")
+    void findActiveTimeRanges_ShouldReturnSortedRangesWithoutCancelled() {
+        // Given: Bugün 14:00 randevusu iptal edilir
+        Appointment cancelled = appointmentRepository.findById(appointment2Tenant1.getId()).orElseThrow();
+        cancelled.setStatus(Appointment.AppointmentStatus.CANCELLED);
+        appointmentRepository.saveAndFlush(cancelled);
+        
+        LocalDateTime from = LocalDateTime.now().minusDays(1).toLocalDate().atStartOfDay();
+        LocalDateTime to = LocalDateTime.now().plusDays(2).toLocalDate().atStartOfDay();
+        
+        // When: Dün-yarın aralığı sorgulanır
+        List<AppointmentTimeRange> ranges = appointmentRepository.findActiveTimeRanges(testData.tenant1.getId(), from, to);
+        
+        // Then: Dün, bugün 10:00 ve yarın; iptal ve diğer tenant hariç
+        assertThat(ranges)
+                .extracting(AppointmentTimeRange::getStartTime)
+                .containsExactly(appointmentYesterday.getStartTime(),
+                        appointment1Tenant1.getStartTime(),
+                        appointmentTomorrow.getStartTime());
+        assertThat(ranges.get(1).getEndTime()).isEqualTo(appointment1Tenant1.getEndTime());
+    }
+    
+    @Test
+    @DisplayName("Durum özeti - Tarih aralığı ve duruma göre, tenant bazlı, başlangıca göre sıralı")
+    void findStatusSnapshotsByDateRange_ShouldFilterByTenantAndStatus() {
+        LocalDateTime startOfToday = LocalDateTime.now().toLocalDate().atStartOfDay();
+        
+        // When: Bugünün beklemedeki/onaylı randevuları sorgulanır
+        List<AppointmentStatusSnapshot> snapshots = appointmentRepository.findStatusSnapshotsByDateRange(
+                testData.tenant1.getId(), startOfToday, startOfToday.plusDays(1),
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED));
+        
+        // Then: Sadece tenant 1'in bugünkü randevuları, sürümleriyle
+        assertThat(snapshots)
+                .extracting(AppointmentStatusSnapshot::getId)
+                .containsExactly(appointment1Tenant1.getId(), appointment2Tenant1.getId());
+        assertThat(snapshots).extracting(AppointmentStatusSnapshot::getVersion).containsOnly(0L);
+    }
+    
+    @Test
+    @DisplayName("Sürüm kontrollü toplu güncelleme - Sürümü veya durumu uymayan satırlar atlanır")
+    void updateStatusIfVersionMatches_ShouldSkipStaleRows() {
+        // Given: Bugünkü 14:00 randevusu arada panelden onaylanır (sürüm 0 → 1)
+        Appointment concurrentlyChanged = appointmentRepository.findById(appointment2Tenant1.getId()).orElseThrow();
+        concurrentlyChanged.setStatus(Appointment.AppointmentStatus.CONFIRMED);
+        appointmentRepository.saveAndFlush(concurrentlyChanged);
+        entityManager.clear();
+        
+        Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+        expectedVersions.put(appointment1Tenant1.getId(), 0L);
+        expectedVersions.put(appointment2Tenant1.getId(), 0L);    // eski sürüm
+        expectedVersions.put(appointmentYesterday.getId(), 0L);   // COMPLETED, geçişe uygun değil
+        
+        // When: Hepsi sürüm 0 beklenerek tamamlanır
+        Set<Long> updated = appointmentRepository.updateStatusIfVersionMatches(expectedVersions,
+                Appointment.AppointmentStatus.COMPLETED,
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED));
+        
+        // Then: Sadece sürümü ve durumu uyan randevu güncellenir, sürümü artar
+        assertThat(updated).containsExactly(appointment1Tenant1.getId());
+        
+        Appointment completed = appointmentRepository.findById(appointment1Tenant1.getId()).orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(Appointment.AppointmentStatus.COMPLETED);
+        assertThat(completed.getVersion()).isEqualTo(1L);
+        
+        Appointment skipped = appointmentRepository.findById(appointment2Tenant1.getId()).orElseThrow();
+        assertThat(skipped.getStatus()).isEqualTo(Appointment.AppointmentStatus.CONFIRMED);
+        assertThat(skipped.getVersion()).isEqualTo(1L);
+    }
+    
+    @Test
+    @DisplayName("Liste projection'ı - Müşteri ve hizmet bilgileri tek sorguda, sayfa boyutundan bağımsız")
+    void findDtosByTenantIdAndDateRange_ShouldUseSingleStatement() {
+        // Given: Birden çok müşteri ve randevu
+        for (int i = 0; i < 20; i++) {
+            Customer customer = TestDataBuilder.createTestCustomer("Müşteri " + i, "+90533000" + String.format("%04d", i), testData.tenant1);
+            entityManager.persist(customer);
+            Appointment appointment = TestDataBuilder.createTestAppointment(
+                    LocalDateTime.now().plusDays(2).withHour(9).withMinute(0).withSecond(0).withNano(0).plusMinutes(i * 30L),
+                    customer, testData.service1Tenant1, testData.tenant1);
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        // When: Geniş aralık liste görünümüyle sorgulanır
+        List<AppointmentDto> appointments = appointmentRepository.findDtosByTenantIdAndDateRange(
+                testData.tenant1.getId(), LocalDateTime.now().minusDays(2), LocalDateTime.now().plusDays(5));
+        
+        // Then: İlişkiler dahil tek SQL, entity yüklenmez
+        assertThat(appointments).hasSize(24);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        
+        AppointmentDto first = appointments.get(0);
+        assertThat(first.getId()).isEqualTo(appointmentYesterday.getId());
+        assertThat(first.getTenantId()).isEqualTo(testData.tenant1.getId());
+        assertThat(first.getVersion()).isZero();
+        assertThat(first.getChairId()).isNull();
+        assertThat(first.getCustomer().getName()).isEqualTo(testData.customer1Tenant1.getName());
+        assertThat(first.getService().getName()).isEqualTo(testData.service1Tenant1.getName());
+        assertThat(first.getService().getDurationMinutes()).isEqualTo(testData.service1Tenant1.getDurationMinutes());
+    }
+    
+    @Test
+    @DisplayName("Keyset sayfalama - Aynı saatteki randevular dahil her randevu bir kez, sırayla gelir")
+    void findDtoPageByTenantIdBefore_ShouldWalkAllPagesWithoutGapsOrDuplicates() {
+        // Given: Aynı saatte başlayan 5 randevu (sıralama id ile ayrışır)
+        LocalDateTime sameTime = LocalDateTime.now().plusDays(3).withHour(12).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(TestDataBuilder.createTestAppointment(sameTime, testData.customer1Tenant1, testData.service1Tenant1, testData.tenant1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        // When: 2'şer randevuluk sayfalarla en yeniden eskiye gezilir
+        List<AppointmentDto> walked = new ArrayList<>();
+        List<AppointmentDto> page = appointmentRepository.findDtoPageByTenantId(testData.tenant1.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            AppointmentDto last = page.get(page.size() - 1);
+            page = appointmentRepository.findDtoPageByTenantIdBefore(testData.tenant1.getId(), last.getStartTime(), last.getId(), Limit.of(2));
+        }
+        
+        // Then: Tenant 1'in 9 randevusu tekrarsız ve (startTime, id) azalan sırada
+        assertThat(walked).hasSize(9);
+        assertThat(walked).extracting(AppointmentDto::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < walked.size(); i++) {
+            AppointmentDto previous = walked.get(i - 1);
+            AppointmentDto current = walked.get(i);
+            assertThat(current.getStartTime().isBefore(previous.getStartTime())
+                    || (current.getStartTime().equals(previous.getStartTime()) && current.getId() < previous.getId()))
+                    .isTrue();
+        }
+        assertThat(walked.get(walked.size() - 1).getId()).isEqualTo(appointmentYesterday.getId());
+    }
 }
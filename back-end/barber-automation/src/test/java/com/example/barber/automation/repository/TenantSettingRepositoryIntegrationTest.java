@@ -91,6 +91,20 @@ class TenantSettingRepositoryIntegrationTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("Birden fazla ayarı tek sorguda getirme")
+    void findByTenantIdAndSettingKeyIn_ShouldReturnOnlyRequestedKeysOfTenant() {
+        // When
+        List<TenantSetting> result = tenantSettingRepository.findByTenantIdAndSettingKeyIn(
+            tenant1.getId(), List.of("working_hours", "reminder_days", "break_hours"));
+        
+        // Then
+        assertThat(result.stream().map(TenantSetting::getSettingKey))
+            .containsExactlyInAnyOrder("working_hours", "reminder_days");
+        assertThat(result.stream())
+            .allMatch(setting -> setting.getTenant().getId().equals(tenant1.getId()));
+    }
+
     @Test
     @DisplayName("Tenant'a ait tüm ayarları listeleme")
     void findByTenantIdOrderBySettingKeyAsc_ShouldReturnAllSettings() {
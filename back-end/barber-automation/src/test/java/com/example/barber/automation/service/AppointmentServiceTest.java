@@ -2,30 +2,47 @@ package com.example.barber.automation.service;
 
 import com.example.barber.automation.TestDataBuilder;
 import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.dto.AppointmentStatusSnapshot;
+import com.example.barber.automation.dto.BulkStatusTransitionRequest;
+import com.example.barber.automation.dto.BulkStatusTransitionResponse;
 import com.example.barber.automation.dto.CreateAppointmentRequest;
+import com.example.barber.automation.dto.CreateBundleAppointmentRequest;
 import com.example.barber.automation.entity.*;
 import com.example.barber.automation.entity.Service;
 import com.example.barber.automation.repository.AppointmentRepository;
 import com.example.barber.automation.repository.CustomerRepository;
 import com.example.barber.automation.repository.ServiceRepository;
 import com.example.barber.automation.repository.TenantRepository;
+import com.example.barber.automation.service.availability.AvailabilityCache;
+import com.example.barber.automation.service.booking.BookingGuard;
+import com.example.barber.automation.service.booking.SlotHold;
+import com.example.barber.automation.service.booking.SlotHoldService;
+import com.example.barber.automation.service.changefeed.AppointmentChangeLog;
+import com.example.barber.automation.service.outbox.AppointmentOutbox;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -66,6 +83,21 @@ class AppointmentServiceTest {
     
     @Mock
     private CustomerService customerService;
+    
+    @Mock
+    private AvailabilityCache availabilityCache;
+
+    @Mock
+    private BookingGuard bookingGuard;
+
+    @Mock
+    private SlotHoldService slotHoldService;
+
+    @Mock
+    private AppointmentOutbox appointmentOutbox;
+
+    @Mock
+    private AppointmentChangeLog appointmentChangeLog;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -131,8 +163,8 @@ class AppointmentServiceTest {
                 LocalDateTime.now().plusHours(2), testCustomer, testService, testTenant);
         appointment2.setStatus(Appointment.AppointmentStatus.PENDING);
 
-        when(appointmentRepository.findActiveAppointmentsByTenantId(1L))
-                .thenReturn(Arrays.asList(appointment1, appointment2));
+        when(appointmentRepository.findActiveDtosByTenantId(1L))
+                .thenReturn(Arrays.asList(convertToDtoWithDetails(appointment1), convertToDtoWithDetails(appointment2)));
 
         // When: Service çağrılır
         List<AppointmentDto> result = appointmentService.findActiveAppointments(1L);
@@ -145,7 +177,7 @@ class AppointmentServiceTest {
                         Appointment.AppointmentStatus.PENDING
                 );
 
-        verify(appointmentRepository).findActiveAppointmentsByTenantId(1L);
+        verify(appointmentRepository).findActiveDtosByTenantId(1L);
     }
 
     @Test
@@ -155,8 +187,8 @@ class AppointmentServiceTest {
         LocalDateTime startDate = LocalDateTime.now().toLocalDate().atStartOfDay();
         LocalDateTime endDate = LocalDateTime.now().toLocalDate().atTime(23, 59, 59);
 
-        when(appointmentRepository.findByTenantIdAndDateRange(1L, startDate, endDate))
-                .thenReturn(Arrays.asList(testAppointment));
+        when(appointmentRepository.findDtosByTenantIdAndDateRange(1L, startDate, endDate))
+                .thenReturn(Arrays.asList(convertToDtoWithDetails(testAppointment)));
 
         // When: Service çağrılır
         List<AppointmentDto> result = appointmentService.findByDateRange(1L, startDate, endDate);
@@ -165,22 +197,22 @@ class AppointmentServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(testAppointment.getId());
 
-        verify(appointmentRepository).findByTenantIdAndDateRange(1L, startDate, endDate);
+        verify(appointmentRepository).findDtosByTenantIdAndDateRange(1L, startDate, endDate);
     }
 
     @Test
     @DisplayName("Bugünkü randevuları getirme")
     void findTodayAppointments_ShouldReturnTodayAppointments() {
         // Given: Bugünkü randevular
-        when(appointmentRepository.findTodayAppointments(1L))
-                .thenReturn(Arrays.asList(testAppointment));
+        when(appointmentRepository.findTodayDtos(1L))
+                .thenReturn(Arrays.asList(convertToDtoWithDetails(testAppointment)));
 
         // When: Service çağrılır
         List<AppointmentDto> result = appointmentService.findTodayAppointments(1L);
 
         // Then: Bugünkü randevular döner
         assertThat(result).hasSize(1);
-        verify(appointmentRepository).findTodayAppointments(1L);
+        verify(appointmentRepository).findTodayDtos(1L);
     }
 
     @Test
@@ -193,7 +225,7 @@ class AppointmentServiceTest {
                 .thenReturn(Optional.of(testCustomer));
         when(serviceRepository.findByIdAndTenantId(1L, 1L))
                 .thenReturn(Optional.of(testService));
-        when(slotService.isSlotAvailable(1L, 1L, appointmentRequest.getStartTime()))
+        when(slotService.isSlotAvailable(1L, 1L, appointmentRequest.getStartTime(), null))
                 .thenReturn(true);
 
         Appointment savedAppointment = TestDataBuilder.createTestAppointment(
@@ -213,8 +245,44 @@ class AppointmentServiceTest {
         assertThat(result.getStatus()).isEqualTo(Appointment.AppointmentStatus.PENDING);
         assertThat(result.getNotes()).isEqualTo(appointmentRequest.getNotes());
 
-        verify(slotService).isSlotAvailable(1L, 1L, appointmentRequest.getStartTime());
-        verify(appointmentRepository).save(any(Appointment.class));
+        // Kilit müsaitlik kontrolünden önce alınır, kayıt kontrolden sonra yapılır
+        InOrder order = inOrder(bookingGuard, slotService, appointmentRepository);
+        order.verify(bookingGuard).acquire(1L, appointmentRequest.getStartTime(),
+                appointmentRequest.getStartTime().plusMinutes(45));
+        order.verify(slotService).isSlotAvailable(1L, 1L, appointmentRequest.getStartTime(), null);
+        order.verify(appointmentRepository).save(any(Appointment.class));
+        verify(availabilityCache).evictAfterCommit(1L, appointmentRequest.getStartTime().toLocalDate());
+
+        // Oluşturma olayı aynı transaction içinde outbox'a yazılır
+        verify(appointmentOutbox).record(savedAppointment, AppointmentOutboxEvent.EventType.CREATED);
+    }
+
+    @Test
+    @DisplayName("Yeni randevu oluşturma - Boş koltuk randevuya atanır")
+    void createAppointment_WithChairs_ShouldAssignFreeChair() {
+        // Given: Müsait slot ve boş koltuk
+        LocalDateTime start = appointmentRequest.getStartTime();
+        Chair chair = new Chair("Koltuk 2", testTenant);
+        chair.setId(2L);
+
+        when(tenantRepository.findById(1L))
+                .thenReturn(Optional.of(testTenant));
+        when(customerRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testCustomer));
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testService));
+        when(slotService.isSlotAvailable(1L, 1L, start, null))
+                .thenReturn(true);
+        when(slotService.findFreeChair(1L, start, start.plusMinutes(45), null))
+                .thenReturn(chair);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        AppointmentDto result = appointmentService.createAppointment(appointmentRequest, 1L);
+
+        // Then: Koltuk kaydedilir ve DTO'da döner
+        assertThat(result.getChairId()).isEqualTo(2L);
     }
 
     @Test
@@ -242,7 +310,7 @@ class AppointmentServiceTest {
                 .thenReturn(Optional.of(testCustomer));
         when(serviceRepository.findByIdAndTenantId(1L, 1L))
                 .thenReturn(Optional.of(testService));
-        when(slotService.isSlotAvailable(1L, 1L, appointmentRequest.getStartTime()))
+        when(slotService.isSlotAvailable(1L, 1L, appointmentRequest.getStartTime(), null))
                 .thenReturn(false);
 
         // When & Then: Exception fırlatılır
@@ -253,6 +321,133 @@ class AppointmentServiceTest {
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
+    @Test
+    @DisplayName("Paket randevu - Hizmetler tek sorguyla yüklenir, randevular arka arkaya tek seferde kaydedilir")
+    void createBundleAppointment_WithValidData_ShouldCreateConsecutiveAppointments() {
+        // Given: Saç kesimi (45 dk) + sakal (30 dk)
+        Service beardService = TestDataBuilder.createDefaultBeardService(testTenant);
+        beardService.setId(2L);
+        LocalDateTime start = appointmentRequest.getStartTime();
+        CreateBundleAppointmentRequest bundleRequest = new CreateBundleAppointmentRequest(1L, Arrays.asList(1L, 2L), start);
+
+        when(tenantRepository.findById(1L))
+                .thenReturn(Optional.of(testTenant));
+        when(customerRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testCustomer));
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(beardService, testService));
+        when(slotService.isRangeAvailable(1L, start, 75, null))
+                .thenReturn(true);
+        when(appointmentRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When: Paket oluşturulur
+        List<AppointmentDto> result = appointmentService.createBundleAppointment(bundleRequest, 1L);
+
+        // Then: İstek sırasıyla, biri bitince diğeri başlar
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getServiceId()).isEqualTo(1L);
+        assertThat(result.get(0).getStartTime()).isEqualTo(start);
+        assertThat(result.get(0).getEndTime()).isEqualTo(start.plusMinutes(45));
+        assertThat(result.get(1).getServiceId()).isEqualTo(2L);
+        assertThat(result.get(1).getStartTime()).isEqualTo(start.plusMinutes(45));
+        assertThat(result.get(1).getEndTime()).isEqualTo(start.plusMinutes(75));
+
+        verify(serviceRepository, never()).findByIdAndTenantId(any(), any());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+        verify(availabilityCache).evictAfterCommit(1L, start.toLocalDate());
+    }
+
+    @Test
+    @DisplayName("Paket randevu - Bilinmeyen hizmet veya dolu slot varsa hiçbir randevu kaydedilmez")
+    void createBundleAppointment_WithInvalidServiceOrBusySlot_ShouldSaveNothing() {
+        // Given: 99 numaralı hizmet yok
+        LocalDateTime start = appointmentRequest.getStartTime();
+        when(tenantRepository.findById(1L))
+                .thenReturn(Optional.of(testTenant));
+        when(customerRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testCustomer));
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(testService));
+
+        // When & Then: Bilinmeyen hizmet
+        assertThatThrownBy(() -> appointmentService.createBundleAppointment(
+                new CreateBundleAppointmentRequest(1L, Arrays.asList(1L, 99L), start), 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Hizmet bulunamadı: 99");
+
+        // When & Then: Paketin tamamı sığmıyor
+        when(slotService.isRangeAvailable(1L, start, 90, null))
+                .thenReturn(false);
+        assertThatThrownBy(() -> appointmentService.createBundleAppointment(
+                new CreateBundleAppointmentRequest(1L, Arrays.asList(1L, 1L), start), 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Seçilen saat artık müsait değil");
+
+        verify(appointmentRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Slot tutma - Müsait saat kilit altında kontrol edilip hizmetlerin toplam süresi kadar tutulur")
+    void holdSlot_WhenAvailable_ShouldPlaceHoldForTotalDuration() {
+        // Given: Saç kesimi (45 dk) + sakal (30 dk)
+        Service beardService = TestDataBuilder.createDefaultBeardService(testTenant);
+        beardService.setId(2L);
+        LocalDateTime start = appointmentRequest.getStartTime();
+        SlotHold hold = new SlotHold("+905331234567_1", 1L, start, start.plusMinutes(75), 0);
+
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(testService, beardService));
+        when(slotService.isRangeAvailable(1L, start, 75, "+905331234567_1"))
+                .thenReturn(true);
+        when(slotHoldService.place("+905331234567_1", 1L, start, start.plusMinutes(75)))
+                .thenReturn(hold);
+
+        // When
+        SlotHold result = appointmentService.holdSlot("+905331234567_1", 1L, Arrays.asList(1L, 2L), start);
+
+        // Then: Kontrol, yazım kilidi alındıktan sonra yapılır
+        assertThat(result).isSameAs(hold);
+        InOrder order = inOrder(bookingGuard, slotService, slotHoldService);
+        order.verify(bookingGuard).acquire(1L, start, start.plusMinutes(75));
+        order.verify(slotService).isRangeAvailable(1L, start, 75, "+905331234567_1");
+        order.verify(slotHoldService).place("+905331234567_1", 1L, start, start.plusMinutes(75));
+    }
+
+    @Test
+    @DisplayName("Slot tutma - Dolu saat tutulmaz; onayda tutma randevuya dönüştürülür")
+    void holdSlot_WhenBusy_ShouldThrowAndConfirmShouldConvertHold() {
+        LocalDateTime start = appointmentRequest.getStartTime();
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(testService));
+
+        // When & Then: Saat başka müşteri tarafından tutulmuş veya dolu
+        when(slotService.isRangeAvailable(1L, start, 45, "+905331234567_1"))
+                .thenReturn(false);
+        assertThatThrownBy(() -> appointmentService.holdSlot("+905331234567_1", 1L, Arrays.asList(1L), start))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Seçilen saat artık müsait değil");
+        verify(slotHoldService, never()).place(any(), any(), any(), any());
+
+        // Given: Tutmanın sahibi onaylıyor (kendi tutması dolu sayılmaz)
+        when(tenantRepository.findById(1L))
+                .thenReturn(Optional.of(testTenant));
+        when(customerRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testCustomer));
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testService));
+        when(slotService.isSlotAvailable(1L, 1L, start, "+905331234567_1"))
+                .thenReturn(true);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(testAppointment);
+
+        // When
+        appointmentService.createAppointment(appointmentRequest, 1L, "+905331234567_1");
+
+        // Then: Tutma, randevu commit edilince bırakılır
+        verify(slotHoldService).releaseAfterCommit("+905331234567_1");
+    }
+
     @Test
     @DisplayName("WhatsApp'tan randevu oluşturma - Otomatik müşteri oluşturma")
     void createAppointment_FromWhatsApp_ShouldCreateCustomerAutomatically() {
@@ -265,7 +460,7 @@ class AppointmentServiceTest {
                 .thenReturn(Optional.of(testTenant));
         when(serviceRepository.findByIdAndTenantId(1L, 1L))
                 .thenReturn(Optional.of(testService));
-        when(slotService.isSlotAvailable(1L, 1L, appointmentRequest.getStartTime()))
+        when(slotService.isSlotAvailable(1L, 1L, appointmentRequest.getStartTime(), null))
                 .thenReturn(true);
 
         // CustomerService mock'u
@@ -309,9 +504,10 @@ class AppointmentServiceTest {
         // When: Service çağrılır
         AppointmentDto result = appointmentService.confirmAppointment(1L, 1L);
 
-        // Then: Status confirmed olur
+        // Then: Status confirmed olur, onay mesajı için olay yazılır (istek mesajı beklemez)
         assertThat(result.getStatus()).isEqualTo(Appointment.AppointmentStatus.CONFIRMED);
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(appointmentOutbox).record(confirmedAppointment, AppointmentOutboxEvent.EventType.CONFIRMED);
     }
 
     @Test
@@ -330,6 +526,22 @@ class AppointmentServiceTest {
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
+    @Test
+    @DisplayName("Randevu onaylama - İstemcinin gördüğü sürüm eskiyse değişiklik reddedilir")
+    void confirmAppointment_WithStaleVersion_ShouldThrowOptimisticLockFailure() {
+        // Given: Randevu sürüm 2'de, panel sürüm 1'i gördü
+        testAppointment.setStatus(Appointment.AppointmentStatus.PENDING);
+        testAppointment.setVersion(2L);
+        when(appointmentRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testAppointment));
+
+        // When & Then: Çakışma hatası fırlatılır, randevu yazılmaz
+        assertThatThrownBy(() -> appointmentService.confirmAppointment(1L, 1L, 1L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
     @Test
     @DisplayName("Randevu tamamlama - Completed status")
     void completeAppointment_WhenNotCancelled_ShouldSetCompleted() {
@@ -381,6 +593,8 @@ class AppointmentServiceTest {
         // Not güncellenmesi kontrol edilir
         assertThat(testAppointment.getNotes()).contains(cancelReason);
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(availabilityCache).evictAfterCommit(1L, testAppointment.getStartTime().toLocalDate());
+        verify(appointmentOutbox).record(cancelledAppointment, AppointmentOutboxEvent.EventType.CANCELLED);
     }
 
     @Test
@@ -391,12 +605,13 @@ class AppointmentServiceTest {
         when(appointmentRepository.findByIdAndTenantId(1L, 1L))
                 .thenReturn(Optional.of(testAppointment));
 
+        LocalDateTime previousTime = testAppointment.getStartTime();
         LocalDateTime newTime = LocalDateTime.now().plusDays(1).withHour(14).withMinute(0);
         appointmentRequest.setStartTime(newTime);
 
-        // Çakışma kontrolü - çakışan randevu yok (kendisi hariç)
-        when(appointmentRepository.findConflictingAppointments(eq(1L), eq(newTime), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList()); // Boş liste - çakışma yok
+        // Müsaitlik kontrolü - kendisi hariç boş koltuk var
+        when(slotService.isRangeAvailable(1L, newTime, 45, null, 1L))
+                .thenReturn(true);
 
         Appointment updatedAppointment = TestDataBuilder.createTestAppointment(
                 newTime, testCustomer, testService, testTenant);
@@ -411,6 +626,129 @@ class AppointmentServiceTest {
         // Then: Randevu güncellenir
         assertThat(result.getStartTime()).isEqualTo(newTime);
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(availabilityCache).evictAfterCommit(1L, newTime.toLocalDate());
+        verify(appointmentOutbox).recordRescheduled(updatedAppointment, previousTime);
+    }
+
+    @Test
+    @DisplayName("Randevu güncelleme - Tutmalar dahil boş koltuk kalıp kalmadığına bakılır")
+    void updateAppointment_WithConflict_ShouldDependOnCapacity() {
+        // Given: Yeni saat başka bir randevu veya müşteri tutmasıyla dolu
+        testAppointment.setStatus(Appointment.AppointmentStatus.PENDING);
+        when(appointmentRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(testAppointment));
+
+        LocalDateTime newTime = LocalDateTime.now().plusDays(1).withHour(14).withMinute(0).withSecond(0).withNano(0);
+        appointmentRequest.setStartTime(newTime);
+
+        // When & Then: Boş koltuk yok - güncellenemez
+        when(slotService.isRangeAvailable(1L, newTime, 45, null, 1L))
+                .thenReturn(false);
+        assertThatThrownBy(() -> appointmentService.updateAppointment(1L, appointmentRequest, 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("çakışıyor");
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+
+        // When & Then: Boş koltuk var - güncellenir
+        when(slotService.isRangeAvailable(1L, newTime, 45, null, 1L))
+                .thenReturn(true);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        AppointmentDto result = appointmentService.updateAppointment(1L, appointmentRequest, 1L);
+
+        assertThat(result.getStartTime()).isEqualTo(newTime);
+        verify(slotService).findFreeChair(1L, newTime, newTime.plusMinutes(45), 1L);
+    }
+
+    @Test
+    @DisplayName("Toplu durum değişikliği - Uygun olanlar güncellenir, çakışanlar nedeniyle raporlanır")
+    void transitionStatuses_WithItems_ShouldReportConflicts() {
+        // Given: 1 güncel, 2 eski sürüm, 3 zaten iptal, 4 yok, 5 okumadan sonra değişmiş
+        LocalDateTime time = LocalDateTime.of(2025, 1, 15, 10, 0);
+        when(appointmentRepository.findStatusSnapshots(eq(1L), any()))
+                .thenReturn(List.of(
+                        new AppointmentStatusSnapshot(1L, Appointment.AppointmentStatus.CONFIRMED, 3L, time),
+                        new AppointmentStatusSnapshot(2L, Appointment.AppointmentStatus.PENDING, 5L, time),
+                        new AppointmentStatusSnapshot(3L, Appointment.AppointmentStatus.CANCELLED, 1L, time),
+                        new AppointmentStatusSnapshot(5L, Appointment.AppointmentStatus.PENDING, 0L, time.plusDays(1))));
+        when(appointmentRepository.updateStatusIfVersionMatches(
+                Map.of(1L, 3L, 5L, 0L),
+                Appointment.AppointmentStatus.COMPLETED,
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED,
+                        Appointment.AppointmentStatus.NO_SHOW)))
+                .thenReturn(Set.of(1L));
+
+        BulkStatusTransitionRequest request = new BulkStatusTransitionRequest(Appointment.AppointmentStatus.COMPLETED,
+                List.of(new BulkStatusTransitionRequest.Item(1L, 3L),
+                        new BulkStatusTransitionRequest.Item(2L, 4L),
+                        new BulkStatusTransitionRequest.Item(3L, null),
+                        new BulkStatusTransitionRequest.Item(4L, null),
+                        new BulkStatusTransitionRequest.Item(5L, null)));
+
+        // When: Toplu tamamlama yapılır
+        BulkStatusTransitionResponse response = appointmentService.transitionStatuses(1L, request);
+
+        // Then: Sadece 1 güncellenir, diğerleri nedeniyle döner
+        assertThat(response.getUpdatedIds()).containsExactly(1L);
+        assertThat(response.getConflicts())
+                .extracting(BulkStatusTransitionResponse.Conflict::getId, BulkStatusTransitionResponse.Conflict::getReason)
+                .containsExactly(
+                        tuple(2L, BulkStatusTransitionResponse.ConflictReason.VERSION_MISMATCH),
+                        tuple(3L, BulkStatusTransitionResponse.ConflictReason.INVALID_STATUS),
+                        tuple(4L, BulkStatusTransitionResponse.ConflictReason.NOT_FOUND),
+                        tuple(5L, BulkStatusTransitionResponse.ConflictReason.VERSION_MISMATCH));
+        assertThat(response.getConflicts().get(0).getCurrentVersion()).isEqualTo(5L);
+
+        // Sadece güncellenen randevunun günü önbellekten düşer ve olayı yazılır
+        verify(availabilityCache).evictAfterCommit(1L, time.toLocalDate());
+        verifyNoMoreInteractions(availabilityCache);
+        verify(appointmentOutbox).recordSnapshots(
+                argThat(snapshots -> snapshots.size() == 1 && snapshots.iterator().next().getId().equals(1L)),
+                eq(AppointmentOutboxEvent.EventType.COMPLETED));
+        verify(appointmentChangeLog).markChanged(1L, List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Toplu durum değişikliği - Tarih ile seçilen günün randevuları okunan sürümle güncellenir")
+    void transitionStatuses_WithDate_ShouldUseDayRange() {
+        // Given: Bugünün beklemedeki/onaylı randevuları
+        LocalDate day = LocalDate.of(2025, 1, 15);
+        when(appointmentRepository.findStatusSnapshotsByDateRange(1L, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                EnumSet.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED)))
+                .thenReturn(List.of(
+                        new AppointmentStatusSnapshot(7L, Appointment.AppointmentStatus.PENDING, 2L, day.atTime(9, 0)),
+                        new AppointmentStatusSnapshot(8L, Appointment.AppointmentStatus.CONFIRMED, 0L, day.atTime(11, 0))));
+        when(appointmentRepository.updateStatusIfVersionMatches(eq(Map.of(7L, 2L, 8L, 0L)),
+                eq(Appointment.AppointmentStatus.NO_SHOW), any()))
+                .thenReturn(Set.of(7L, 8L));
+
+        // When: Günün tüm randevuları gelmedi olarak işaretlenir
+        BulkStatusTransitionResponse response = appointmentService.transitionStatuses(1L,
+                new BulkStatusTransitionRequest(Appointment.AppointmentStatus.NO_SHOW, day));
+
+        // Then: Hepsi güncellenir, gün bir kez önbellekten düşer
+        assertThat(response.getUpdatedIds()).containsExactly(7L, 8L);
+        assertThat(response.getConflicts()).isEmpty();
+        verify(availabilityCache).evictAfterCommit(1L, day);
+    }
+
+    @Test
+    @DisplayName("Toplu durum değişikliği - Geçersiz istek reddedilir")
+    void transitionStatuses_WithInvalidRequest_ShouldThrow() {
+        // Beklemeye geri alma toplu yapılamaz
+        assertThatThrownBy(() -> appointmentService.transitionStatuses(1L,
+                new BulkStatusTransitionRequest(Appointment.AppointmentStatus.PENDING, LocalDate.now())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Hem liste hem tarih verilemez
+        BulkStatusTransitionRequest both = new BulkStatusTransitionRequest(Appointment.AppointmentStatus.COMPLETED,
+                List.of(new BulkStatusTransitionRequest.Item(1L, null)));
+        both.setDate(LocalDate.now());
+        assertThatThrownBy(() -> appointmentService.transitionStatuses(1L, both))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(appointmentRepository);
     }
 
     @Test
@@ -476,8 +814,8 @@ class AppointmentServiceTest {
     @DisplayName("Yaklaşan randevuları getirme")
     void findUpcomingAppointments_ShouldReturnNext7Days() {
         // Given: Yaklaşan randevular
-        when(appointmentRepository.findUpcomingAppointments(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(testAppointment));
+        when(appointmentRepository.findUpcomingDtos(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(convertToDtoWithDetails(testAppointment)));
 
         // When: Service çağrılır
         List<AppointmentDto> result = appointmentService.findUpcomingAppointments(1L);
@@ -486,15 +824,15 @@ class AppointmentServiceTest {
         assertThat(result).hasSize(1);
         
         // Repository'nin doğru tarih aralığıyla çağrıldığını doğrula
-        verify(appointmentRepository).findUpcomingAppointments(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(appointmentRepository).findUpcomingDtos(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     @DisplayName("Müşteriye ait randevuları getirme")
     void findByCustomer_ShouldReturnCustomerAppointments() {
         // Given: Müşteriye ait randevular
-        when(appointmentRepository.findByTenantIdAndCustomerId(1L, 1L))
-                .thenReturn(Arrays.asList(testAppointment));
+        when(appointmentRepository.findDtosByTenantIdAndCustomerId(1L, 1L))
+                .thenReturn(Arrays.asList(convertToDtoWithDetails(testAppointment)));
 
         // When: Service çağrılır
         List<AppointmentDto> result = appointmentService.findByCustomer(1L, 1L);
@@ -503,7 +841,7 @@ class AppointmentServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getCustomerId()).isEqualTo(1L);
 
-        verify(appointmentRepository).findByTenantIdAndCustomerId(1L, 1L);
+        verify(appointmentRepository).findDtosByTenantIdAndCustomerId(1L, 1L);
     }
 
     // Helper methods
@@ -523,6 +861,9 @@ class AppointmentServiceTest {
         dto.setStatus(appointment.getStatus());
         dto.setTotalPrice(appointment.getTotalPrice());
         dto.setCurrency(appointment.getCurrency());
+        dto.setTenantId(appointment.getTenant().getId());
+        dto.setCustomerId(appointment.getCustomer().getId());
+        dto.setServiceId(appointment.getService().getId());
 
         // Customer DTO
         com.example.barber.automation.dto.CustomerDto customerDto = new com.example.barber.automation.dto.CustomerDto();
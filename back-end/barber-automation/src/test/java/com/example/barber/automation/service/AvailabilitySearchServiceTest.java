@@ -0,0 +1,155 @@
+package com.example.barber.automation.service;
+
+import com.example.barber.automation.dto.AvailabilitySearchResponse;
+import com.example.barber.automation.dto.SlotResponse;
+import com.example.barber.automation.dto.TenantDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+/**
+ * AvailabilitySearchService Unit Test
+ *
+ * Kuaförler arası paralel arama: tercih edilen saate göre sıralama, kuaför başına
+ * seçenek sınırı ve süre sınırında yanıt vermeyen kuaförlerle kısmi sonuç.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilitySearchService Unit Tests")
+class AvailabilitySearchServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Mock
+    private SlotService slotService;
+
+    private AvailabilitySearchService searchService;
+
+    private TenantDto salonA;
+    private TenantDto salonB;
+    private TenantDto salonC;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new AvailabilitySearchService(slotService, 4, 16, 300);
+
+        salonA = createTenant(1L, "Salon A");
+        salonB = createTenant(2L, "Salon B");
+        salonC = createTenant(3L, "Salon C");
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sıralama - Tercih edilen saate en yakın seçenekler önce gelir")
+    void search_ShouldRankByDistanceToPreferredTime() {
+        // Given: A'da 10:00 ve 14:00, B'de 15:00 ve 17:00 boş
+        when(slotService.getAvailableSlotsForDuration(1L, DATE, 30, null))
+                .thenReturn(slots(LocalTime.of(10, 0), LocalTime.of(14, 0)));
+        when(slotService.getAvailableSlotsForDuration(2L, DATE, 30, null))
+                .thenReturn(slots(LocalTime.of(15, 0), LocalTime.of(17, 0)));
+
+        // When: 15:00 tercihiyle aranır
+        AvailabilitySearchResponse result = searchService.search(
+                Arrays.asList(salonA, salonB), DATE, LocalTime.of(15, 0), 30);
+
+        // Then: B 15:00, A 14:00, B 17:00, A 10:00
+        assertThat(result.isPartial()).isFalse();
+        assertThat(result.getRespondedTenants()).isEqualTo(2);
+        assertThat(result.getOptions())
+                .extracting(AvailabilitySearchResponse.Option::getTenantId, o -> o.getStartTime().toLocalTime())
+                .containsExactly(
+                        tuple(2L, LocalTime.of(15, 0)),
+                        tuple(1L, LocalTime.of(14, 0)),
+                        tuple(2L, LocalTime.of(17, 0)),
+                        tuple(1L, LocalTime.of(10, 0)));
+    }
+
+    @Test
+    @DisplayName("Sınır - Bir kuaförden en fazla 3 seçenek alınır")
+    void search_ShouldLimitOptionsPerTenant() {
+        // Given: A'nın bütün günü boş
+        when(slotService.getAvailableSlotsForDuration(1L, DATE, 30, null))
+                .thenReturn(slots(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0),
+                        LocalTime.of(12, 0), LocalTime.of(13, 0)));
+
+        // When: Saat tercihi olmadan aranır
+        AvailabilitySearchResponse result = searchService.search(List.of(salonA), DATE, null, 30);
+
+        // Then: En erken 3 saat
+        assertThat(result.getOptions())
+                .extracting(o -> o.getStartTime().toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0));
+    }
+
+    @Test
+    @DisplayName("Süre sınırı - Yavaş kuaför beklenmez, diğerlerinin sonuçları kısmi olarak döner")
+    void search_WithSlowTenant_ShouldReturnPartialResults() {
+        // Given: B süre sınırını aşar, C hata verir
+        when(slotService.getAvailableSlotsForDuration(1L, DATE, 30, null))
+                .thenReturn(slots(LocalTime.of(15, 0)));
+        when(slotService.getAvailableSlotsForDuration(eq(2L), eq(DATE), eq(30), isNull()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5_000);
+                    return slots(LocalTime.of(15, 0));
+                });
+        when(slotService.getAvailableSlotsForDuration(3L, DATE, 30, null))
+                .thenThrow(new IllegalStateException("Veritabanı hatası"));
+
+        // When
+        long started = System.currentTimeMillis();
+        AvailabilitySearchResponse result = searchService.search(
+                Arrays.asList(salonA, salonB, salonC), DATE, LocalTime.of(15, 0), 30);
+        long elapsed = System.currentTimeMillis() - started;
+
+        // Then: Sadece A döner, istek süre sınırı civarında biter
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getSearchedTenants()).isEqualTo(3);
+        assertThat(result.getRespondedTenants()).isEqualTo(1);
+        assertThat(result.getOptions()).extracting(AvailabilitySearchResponse.Option::getTenantId)
+                .containsExactly(1L);
+        assertThat(elapsed).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Boş liste - Kuaför yoksa boş sonuç")
+    void search_WithNoTenants_ShouldReturnEmpty() {
+        AvailabilitySearchResponse result = searchService.search(new ArrayList<>(), DATE, null, 30);
+
+        assertThat(result.getOptions()).isEmpty();
+        assertThat(result.isPartial()).isFalse();
+    }
+
+    private TenantDto createTenant(Long id, String name) {
+        TenantDto tenant = new TenantDto(id, name, "+90532000000" + id);
+        tenant.setCity("Ankara");
+        tenant.setDistrict("Çankaya");
+        return tenant;
+    }
+
+    private List<SlotResponse.TimeSlot> slots(LocalTime... startTimes) {
+        List<SlotResponse.TimeSlot> slots = new ArrayList<>();
+        for (LocalTime start : startTimes) {
+            slots.add(new SlotResponse.TimeSlot(DATE.atTime(start), DATE.atTime(start).plusMinutes(30), true));
+        }
+        return slots;
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.barber.automation.service;
 
 import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.dto.AppointmentTimeRange;
+import com.example.barber.automation.dto.BatchSlotCheckRequest;
 import com.example.barber.automation.dto.SlotResponse;
 import com.example.barber.automation.entity.*;
 import com.example.barber.automation.entity.Service;
 import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.repository.ChairRepository;
 import com.example.barber.automation.repository.ServiceRepository;
 import com.example.barber.automation.repository.TenantSettingRepository;
+import com.example.barber.automation.service.availability.AvailabilityCache;
+import com.example.barber.automation.service.availability.TenantScheduleProvider;
+import com.example.barber.automation.service.booking.SlotHoldService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -27,8 +33,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -58,12 +68,21 @@ class SlotServiceAlgorithmTest {
     @Mock
     private TenantSettingRepository tenantSettingRepository;
     
+    @Mock
+    private ChairRepository chairRepository;
+    
     @Mock
     private ObjectMapper objectMapper;
     
-    @InjectMocks
+    private AvailabilityCache availabilityCache;
+    
+    private SlotHoldService slotHoldService;
+    
     private SlotService slotService;
     
+    // Takvim ayarları tek sorguyla okunur; testler bu listeye ekler
+    private final List<TenantSetting> tenantSettings = new ArrayList<>();
+    
     // Test data
     private Tenant testTenant;
     private Service hairCutService;
@@ -72,6 +91,12 @@ class SlotServiceAlgorithmTest {
     
     @BeforeEach
     void setUp() {
+        availabilityCache = new AvailabilityCache(new SimpleMeterRegistry(), 100, 300);
+        slotHoldService = new SlotHoldService(300, 1000);
+        slotService = new SlotService(appointmentRepository, serviceRepository, chairRepository,
+                new TenantScheduleProvider(tenantSettingRepository, chairRepository, objectMapper, 300),
+                availabilityCache, slotHoldService);
+        
         testTenant = TestDataBuilder.createDefaultTestTenant();
         testTenant.setId(1L);
         
@@ -103,23 +128,13 @@ class SlotServiceAlgorithmTest {
             }
             """.formatted(testDate.getDayOfWeek().name());
         
-        TenantSetting workingHoursSetting = new TenantSetting();
-        workingHoursSetting.setSettingValue(workingHoursJson);
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.WORKING_HOURS))
-                .thenReturn(Optional.of(workingHoursSetting));
+        givenSetting(TenantSetting.Keys.WORKING_HOURS, workingHoursJson);
         
         when(objectMapper.readValue(eq(workingHoursJson), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(createWorkingHoursMap(testDate.getDayOfWeek(), "09:00", "18:00"));
         
-        // Mock: Mola saatleri (yok)
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.BREAK_HOURS))
-                .thenReturn(Optional.empty());
-        
         // Mock: Randevu aralığı (30 dakika)
-        TenantSetting intervalSetting = new TenantSetting();
-        intervalSetting.setSettingValue("30");
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.BOOKING_INTERVAL_MINUTES))
-                .thenReturn(Optional.of(intervalSetting));
+        givenSetting(TenantSetting.Keys.BOOKING_INTERVAL_MINUTES, "30");
         
         // Mock: Mevcut randevular (yok)
         when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
@@ -158,7 +173,6 @@ class SlotServiceAlgorithmTest {
         
         setupWorkingHours(testDate.getDayOfWeek(), "09:00", "18:00");
         setupBookingInterval("30");
-        setupNoBreakHours();
         
         // Mock: Mevcut randevu (10:00-11:00)
         Appointment existingAppointment = TestDataBuilder.createTestAppointment(
@@ -208,10 +222,7 @@ class SlotServiceAlgorithmTest {
             [{"start": "12:00", "end": "13:00", "enabled": "true"}]
             """;
         
-        TenantSetting breakSetting = new TenantSetting();
-        breakSetting.setSettingValue(breakHoursJson);
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.BREAK_HOURS))
-                .thenReturn(Optional.of(breakSetting));
+        givenSetting(TenantSetting.Keys.BREAK_HOURS, breakHoursJson);
         
         when(objectMapper.readValue(eq(breakHoursJson), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(createBreakHoursList("12:00", "13:00"));
@@ -257,7 +268,6 @@ class SlotServiceAlgorithmTest {
         
         setupWorkingHours(testDate.getDayOfWeek(), "09:00", "18:00");
         setupBookingInterval("60"); // 1 saatlik aralık
-        setupNoBreakHours();
         
         when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(new ArrayList<>());
@@ -299,10 +309,7 @@ class SlotServiceAlgorithmTest {
             }
             """;
         
-        TenantSetting workingHoursSetting = new TenantSetting();
-        workingHoursSetting.setSettingValue(workingHoursJson);
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.WORKING_HOURS))
-                .thenReturn(Optional.of(workingHoursSetting));
+        givenSetting(TenantSetting.Keys.WORKING_HOURS, workingHoursJson);
         
         when(objectMapper.readValue(eq(workingHoursJson), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(createClosedDayMap());
@@ -335,6 +342,27 @@ class SlotServiceAlgorithmTest {
         assertThat(isAvailable).isFalse();
     }
     
+    @Test
+    @DisplayName("Randevu taşıma kontrolü - Kendi eski zamanı sayılmaz, müşteri tutmaları sayılır")
+    void isRangeAvailable_ForReschedule_ShouldExcludeItselfButCountHolds() {
+        // Given: Taşınan randevu yeni aralıkla kısmen çakışıyor
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Appointment moved = TestDataBuilder.createTestAppointment(startTime.minusMinutes(30), testCustomer,
+                hairCutService, testTenant);
+        moved.setId(7L);
+        when(appointmentRepository.findConflictingAppointments(eq(1L), eq(startTime), any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>(List.of(moved)));
+        
+        // Then: Kendi eski zamanı engel değil
+        assertThat(slotService.isRangeAvailable(1L, startTime, 45, null, 7L)).isTrue();
+        
+        // When: Başka bir müşteri aynı saati tutuyor
+        slotHoldService.place("+905339999999_1", 1L, startTime, startTime.plusMinutes(45));
+        
+        // Then: Tek koltukta taşınamaz
+        assertThat(slotService.isRangeAvailable(1L, startTime, 45, null, 7L)).isFalse();
+    }
+    
     @Test
     @DisplayName("Slot müsaitlik kontrolü - Müsait slot")
     void isSlotAvailable_WithNoConflict_ShouldReturnTrue() {
@@ -366,7 +394,6 @@ class SlotServiceAlgorithmTest {
         
         setupWorkingHours(testDate.getDayOfWeek(), "09:00", "12:00"); // Kısa gün
         setupBookingInterval("60");
-        setupNoBreakHours();
         
         when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(new ArrayList<>());
@@ -381,6 +408,257 @@ class SlotServiceAlgorithmTest {
         assertThat(result).contains("2.");
     }
     
+    @Test
+    @DisplayName("Tarih aralığı - Girdiler bir kez yüklenir, günler tek geçişte hesaplanır")
+    void getAvailableSlotsForRange_ShouldLoadInputsOnceAndMatchDailyResults() throws Exception {
+        // Given: Üç günlük aralık, her gün 09:00-12:00 açık, ikinci gün 10:00-11:00 dolu
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate to = from.plusDays(2);
+        
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(hairCutService));
+        
+        String workingHoursJson = "{\"all\": true}";
+        givenSetting(TenantSetting.Keys.WORKING_HOURS, workingHoursJson);
+        java.util.Map<String, Object> workingHours = new java.util.HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            workingHours.putAll(createWorkingHoursMap(day, "09:00", "12:00"));
+        }
+        when(objectMapper.readValue(eq(workingHoursJson), any(com.fasterxml.jackson.core.type.TypeReference.class)))
+                .thenReturn(workingHours);
+        setupBookingInterval("60");
+        
+        Appointment existingAppointment = TestDataBuilder.createTestAppointment(
+                from.plusDays(1).atTime(10, 0), testCustomer, hairCutService, testTenant);
+        existingAppointment.setEndTime(from.plusDays(1).atTime(11, 0));
+        when(appointmentRepository.findByTenantIdAndDateRange(1L, from.atStartOfDay(), to.atTime(23, 59, 59)))
+                .thenReturn(Arrays.asList(existingAppointment));
+        
+        // When: Aralık için slot'lar hesaplanır
+        List<SlotResponse> result = slotService.getAvailableSlotsForRange(1L, 1L, from, to);
+        
+        // Then: Her gün için bir yanıt, dolu saat sadece ikinci günde düşer
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getAvailableSlots()).extracting(slot -> slot.getStartTime().toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        assertThat(result.get(1).getAvailableSlots()).extracting(slot -> slot.getStartTime().toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(11, 0));
+        assertThat(result.get(2).getAvailableSlots()).hasSize(3);
+        
+        // Randevular tek sorguyla yüklenir
+        verify(appointmentRepository, times(1))
+                .findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("Önbellek - Aynı gün ikinci kez hesaplanırken veritabanına gidilmez, geçersiz kılınca yeniden yüklenir")
+    void getAvailableSlots_SecondCall_ShouldBeServedFromCacheUntilEvicted() throws Exception {
+        // Given: 09:00-12:00 açık gün
+        LocalDate testDate = LocalDate.now().plusDays(1);
+        
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(hairCutService));
+        setupWorkingHours(testDate.getDayOfWeek(), "09:00", "12:00");
+        setupBookingInterval("60");
+        when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>());
+        
+        // When: Aynı gün iki kez sorgulanır
+        SlotResponse first = slotService.getAvailableSlots(1L, 1L, testDate);
+        SlotResponse second = slotService.getAvailableSlots(1L, 1L, testDate);
+        
+        // Then: Sonuç aynı, ayarlar ve randevular bir kez yüklenir
+        assertThat(second.getAvailableSlots()).hasSameSizeAs(first.getAvailableSlots());
+        verify(appointmentRepository, times(1))
+                .findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(tenantSettingRepository, times(1))
+                .findByTenantIdAndSettingKeyIn(eq(1L), anyCollection());
+        
+        // When: Gün geçersiz kılınır (ör. yeni randevu)
+        availabilityCache.evict(1L, testDate);
+        slotService.getAvailableSlots(1L, 1L, testDate);
+        
+        // Then: Yeniden yüklenir
+        verify(appointmentRepository, times(2))
+                .findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("Tarih aralığı - 60 günden uzun aralık reddedilir")
+    void getAvailableSlotsForRange_WithTooLongRange_ShouldThrow() {
+        LocalDate from = LocalDate.now();
+        
+        assertThatThrownBy(() -> slotService.getAvailableSlotsForRange(1L, 1L, from, from.plusDays(SlotService.MAX_RANGE_DAYS)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotService.getAvailableSlotsForRange(1L, 1L, from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("En yakın slotlar - Başlangıç anından itibaren günler taranır, limitte durulur")
+    void findEarliestSlots_ShouldScanForwardAndStopAtLimit() throws Exception {
+        // Given: Her gün 09:00-12:00 açık, 60 dk aralık; ikinci gün 09:00-10:00 dolu
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService));
+        setupAllWeekWorkingHours("09:00", "12:00");
+        setupBookingInterval("60");
+        
+        Appointment existingAppointment = TestDataBuilder.createTestAppointment(
+                firstDay.plusDays(1).atTime(9, 0), testCustomer, hairCutService, testTenant);
+        existingAppointment.setEndTime(firstDay.plusDays(1).atTime(10, 0));
+        when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(existingAppointment));
+        
+        // When: İlk gün 10:30'dan itibaren 3 slot istenir
+        List<SlotResponse.TimeSlot> result = slotService.findEarliestSlots(
+                1L, Arrays.asList(1L), firstDay.atTime(10, 30), 3);
+        
+        // Then: İlk günden yalnızca 11:00, ikinci günden dolu saat hariç ilk iki slot
+        assertThat(result).extracting(SlotResponse.TimeSlot::getStartTime).containsExactly(
+                firstDay.atTime(11, 0),
+                firstDay.plusDays(1).atTime(10, 0),
+                firstDay.plusDays(1).atTime(11, 0));
+        
+        // Randevular parça halinde tek sorguyla yüklenir, ilk gün parçanın başıdır
+        verify(appointmentRepository, times(1))
+                .findByTenantIdAndDateRange(eq(1L), eq(firstDay.atStartOfDay()), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("En yakın slotlar - Birden fazla hizmetin süreleri toplanır")
+    void findEarliestSlots_WithMultipleServices_ShouldUseCombinedDuration() throws Exception {
+        // Given: 45 + 120 = 165 dk, 09:00-12:00 gününe yalnızca 09:00 sığar
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService, longService));
+        setupAllWeekWorkingHours("09:00", "12:00");
+        setupBookingInterval("60");
+        when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>());
+        
+        // When
+        List<SlotResponse.TimeSlot> result = slotService.findEarliestSlots(
+                1L, Arrays.asList(1L, 2L), firstDay.atStartOfDay(), 2);
+        
+        // Then: Her gün bir slot, bitiş 11:45
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getStartTime()).isEqualTo(firstDay.atTime(9, 0));
+        assertThat(result.get(0).getEndTime()).isEqualTo(firstDay.atTime(11, 45));
+        assertThat(result.get(1).getStartTime()).isEqualTo(firstDay.plusDays(1).atTime(9, 0));
+    }
+    
+    @Test
+    @DisplayName("En yakın slotlar - Geçersiz limit ve bilinmeyen hizmet reddedilir")
+    void findEarliestSlots_WithInvalidInput_ShouldThrow() {
+        assertThatThrownBy(() -> slotService.findEarliestSlots(1L, Arrays.asList(1L), null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotService.findEarliestSlots(1L, Arrays.asList(1L), null, SlotService.MAX_EARLIEST_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService));
+        assertThatThrownBy(() -> slotService.findEarliestSlots(1L, Arrays.asList(1L, 99L), null, 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+    
+    @Test
+    @DisplayName("Paket - Hizmetler tek sorguyla yüklenir, toplam süre kesintisiz blok olarak aranır")
+    void getAvailableSlotsForServices_ShouldUseCombinedDurationWithSingleLookup() throws Exception {
+        // Given: 09:00-16:00 açık, 60 dk aralık; 11:00-12:00 dolu; 45 + 120 = 165 dk
+        LocalDate testDate = LocalDate.now().plusDays(1);
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService, longService));
+        setupWorkingHours(testDate.getDayOfWeek(), "09:00", "16:00");
+        setupBookingInterval("60");
+        
+        Appointment existingAppointment = TestDataBuilder.createTestAppointment(
+                testDate.atTime(11, 0), testCustomer, hairCutService, testTenant);
+        existingAppointment.setEndTime(testDate.atTime(12, 0));
+        when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(existingAppointment));
+        
+        // When
+        SlotResponse result = slotService.getAvailableSlotsForServices(1L, Arrays.asList(1L, 2L), testDate);
+        
+        // Then: Sadece 12:00 (12:00-14:45) ve 13:00 (13:00-15:45) paketin tamamını alır
+        assertThat(result.getAvailableSlots()).extracting(slot -> slot.getStartTime().toLocalTime())
+                .containsExactly(LocalTime.of(12, 0), LocalTime.of(13, 0));
+        assertThat(result.getAvailableSlots().get(0).getEndTime()).isEqualTo(testDate.atTime(14, 45));
+        verify(serviceRepository, times(1)).findByIdInAndTenantIdAndActiveTrue(any(), eq(1L));
+    }
+    
+    @Test
+    @DisplayName("Paket - Slot kontrolü toplam süre üzerinden yapılır")
+    void isSlotAvailableForServices_ShouldCheckCombinedDuration() {
+        // Given: 45 + 120 dk paket 10:00'da başlar, 12:00-13:00 dolu
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService, longService));
+        Appointment conflicting = TestDataBuilder.createTestAppointment(
+                startTime.plusHours(2), testCustomer, hairCutService, testTenant);
+        conflicting.setEndTime(startTime.plusHours(3));
+        when(appointmentRepository.findConflictingAppointments(1L, startTime, startTime.plusMinutes(165)))
+                .thenReturn(Arrays.asList(conflicting));
+        
+        // When & Then: Tek hizmet sığsa da paket çakışır
+        assertThat(slotService.isSlotAvailableForServices(1L, Arrays.asList(1L, 2L), startTime)).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Toplu kontrol - Tek hizmet ve tek aralık sorgusuyla, istek sırasıyla sonuç döner")
+    void checkSlots_ShouldUseSingleServiceAndRangeQuery() {
+        // Given: Yarın 11:00-12:00 dolu; adaylar karışık sırada
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(9, 0);
+        List<BatchSlotCheckRequest.Item> checks = Arrays.asList(
+                new BatchSlotCheckRequest.Item(1L, base.plusHours(3)),                      // 12:00-12:45 boş
+                new BatchSlotCheckRequest.Item(1L, base.plusHours(1).plusMinutes(30)),      // 10:30-11:15 çakışır
+                new BatchSlotCheckRequest.Item(1L, base),                                   // 09:00-09:45 boş
+                new BatchSlotCheckRequest.Item(Arrays.asList(1L, 2L), base),                // 09:00-11:45 çakışır
+                new BatchSlotCheckRequest.Item(2L, base.plusDays(1)));                      // ertesi gün boş
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService, longService));
+        when(appointmentRepository.findConflictingTimeRanges(1L, base, base.plusDays(1).plusMinutes(120)))
+                .thenReturn(Arrays.asList(new AppointmentTimeRange(base.plusHours(2), base.plusHours(3))));
+        
+        // When
+        List<Boolean> results = slotService.checkSlots(1L, checks);
+        
+        // Then
+        assertThat(results).containsExactly(true, false, true, false, true);
+        verify(serviceRepository, times(1)).findByIdInAndTenantIdAndActiveTrue(any(), eq(1L));
+        verify(appointmentRepository, times(1))
+                .findConflictingTimeRanges(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("Toplu kontrol - Boş, çok uzun veya bilinmeyen hizmetli istek reddedilir")
+    void checkSlots_WithInvalidInput_ShouldThrow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        
+        assertThatThrownBy(() -> slotService.checkSlots(1L, new ArrayList<>()))
+                .isInstanceOf(IllegalArgumentException.class);
+        
+        List<BatchSlotCheckRequest.Item> tooMany = new ArrayList<>();
+        for (int i = 0; i <= SlotService.MAX_BATCH_CHECKS; i++) {
+            tooMany.add(new BatchSlotCheckRequest.Item(1L, start.plusHours(i)));
+        }
+        assertThatThrownBy(() -> slotService.checkSlots(1L, tooMany))
+                .isInstanceOf(IllegalArgumentException.class);
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService));
+        assertThatThrownBy(() -> slotService.checkSlots(1L, List.of(new BatchSlotCheckRequest.Item(99L, start))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+    
     @Test
     @DisplayName("Edge case - Aynı gün geç saat slot kontrolü")
     void getAvailableSlots_SameDay_ShouldExcludePastTimes() throws Exception {
@@ -392,7 +670,6 @@ class SlotServiceAlgorithmTest {
         
         setupWorkingHours(today.getDayOfWeek(), "09:00", "18:00");
         setupBookingInterval("30");
-        setupNoBreakHours();
         
         when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(new ArrayList<>());
@@ -417,6 +694,163 @@ class SlotServiceAlgorithmTest {
         }
     }
     
+    @Test
+    @DisplayName("Kapasite - İki koltukta tek randevu slot'u kapatmaz, iki çakışan randevu kapatır")
+    void getAvailableSlots_WithTwoChairs_ShouldCountConcurrentAppointments() throws Exception {
+        // Given: 2 koltuk; 10:00-11:00 ve 10:30-11:30 randevuları
+        LocalDate testDate = LocalDate.now().plusDays(1);
+        
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(hairCutService));
+        setupWorkingHours(testDate.getDayOfWeek(), "09:00", "18:00");
+        setupBookingInterval("30");
+        when(chairRepository.countByTenantIdAndActiveTrue(1L)).thenReturn(2L);
+        
+        Appointment first = TestDataBuilder.createTestAppointment(
+                testDate.atTime(10, 0), testCustomer, hairCutService, testTenant);
+        first.setEndTime(testDate.atTime(11, 0));
+        Appointment second = TestDataBuilder.createTestAppointment(
+                testDate.atTime(10, 30), testCustomer, hairCutService, testTenant);
+        second.setEndTime(testDate.atTime(11, 30));
+        when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(first, second));
+        
+        // When
+        SlotResponse result = slotService.getAvailableSlots(1L, 1L, testDate);
+        
+        // Then: Sadece iki randevunun üst üste bindiği 10:30-11:00 dilimine değen slot'lar kapanır
+        List<LocalTime> startTimes = result.getAvailableSlots().stream()
+                .map(slot -> slot.getStartTime().toLocalTime())
+                .toList();
+        assertThat(startTimes).contains(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(11, 0));
+        assertThat(startTimes).doesNotContain(LocalTime.of(10, 0), LocalTime.of(10, 30));
+    }
+    
+    @Test
+    @DisplayName("Kapasite - Slot kontrolünde boş koltuk kaldığı sürece çakışma engel değil")
+    void isSlotAvailable_WithTwoChairs_ShouldAllowSingleConflict() {
+        LocalDateTime startTime = LocalDate.now().plusDays(1).atTime(10, 0);
+        
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(hairCutService));
+        when(chairRepository.countByTenantIdAndActiveTrue(1L)).thenReturn(2L);
+        
+        Appointment first = TestDataBuilder.createTestAppointment(startTime, testCustomer, hairCutService, testTenant);
+        Appointment second = TestDataBuilder.createTestAppointment(
+                startTime.plusMinutes(30), testCustomer, hairCutService, testTenant);
+        when(appointmentRepository.findConflictingAppointments(eq(1L), eq(startTime), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(first))
+                .thenReturn(Arrays.asList(first, second));
+        
+        // Tek çakışma: ikinci koltuk boş
+        assertThat(slotService.isSlotAvailable(1L, 1L, startTime)).isTrue();
+        // İki çakışma aynı anda süregidiyor (10:30-10:45): iki koltuk da dolu
+        assertThat(slotService.isSlotAvailable(1L, 1L, startTime)).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Kapasite - Toplu kontrol koltuk sayısına göre değerlendirir")
+    void checkSlots_WithTwoChairs_ShouldUseCapacity() {
+        // Given: 2 koltuk; 10:00-11:00 iki randevu, 11:00-12:00 tek randevu
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(10, 0);
+        List<BatchSlotCheckRequest.Item> checks = Arrays.asList(
+                new BatchSlotCheckRequest.Item(1L, base.plusHours(1)),   // 11:00-11:45 tek randevu, boş koltuk var
+                new BatchSlotCheckRequest.Item(1L, base));               // 10:00-10:45 iki koltuk da dolu
+        
+        when(serviceRepository.findByIdInAndTenantIdAndActiveTrue(any(), eq(1L)))
+                .thenReturn(Arrays.asList(hairCutService));
+        when(chairRepository.countByTenantIdAndActiveTrue(1L)).thenReturn(2L);
+        when(appointmentRepository.findConflictingTimeRanges(1L, base, base.plusMinutes(105)))
+                .thenReturn(Arrays.asList(
+                        new AppointmentTimeRange(base, base.plusHours(1)),
+                        new AppointmentTimeRange(base, base.plusHours(1)),
+                        new AppointmentTimeRange(base.plusHours(1), base.plusHours(2))));
+        
+        // When
+        List<Boolean> results = slotService.checkSlots(1L, checks);
+        
+        // Then
+        assertThat(results).containsExactly(true, false);
+    }
+    
+    @Test
+    @DisplayName("Slot tutma - Tutulan saat diğer müşteriler için dolu, sahibi için müsait")
+    void heldSlot_ShouldBeBusyForOthersOnly() throws Exception {
+        // Given: 09:00-18:00, 30 dk aralık, boş gün
+        LocalDate testDate = LocalDate.now().plusDays(1);
+        when(serviceRepository.findByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(hairCutService));
+        setupWorkingHours(testDate.getDayOfWeek(), "09:00", "18:00");
+        setupBookingInterval("30");
+        when(appointmentRepository.findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>());
+        
+        // Gün önbelleğe alınır, sonra 10:00-10:45 onay bekleyen müşteri için tutulur
+        assertThat(slotService.getAvailableSlots(1L, 1L, testDate).getAvailableSlots())
+                .extracting(slot -> slot.getStartTime().toLocalTime())
+                .contains(LocalTime.of(10, 0));
+        slotHoldService.place("+905331234567_1", 1L, testDate.atTime(10, 0), testDate.atTime(10, 45));
+        
+        // When: Slot'lar önbellekteki görüntüden yeniden hesaplanır
+        List<LocalTime> startTimes = slotService.getAvailableSlots(1L, 1L, testDate).getAvailableSlots().stream()
+                .map(slot -> slot.getStartTime().toLocalTime())
+                .toList();
+        
+        // Then: Tutmayla çakışan slot'lar listelenmez
+        assertThat(startTimes).contains(LocalTime.of(9, 0), LocalTime.of(11, 0));
+        assertThat(startTimes).doesNotContain(LocalTime.of(9, 30), LocalTime.of(10, 0), LocalTime.of(10, 30));
+        
+        // Tutmanın sahibi aynı önbellek görüntüsünden kendi saatini müsait görür
+        assertThat(slotService.getAvailableSlots(1L, 1L, testDate, "+905331234567_1").getAvailableSlots())
+                .extracting(slot -> slot.getStartTime().toLocalTime())
+                .contains(LocalTime.of(9, 30), LocalTime.of(10, 0), LocalTime.of(10, 30));
+        assertThat(slotService.getAvailableSlotsForDuration(1L, testDate, 45, "+905331234567_1"))
+                .extracting(slot -> slot.getStartTime().toLocalTime())
+                .contains(LocalTime.of(10, 0));
+        verify(appointmentRepository, times(1))
+                .findByTenantIdAndDateRange(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+        
+        // Randevu kontrolünde sadece tutmanın sahibi saati müsait görür
+        when(appointmentRepository.findConflictingAppointments(eq(1L), eq(testDate.atTime(10, 0)), any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>());
+        assertThat(slotService.isSlotAvailable(1L, 1L, testDate.atTime(10, 0))).isFalse();
+        assertThat(slotService.isSlotAvailable(1L, 1L, testDate.atTime(10, 0), "+905331234567_1")).isTrue();
+        
+        // Tutma bırakılınca saat herkes için tekrar müsait
+        slotHoldService.release("+905331234567_1");
+        assertThat(slotService.isSlotAvailable(1L, 1L, testDate.atTime(10, 0))).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Koltuk ataması - Çakışan randevuların koltukları atlanır, koltuk yoksa atama yapılmaz")
+    void findFreeChair_ShouldSkipBusyChairs() {
+        LocalDateTime startTime = LocalDate.now().plusDays(1).atTime(10, 0);
+        Chair chair1 = new Chair("Koltuk 1", testTenant);
+        chair1.setId(1L);
+        Chair chair2 = new Chair("Koltuk 2", testTenant);
+        chair2.setId(2L);
+        
+        Appointment onChair1 = TestDataBuilder.createTestAppointment(startTime, testCustomer, hairCutService, testTenant);
+        onChair1.setId(10L);
+        onChair1.setChair(chair1);
+        
+        when(chairRepository.findByTenantIdAndActiveTrueOrderByIdAsc(1L))
+                .thenReturn(Arrays.asList(chair1, chair2))
+                .thenReturn(Arrays.asList(chair1, chair2))
+                .thenReturn(new ArrayList<>());
+        when(appointmentRepository.findConflictingAppointments(1L, startTime, startTime.plusMinutes(45)))
+                .thenReturn(Arrays.asList(onChair1));
+        
+        // Koltuk 1 dolu: Koltuk 2 atanır
+        assertThat(slotService.findFreeChair(1L, startTime, startTime.plusMinutes(45), null)).isSameAs(chair2);
+        // Güncellenen randevunun kendisi sayılmaz: Koltuk 1 tekrar kullanılabilir
+        assertThat(slotService.findFreeChair(1L, startTime, startTime.plusMinutes(45), 10L)).isSameAs(chair1);
+        // Koltuk tanımlanmamış: atama yok, randevu sorgusu yapılmaz
+        assertThat(slotService.findFreeChair(1L, startTime, startTime.plusMinutes(45), null)).isNull();
+        verify(appointmentRepository, times(2))
+                .findConflictingAppointments(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+    
     // Helper methods
     private void setupWorkingHours(DayOfWeek dayOfWeek, String start, String end) throws Exception {
         String workingHoursJson = """
@@ -425,25 +859,34 @@ class SlotServiceAlgorithmTest {
             }
             """.formatted(dayOfWeek.name(), start, end);
         
-        TenantSetting workingHoursSetting = new TenantSetting();
-        workingHoursSetting.setSettingValue(workingHoursJson);
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.WORKING_HOURS))
-                .thenReturn(Optional.of(workingHoursSetting));
+        givenSetting(TenantSetting.Keys.WORKING_HOURS, workingHoursJson);
         
         when(objectMapper.readValue(eq(workingHoursJson), any(com.fasterxml.jackson.core.type.TypeReference.class)))
                 .thenReturn(createWorkingHoursMap(dayOfWeek, start, end));
     }
     
+    private void setupAllWeekWorkingHours(String start, String end) throws Exception {
+        String workingHoursJson = "{\"all\": true}";
+        givenSetting(TenantSetting.Keys.WORKING_HOURS, workingHoursJson);
+        
+        java.util.Map<String, Object> workingHours = new java.util.HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            workingHours.putAll(createWorkingHoursMap(day, start, end));
+        }
+        when(objectMapper.readValue(eq(workingHoursJson), any(com.fasterxml.jackson.core.type.TypeReference.class)))
+                .thenReturn(workingHours);
+    }
+    
     private void setupBookingInterval(String interval) {
-        TenantSetting intervalSetting = new TenantSetting();
-        intervalSetting.setSettingValue(interval);
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.BOOKING_INTERVAL_MINUTES))
-                .thenReturn(Optional.of(intervalSetting));
+        givenSetting(TenantSetting.Keys.BOOKING_INTERVAL_MINUTES, interval);
     }
     
-    private void setupNoBreakHours() {
-        when(tenantSettingRepository.findByTenantIdAndSettingKey(1L, TenantSetting.Keys.BREAK_HOURS))
-                .thenReturn(Optional.empty());
+    private void givenSetting(String key, String value) {
+        if (tenantSettings.isEmpty()) {
+            when(tenantSettingRepository.findByTenantIdAndSettingKeyIn(eq(1L), anyCollection()))
+                    .thenReturn(tenantSettings);
+        }
+        tenantSettings.add(new TenantSetting(key, value, testTenant));
     }
     
     private java.util.Map<String, Object> createWorkingHoursMap(DayOfWeek dayOfWeek, String start, String end) {
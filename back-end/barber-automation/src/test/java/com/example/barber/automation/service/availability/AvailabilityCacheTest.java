@@ -0,0 +1,141 @@
+package com.example.barber.automation.service.availability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AvailabilityCache Unit Test
+ *
+ * LRU/TTL tahliyesi, geçersiz kılma ve yükleme sırasındaki yarış durumu kontrolü.
+ */
+@DisplayName("AvailabilityCache Unit Tests")
+class AvailabilityCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private AvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-01-15T08:00:00Z"));
+        cache = new AvailabilityCache(meterRegistry, 2, 60, clock);
+    }
+
+    @Test
+    @DisplayName("Okuma - Hit/miss sayaçları güncellenir")
+    void getIfPresent_ShouldCountHitsAndMisses() {
+        assertThat(cache.getIfPresent(1L, DAY)).isNull();
+
+        DayAvailability day = DayAvailability.closed(DAY);
+        cache.put(1L, DAY, day, cache.currentVersion(1L));
+
+        assertThat(cache.getIfPresent(1L, DAY)).isSameAs(day);
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(1);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("LRU - Boyut aşılınca en uzun süredir okunmayan kayıt atılır")
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        cache.put(1L, DAY, DayAvailability.closed(DAY), cache.currentVersion(1L));
+        cache.put(1L, DAY.plusDays(1), DayAvailability.closed(DAY.plusDays(1)), cache.currentVersion(1L));
+        cache.getIfPresent(1L, DAY);
+
+        cache.put(1L, DAY.plusDays(2), DayAvailability.closed(DAY.plusDays(2)), cache.currentVersion(1L));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent(1L, DAY)).isNotNull();
+        assertThat(cache.getIfPresent(1L, DAY.plusDays(1))).isNull();
+        assertThat(counter("cache.evictions")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TTL - Süresi dolan kayıt okunurken atılır")
+    void getIfPresent_AfterTtl_ShouldExpire() {
+        cache.put(1L, DAY, DayAvailability.closed(DAY), cache.currentVersion(1L));
+
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(cache.getIfPresent(1L, DAY)).isNotNull();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.getIfPresent(1L, DAY)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Geçersiz kılma - Gün ve kuaför bazında")
+    void evict_ShouldRemoveDayOrWholeTenant() {
+        cache.put(1L, DAY, DayAvailability.closed(DAY), cache.currentVersion(1L));
+        cache.put(2L, DAY, DayAvailability.closed(DAY), cache.currentVersion(2L));
+
+        cache.evict(1L, DAY);
+        assertThat(cache.getIfPresent(1L, DAY)).isNull();
+        assertThat(cache.getIfPresent(2L, DAY)).isNotNull();
+
+        cache.evictTenant(2L);
+        assertThat(cache.size()).isZero();
+        assertThat(counter("cache.invalidations")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Yarış durumu - Yükleme sırasında geçersiz kılınan gün yazılmaz, diğer kuaförler etkilenmez")
+    void put_AfterConcurrentInvalidation_ShouldBeDropped() {
+        long loadVersion = cache.currentVersion(1L);
+        long otherTenantLoadVersion = cache.currentVersion(2L);
+
+        // Yükleme sürerken başka bir istek randevu oluşturur
+        cache.evict(1L, DAY);
+
+        cache.put(1L, DAY, DayAvailability.closed(DAY), loadVersion);
+        assertThat(cache.getIfPresent(1L, DAY)).isNull();
+
+        // Diğer kuaförün eşzamanlı yüklemesi etkilenmez
+        cache.put(2L, DAY, DayAvailability.closed(DAY), otherTenantLoadVersion);
+        assertThat(cache.getIfPresent(2L, DAY)).isNotNull();
+    }
+
+    private double counter(String name, String... tags) {
+        return meterRegistry.get(name).tag("cache", "availability").tags(tags).counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.barber.automation.service.availability;
+
+import com.example.barber.automation.dto.AppointmentTimeRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BusyTimeline Unit Test
+ *
+ * Birleştirilmiş dolu aralıklar ve iki işaretçili taramanın, her randevuyla tek tek
+ * yapılan (bitiş + mola) çakışma kontrolüyle aynı sonucu verdiğini doğrular.
+ */
+@DisplayName("BusyTimeline Unit Tests")
+class BusyTimelineTest {
+
+    private static final LocalDateTime ORIGIN = LocalDate.of(2025, 1, 13).atStartOfDay();
+
+    @Test
+    @DisplayName("Mola süresi - Randevu bitişine eklenir, sonraki aday beklemeli")
+    void bufferedEnd_ShouldBlockUntilBreakIsOver() {
+        BusyTimeline timeline = BusyTimeline.of(ORIGIN, Arrays.asList(
+                range(ORIGIN.plusHours(10), ORIGIN.plusHours(10).plusMinutes(45))), 10);
+        BusyTimeline.Cursor cursor = timeline.cursor();
+
+        assertThat(cursor.isFree(540, 60)).isTrue();    // 09:00-10:00
+        assertThat(cursor.isFree(600, 15)).isFalse();   // 10:00
+        assertThat(cursor.isFree(645, 15)).isFalse();   // 10:45 (mola)
+        assertThat(cursor.isFree(655, 15)).isTrue();    // 10:55
+    }
+
+    @Test
+    @DisplayName("Birleştirme - Örtüşen ve iç içe randevular tek aralık olur")
+    void overlappingRanges_ShouldBeMerged() {
+        BusyTimeline timeline = BusyTimeline.of(ORIGIN, Arrays.asList(
+                range(ORIGIN.plusHours(9), ORIGIN.plusHours(12)),
+                range(ORIGIN.plusHours(10), ORIGIN.plusHours(11)),
+                range(ORIGIN.plusHours(11).plusMinutes(30), ORIGIN.plusHours(13)),
+                range(ORIGIN.plusHours(15), ORIGIN.plusHours(16))), 0);
+
+        assertThat(timeline.size()).isEqualTo(2);
+        assertThat(timeline.cursor().isFree(780, 120)).isTrue(); // 13:00-15:00
+    }
+
+    @Test
+    @DisplayName("Günler arası - Dakika ofseti ikinci güne taşınır")
+    void multiDay_ShouldUseDayOffsets() {
+        BusyTimeline timeline = BusyTimeline.of(ORIGIN, Arrays.asList(
+                range(ORIGIN.plusDays(1).plusHours(10), ORIGIN.plusDays(1).plusHours(11))), 0);
+        BusyTimeline.Cursor cursor = timeline.cursor();
+
+        assertThat(cursor.isFree(600, 60)).isTrue();
+        assertThat(cursor.isFree(DayOccupancy.MINUTES_PER_DAY + 600, 60)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Rastgele karşılaştırma - Tek tek çakışma kontrolüyle birebir aynı")
+    void randomizedComparison_ShouldMatchNaiveOverlapCheck() {
+        Random random = new Random(7);
+
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            List<AppointmentTimeRange> ranges = new ArrayList<>();
+            int count = random.nextInt(10);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime start = ORIGIN.plusSeconds(random.nextInt(3 * DayOccupancy.MINUTES_PER_DAY * 60));
+                ranges.add(range(start, start.plusSeconds(1 + random.nextInt(200 * 60))));
+            }
+            int buffer = random.nextInt(20);
+            BusyTimeline.Cursor cursor = BusyTimeline.of(ORIGIN, ranges, buffer).cursor();
+
+            for (int minute = 0; minute < 3 * DayOccupancy.MINUTES_PER_DAY; minute += 1 + random.nextInt(60)) {
+                int duration = 1 + random.nextInt(120);
+                LocalDateTime slotStart = ORIGIN.plusMinutes(minute);
+                LocalDateTime slotEnd = slotStart.plusMinutes(duration);
+
+                boolean expected = ranges.stream().noneMatch(r ->
+                        slotStart.isBefore(r.getEndTime().plusMinutes(buffer)) && slotEnd.isAfter(r.getStartTime()));
+                assertThat(cursor.isFree(minute, duration)).isEqualTo(expected);
+            }
+        }
+    }
+
+    private static AppointmentTimeRange range(LocalDateTime start, LocalDateTime end) {
+        return new AppointmentTimeRange(start, end);
+    }
+}
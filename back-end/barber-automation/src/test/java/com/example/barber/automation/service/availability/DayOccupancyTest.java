@@ -0,0 +1,100 @@
+package com.example.barber.automation.service.availability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DayOccupancy Unit Test
+ *
+ * Bitset doluluk haritasının LocalDateTime tabanlı çakışma kontrolüyle
+ * aynı sonucu verdiğini doğrular (kelime sınırları, saniyeli randevular).
+ */
+@DisplayName("DayOccupancy Unit Tests")
+class DayOccupancyTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Test
+    @DisplayName("Boş harita - Her aralık müsait")
+    void emptyDay_ShouldBeFreeEverywhere() {
+        DayOccupancy occupancy = DayOccupancy.forDay(DAY);
+
+        assertThat(occupancy.isFree(0, DayOccupancy.MINUTES_PER_DAY)).isTrue();
+        assertThat(occupancy.isFree(540, 45)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Randevu sınırları - Bitişik slot'lar çakışmaz")
+    void occupiedRange_ShouldBlockOnlyOverlappingSlots() {
+        // Given: 10:00-11:00 dolu
+        DayOccupancy occupancy = DayOccupancy.forDay(DAY);
+        occupancy.occupy(DAY.atTime(10, 0), DAY.atTime(11, 0));
+
+        // Then: 09:15-10:00 ve 11:00-11:45 müsait, 09:30-10:15 ve 10:45-11:30 dolu
+        assertThat(occupancy.isFree(555, 45)).isTrue();
+        assertThat(occupancy.isFree(660, 45)).isTrue();
+        assertThat(occupancy.isFree(570, 45)).isFalse();
+        assertThat(occupancy.isFree(645, 45)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Kelime sınırları - 64 dakikalık blokları aşan aralıklar")
+    void rangesAcrossWordBoundaries_ShouldBeDetected() {
+        DayOccupancy occupancy = DayOccupancy.forDay(DAY);
+        occupancy.occupyMinutes(127, 129);
+
+        assertThat(occupancy.isFree(0, 127)).isTrue();
+        assertThat(occupancy.isFree(129, 500)).isTrue();
+        assertThat(occupancy.isFree(64, 64)).isFalse();
+        assertThat(occupancy.isFree(128, 1)).isFalse();
+        assertThat(occupancy.isFree(0, 300)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Saniyeli randevular - Dakikaya genişletilir")
+    void appointmentsWithSeconds_ShouldRoundOutward() {
+        DayOccupancy occupancy = DayOccupancy.forDay(DAY);
+        occupancy.occupy(DAY.atTime(10, 0, 30), DAY.atTime(10, 29, 30));
+
+        assertThat(occupancy.isFree(599, 1)).isTrue();
+        assertThat(occupancy.isFree(600, 1)).isFalse();
+        assertThat(occupancy.isFree(629, 1)).isFalse();
+        assertThat(occupancy.isFree(630, 30)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rastgele karşılaştırma - LocalDateTime çakışma kontrolüyle birebir aynı")
+    void randomizedComparison_ShouldMatchDateTimeOverlapCheck() {
+        Random random = new Random(42);
+        LocalDateTime startOfDay = DAY.atStartOfDay();
+
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            DayOccupancy occupancy = DayOccupancy.forDay(DAY);
+            List<LocalDateTime[]> appointments = new ArrayList<>();
+            int count = random.nextInt(8);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime start = startOfDay.plusSeconds(random.nextInt(DayOccupancy.MINUTES_PER_DAY * 60));
+                LocalDateTime end = start.plusSeconds(1 + random.nextInt(180 * 60));
+                appointments.add(new LocalDateTime[]{start, end});
+                occupancy.occupy(start, end);
+            }
+
+            int duration = 1 + random.nextInt(180);
+            int startMinute = random.nextInt(DayOccupancy.MINUTES_PER_DAY - duration);
+            LocalDateTime slotStart = startOfDay.plusMinutes(startMinute);
+            LocalDateTime slotEnd = slotStart.plusMinutes(duration);
+
+            boolean expected = appointments.stream()
+                    .noneMatch(a -> a[0].isBefore(slotEnd) && a[1].isAfter(slotStart));
+            assertThat(occupancy.isFree(startMinute, duration)).isEqualTo(expected);
+        }
+    }
+}
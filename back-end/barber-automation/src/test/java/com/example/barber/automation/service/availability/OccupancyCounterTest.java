@@ -0,0 +1,108 @@
+package com.example.barber.automation.service.availability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OccupancyCounter Unit Test
+ *
+ * Segment tree doluluk sayacının dakika dizisi üzerinde kaba kuvvetle hesaplanan
+ * en yüksek doluluğa eşit olduğunu ve kapasite kontrolünü doğrular.
+ */
+@DisplayName("OccupancyCounter Unit Tests")
+class OccupancyCounterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Test
+    @DisplayName("Kapasite - Koltuk sayısına ulaşılmadıkça aralık müsait")
+    void isFree_ShouldCompareWithCapacity() {
+        // Given: 10:00-11:00 ve 10:30-11:30 randevuları (2 koltuk)
+        OccupancyCounter counter = OccupancyCounter.forDay(DAY);
+        counter.occupy(DAY.atTime(10, 0), DAY.atTime(11, 0));
+        counter.occupy(DAY.atTime(10, 30), DAY.atTime(11, 30));
+
+        // Then: 10:30-11:00 iki koltuk dolu, öncesi ve sonrası tek koltuk
+        assertThat(counter.max(600, 630)).isEqualTo(1);
+        assertThat(counter.max(630, 660)).isEqualTo(2);
+        assertThat(counter.isFree(585, 45, 2)).isTrue();
+        assertThat(counter.isFree(600, 45, 2)).isFalse();
+        assertThat(counter.isFree(660, 45, 2)).isTrue();
+        assertThat(counter.isFree(660, 45, 1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Mola - Kapasite kadar ekleme tüm koltukları kapatır")
+    void addCapacity_ShouldBlockAllChairs() {
+        OccupancyCounter counter = OccupancyCounter.forDay(DAY);
+        counter.add(720, 780, 3);
+
+        assertThat(counter.isFree(660, 60, 3)).isTrue();
+        assertThat(counter.isFree(750, 15, 3)).isFalse();
+        assertThat(counter.isFree(780, 60, 3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Saniyeli randevu - Dakikaya genişletilir")
+    void occupyWithSeconds_ShouldExpandToMinutes() {
+        OccupancyCounter counter = OccupancyCounter.forDay(DAY);
+        counter.occupy(DAY.atTime(10, 0, 30), DAY.atTime(10, 29, 1));
+
+        assertThat(counter.max(600, 601)).isEqualTo(1);
+        assertThat(counter.max(629, 630)).isEqualTo(1);
+        assertThat(counter.max(630, 660)).isZero();
+    }
+
+    @Test
+    @DisplayName("Sınırlar - Sayaç dışı aralıklar yok sayılır")
+    void outOfRange_ShouldBeIgnored() {
+        LocalDateTime origin = DAY.atTime(10, 0);
+        OccupancyCounter counter = new OccupancyCounter(origin, 45);
+        counter.occupy(origin.minusHours(1), origin.plusMinutes(15));
+        counter.occupy(origin.plusMinutes(30), origin.plusHours(2));
+
+        assertThat(counter.max(-100, 0)).isZero();
+        assertThat(counter.max(0, 15)).isEqualTo(1);
+        assertThat(counter.max(15, 30)).isZero();
+        assertThat(counter.max(0, 1000)).isEqualTo(1);
+        assertThat(new OccupancyCounter(origin, 0).isFree(0, 30, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rastgele - Kaba kuvvet dakika sayacıyla aynı sonuç")
+    void randomRanges_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        int length = OccupancyCounter.forDay(DAY).getLengthMinutes();
+
+        for (int round = 0; round < 20; round++) {
+            OccupancyCounter counter = OccupancyCounter.forDay(DAY);
+            int[] minutes = new int[length];
+
+            for (int i = 0; i < 40; i++) {
+                int from = random.nextInt(length);
+                int to = Math.min(length, from + 1 + random.nextInt(180));
+                int delta = random.nextInt(3) + 1;
+                counter.add(from, to, delta);
+                for (int m = from; m < to; m++) {
+                    minutes[m] += delta;
+                }
+            }
+
+            for (int q = 0; q < 200; q++) {
+                int from = random.nextInt(length);
+                int to = Math.min(length, from + 1 + random.nextInt(240));
+                int expected = 0;
+                for (int m = from; m < to; m++) {
+                    expected = Math.max(expected, minutes[m]);
+                }
+                assertThat(counter.max(from, to)).isEqualTo(expected);
+            }
+        }
+    }
+}
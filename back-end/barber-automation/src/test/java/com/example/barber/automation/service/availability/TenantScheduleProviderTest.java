@@ -0,0 +1,176 @@
+package com.example.barber.automation.service.availability;
+
+import com.example.barber.automation.entity.TenantSetting;
+import com.example.barber.automation.repository.ChairRepository;
+import com.example.barber.automation.repository.TenantSettingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TenantScheduleProvider Unit Test
+ *
+ * Ayarların tek seferde derlenmesi, tarihe özel istisnalar (tatil, yarım gün,
+ * özel açılış) ve ayar değişikliğinde yeniden derleme.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantScheduleProvider Unit Tests")
+class TenantScheduleProviderTest {
+
+    // 2025-01-13 Pazartesi, 2025-01-19 Pazar
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 13);
+    private static final LocalDate SUNDAY = LocalDate.of(2025, 1, 19);
+
+    private static final String WORKING_HOURS = """
+            {
+                "MONDAY": {"start": "09:00", "end": "18:00", "enabled": "true"},
+                "TUESDAY": {"start": "09:00", "end": "18:00", "enabled": "true"},
+                "SUNDAY": {"enabled": "false"}
+            }
+            """;
+
+    @Mock
+    private TenantSettingRepository tenantSettingRepository;
+
+    @Mock
+    private ChairRepository chairRepository;
+
+    private TenantScheduleProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new TenantScheduleProvider(tenantSettingRepository, chairRepository, new ObjectMapper(), 300);
+    }
+
+    @Test
+    @DisplayName("Haftalık şablon - Açık ve mola aralıkları dakika olarak döner")
+    void getSchedule_ShouldCompileWeeklyTemplate() {
+        givenSettings(
+                new TenantSetting(TenantSetting.Keys.WORKING_HOURS, WORKING_HOURS, null),
+                new TenantSetting(TenantSetting.Keys.BREAK_HOURS,
+                        "[{\"start\": \"12:00\", \"end\": \"13:00\", \"enabled\": \"true\"}]", null),
+                new TenantSetting(TenantSetting.Keys.BOOKING_INTERVAL_MINUTES, "15", null));
+
+        TenantSchedule schedule = provider.getSchedule(1L);
+
+        assertThat(schedule.getOpenRanges(MONDAY)).containsExactly(540, 1080);
+        assertThat(schedule.getBreakRanges(MONDAY)).containsExactly(720, 780);
+        assertThat(schedule.isOpen(SUNDAY)).isFalse();
+        assertThat(schedule.getBreakRanges(SUNDAY)).isEmpty();
+        // Şablonda olmayan gün kapalıdır
+        assertThat(schedule.isOpen(MONDAY.plusDays(2))).isFalse();
+        assertThat(schedule.getIntervalMinutes()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Ayar yok - Varsayılan Pazartesi-Cumartesi 09:00-18:00, 30 dakika aralık")
+    void getSchedule_WithoutSettings_ShouldUseDefaults() {
+        givenSettings();
+
+        TenantSchedule schedule = provider.getSchedule(1L);
+
+        assertThat(schedule.getOpenRanges(MONDAY)).containsExactly(540, 1080);
+        assertThat(schedule.getOpenRanges(SUNDAY.minusDays(1))).containsExactly(540, 1080);
+        assertThat(schedule.isOpen(SUNDAY)).isFalse();
+        assertThat(schedule.getIntervalMinutes()).isEqualTo(30);
+        // Koltuk tanımlanmamış: tek kaynak
+        assertThat(schedule.getCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Kapasite - Aktif koltuk sayısı takvime işlenir")
+    void getSchedule_WithChairs_ShouldUseActiveChairCountAsCapacity() {
+        givenSettings();
+        when(chairRepository.countByTenantIdAndActiveTrue(1L)).thenReturn(3L);
+
+        TenantSchedule schedule = provider.getSchedule(1L);
+
+        assertThat(schedule.getCapacity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("İstisnalar - Tatil, yarım gün ve özel açılış günü haftalık şablonu ezer")
+    void getSchedule_WithExceptions_ShouldOverrideWeeklyTemplate() {
+        String exceptions = """
+                [
+                    {"date": "2025-01-13", "enabled": "false"},
+                    {"date": "2025-01-14", "start": "09:00", "end": "13:00", "enabled": "true"},
+                    {"date": "2025-01-19", "start": "10:00", "end": "12:00"},
+                    {"date": "2025-01-19", "start": "14:00", "end": "16:00"},
+                    {"date": "geçersiz", "enabled": "false"}
+                ]
+                """;
+        givenSettings(
+                new TenantSetting(TenantSetting.Keys.WORKING_HOURS, WORKING_HOURS, null),
+                new TenantSetting(TenantSetting.Keys.SCHEDULE_EXCEPTIONS, exceptions, null));
+
+        TenantSchedule schedule = provider.getSchedule(1L);
+
+        assertThat(schedule.isOpen(MONDAY)).isFalse();
+        assertThat(schedule.getOpenRanges(MONDAY.plusDays(1))).containsExactly(540, 780);
+        assertThat(schedule.getOpenRanges(SUNDAY)).containsExactly(600, 720, 840, 960);
+        // Bir sonraki Pazartesi şablona döner
+        assertThat(schedule.getOpenRanges(MONDAY.plusWeeks(1))).containsExactly(540, 1080);
+    }
+
+    @Test
+    @DisplayName("Önbellek - Takvim bir kez derlenir, geçersiz kılınınca yeniden derlenir")
+    void getSchedule_ShouldCompileOncePerSettingsVersion() {
+        givenSettings(new TenantSetting(TenantSetting.Keys.WORKING_HOURS, WORKING_HOURS, null));
+
+        TenantSchedule first = provider.getSchedule(1L);
+        assertThat(provider.getSchedule(1L)).isSameAs(first);
+        verify(tenantSettingRepository, times(1)).findByTenantIdAndSettingKeyIn(eq(1L), anyCollection());
+
+        provider.invalidate(1L);
+
+        assertThat(provider.getSchedule(1L)).isNotSameAs(first);
+        verify(tenantSettingRepository, times(2)).findByTenantIdAndSettingKeyIn(eq(1L), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı geçersiz kılma - Derleme sırasında sadece aynı kuaförün değişikliği sonucu saklatmaz")
+    void getSchedule_WhenInvalidatedDuringLoad_ShouldDiscardOnlySameTenant() {
+        List<TenantSetting> settings = List.of(new TenantSetting(TenantSetting.Keys.WORKING_HOURS, WORKING_HOURS, null));
+        when(tenantSettingRepository.findByTenantIdAndSettingKeyIn(eq(1L), anyCollection()))
+                .thenAnswer(invocation -> {
+                    provider.invalidate(2L);
+                    return settings;
+                })
+                .thenAnswer(invocation -> {
+                    provider.invalidate(1L);
+                    return settings;
+                });
+
+        // Başka kuaförün geçersiz kılınması derlenen takvimi etkilemez
+        TenantSchedule first = provider.getSchedule(1L);
+        assertThat(provider.getSchedule(1L)).isSameAs(first);
+        verify(tenantSettingRepository, times(1)).findByTenantIdAndSettingKeyIn(eq(1L), anyCollection());
+
+        // Derleme sırasında aynı kuaför geçersiz kılınırsa takvim saklanmaz
+        provider.invalidate(1L);
+        provider.getSchedule(1L);
+        provider.getSchedule(1L);
+        verify(tenantSettingRepository, times(3)).findByTenantIdAndSettingKeyIn(eq(1L), anyCollection());
+    }
+
+    private void givenSettings(TenantSetting... settings) {
+        List<TenantSetting> list = Arrays.asList(settings);
+        when(tenantSettingRepository.findByTenantIdAndSettingKeyIn(eq(1L), anyCollection())).thenReturn(list);
+    }
+}
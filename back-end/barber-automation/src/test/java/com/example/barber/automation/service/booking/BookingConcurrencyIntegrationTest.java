@@ -0,0 +1,129 @@
+package com.example.barber.automation.service.booking;
+
+import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.dto.CreateAppointmentRequest;
+import com.example.barber.automation.entity.Customer;
+import com.example.barber.automation.entity.Service;
+import com.example.barber.automation.entity.Tenant;
+import com.example.barber.automation.repository.AppointmentOutboxRepository;
+import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.repository.CustomerRepository;
+import com.example.barber.automation.repository.ServiceRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import com.example.barber.automation.service.AppointmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Randevu yazımı eşzamanlılık testi (gerçek AppointmentService yolu, H2)
+ *
+ * Aynı slot'a eşzamanlı gelen rezervasyonlardan sadece birinin kaydedildiğini doğrular. İstekler
+ * AppointmentService.createAppointment'ın kendi transaction'larında, BookingGuard ve veritabanı
+ * kilidinden geçerek çalışır; reddedilenler IllegalArgumentException alır (dolu veya yoğun).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "whatsapp.webhook-verify-token=test-verify-token",
+        "whatsapp.api.token=test-token"
+})
+@DisplayName("Booking Concurrency Integration Tests")
+class BookingConcurrencyIntegrationTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentOutboxRepository appointmentOutboxRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private Tenant tenant;
+    private Customer customer;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        tenant = tenantRepository.save(TestDataBuilder.createTestTenant("Eşzamanlı Kuaför", "+905321110000"));
+        customer = customerRepository.save(TestDataBuilder.createTestCustomer("Ali Veli", "+905331110000", tenant));
+        service = serviceRepository.save(TestDataBuilder.createDefaultHairCutService(tenant));
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentOutboxRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        serviceRepository.deleteAll();
+        customerRepository.deleteAll();
+        tenantRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Aynı slot - Eşzamanlı rezervasyonlardan sadece biri kaydedilir")
+    void concurrentBookingsForSameSlot_ShouldPersistExactlyOne() throws Exception {
+        int requests = 50;
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        appointmentService.createAppointment(
+                                new CreateAppointmentRequest(customer.getId(), service.getId(), start), tenant.getId());
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(requests - 1);
+        assertThat(appointmentRepository.findAll())
+                .filteredOn(appointment -> appointment.getStartTime().equals(start))
+                .hasSize(1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.barber.automation.service.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * BookingGuard Unit Test
+ *
+ * Farklı kuaförlerin birbirini beklemediğini, bekleyen sınırı dolu şeridin isteği hemen reddettiğini,
+ * kilitlerin transaction bitince bırakıldığını ve günlerin veritabanı kilidine artan sırada verildiğini
+ * doğrular. Gerçek randevu yolunun eşzamanlılık testi BookingConcurrencyIntegrationTest'tedir.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingGuard Unit Tests")
+class BookingGuardTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    @Mock
+    private BookingDayLock bookingDayLock;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(new InMemoryTransactionManager());
+    }
+
+    @Test
+    @DisplayName("Farklı kuaförler - Bir kuaförün açık kilidi diğerini bekletmez, kilit transaction sonunda bırakılır")
+    void differentTenants_ShouldNotBlockEachOther() throws Exception {
+        // Bekleyen olmayan koruma: kilit boş değilse hemen reddedilir
+        BookingGuard bookingGuard = new BookingGuard(bookingDayLock, 1024, 2_000, 0);
+        LocalDateTime start = DAY.atTime(10, 0);
+        assertThat(bookingGuard.stripeIndexes(1L, start, start.plusMinutes(45)))
+                .doesNotContain(bookingGuard.stripeIndexes(2L, start, start.plusMinutes(45)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Kuaför 1'in transaction'ı kilidi tutarken bekler
+            Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bookingGuard.acquire(1L, start, start.plusMinutes(45));
+                holding.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Kuaför 2 aynı saatte kilidi alır; kuaför 1'in aynı günü reddedilir
+            transactionTemplate.executeWithoutResult(status -> bookingGuard.acquire(2L, start, start.plusMinutes(45)));
+            assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(
+                    status -> bookingGuard.acquire(1L, start.plusHours(2), start.plusHours(3))))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        // Kilit transaction bitince bırakılmış olmalı
+        transactionTemplate.executeWithoutResult(status -> bookingGuard.acquire(1L, start, start.plusMinutes(45)));
+    }
+
+    @Test
+    @DisplayName("Veritabanı kilidi - Aralığın günleri artan sırada kilitlenir")
+    void acquire_ShouldLockEveryDayInDatabase() {
+        BookingGuard bookingGuard = new BookingGuard(bookingDayLock, 1024, 2_000, 4);
+        LocalDateTime lateStart = DAY.atTime(23, 30);
+
+        transactionTemplate.executeWithoutResult(status ->
+                bookingGuard.acquire(1L, lateStart, lateStart.plusMinutes(60)));
+
+        verify(bookingDayLock).lock(1L, List.of(DAY, DAY.plusDays(1)), 2_000);
+    }
+
+    @Test
+    @DisplayName("Transaction yok - Kilit alınmaz")
+    void acquireWithoutTransaction_ShouldThrow() {
+        BookingGuard bookingGuard = new BookingGuard(bookingDayLock, 1024, 2_000, 4);
+        LocalDateTime start = DAY.atTime(10, 0);
+
+        assertThatThrownBy(() -> bookingGuard.acquire(1L, start, start.plusMinutes(45)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Havuz - Bekleme süresi havuzun bağlantı bekleme süresinden kısa olmalı")
+    void timeoutAbovePoolTimeout_ShouldBeRejected() {
+        assertThatThrownBy(() -> new BookingGuard(bookingDayLock, 1024, 30_000, 4, 30_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Gün sınırı - Gece yarısını aşan aralık iki günün şeritlerini alır")
+    void stripeIndexes_ShouldCoverEveryDayInRange() {
+        BookingGuard bookingGuard = new BookingGuard(bookingDayLock, 1024, 2_000, 4);
+        LocalDateTime lateStart = DAY.atTime(23, 30);
+        int today = bookingGuard.stripeIndexes(1L, DAY.atTime(10, 0), DAY.atTime(11, 0))[0];
+        int tomorrow = bookingGuard.stripeIndexes(1L, DAY.plusDays(1).atTime(0, 0), DAY.plusDays(1).atTime(0, 30))[0];
+
+        assertThat(bookingGuard.stripeIndexes(1L, lateStart, lateStart.plusMinutes(60)))
+                .contains(today, tomorrow);
+        // Gece yarısında biten aralık ertesi güne taşmaz
+        assertThat(bookingGuard.stripeIndexes(1L, DAY.atTime(23, 0), DAY.plusDays(1).atStartOfDay()))
+                .containsExactly(today);
+    }
+
+    /**
+     * Sadece transaction senkronizasyonunu yöneten test transaction manager'ı
+     */
+    private static final class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.barber.automation.service.booking;
+
+import com.example.barber.automation.dto.AppointmentTimeRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SlotHoldService Unit Test
+ *
+ * Tutmaların diğer sahipler için dolu sayılmasını, sahip başına tek tutmayı,
+ * TTL sonunda (timer wheel ile) bırakılmayı ve bırakmayı doğrular.
+ */
+@DisplayName("SlotHoldService Unit Tests")
+class SlotHoldServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+    private static final String OWNER = "+905331234567_1";
+    private static final String OTHER = "+905339876543_1";
+
+    private MutableClock clock;
+    private SlotHoldService slotHoldService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-14T08:00:00Z"));
+        slotHoldService = new SlotHoldService(300, 1000, clock);
+    }
+
+    @Test
+    @DisplayName("Kesişim - Tutma diğer sahipler için görünür, sahibinin kendisi için değil")
+    void findOverlapping_ShouldExcludeOwnHold() {
+        slotHoldService.place(OWNER, 1L, DAY.atTime(10, 0), DAY.atTime(10, 45));
+
+        assertThat(slotHoldService.findOverlapping(1L, DAY.atTime(10, 30), DAY.atTime(11, 0), OTHER))
+                .extracting(AppointmentTimeRange::getStartTime)
+                .containsExactly(DAY.atTime(10, 0));
+        assertThat(slotHoldService.findOverlapping(1L, DAY.atTime(10, 30), DAY.atTime(11, 0), OWNER)).isEmpty();
+        // Bitişik aralık ve başka kuaför kesişmez
+        assertThat(slotHoldService.findOverlapping(1L, DAY.atTime(10, 45), DAY.atTime(11, 30), null)).isEmpty();
+        assertThat(slotHoldService.findOverlapping(2L, DAY.atTime(10, 0), DAY.atTime(11, 0), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Sahip başına tek tutma - Yeni saat seçilince önceki tutma bırakılır")
+    void place_SameOwner_ShouldReplacePreviousHold() {
+        slotHoldService.place(OWNER, 1L, DAY.atTime(10, 0), DAY.atTime(10, 45));
+        slotHoldService.place(OWNER, 1L, DAY.atTime(14, 0), DAY.atTime(14, 45));
+
+        assertThat(slotHoldService.size()).isEqualTo(1);
+        assertThat(slotHoldService.findOverlapping(1L, DAY.atTime(10, 0), DAY.atTime(11, 0), null)).isEmpty();
+        assertThat(slotHoldService.find(OWNER)).get()
+                .extracting(SlotHold::getStartTime)
+                .isEqualTo(DAY.atTime(14, 0));
+    }
+
+    @Test
+    @DisplayName("TTL - Süresi dolan tutma bırakılır, yenilenen tutmanın süresi baştan başlar")
+    void expiredHold_ShouldBeReleased() {
+        slotHoldService.place(OWNER, 1L, DAY.atTime(10, 0), DAY.atTime(10, 45));
+        clock.advance(Duration.ofSeconds(200));
+        slotHoldService.place(OTHER, 1L, DAY.atTime(12, 0), DAY.atTime(12, 45));
+
+        // İlk tutma 300. saniyede dolar, ikincisi hala geçerli
+        clock.advance(Duration.ofSeconds(100));
+        slotHoldService.expireHolds();
+        assertThat(slotHoldService.find(OWNER)).isEmpty();
+        assertThat(slotHoldService.find(OTHER)).isPresent();
+        assertThat(slotHoldService.findOverlapping(1L, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), null))
+                .hasSize(1);
+
+        clock.advance(Duration.ofSeconds(200));
+        assertThat(slotHoldService.find(OTHER)).isEmpty();
+        assertThat(slotHoldService.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Bırakma - Bırakılan tutma hemen kesişim sorgularından çıkar")
+    void release_ShouldRemoveHold() {
+        slotHoldService.place(OWNER, 1L, DAY.atTime(10, 0), DAY.atTime(10, 45));
+        slotHoldService.release(OWNER);
+
+        assertThat(slotHoldService.find(OWNER)).isEmpty();
+        assertThat(slotHoldService.findOverlapping(1L, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), null))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Dönüştürme - Transaction yoksa tutma hemen bırakılır")
+    void releaseAfterCommit_WithoutTransaction_ShouldReleaseImmediately() {
+        slotHoldService.place(OWNER, 1L, DAY.atTime(10, 0), DAY.atTime(10, 45));
+
+        slotHoldService.releaseAfterCommit(OWNER);
+
+        assertThat(slotHoldService.find(OWNER)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Geçersiz istek - Boş veya ters aralık tutulmaz")
+    void place_WithInvalidRange_ShouldThrow() {
+        LocalDateTime start = DAY.atTime(10, 0);
+
+        assertThatThrownBy(() -> slotHoldService.place(OWNER, 1L, start, start))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotHoldService.place(null, 1L, start, start.plusMinutes(45)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.barber.automation.service.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimerWheel Unit Test
+ *
+ * Kayıtların süresinden önce bildirilmediğini, en fazla bir dilim geç bildirildiğini,
+ * iptal edilenlerin atlandığını ve turdan uzak kayıtların doğru turda işlendiğini doğrular.
+ */
+@DisplayName("TimerWheel Unit Tests")
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("Süre - Kayıt süresinden önce bildirilmez, dilim sonunda bildirilir")
+    void advance_ShouldExpireOnlyDueItems() {
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 300);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(249, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(299, expired::add);
+        assertThat(expired).isEmpty();
+
+        // 250'de dolan kayıt bir sonraki dilim sınırında (300) bildirilir
+        wheel.advance(300, expired::add);
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("İptal - İptal edilen kayıt bildirilmez")
+    void cancel_ShouldSkipItem() {
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+        TimerWheel.Timeout<String> timeout = wheel.schedule("a", 200);
+        wheel.schedule("b", 200);
+        timeout.cancel();
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(1_000, expired::add);
+
+        assertThat(expired).containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("Tur - Çarktan uzun süreli kayıtlar ve uzun aralıklı ilerletme")
+    void advance_BeyondOneRotation_ShouldMatchDeadlines() {
+        // 8 kova x 10 ms = 80 ms'lik çark; süreler 0-2000 ms arasında
+        Random random = new Random(7);
+        TimerWheel<Long> wheel = new TimerWheel<>(10, 8, 0);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = random.nextInt(2_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        long now = 0;
+        while (now < 2_100) {
+            now += 1 + random.nextInt(150);
+            long current = now;
+            wheel.advance(current, deadline -> {
+                // Erken bildirim yok, en fazla bir dilim gecikme
+                assertThat(deadline).isLessThanOrEqualTo(current);
+                expired.add(deadline);
+            });
+            for (long deadline : deadlines) {
+                if (deadline <= current - 10) {
+                    assertThat(expired).contains(deadline);
+                }
+            }
+        }
+
+        assertThat(expired).hasSameSizeAs(deadlines);
+    }
+}
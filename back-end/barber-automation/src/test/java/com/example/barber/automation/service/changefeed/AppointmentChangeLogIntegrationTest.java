@@ -0,0 +1,137 @@
+package com.example.barber.automation.service.changefeed;
+
+import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.dto.AppointmentDto;
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AppointmentChangeLog Integration Test
+ *
+ * Değişen randevulara kuaför bazında artan sıra verildiğini ve değişiklik akışı sorgusunun
+ * token'dan sonra sadece değişenleri (sıra, id) düzeninde, diğer kuaförleri karıştırmadan döndüğünü doğrular.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("AppointmentChangeLog Integration Tests")
+class AppointmentChangeLogIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentChangeLog changeLog;
+    private AppointmentChangeSequencer sequencer;
+    private TestDataBuilder.MultiTenantTestData testData;
+    private Appointment first;
+    private Appointment second;
+    private Appointment third;
+    private Appointment otherTenant;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new AppointmentChangeLog(jdbcTemplate);
+        sequencer = new AppointmentChangeSequencer(jdbcTemplate, transactionManager);
+        testData = new TestDataBuilder.MultiTenantTestData();
+        entityManager.persistAndFlush(testData.tenant1);
+        entityManager.persistAndFlush(testData.tenant2);
+        entityManager.persistAndFlush(testData.customer1Tenant1);
+        entityManager.persistAndFlush(testData.customer1Tenant2);
+        entityManager.persistAndFlush(testData.service1Tenant1);
+        entityManager.persistAndFlush(testData.service1Tenant2);
+
+        LocalDateTime tomorrow10AM = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        first = entityManager.persistAndFlush(TestDataBuilder.createTestAppointment(
+                tomorrow10AM, testData.customer1Tenant1, testData.service1Tenant1, testData.tenant1));
+        second = entityManager.persistAndFlush(TestDataBuilder.createTestAppointment(
+                tomorrow10AM.plusHours(1), testData.customer1Tenant1, testData.service1Tenant1, testData.tenant1));
+        third = entityManager.persistAndFlush(TestDataBuilder.createTestAppointment(
+                tomorrow10AM.plusHours(2), testData.customer1Tenant1, testData.service1Tenant1, testData.tenant1));
+        otherTenant = entityManager.persistAndFlush(TestDataBuilder.createTestAppointment(
+                tomorrow10AM, testData.customer1Tenant2, testData.service1Tenant2, testData.tenant2));
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Akış başı - Token yoksa kuaförün tüm randevuları ID sırasıyla döner")
+    void changesFromStart_ShouldReturnAllTenantAppointments() {
+        List<AppointmentDto> changes = changesAfter(ChangeToken.START, 10);
+
+        assertThat(changes).extracting(AppointmentDto::getId)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(changes).extracting(AppointmentDto::getChangeSeq).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("Değişiklik - Sadece token'dan sonra değişen randevular, değişiklik sırasıyla döner")
+    void touch_ShouldExposeOnlyChangedAppointments() {
+        // Given: İstemci tüm listeyi almış
+        ChangeToken synced = new ChangeToken(0L, third.getId());
+
+        // When: İkinci randevu değişir, ardından birinci ve üçüncü toplu güncellenir
+        changeLog.touch(appointmentRepository.findById(second.getId()).orElseThrow());
+        assertThat(changesAfter(synced, 10)).isEmpty();
+        assertThat(sequencer.sequence(testData.tenant1.getId())).isEqualTo(1);
+        changeLog.markChanged(testData.tenant1.getId(), List.of(third.getId(), first.getId()));
+        assertThat(sequencer.sequence(testData.tenant1.getId())).isEqualTo(2);
+
+        // Then: Değişiklikler sırayla, aynı sıradakiler ID sırasıyla döner
+        List<AppointmentDto> changes = changesAfter(synced, 10);
+        assertThat(changes).extracting(AppointmentDto::getId)
+                .containsExactly(second.getId(), first.getId(), third.getId());
+        assertThat(changes).extracting(AppointmentDto::getChangeSeq).containsExactly(1L, 2L, 2L);
+        assertThat(changeLog.currentSequence(testData.tenant1.getId())).isEqualTo(2L);
+
+        // Aynı sıradaki grup sayfa sınırında bölünebilir
+        List<AppointmentDto> firstPage = changesAfter(new ChangeToken(1L, second.getId()), 1);
+        assertThat(firstPage).extracting(AppointmentDto::getId).containsExactly(first.getId());
+        assertThat(changesAfter(new ChangeToken(2L, first.getId()), 1))
+                .extracting(AppointmentDto::getId).containsExactly(third.getId());
+
+        // Diğer kuaförün sırası ve randevuları etkilenmez
+        assertThat(changeLog.currentSequence(testData.tenant2.getId())).isZero();
+        assertThat(appointmentRepository.findDtoChangesAfter(testData.tenant2.getId(), 0L, otherTenant.getId(),
+                Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Token - Kodlanan token aynen çözülür, bozuk token reddedilir")
+    void changeToken_ShouldRoundTrip() {
+        ChangeToken token = ChangeToken.decode(new ChangeToken(42L, 7L).encode());
+
+        assertThat(token.getSequence()).isEqualTo(42L);
+        assertThat(token.getId()).isEqualTo(7L);
+        assertThat(ChangeToken.decode(null)).isSameAs(ChangeToken.START);
+        assertThatThrownBy(() -> ChangeToken.decode("bozuk-token!"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<AppointmentDto> changesAfter(ChangeToken token, int limit) {
+        return appointmentRepository.findDtoChangesAfter(testData.tenant1.getId(), token.getSequence(), token.getId(),
+                Limit.of(limit));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.barber.automation.service.changefeed;
+
+import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.entity.Customer;
+import com.example.barber.automation.entity.Service;
+import com.example.barber.automation.entity.Tenant;
+import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.repository.CustomerRepository;
+import com.example.barber.automation.repository.ServiceRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AppointmentChangeSequencer Integration Test
+ *
+ * Aynı kuaförün farklı günlerdeki randevularını değiştiren transaction'ların birbirini beklemediğini,
+ * sıranın sadece commit edilmiş değişikliklere commit sırasıyla verildiğini doğrular.
+ * Sıralayıcı kendi transaction'larını açtığı için test transaction'sız çalışır ve verileri siler.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AppointmentChangeSequencer Integration Tests")
+class AppointmentChangeSequencerIntegrationTest {
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentChangeLog changeLog;
+    private AppointmentChangeSequencer sequencer;
+    private Long tenantId;
+    private Appointment today;
+    private Appointment tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new AppointmentChangeLog(jdbcTemplate);
+        sequencer = new AppointmentChangeSequencer(jdbcTemplate, transactionManager);
+
+        Tenant tenant = tenantRepository.save(TestDataBuilder.createDefaultTestTenant());
+        Customer customer = customerRepository.save(
+                TestDataBuilder.createTestCustomer("Ahmet Yılmaz", "+905331111111", tenant));
+        Service service = serviceRepository.save(TestDataBuilder.createDefaultHairCutService(tenant));
+        LocalDateTime todayAt10 = LocalDateTime.now().withHour(10).withMinute(0).withSecond(0).withNano(0);
+        today = appointmentRepository.save(TestDataBuilder.createTestAppointment(todayAt10, customer, service, tenant));
+        tomorrow = appointmentRepository.save(
+                TestDataBuilder.createTestAppointment(todayAt10.plusDays(1), customer, service, tenant));
+        tenantId = tenant.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        serviceRepository.deleteAll();
+        customerRepository.deleteAll();
+        tenantRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Eşzamanlılık - Aynı kuaförün farklı günlerindeki değişiklikler birbirini beklemez")
+    void markChanged_OnDifferentDaysOfSameTenant_ShouldNotWaitForEachOther() throws Exception {
+        CountDownLatch marked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Given: Bugünkü randevuyu değiştiren transaction açık kalır
+            Future<?> open = executor.submit(() -> inTransaction(() -> {
+                changeLog.markChanged(tenantId, List.of(today.getId()));
+                marked.countDown();
+                awaitQuietly(release);
+            }));
+            assertThat(marked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When: Yarınki randevu başka bir transaction'da değişir
+            CompletableFuture.runAsync(() -> inTransaction(() ->
+                    changeLog.markChanged(tenantId, List.of(tomorrow.getId())))).get(5, TimeUnit.SECONDS);
+
+            // Then: Commit edilen değişiklik açık transaction'ı beklemeden sıra alır
+            assertThat(sequencer.sequenceTenant(tenantId)).isEqualTo(1);
+            assertThat(changeSeqOf(tomorrow)).isEqualTo(1L);
+            assertThat(changeSeqOf(today)).isZero();
+
+            // When: Açık transaction commit edilir
+            release.countDown();
+            open.get(5, TimeUnit.SECONDS);
+
+            // Then: Sonraki sıra commit sırasıyla verilir
+            assertThat(sequencer.sequenceTenant(tenantId)).isEqualTo(1);
+            assertThat(changeSeqOf(today)).isEqualTo(2L);
+            assertThat(currentSequence()).isEqualTo(2L);
+
+            // Bekleyen değişiklik yoksa sıra artmaz
+            assertThat(sequencer.sequenceTenant(tenantId)).isZero();
+            assertThat(currentSequence()).isEqualTo(2L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Tur - Bekleyen değişikliği olan kuaförlere sıra verilir, bayraklar kapanır")
+    void sequencePending_ShouldStampAllPendingChanges() {
+        inTransaction(() -> changeLog.markChanged(tenantId, List.of(today.getId(), tomorrow.getId())));
+
+        sequencer.sequencePending();
+
+        assertThat(changeSeqOf(today)).isEqualTo(1L);
+        assertThat(changeSeqOf(tomorrow)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointments WHERE change_pending = TRUE", Long.class)).isZero();
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private long changeSeqOf(Appointment appointment) {
+        return jdbcTemplate.queryForObject("SELECT change_seq FROM appointments WHERE id = ?", Long.class,
+                appointment.getId());
+    }
+
+    private long currentSequence() {
+        return jdbcTemplate.queryForObject("SELECT appointment_change_seq FROM tenants WHERE id = ?", Long.class,
+                tenantId);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
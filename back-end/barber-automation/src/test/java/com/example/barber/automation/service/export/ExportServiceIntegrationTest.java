@@ -0,0 +1,147 @@
+package com.example.barber.automation.service.export;
+
+import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.entity.Customer;
+import com.example.barber.automation.entity.Service;
+import com.example.barber.automation.entity.Tenant;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExportService Integration Test
+ *
+ * Randevu ve müşteri dökümünün filtrelerle, fetch size'dan büyük veri setinde eksiksiz ve
+ * sıralı aktığını, CSV kaçışlarını ve NDJSON satır formatını H2 üzerinde doğrular.
+ */
+@DataJpaTest(properties = "export.fetch-size=2")
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ExportService.class)
+@DisplayName("ExportService Integration Tests")
+class ExportServiceIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Tenant tenant;
+    private Tenant otherTenant;
+
+    @BeforeEach
+    void setUp() {
+        tenant = entityManager.persist(TestDataBuilder.createTestTenant("Export Kuafor", "+905551112233"));
+        otherTenant = entityManager.persist(TestDataBuilder.createTestTenant("Diger Kuafor", "+905551112244"));
+        Service service = entityManager.persist(TestDataBuilder.createDefaultHairCutService(tenant));
+        Service otherService = entityManager.persist(TestDataBuilder.createDefaultHairCutService(otherTenant));
+
+        Customer ayse = entityManager.persist(TestDataBuilder.createTestCustomer("Ayşe, Yılmaz", "+905331110001", tenant));
+        Customer mehmet = entityManager.persist(TestDataBuilder.createTestCustomer("Mehmet", "+905331110002", tenant));
+        Customer other = entityManager.persist(TestDataBuilder.createTestCustomer("Başka", "+905331110003", otherTenant));
+
+        // 5 gün x 2 randevu; ilk gün iptal edilmiş bir randevu içerir
+        for (int day = 0; day < 5; day++) {
+            Appointment morning = TestDataBuilder.createTestAppointment(DAY.plusDays(day).atTime(10, 0), ayse, service, tenant);
+            morning.setNotes("Not \"özel\"");
+            entityManager.persist(morning);
+            Appointment afternoon = TestDataBuilder.createTestAppointment(DAY.plusDays(day).atTime(15, 0), mehmet, service, tenant);
+            afternoon.setStatus(day == 0 ? Appointment.AppointmentStatus.CANCELLED : Appointment.AppointmentStatus.CONFIRMED);
+            afternoon.setNotes("=HYPERLINK(\"http://ornek\")");
+            entityManager.persist(afternoon);
+        }
+        entityManager.persist(TestDataBuilder.createTestAppointment(DAY.atTime(11, 0), other, otherService, otherTenant));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("CSV - Tarih ve durum filtresi, sıralı satırlar, kaçış ve formül koruması")
+    void exportAppointments_AsCsv_ShouldApplyFiltersAndEscape() {
+        // When: İlk 3 gün, iptal hariç dışa aktarılır
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportAppointments(tenant.getId(), DAY.atStartOfDay(), DAY.plusDays(3).atStartOfDay(),
+                List.of(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED),
+                ExportFormat.CSV, out);
+
+        // Then: 3 sabah + 2 öğleden sonra randevusu, başlangıca göre sıralı
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(5);
+        assertThat(csv).startsWith("\uFEFFid,startTime,endTime,status,customerName");
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(6);
+        assertThat(lines.get(1)).contains(DAY.atTime(10, 0).toString(), "\"Ayşe, Yılmaz\"", "\"Not \"\"özel\"\"\"");
+        assertThat(lines.get(2)).contains(DAY.plusDays(1).atTime(10, 0).toString());
+        assertThat(lines.get(3)).contains(DAY.plusDays(1).atTime(15, 0).toString(), "CONFIRMED", "'=HYPERLINK");
+        assertThat(csv).doesNotContain("CANCELLED", "Başka");
+    }
+
+    @Test
+    @DisplayName("NDJSON - Her satır ayrı JSON nesnesi, fetch size'dan büyük döküm eksiksiz")
+    void exportAppointments_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        // When: Filtresiz dışa aktarılır (fetch size 2, 10 satır)
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportAppointments(tenant.getId(), null, null, null, ExportFormat.NDJSON, out);
+
+        // Then: 10 satır, her biri geçerli JSON
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(10);
+        assertThat(lines).hasSize(10);
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("startTime").asText()).isEqualTo(DAY.atTime(10, 0).toString());
+        assertThat(first.get("customerName").asText()).isEqualTo("Ayşe, Yılmaz");
+        assertThat(first.get("chairId").isNull()).isTrue();
+        assertThat(first.get("totalPrice").isNumber()).isTrue();
+        assertThat(objectMapper.readTree(lines.get(9)).get("startTime").asText())
+                .isEqualTo(DAY.plusDays(4).atTime(15, 0).toString());
+    }
+
+    @Test
+    @DisplayName("Müşteriler - Sadece kuaförün müşterileri, aktiflik filtresiyle")
+    void exportCustomers_ShouldFilterByTenantAndActive() throws Exception {
+        // Given: Bir müşteri pasif
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Customer c SET c.active = false WHERE c.name = 'Mehmet'")
+                .executeUpdate();
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        ByteArrayOutputStream activeOnly = new ByteArrayOutputStream();
+
+        // When: Hepsi ve sadece aktifler dışa aktarılır
+        long allRows = exportService.exportCustomers(tenant.getId(), null, ExportFormat.NDJSON, all);
+        long activeRows = exportService.exportCustomers(tenant.getId(), true, ExportFormat.NDJSON, activeOnly);
+
+        // Then: Diğer kuaförün müşterisi hiç gelmez
+        assertThat(allRows).isEqualTo(2);
+        assertThat(activeRows).isEqualTo(1);
+        JsonNode active = objectMapper.readTree(activeOnly.toString(StandardCharsets.UTF_8).lines().findFirst().orElseThrow());
+        assertThat(active.get("name").asText()).isEqualTo("Ayşe, Yılmaz");
+        assertThat(active.get("active").asBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.barber.automation.service.idempotency;
+
+import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.dto.CustomerDto;
+import com.example.barber.automation.entity.IdempotencyRecord;
+import com.example.barber.automation.repository.IdempotencyRecordRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * IdempotencyService Integration Test
+ *
+ * Aynı anahtarla tekrarlanan istekte işlemin yeniden çalışmadığını ve saklanan yanıtın döndüğünü,
+ * farklı gövdeyle kullanılan anahtarın reddedildiğini, başarısız işlemin anahtarı serbest bıraktığını,
+ * kilit süresi geçen kaydın devralındığını, yanıt yazılamazsa işlemin geri alındığını ve temizliğin süresi dolan
+ * ve sınırı aşan kayıtları sildiğini doğrular.
+ * Servis kendi transaction'larını açtığı için test transaction'sız çalışır ve verileri siler.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("IdempotencyService Integration Tests")
+class IdempotencyServiceIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+    private static final String SCOPE = "customers:1";
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        recordRepository.deleteAll();
+        tenantRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Tekrar - Aynı anahtarla gelen istek işlemi yeniden çalıştırmadan ilk yanıtı döner")
+    void execute_WithSameKey_ShouldReplayStoredResponse() {
+        // Given
+        IdempotencyService service = service(10);
+        CustomerDto request = customer("Ahmet");
+
+        // When: Aynı istek iki kez gönderilir
+        ResponseEntity<CustomerDto> first = service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create);
+        ResponseEntity<CustomerDto> replay = service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create);
+
+        // Then: İşlem bir kez çalışır, tekrar aynı yanıtı döner
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replay.getBody().getId()).isEqualTo(first.getBody().getId());
+        assertThat(replay.getBody().getName()).isEqualTo("Ahmet");
+
+        // Farklı kapsamda aynı anahtar bağımsızdır
+        service.execute("customers:2", "key-1", request, CustomerDto.class, this::create);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Farklı gövde - Aynı anahtar farklı istekle kullanılırsa 422 döner")
+    void execute_WithDifferentBody_ShouldReject() {
+        IdempotencyService service = service(10);
+        service.execute(SCOPE, "key-1", customer("Ahmet"), CustomerDto.class, this::create);
+
+        ResponseEntity<CustomerDto> response =
+                service.execute(SCOPE, "key-1", customer("Mehmet"), CustomerDto.class, this::create);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Hata - Başarısız işlem anahtarı serbest bırakır, yeniden deneme çalışır")
+    void execute_WhenActionFails_ShouldReleaseKey() {
+        IdempotencyService service = service(10);
+        CustomerDto request = customer("Ahmet");
+
+        assertThatThrownBy(() -> service.execute(SCOPE, "key-1", request, CustomerDto.class, () -> {
+            throw new IllegalArgumentException("Telefon numarası kayıtlı");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(recordRepository.findByScopeAndIdempotencyKey(SCOPE, "key-1")).isEmpty();
+
+        ResponseEntity<CustomerDto> retry = service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create);
+
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("İşleniyor - İlk istek tamamlanmadan gelen tekrar 409 döner")
+    void execute_WhileInProgress_ShouldReturnConflict() {
+        IdempotencyService service = service(10);
+        CustomerDto request = customer("Ahmet");
+
+        ResponseEntity<CustomerDto> nested = service.execute(SCOPE, "key-1", request, CustomerDto.class,
+                () -> service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create));
+
+        assertThat(nested.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(executions.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Kilit süresi - Yanıtı saklanmayan kayıt süre geçince devralınır, geç biten ilk istek geri alınır")
+    void execute_AfterLeaseExpired_ShouldTakeOverKey() {
+        IdempotencyService service = service(10);
+        CustomerDto request = customer("Ahmet");
+
+        // When: İlk istek kilit süresinden uzun sürer, bu sırada başka istekler aynı anahtarla gelir
+        ResponseEntity<CustomerDto> first = service.execute(SCOPE, "key-1", request, CustomerDto.class, () -> {
+            clock.advance(Duration.ofSeconds(299));
+            assertThat(concurrently(() -> service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create))
+                    .getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(concurrently(() -> service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create))
+                    .getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            return create();
+        });
+
+        // Then: Devralan isteğin yanıtı saklanır; geç biten ilk istek kayda yazamaz, işlemi geri alınır
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        IdempotencyRecord record = recordRepository.findByScopeAndIdempotencyKey(SCOPE, "key-1").orElseThrow();
+        assertThat(record.isCompleted()).isTrue();
+        assertThat(record.getLockedUntil()).isNull();
+
+        ResponseEntity<CustomerDto> replay = service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create);
+        assertThat(replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replay.getBody().getId()).isEqualTo(1L);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Yanıt yazılamazsa - İşlemin yazdıkları geri alınır, anahtar serbest kalır")
+    void execute_WhenResponseCannotBeStored_ShouldRollBackAction() {
+        IdempotencyService service = service(10);
+        CustomerDto request = customer("Ahmet");
+
+        // When: İşlem veritabanına yazar, yanıtı serileştirilemez
+        assertThatThrownBy(() -> service.execute(SCOPE, "key-1", request, CustomerDto.class, () -> {
+            tenantRepository.save(TestDataBuilder.createDefaultTestTenant());
+            return ResponseEntity.status(HttpStatus.CREATED).body(new CustomerDto() {
+                @Override
+                public String getName() {
+                    throw new IllegalStateException("serileştirilemez");
+                }
+            });
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then: İşlem commit edilmez, tekrar işlemi yeniden çalıştırabilir
+        assertThat(tenantRepository.count()).isZero();
+        assertThat(recordRepository.findByScopeAndIdempotencyKey(SCOPE, "key-1")).isEmpty();
+        assertThat(service.execute(SCOPE, "key-1", request, CustomerDto.class, this::create).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Temizlik - Süresi dolan ve sınırı aşan en eski kayıtlar silinir")
+    void purge_ShouldEvictExpiredAndOldestOverCapacity() {
+        // Given: Kayıt sınırı 2
+        IdempotencyService service = service(2);
+        service.execute(SCOPE, "old", customer("A"), CustomerDto.class, this::create);
+        clock.advance(Duration.ofHours(23));
+        service.execute(SCOPE, "k1", customer("B"), CustomerDto.class, this::create);
+        service.execute(SCOPE, "k2", customer("C"), CustomerDto.class, this::create);
+        service.execute(SCOPE, "k3", customer("D"), CustomerDto.class, this::create);
+
+        // When: İlk kaydın süresi dolar ve temizlik çalışır
+        clock.advance(Duration.ofHours(1));
+        service.purge();
+
+        // Then: Süresi dolan ve sınırı aşan en eski kayıt silinir
+        assertThat(recordRepository.findAll()).extracting(IdempotencyRecord::getIdempotencyKey)
+                .containsExactlyInAnyOrder("k2", "k3");
+
+        // Silinen anahtar yeniden kullanılabilir
+        service.execute(SCOPE, "old", customer("A"), CustomerDto.class, this::create);
+        assertThat(executions.get()).isEqualTo(5);
+    }
+
+    /**
+     * Başka bir istek gibi ayrı thread'de (ayrı transaction'da) çalıştırma
+     */
+    private static <T> T concurrently(Supplier<T> request) {
+        return CompletableFuture.supplyAsync(request).join();
+    }
+
+    private ResponseEntity<CustomerDto> create() {
+        CustomerDto created = new CustomerDto();
+        created.setId((long) executions.incrementAndGet());
+        created.setName("Ahmet");
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    private IdempotencyService service(int maxEntries) {
+        return new IdempotencyService(recordRepository, objectMapper, transactionManager, 24, 300, maxEntries, clock);
+    }
+
+    private static CustomerDto customer(String name) {
+        CustomerDto customer = new CustomerDto();
+        customer.setName(name);
+        customer.setPhoneNumber("+905331234567");
+        return customer;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.barber.automation.service.inbound;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ConversationExecutor Unit Test
+ *
+ * Binlerce eş zamanlı konuşmalık sentetik yükte aynı konuşmanın mesajlarının sırayla ve hiç üst üste
+ * binmeden işlendiğini ve boşalan konuşmaların silindiğini (boştaki konuşma bellek tutmaz) doğrular.
+ */
+@DisplayName("ConversationExecutor Unit Tests")
+class ConversationExecutorTest {
+
+    private static final int CONVERSATIONS = 2000;
+    private static final int MESSAGES_PER_CONVERSATION = 20;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Sıra - Aynı konuşmanın mesajları sırayla ve tek tek işlenir")
+    void execute_ShouldKeepPerConversationOrder() throws InterruptedException {
+        // Given: Binlerce konuşma, mesajları karışık sırayla veriliyor
+        ConversationExecutor executor = new ConversationExecutor(pool);
+        Map<String, List<Integer>> processed = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CONVERSATIONS * MESSAGES_PER_CONVERSATION);
+
+        // When
+        for (int message = 0; message < MESSAGES_PER_CONVERSATION; message++) {
+            for (int conversation = 0; conversation < CONVERSATIONS; conversation++) {
+                String key = "90533" + conversation + "_1";
+                int sequence = message;
+                executor.execute(key, () -> {
+                    if (running.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    processed.computeIfAbsent(key, k -> new ArrayList<>()).add(sequence); // Konuşma içinde tek thread
+                    running.get(key).decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        // Then: Her konuşma tüm mesajlarını sırayla işledi, aynı konuşma hiç üst üste binmedi
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlaps.get()).isZero();
+        assertThat(processed).hasSize(CONVERSATIONS);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < MESSAGES_PER_CONVERSATION; i++) {
+            expected.add(i);
+        }
+        assertThat(processed.values()).allSatisfy(sequence -> assertThat(sequence).isEqualTo(expected));
+
+        // Boşalan konuşmalar silinir (son görevin ardından kısa bir süre içinde)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.activePartitions() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.activePartitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Hata - Başarısız görev konuşmanın sonraki görevlerini durdurmaz")
+    void execute_WhenTaskFails_ShouldContinueConversation() {
+        ConversationExecutor executor = new ConversationExecutor(Runnable::run);
+        List<String> processed = new ArrayList<>();
+
+        executor.execute("905331111111_1", () -> {
+            throw new IllegalStateException("AI agent erişilemiyor");
+        });
+        executor.execute("905331111111_1", () -> processed.add("ikinci"));
+
+        assertThat(processed).containsExactly("ikinci");
+        assertThat(executor.activePartitions()).isZero();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * InboundMessageDeduplicator Unit Test
+ *
+ * Aynı ID'li mesajın pencere boyunca elendiğini, iki pencere sonra unutulduğunu, kayıt sınırına
+ * ulaşıldığında en eski neslin bırakıldığını, unutulan ID'nin yeniden kabul edildiğini ve eşzamanlı
+ * gelen aynı ID'nin, nesil değişimi sırasında da, sadece bir kez kabul edildiğini doğrular.
+ */
+@DisplayName("InboundMessageDeduplicator Unit Tests")
+class InboundMessageDeduplicatorTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-15T10:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Pencere - Tekrar en az bir pencere boyunca elenir, iki pencere sonra kabul edilir")
+    void filterNew_ShouldRememberIdsForWindow() {
+        InboundMessageDeduplicator deduplicator = new InboundMessageDeduplicator(meterRegistry, 60, 1000, clock);
+
+        // Aynı teslimattaki tekrar ve ID'siz mesajlar
+        assertThat(deduplicator.filterNew(List.of(message("wamid.1"), message("wamid.1"), message(null), message(null))))
+                .extracting(InboundWebhookMessage::getMessageId).containsExactly("wamid.1", null, null);
+
+        // Pencere dolduktan hemen sonra önceki nesilde hâlâ hatırlanır
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(deduplicator.filterNew(List.of(message("wamid.1"), message("wamid.2")))).hasSize(1);
+
+        // İki pencere sonra unutulur
+        clock.advance(Duration.ofSeconds(121));
+        assertThat(deduplicator.filterNew(List.of(message("wamid.1")))).hasSize(1);
+        assertThat(meterRegistry.get("inbound.duplicates").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Kayıt sınırı - Güncel nesil dolunca en eski nesil bırakılır")
+    void filterNew_WhenCapacityReached_ShouldDropOldestGeneration() {
+        // Nesil başına 2 kayıt
+        InboundMessageDeduplicator deduplicator = new InboundMessageDeduplicator(meterRegistry, 900, 4, clock);
+
+        deduplicator.filterNew(List.of(message("a"), message("b")));
+        deduplicator.filterNew(List.of(message("c"), message("d")));
+        deduplicator.filterNew(List.of(message("e")));
+
+        // a ve b bırakıldı; c ve d önceki nesilde, e güncel nesilde
+        assertThat(deduplicator.filterNew(List.of(message("c"), message("e"), message("a"))))
+                .extracting(InboundWebhookMessage::getMessageId).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("Unutma - Kuyruğa yazılamayan mesaj yeniden gönderilince kabul edilir")
+    void forget_ShouldAcceptRedelivery() {
+        InboundMessageDeduplicator deduplicator = new InboundMessageDeduplicator(meterRegistry, 60, 1000, clock);
+        List<InboundWebhookMessage> rejected = deduplicator.filterNew(List.of(message("SM1")));
+
+        deduplicator.forget(rejected);
+
+        assertThat(deduplicator.filterNew(List.of(message("SM1")))).hasSize(1);
+        assertThat(deduplicator.filterNew(List.of(message("SM1")))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Eşzamanlılık - Aynı ID'yi aynı anda gören isteklerden sadece biri kabul edilir")
+    void filterNew_WithConcurrentDuplicates_ShouldAcceptEachIdOnce() throws Exception {
+        // Nesil başına 2 kayıt: nesil neredeyse her ID'de, eşzamanlı kontrollerin arasında değişir
+        InboundMessageDeduplicator deduplicator = new InboundMessageDeduplicator(meterRegistry, 900, 4, clock);
+        int threads = 8;
+        int ids = 2000;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    int accepted = 0;
+                    for (int i = 0; i < ids; i++) {
+                        // Her ID'yi tüm iş parçacıkları aynı anda görür
+                        barrier.await(10, TimeUnit.SECONDS);
+                        accepted += deduplicator.filterNew(List.of(message("wamid." + i))).size();
+                    }
+                    return accepted;
+                }));
+            }
+
+            int accepted = 0;
+            for (Future<Integer> result : results) {
+                accepted += result.get(30, TimeUnit.SECONDS);
+            }
+            assertThat(accepted).isEqualTo(ids);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static InboundWebhookMessage message(String messageId) {
+        return new InboundWebhookMessage("905331111111", "14155238886", InboundWebhookMessage.TYPE_TEXT, "merhaba",
+                messageId, null);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
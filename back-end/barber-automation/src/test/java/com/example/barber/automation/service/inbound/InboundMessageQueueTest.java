@@ -0,0 +1,110 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
+import com.example.barber.automation.repository.InboundMessageRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * InboundMessageQueue Unit Test
+ *
+ * Batch yazımı bir satırın kısıt ihlaliyle başarısız olduğunda sadece o satırın atlandığını, diğer
+ * veritabanı hatalarının ise teslimatı reddettiğini, tekil anahtar ihlalinin tekrar olarak sayıldığını doğrular.
+ */
+@DisplayName("InboundMessageQueue Unit Tests")
+class InboundMessageQueueTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneOffset.UTC);
+
+    private InboundMessageRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private InboundMessageQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(InboundMessageRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new InboundMessageQueue(repository, mock(TenantRepository.class),
+                new InboundMessageDeduplicator(meterRegistry, 900, 1000, CLOCK), meterRegistry, 100, CLOCK);
+    }
+
+    @Test
+    @DisplayName("Hatalı satır - Batch başarısız olursa mesajlar tek tek yazılır, sadece hatalı olan atlanır")
+    void enqueue_WithPoisonRow_ShouldSkipOnlyThatRow() {
+        InboundWebhookMessage first = message("SM1");
+        InboundWebhookMessage poison = message("SM2");
+        InboundWebhookMessage third = message("SM3");
+        doThrow(new DataIntegrityViolationException("batch"))
+                .when(repository).insertPending(any(), any(), eq(List.of(first, poison, third)), any());
+        doThrow(new DataIntegrityViolationException("satır"))
+                .when(repository).insertPending(any(), any(), eq(List.of(poison)), any());
+
+        queue.enqueue(InboundMessage.Source.META_CLOUD, null, List.of(first, poison, third));
+
+        verify(repository, times(4)).insertPending(any(), any(), anyList(), any());
+        assertThat(queue.depth()).isEqualTo(2);
+        assertThat(meterRegistry.get("inbound.invalid").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Tekil anahtar - Başka örneğin yazdığı mesaj tekrar olarak sayılır, geçersiz sayılmaz")
+    void enqueue_WhenStoredByAnotherInstance_ShouldCountAsDuplicate() {
+        InboundWebhookMessage first = message("SM1");
+        InboundWebhookMessage stored = message("SM2");
+        doThrow(new DuplicateKeyException("batch"))
+                .when(repository).insertPending(any(), any(), eq(List.of(first, stored)), any());
+        doThrow(new DuplicateKeyException("uk_inbound_messages_source_provider_message_id"))
+                .when(repository).insertPending(any(), any(), eq(List.of(stored)), any());
+
+        queue.enqueue(InboundMessage.Source.META_CLOUD, null, List.of(first, stored));
+
+        assertThat(queue.depth()).isEqualTo(1);
+        assertThat(meterRegistry.get("inbound.duplicates").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("inbound.invalid").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Veritabanı hatası - Kısıt ihlali dışındaki hata teslimatı reddeder, mesajlar sonra yeniden kabul edilir")
+    void enqueue_WhenDatabaseUnavailable_ShouldRejectDelivery() {
+        InboundWebhookMessage message = message("SM1");
+        doThrow(new DataAccessResourceFailureException("bağlantı yok"))
+                .doNothing()
+                .when(repository).insertPending(any(), any(), anyList(), any());
+
+        assertThatThrownBy(() -> queue.enqueue(InboundMessage.Source.META_CLOUD, null, List.of(message)))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(queue.depth()).isZero();
+
+        // Sağlayıcı yeniden gönderdiğinde tekrar olarak elenmez
+        queue.enqueue(InboundMessage.Source.META_CLOUD, null, List.of(message));
+        assertThat(queue.depth()).isEqualTo(1);
+    }
+
+    private static InboundWebhookMessage message(String messageId) {
+        return new InboundWebhookMessage("905331111111", "14155238886", InboundWebhookMessage.TYPE_TEXT, "merhaba",
+                messageId, null);
+    }
+}
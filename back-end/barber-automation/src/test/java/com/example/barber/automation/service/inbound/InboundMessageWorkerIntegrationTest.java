@@ -0,0 +1,467 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.TestDataBuilder;
+import com.example.barber.automation.dto.AgentRespondResponse;
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.entity.InboundMessage;
+import com.example.barber.automation.entity.Tenant;
+import com.example.barber.automation.repository.InboundMessageRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import com.example.barber.automation.service.AiAgentClient;
+import com.example.barber.automation.service.AppointmentService;
+import com.example.barber.automation.service.CustomerService;
+import com.example.barber.automation.service.ServiceService;
+import com.example.barber.automation.service.SlotService;
+import com.example.barber.automation.service.TenantService;
+import com.example.barber.automation.service.TwilioSendService;
+import com.example.barber.automation.service.WhatsAppBotService;
+import com.example.barber.automation.service.WhatsAppService;
+import com.example.barber.automation.service.conversation.ConversationOrchestrator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * InboundMessageWorker Integration Test
+ *
+ * Çok mesajlı teslimatın tüm mesajlarının kuyruğa yazıldığını, mesajların sırayla işlenip işaretlendiğini, hata veren mesajın artan
+ * bekleme süresiyle yeniden denendiğini, deneme sınırında FAILED olarak bırakıldığını ve dolu
+ * kuyruğun yeni teslimatı reddettiğini, yeniden gönderilen mesajın ikinci kez yazılmadığını, gerçek konuşma
+ * işleyicisinin hatalarının yeniden denendiğini ve kuyrukta beklerken başka bir işçiye geçen mesajın iki kez işlenmediğini doğrular.
+ * Konuşma sırası için: tekrar denemeyi bekleyen mesajın sonrakileri beklettiği, başka bir örnekte işlenen
+ * mesajın sonrakinin alınmadığı, farklı kaynakların aynı konuşma anahtarını ürettiği ve kiralaması dolan
+ * denemenin sonucu yeni denemenin üzerine yazmadığı doğrulanır. İşçi havuzu yerine aynı thread'de çalışan
+ * executor kullanılır.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("InboundMessageWorker Integration Tests")
+class InboundMessageWorkerIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+
+    @Autowired
+    private InboundMessageRepository repository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private SimpleMeterRegistry meterRegistry;
+    private InboundMessageQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new InboundMessageQueue(repository, tenantRepository,
+                new InboundMessageDeduplicator(meterRegistry, 900, 1000, clock), meterRegistry, 3, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        tenantRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("İşleme - Teslimattaki mesajlar sırayla işlenir ve işlendi olarak işaretlenir")
+    void poll_ShouldProcessInOrderAndMarkProcessed() {
+        // Given: Tek teslimatta iki mesaj
+        enqueue(message("905331111111", "merhaba"), message("905332222222", "randevu"));
+        assertThat(queue.depth()).isEqualTo(2);
+        List<InboundEvent> received = new ArrayList<>();
+
+        // When: İşçi çalışır
+        clock.advance(Duration.ofSeconds(2));
+        worker(received::add, 2).poll();
+
+        // Then: Mesajlar sırayla işlenir, gecikme ölçülür
+        assertThat(received).extracting(InboundEvent::getText).containsExactly("merhaba", "randevu");
+        assertThat(received.get(0).getAttempt()).isEqualTo(1);
+        assertThat(repository.findAll()).extracting(InboundMessage::getStatus)
+                .containsOnly(InboundMessage.Status.PROCESSED);
+        assertThat(meterRegistry.get("inbound.lag").timer().count()).isEqualTo(2);
+        assertThat(queue.depth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Tekrar deneme - Hata veren mesaj bekleme süresinden sonra yeniden işlenir, sınırda FAILED olur")
+    void poll_WhenHandlerFails_ShouldRetryThenFail() {
+        // Given: Her zaman hata veren işleyici, deneme sınırı 2
+        enqueue(message("905331111111", "merhaba"));
+        List<InboundEvent> received = new ArrayList<>();
+        InboundMessageWorker worker = worker(e -> {
+            received.add(e);
+            throw new IllegalStateException("AI agent erişilemiyor");
+        }, 2);
+
+        // When: İlk deneme başarısız olur
+        worker.poll();
+
+        // Then: Mesaj beklemede kalır, bekleme süresi dolmadan tekrar alınmaz
+        InboundMessage pending = repository.findAll().get(0);
+        assertThat(pending.getStatus()).isEqualTo(InboundMessage.Status.PENDING);
+        assertThat(pending.getLastError()).contains("AI agent");
+        worker.poll();
+        assertThat(received).hasSize(1);
+
+        // When: Bekleme süresi dolar ve ikinci deneme de başarısız olur
+        clock.advance(InboundMessageWorker.backoff(1));
+        worker.poll();
+
+        // Then: Deneme sınırında FAILED olarak bırakılır
+        assertThat(received).extracting(InboundEvent::getAttempt).containsExactly(1, 2);
+        assertThat(repository.findAll().get(0).getStatus()).isEqualTo(InboundMessage.Status.FAILED);
+        assertThat(meterRegistry.get("inbound.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Gerçek işleyici - AI Agent yanıt vermezse hata worker'a ulaşır, mesaj yeniden denenir ve FAILED olur")
+    void poll_WhenConversationHandlerFails_ShouldRetryThenFail() {
+        // Given: AI Agent erişilemiyor (istemci ok=false yedek yanıtı döner)
+        Tenant tenant = TestDataBuilder.createDefaultTestTenant();
+        tenant.setId(1L);
+        TenantService tenantService = mock(TenantService.class);
+        when(tenantService.findByActiveTrue()).thenReturn(List.of(tenant));
+        AiAgentClient aiAgentClient = mock(AiAgentClient.class);
+        AgentRespondResponse unavailable = new AgentRespondResponse();
+        unavailable.setOk(false);
+        when(aiAgentClient.respond(any())).thenReturn(unavailable);
+        TwilioSendService twilioSendService = mock(TwilioSendService.class);
+        WhatsAppBotService botService = new WhatsAppBotService(tenantService, mock(CustomerService.class),
+                mock(ServiceService.class), mock(SlotService.class), mock(AppointmentService.class),
+                mock(WhatsAppService.class), twilioSendService, aiAgentClient, mock(RestTemplate.class));
+        InboundMessageWorker worker = worker(new ConversationInboundHandler(botService, mock(WhatsAppService.class),
+                mock(ConversationOrchestrator.class)), 2);
+        enqueue(message("905331111111", "merhaba"));
+
+        // When: İlk deneme başarısız olur
+        worker.poll();
+
+        // Then: Mesaj hata nedeniyle beklemede kalır
+        InboundMessage pending = repository.findAll().get(0);
+        assertThat(pending.getStatus()).isEqualTo(InboundMessage.Status.PENDING);
+        assertThat(pending.getLastError()).contains("AI Agent yanıt vermedi");
+
+        // When: Bekleme süresi dolar ve ikinci deneme de başarısız olur
+        clock.advance(InboundMessageWorker.backoff(1));
+        worker.poll();
+
+        // Then: Deneme sınırında FAILED olur, yanıt gönderilmez
+        assertThat(repository.findAll().get(0).getStatus()).isEqualTo(InboundMessage.Status.FAILED);
+        assertThat(meterRegistry.get("inbound.failed").counter().count()).isEqualTo(1.0);
+        verify(aiAgentClient, times(2)).respond(any());
+        verifyNoInteractions(twilioSendService);
+    }
+
+    @Test
+    @DisplayName("Kiralama - Kuyrukta beklerken kiralaması dolup yeniden alınan mesaj ilk işçide atlanır")
+    void process_AfterReclaim_ShouldSkipStaleClaim() {
+        // Given: İlk işçi mesajı alır ama konuşma kuyruğu henüz çalışmaz
+        enqueue(message("905331111111", "merhaba"));
+        List<InboundEvent> received = new ArrayList<>();
+        List<Runnable> pending = new ArrayList<>();
+        worker(received::add, 3, pending::add).poll();
+        assertThat(pending).hasSize(1);
+
+        // When: Kiralama dolar, ikinci işçi mesajı yeniden alıp işler, ardından ilk işçinin görevi çalışır
+        clock.advance(Duration.ofSeconds(60));
+        worker(received::add, 3).poll();
+        pending.forEach(Runnable::run);
+
+        // Then: Mesaj sadece ikinci denemede bir kez işlenir
+        assertThat(received).extracting(InboundEvent::getAttempt).containsExactly(2);
+        InboundMessage row = repository.findAll().get(0);
+        assertThat(row.getStatus()).isEqualTo(InboundMessage.Status.PROCESSED);
+        assertThat(row.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Konuşma sırası - Tekrar denemeyi bekleyen mesajın sonrakiler onu bekler, sonra sırayla işlenir")
+    void poll_WhenEarlierMessageWaitsForRetry_ShouldHoldBackLaterMessages() {
+        // Given: Aynı konuşmanın iki mesajı; ilki ilk denemede hata verir
+        enqueue(message("905331111111", "bir"), message("whatsapp:+905331111111", "iki"));
+        List<InboundEvent> received = new ArrayList<>();
+        InboundMessageWorker worker = worker(e -> {
+            received.add(e);
+            if (e.getText().equals("bir") && e.getAttempt() == 1) {
+                throw new IllegalStateException("AI agent erişilemiyor");
+            }
+        }, 3);
+
+        // When: İlk tur
+        worker.poll();
+
+        // Then: Aynı turda alınan ikinci mesaj işlenmez, deneme sayılmadan geri bırakılır ve alınmaz
+        assertThat(received).extracting(InboundEvent::getText).containsExactly("bir");
+        assertThat(repository.findAll()).extracting(InboundMessage::getAttempts).containsExactlyInAnyOrder(1, 0);
+        worker.poll();
+        assertThat(received).hasSize(1);
+
+        // When: Bekleme süresi dolar
+        clock.advance(InboundMessageWorker.backoff(1));
+        worker.poll();
+
+        // Then: Önce tekrar denenen mesaj, sonra sonraki mesaj işlenir
+        assertThat(received).extracting(e -> e.getText() + "#" + e.getAttempt())
+                .containsExactly("bir#1", "bir#2", "iki#1");
+        assertThat(repository.findAll()).extracting(InboundMessage::getStatus)
+                .containsOnly(InboundMessage.Status.PROCESSED);
+    }
+
+    @Test
+    @DisplayName("Konuşma sırası - Önceki mesajı başka örnekte işlenen konuşmanın sonraki mesajı alınmaz")
+    void poll_WhenEarlierMessageInFlightElsewhere_ShouldNotClaimLaterMessage() {
+        // Given: İlk örnek konuşmanın mesajını alır, henüz işlemez
+        enqueue(message("905331111111", "bir"));
+        List<InboundEvent> received = new ArrayList<>();
+        List<Runnable> firstInstance = new ArrayList<>();
+        worker(received::add, 3, firstInstance::add).poll();
+
+        // When: Aynı konuşmanın yeni mesajı ve başka bir konuşmanın mesajı gelir, ikinci örnek çalışır
+        enqueue(message("905331111111", "iki"), message("905332222222", "başka"));
+        InboundMessageWorker secondInstance = worker(received::add, 3);
+        secondInstance.poll();
+
+        // Then: Sadece diğer konuşmanın mesajı işlenir
+        assertThat(received).extracting(InboundEvent::getText).containsExactly("başka");
+
+        // When: İlk örnek mesajı işler, ikinci örnek yeniden çalışır
+        firstInstance.forEach(Runnable::run);
+        secondInstance.poll();
+
+        // Then: Konuşmanın mesajları sırayla işlenmiş olur
+        assertThat(received).extracting(InboundEvent::getText).containsExactly("başka", "bir", "iki");
+    }
+
+    @Test
+    @DisplayName("Deneme - Kiralaması dolan denemenin sonucu yeni denemenin kaydının üzerine yazılmaz")
+    void process_WhenReclaimedDuringHandling_ShouldNotOverwriteNewAttempt() {
+        // Given: İkinci işçi mesajı yeniden alır ve hata kaydeder
+        enqueue(message("905331111111", "merhaba"));
+        InboundMessageWorker second = worker(e -> {
+            throw new IllegalStateException("ikinci deneme başarısız");
+        }, 3);
+
+        // When: İlk işçinin işlemi kiralamadan uzun sürer, bu sırada ikinci işçi mesajı yeniden alır
+        worker(e -> {
+            clock.advance(Duration.ofSeconds(61));
+            second.poll();
+        }, 3).poll();
+
+        // Then: İlk denemenin başarısı ikinci denemenin kaydını ezmez, mesaj tekrar denenmek üzere bekler
+        InboundMessage row = repository.findAll().get(0);
+        assertThat(row.getStatus()).isEqualTo(InboundMessage.Status.PENDING);
+        assertThat(row.getAttempts()).isEqualTo(2);
+        assertThat(row.getLastError()).isEqualTo("ikinci deneme başarısız");
+        assertThat(queue.depth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Konuşma anahtarı - Kuaförü belirlemeyen kaynak varsayılan kuaförle aynı konuşmaya düşer")
+    void enqueue_FromDifferentSources_ShouldShareConversationKey() {
+        Tenant tenant = tenantRepository.save(TestDataBuilder.createDefaultTestTenant());
+
+        queue.enqueue(InboundMessage.Source.META_CLOUD, null, List.of(message("905331111111", "meta")));
+        queue.enqueue(InboundMessage.Source.TWILIO_JSON, tenant.getId(),
+                List.of(message("whatsapp:+905331111111", "twilio")));
+
+        assertThat(repository.findAll()).extracting(InboundMessage::getConversationKey)
+                .containsOnly("905331111111_" + tenant.getId());
+        assertThat(repository.findAll()).extracting(InboundMessage::getTenantId).containsOnly(tenant.getId());
+    }
+
+    @Test
+    @DisplayName("Sınır - Kuyruk doluysa teslimat reddedilir ve hiçbir mesaj yazılmaz")
+    void enqueue_WhenFull_ShouldRejectWholeDelivery() {
+        enqueue(message("905331111111", "bir"), message("905331111111", "iki"));
+
+        assertThatThrownBy(() -> enqueue(message("905332222222", "üç"), message("905332222222", "dört")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(meterRegistry.get("inbound.rejected").counter().count()).isEqualTo(2.0);
+
+        // İşlenen mesajlar yer açar
+        worker(e -> { }, 3).poll();
+        enqueue(message("905332222222", "üç"), message("905332222222", "dört"));
+        assertThat(repository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Doğrulama - Metin olmayan ve sınırı aşan mesajlar atlanır, uzun metin kısaltılır, geçerliler yazılır")
+    void enqueue_WithInvalidMessages_ShouldSkipThemAndKeepValidOnes() {
+        // Given: Geçerli, çok uzun metinli, gönderen numarası çok uzun ve metin olmayan mesajlar
+        String longText = "a".repeat(InboundMessage.MAX_TEXT_LENGTH + 10);
+        queue.enqueue(InboundMessage.Source.TWILIO_JSON, 1L, List.of(
+                message("905331111111", "merhaba"),
+                message("905332222222", longText),
+                message("9".repeat(InboundMessage.MAX_PHONE_LENGTH + 1), "uzun numara"),
+                new InboundWebhookMessage("905333333333", null, "image", null, "wamid.9", null),
+                message("", "göndereni yok")));
+
+        // Then: Geçerli iki mesaj yazılır, uzun metin kolon sınırına kısaltılır
+        assertThat(repository.findAll()).extracting(InboundMessage::getFromNumber)
+                .containsExactlyInAnyOrder("905331111111", "905332222222");
+        assertThat(repository.findAll()).extracting(m -> m.getText().length())
+                .containsExactlyInAnyOrder("merhaba".length(), InboundMessage.MAX_TEXT_LENGTH);
+        assertThat(meterRegistry.get("inbound.invalid").counter().count()).isEqualTo(1.0);
+        assertThat(queue.depth()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Tekrar - Yeniden gönderilen mesaj yazılmaz, dolu kuyruk nedeniyle reddedilen mesaj sonra kabul edilir")
+    void enqueue_Redelivery_ShouldSkipSeenMessages() {
+        // Given: İlk teslimat yazılmış
+        enqueue(message("905331111111", "bir", "SM1"), message("905331111111", "iki", "SM2"));
+
+        // When: Aynı teslimat ve tekrar içeren yeni teslimat gelir
+        enqueue(message("905331111111", "bir", "SM1"), message("905331111111", "iki", "SM2"));
+        enqueue(message("905331111111", "iki", "SM2"), message("905332222222", "üç", "SM3"));
+
+        // Then: Sadece yeni mesaj yazılır, tekrarlar sayılır
+        assertThat(repository.findAll()).extracting(InboundMessage::getProviderMessageId)
+                .containsExactlyInAnyOrder("SM1", "SM2", "SM3");
+        assertThat(meterRegistry.get("inbound.duplicates").counter().count()).isEqualTo(3.0);
+
+        // Dolu kuyrukta reddedilen mesaj unutulur; sağlayıcı yeniden gönderince yazılır
+        assertThatThrownBy(() -> enqueue(message("905333333333", "dört", "SM4")))
+                .isInstanceOf(IllegalStateException.class);
+        worker(e -> { }, 3).poll();
+        enqueue(message("905333333333", "dört", "SM4"));
+        assertThat(repository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Tekil anahtar - Başka örneğe düşen tekrar veritabanında elenir, teslimatın yeni mesajı yazılır")
+    void enqueue_RedeliveryToAnotherInstance_ShouldBeRejectedByUniqueKey() {
+        // Given: Mesaj bir örnekte yazılmış
+        enqueue(message("905331111111", "bir", "SM1"));
+
+        // When: Sağlayıcı aynı mesajı, kendi tekrar önbelleği boş başka bir örneğe yeniden gönderir
+        InboundMessageQueue otherInstance = new InboundMessageQueue(repository, tenantRepository,
+                new InboundMessageDeduplicator(meterRegistry, 900, 1000, clock), meterRegistry, 10, clock);
+        otherInstance.enqueue(InboundMessage.Source.TWILIO_FORM, null,
+                List.of(message("905331111111", "bir", "SM1"), message("905332222222", "iki", "SM2")));
+
+        // Then: Tekrar yazılmaz ve tekrar olarak sayılır, yeni mesaj yazılır
+        assertThat(repository.findAll()).extracting(InboundMessage::getProviderMessageId)
+                .containsExactlyInAnyOrder("SM1", "SM2");
+        assertThat(meterRegistry.get("inbound.duplicates").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("inbound.invalid").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Çok mesajlı teslimat - Tüm entry, change ve mesajlar sırayla kuyruğa yazılır")
+    void enqueue_MultiMessageDelivery_ShouldKeepEveryMessage() throws Exception {
+        // Given: İki entry'li, ilkinde iki mesaj ve bir durum değişikliği olan Meta teslimatı
+        String body = "{\"object\":\"whatsapp_business_account\",\"entry\":["
+                + "{\"id\":\"1\",\"changes\":[{\"field\":\"messages\",\"value\":{"
+                + "\"metadata\":{\"display_phone_number\":\"14155238886\"},\"messages\":["
+                + "{\"from\":\"905331111111\",\"id\":\"wamid.1\",\"timestamp\":\"1736935200\",\"type\":\"text\",\"text\":{\"body\":\"merhaba\"}},"
+                + "{\"from\":\"905331111111\",\"id\":\"wamid.2\",\"timestamp\":\"1736935201\",\"type\":\"image\"}]}},"
+                + "{\"field\":\"statuses\",\"value\":{}}]},"
+                + "{\"id\":\"2\",\"changes\":[{\"field\":\"messages\",\"value\":{\"messages\":["
+                + "{\"from\":\"905332222222\",\"id\":\"wamid.3\",\"type\":\"text\",\"text\":{\"body\":\"randevu\"}}]}}]}]}";
+        // When: Gövde webhook controller'ındaki gibi akış parser'ıyla okunur
+        List<InboundWebhookMessage> messages = new WebhookPayloadParser(new ObjectMapper())
+                .parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))).getMessages();
+        queue.enqueue(InboundMessage.Source.META_CLOUD, null,
+                messages.stream().filter(InboundWebhookMessage::isProcessableText).toList());
+
+        // Then: Üç mesaj da okunur, metin olan ikisi tek seferde kuyruğa yazılır
+        assertThat(messages).extracting(InboundWebhookMessage::getMessageId)
+                .containsExactly("wamid.1", "wamid.2", "wamid.3");
+        assertThat(messages.get(0).getTo()).isEqualTo("14155238886");
+        assertThat(messages.get(0).getTimestamp()).isEqualTo(1736935200L);
+        assertThat(repository.findAll()).extracting(InboundMessage::getProviderMessageId)
+                .containsExactlyInAnyOrder("wamid.1", "wamid.3");
+        assertThat(repository.findAll()).extracting(InboundMessage::getReceivedAt).containsOnly(now());
+    }
+
+    private InboundMessageWorker worker(InboundEventHandler handler, int maxAttempts) {
+        return worker(handler, maxAttempts, Runnable::run);
+    }
+
+    private InboundMessageWorker worker(InboundEventHandler handler, int maxAttempts, Executor executor) {
+        return new InboundMessageWorker(repository, queue, handler, transactionManager, meterRegistry, executor,
+                2, 10, maxAttempts, 60, 3, clock);
+    }
+
+    private void enqueue(InboundWebhookMessage... messages) {
+        queue.enqueue(InboundMessage.Source.TWILIO_FORM, null, List.of(messages));
+    }
+
+    private static InboundWebhookMessage message(String from, String text) {
+        return message(from, text, null);
+    }
+
+    private static InboundWebhookMessage message(String from, String text, String messageSid) {
+        return new InboundWebhookMessage(from, "14155238886", InboundWebhookMessage.TYPE_TEXT, text, messageSid, null);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
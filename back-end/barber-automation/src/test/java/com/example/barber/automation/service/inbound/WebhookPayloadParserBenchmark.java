@@ -0,0 +1,141 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.example.barber.automation.dto.WhatsAppWebhookRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Webhook gövdesi çözümleme karşılaştırması (JMH)
+ *
+ * - legacy: önceki yol; gövde String'e okunur, içerik aranarak biçim tahmin edilir, her istekte yeni
+ *   ObjectMapper ile WhatsAppWebhookRequest DTO'suna (Twilio için JsonNode ağacına) çevrilir
+ * - streaming: WebhookPayloadParser; ortak ObjectMapper'ın JsonFactory'siyle tek geçiş
+ *
+ * Test çalıştırmasına dahil değildir; çalıştırmak için main metodu (ör. IDE'den) kullanılır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookPayloadParserBenchmark {
+
+    @Param({"1", "50"})
+    private int messageCount;
+
+    private final ObjectMapper sharedObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private WebhookPayloadParser parser;
+    private byte[] metaBody;
+    private byte[] twilioBody;
+
+    @Setup
+    public void setUp() {
+        parser = new WebhookPayloadParser(sharedObjectMapper);
+        metaBody = metaBody(messageCount).getBytes(StandardCharsets.UTF_8);
+        twilioBody = ("{\"From\":\"whatsapp:+905331111111\",\"Body\":\"Yarın saat 10 için randevu alabilir miyim?\","
+                + "\"To\":\"whatsapp:+14155238886\",\"MessageSid\":\"SM0123456789\",\"NumMedia\":\"0\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<InboundWebhookMessage> metaLegacy() throws IOException {
+        return legacyParse(new ByteArrayInputStream(metaBody));
+    }
+
+    @Benchmark
+    public List<InboundWebhookMessage> metaStreaming() throws IOException {
+        return parser.parse(new ByteArrayInputStream(metaBody)).getMessages();
+    }
+
+    @Benchmark
+    public List<InboundWebhookMessage> twilioLegacy() throws IOException {
+        return legacyParse(new ByteArrayInputStream(twilioBody));
+    }
+
+    @Benchmark
+    public List<InboundWebhookMessage> twilioStreaming() throws IOException {
+        return parser.parse(new ByteArrayInputStream(twilioBody)).getMessages();
+    }
+
+    /**
+     * Controller'ın önceki çözümleme yolu
+     */
+    private static List<InboundWebhookMessage> legacyParse(InputStream body) throws IOException {
+        String rawBody = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (rawBody.contains("whatsapp_business_account")) {
+            return legacyMessages(objectMapper.readValue(rawBody, WhatsAppWebhookRequest.class));
+        }
+        JsonNode node = objectMapper.readTree(rawBody);
+        return List.of(new InboundWebhookMessage(node.get("From").asText().replace("whatsapp:", ""),
+                node.path("To").asText().replace("whatsapp:", ""), InboundWebhookMessage.TYPE_TEXT,
+                node.get("Body").asText(), node.path("MessageSid").asText(null), null));
+    }
+
+    /**
+     * Önceki yolun DTO dolaşması (entry, change ve mesaj sırasıyla)
+     */
+    private static List<InboundWebhookMessage> legacyMessages(WhatsAppWebhookRequest request) {
+        List<InboundWebhookMessage> messages = new ArrayList<>();
+        for (WhatsAppWebhookRequest.Entry entry : request.getEntry()) {
+            for (WhatsAppWebhookRequest.Change change : entry.getChanges()) {
+                WhatsAppWebhookRequest.Value value = change.getValue();
+                if (value == null || value.getMessages() == null) {
+                    continue;
+                }
+                String to = value.getMetadata() != null ? value.getMetadata().getDisplayPhoneNumber() : null;
+                for (WhatsAppWebhookRequest.Message message : value.getMessages()) {
+                    messages.add(new InboundWebhookMessage(message.getFrom(), to, message.getType(),
+                            message.getText() != null ? message.getText().getBody() : null, message.getId(),
+                            InboundWebhookMessage.parseTimestamp(message.getTimestamp())));
+                }
+            }
+        }
+        return messages;
+    }
+
+    private static String metaBody(int messageCount) {
+        StringBuilder messages = new StringBuilder();
+        for (int i = 0; i < messageCount; i++) {
+            if (i > 0) {
+                messages.append(',');
+            }
+            messages.append("{\"from\":\"90533").append(1000000 + i).append("\",\"id\":\"wamid.").append(i)
+                    .append("\",\"timestamp\":\"1736935200\",\"type\":\"text\",")
+                    .append("\"text\":{\"body\":\"Yarın saat 10 için randevu alabilir miyim?\"}}");
+        }
+        return "{\"object\":\"whatsapp_business_account\",\"entry\":[{\"id\":\"1\",\"changes\":[{\"value\":{"
+                + "\"messaging_product\":\"whatsapp\",\"metadata\":{\"display_phone_number\":\"14155238886\","
+                + "\"phone_number_id\":\"123\"},\"contacts\":[{\"profile\":{\"name\":\"Ali\"},\"wa_id\":\"905331111111\"}],"
+                + "\"messages\":[" + messages + "]},\"field\":\"messages\"}]}]}";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WebhookPayloadParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
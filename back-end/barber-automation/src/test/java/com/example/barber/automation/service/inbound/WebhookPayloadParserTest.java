@@ -0,0 +1,84 @@
+package com.example.barber.automation.service.inbound;
+
+import com.example.barber.automation.dto.InboundWebhookMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WebhookPayloadParser Unit Test
+ *
+ * Akış parser'ının Meta teslimatındaki tüm mesajları teslimattaki sırayla ve tüm alanlarıyla okuduğunu
+ * (field/metadata sonda gelse de), Twilio JSON'unu tanıdığını ve bozuk gövdeyi reddettiğini doğrular.
+ */
+@DisplayName("WebhookPayloadParser Unit Tests")
+class WebhookPayloadParserTest {
+
+    private static final String META_BODY = "{\"object\":\"whatsapp_business_account\",\"entry\":["
+            + "{\"id\":\"1\",\"changes\":[{\"value\":{\"messaging_product\":\"whatsapp\",\"messages\":["
+            + "{\"from\":\"905331111111\",\"id\":\"wamid.1\",\"timestamp\":\"1736935200\",\"type\":\"text\",\"text\":{\"body\":\"merhaba\"}},"
+            + "{\"from\":\"905331111111\",\"id\":\"wamid.2\",\"timestamp\":\"1736935201\",\"type\":\"image\",\"image\":{\"id\":\"x\"}}],"
+            + "\"contacts\":[{\"profile\":{\"name\":\"Ali\"},\"wa_id\":\"905331111111\"}],"
+            + "\"metadata\":{\"display_phone_number\":\"14155238886\",\"phone_number_id\":\"123\"}},\"field\":\"messages\"},"
+            + "{\"value\":{\"statuses\":[{\"id\":\"wamid.0\"}]},\"field\":\"statuses\"}]},"
+            + "{\"id\":\"2\",\"changes\":[{\"field\":\"messages\",\"value\":{\"messages\":["
+            + "{\"from\":\"905332222222\",\"id\":\"wamid.3\",\"type\":\"text\",\"text\":{\"body\":\"randevu \\\"yarın\\\"\"}}]}}]}]}";
+
+    // Uygulamadaki gibi bilinmeyen alanları yok sayan ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final WebhookPayloadParser parser = new WebhookPayloadParser(objectMapper);
+
+    @Test
+    @DisplayName("Meta - Tüm entry, change ve mesajlar sırayla okunur, durum değişiklikleri atlanır")
+    void parse_MetaDelivery_ShouldReadEveryMessageInOrder() throws IOException {
+        WebhookPayload payload = parse(META_BODY);
+
+        // metadata ikinci entry'de olmadığı için alıcı numarası yok; zaman damgası olmayan mesajda null
+        List<InboundWebhookMessage> expected = List.of(
+                new InboundWebhookMessage("905331111111", "14155238886", "text", "merhaba", "wamid.1", 1736935200L),
+                new InboundWebhookMessage("905331111111", "14155238886", "image", null, "wamid.2", 1736935201L),
+                new InboundWebhookMessage("905332222222", null, "text", "randevu \"yarın\"", "wamid.3", null));
+        assertThat(payload.isWhatsAppBusiness()).isTrue();
+        assertThat(payload.getMessages()).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+        assertThat(payload.getMessages()).filteredOn(InboundWebhookMessage::isProcessableText).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Twilio - From/Body alanlı gövde tek mesaj olarak okunur, whatsapp: öneki atılır")
+    void parse_TwilioJson_ShouldReturnSingleMessage() throws IOException {
+        WebhookPayload payload = parse("{\"From\":\"whatsapp:+905331111111\",\"Body\":\"merhaba\","
+                + "\"To\":\"whatsapp:+14155238886\",\"MessageSid\":\"SM1\",\"NumMedia\":\"0\"}");
+
+        assertThat(payload.isWhatsAppBusiness()).isFalse();
+        assertThat(payload.getMessages()).singleElement().satisfies(message -> {
+            assertThat(message.getFrom()).isEqualTo("+905331111111");
+            assertThat(message.getTo()).isEqualTo("+14155238886");
+            assertThat(message.getText()).isEqualTo("merhaba");
+            assertThat(message.getMessageId()).isEqualTo("SM1");
+        });
+    }
+
+    @Test
+    @DisplayName("Geçersiz - Bozuk JSON ve From/Body'siz gövde reddedilir")
+    void parse_InvalidBody_ShouldThrow() {
+        assertThatThrownBy(() -> parse("{\"From\":\"+905331111111\",\"Body\":"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parse("{\"From\":\"+905331111111\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parse("[]"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private WebhookPayload parse(String body) throws IOException {
+        return parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
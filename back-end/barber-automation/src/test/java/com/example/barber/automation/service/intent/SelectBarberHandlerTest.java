@@ -0,0 +1,138 @@
+package com.example.barber.automation.service.intent;
+
+import com.example.barber.automation.dto.AgentRespondResponse;
+import com.example.barber.automation.dto.AvailabilitySearchResponse;
+import com.example.barber.automation.dto.TenantDto;
+import com.example.barber.automation.service.AppointmentService;
+import com.example.barber.automation.service.AvailabilitySearchService;
+import com.example.barber.automation.service.TenantService;
+import com.example.barber.automation.service.session.BotSessionService;
+import com.example.barber.automation.service.session.BotSessionService.BotSession;
+import com.example.barber.automation.service.session.BotSessionService.BotState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SelectBarberHandler Unit Test
+ *
+ * Konum aramasında sunulan seçeneklerden müşterinin seçtiği numaranın (ilk seçenek değil) seçili
+ * kuaför/saat yapıldığını ve onay beklenirken tutulduğunu doğrular.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SelectBarberHandler Unit Tests")
+class SelectBarberHandlerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 15);
+
+    @Mock
+    private TenantService tenantService;
+
+    @Mock
+    private BotSessionService sessionService;
+
+    @Mock
+    private AvailabilitySearchService availabilitySearchService;
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    private ProvideLocationHandler locationHandler;
+    private SelectBarberHandler selectHandler;
+    private BotSession session;
+
+    @BeforeEach
+    void setUp() {
+        locationHandler = new ProvideLocationHandler(tenantService, sessionService, availabilitySearchService);
+        selectHandler = new SelectBarberHandler(appointmentService);
+        session = new BotSession("+905331234567", 1L);
+    }
+
+    @Test
+    @DisplayName("Seçenek seçimi - İkinci numara ikinci seçeneği (aynı kuaförün sonraki saati) tutar ve seçer")
+    void handle_WithSecondOption_ShouldHoldAndSelectSecondOption() {
+        // Given: Konum aramasında aynı kuaför için iki saat, başka kuaför için bir saat sunulur
+        TenantDto first = new TenantDto(1L, "Kuaför A", "+905321111111");
+        TenantDto second = new TenantDto(2L, "Kuaför B", "+905322222222");
+        when(tenantService.findByCityAndDistrictDto("İstanbul", "Kadıköy")).thenReturn(List.of(first, second));
+        List<AvailabilitySearchResponse.Option> options = List.of(
+                option(first, LocalTime.of(10, 0)),
+                option(first, LocalTime.of(10, 30)),
+                option(second, LocalTime.of(11, 0)));
+        when(availabilitySearchService.search(List.of(first, second), DATE, LocalTime.of(10, 0), 30, session.key()))
+                .thenReturn(new AvailabilitySearchResponse(options, 2, 2));
+
+        AgentRespondResponse locationResponse = new AgentRespondResponse(true, "provide_location", "", null,
+                Map.of("location_preference", "İstanbul, Kadıköy", "date_preference", "2025-01-15",
+                        "time_preference", "10:00"));
+        locationHandler.handle(session, locationResponse);
+
+        assertThat(locationResponse.getReply())
+                .contains("1. Kuaför A - 10:00", "2. Kuaför A - 10:30", "3. Kuaför B - 11:00");
+        assertThat(session.getAvailableOptions()).isEqualTo(options);
+
+        // When: Müşteri ikinci seçeneği seçer
+        selectHandler.handle(session, new AgentRespondResponse(true, "select_barber", "", null,
+                Map.of("barber_selection", "2")));
+
+        // Then: İkinci seçenek tutulur ve seçili saat olur
+        LocalDateTime chosen = DATE.atTime(10, 30);
+        verify(appointmentService).holdSlot(session.key(), 1L, chosen, 30);
+        assertThat(session.getSelectedTenantId()).isEqualTo(1L);
+        assertThat(session.getSelectedTime()).isEqualTo(chosen);
+        assertThat(session.getState()).isEqualTo(BotState.AWAITING_NAME);
+    }
+
+    @Test
+    @DisplayName("Dolu seçenek - Tutulamayan seçenek seçilmez, müşteriden başka numara istenir")
+    void handle_WhenOptionTaken_ShouldKeepAwaitingSelection() {
+        TenantDto tenant = new TenantDto(1L, "Kuaför A", "+905321111111");
+        session.setAvailableOptions(List.of(option(tenant, LocalTime.of(10, 0)), option(tenant, LocalTime.of(10, 30))));
+        session.setState(BotState.AWAITING_BARBER_SELECTION);
+        when(appointmentService.holdSlot(session.key(), 1L, DATE.atTime(10, 30), 30))
+                .thenThrow(new IllegalArgumentException("Seçilen saat artık müsait değil"));
+
+        AgentRespondResponse response = new AgentRespondResponse(true, "select_barber", "", null,
+                Map.of("barber_selection", "2"));
+        selectHandler.handle(session, response);
+
+        assertThat(session.getSelectedTime()).isNull();
+        assertThat(session.getState()).isEqualTo(BotState.AWAITING_BARBER_SELECTION);
+        assertThat(response.getReply()).contains("başka bir numara");
+    }
+
+    @Test
+    @DisplayName("Geçersiz numara - Listede olmayan numara hiçbir slot tutmaz")
+    void handle_WithOutOfRangeSelection_ShouldNotHold() {
+        TenantDto tenant = new TenantDto(1L, "Kuaför A", "+905321111111");
+        session.setAvailableOptions(List.of(option(tenant, LocalTime.of(10, 0))));
+
+        selectHandler.handle(session, new AgentRespondResponse(true, "select_barber", "", null,
+                Map.of("barber_selection", "3")));
+
+        verify(appointmentService, never()).holdSlot(anyString(), any(), any(LocalDateTime.class), anyInt());
+        assertThat(session.getSelectedTenantId()).isNull();
+    }
+
+    private static AvailabilitySearchResponse.Option option(TenantDto tenant, LocalTime time) {
+        LocalDateTime start = DATE.atTime(time);
+        return new AvailabilitySearchResponse.Option(tenant.getId(), tenant.getName(), null, start, start.plusMinutes(30));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.barber.automation.service.live;
+
+import com.example.barber.automation.dto.AppointmentDelta;
+import com.example.barber.automation.dto.TenantChangeSequence;
+import com.example.barber.automation.entity.Appointment;
+import com.example.barber.automation.repository.AppointmentRepository;
+import com.example.barber.automation.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LiveUpdateFeed Unit Test
+ *
+ * register ile subscribe arasına düşen turun imleci silmediğini ve imleci olmayan bağlı kuaför için
+ * imlecin okunan sıradan açıldığını doğrular.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LiveUpdateFeed Unit Tests")
+class LiveUpdateFeedTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Mock
+    private LiveUpdateHub hub;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private LiveUpdateFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new LiveUpdateFeed(hub, tenantRepository, appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Bağlantı açılışı - register ile subscribe arasındaki tur imleci silmez, sonraki değişiklik yayınlanır")
+    void poll_BetweenRegisterAndSubscribe_ShouldKeepCursor() {
+        // Given: Kuaför takibe alınır, bağlantı henüz açılmadan tur çalışır
+        when(tenantRepository.findAppointmentChangeSequences(List.of(1L)))
+                .thenReturn(List.of(new TenantChangeSequence(1L, 3L)), List.of(new TenantChangeSequence(1L, 4L)));
+        feed.register(1L);
+        when(hub.connectedTenantIds()).thenReturn(Set.of(), Set.of(1L));
+        feed.poll();
+
+        // When: Bağlantı açılır ve bir randevu değişir
+        AppointmentDelta delta = new AppointmentDelta(10L, Appointment.AppointmentStatus.PENDING, START,
+                START.plusMinutes(45), null, 1L, 1L, 0L, 4L);
+        when(appointmentRepository.findDeltasAfter(eq(1L), eq(3L), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(delta));
+        feed.poll();
+
+        // Then: Token'dan sonraki değişiklik yayınlanır
+        verify(hub).publish(1L, "appointment", delta);
+    }
+
+    @Test
+    @DisplayName("İmleçsiz bağlantı - İmleç okunan sıradan açılır, geçmiş değişiklikler yayınlanmaz")
+    void poll_WithConnectedTenantWithoutCursor_ShouldStartFromCurrentSequence() {
+        when(hub.connectedTenantIds()).thenReturn(Set.of(2L));
+        when(tenantRepository.findAppointmentChangeSequences(List.of(2L)))
+                .thenReturn(List.of(new TenantChangeSequence(2L, 9L)));
+
+        feed.poll();
+
+        verify(appointmentRepository, never()).findDeltasAfter(anyLong(), anyLong(), anyLong(), any());
+        verify(hub, never()).publish(anyLong(), anyString(), any());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.barber.automation.service.live;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LiveUpdateHub Unit Test
+ *
+ * Olayların sadece ilgili kuaförün bağlantılarına gitmesini, bağlantı başına tek gönderim görevini,
+ * kuyruğu dolan yavaş istemcinin diğerlerini etkilemeden kapatılmasını ve bağlantı sınırını doğrular.
+ * Gönderim havuzu elle çalıştırılan bir kuyrukla değiştirilir.
+ */
+@DisplayName("LiveUpdateHub Unit Tests")
+class LiveUpdateHubTest {
+
+    private static final int QUEUE_CAPACITY = 3;
+
+    private ManualExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private LiveUpdateHub hub;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManualExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new LiveUpdateHub(meterRegistry, executor, QUEUE_CAPACITY, 2, 60_000);
+    }
+
+    @Test
+    @DisplayName("Yayın - Olay sadece bağlı kuaföre gider, bağlantı başına tek gönderim görevi açılır")
+    void publish_ShouldScheduleSingleDrainPerConnection() {
+        hub.subscribe(1L, "ready", Map.of("token", "t"));
+        executor.runAll();
+
+        hub.publish(1L, "appointment", Map.of("id", 1));
+        hub.publish(1L, "appointment", Map.of("id", 2));
+        hub.publish(2L, "appointment", Map.of("id", 3)); // Bağlantısı yok
+
+        assertThat(executor.pending()).isEqualTo(1);
+        executor.runAll();
+        assertThat(hub.connectedTenantIds()).containsExactly(1L);
+        assertThat(meterRegistry.get("live.connections").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Geri basınç - Kuyruğu dolan bağlantı kapatılır, diğer bağlantı olay almaya devam eder")
+    void publish_WhenQueueFull_ShouldDropSlowConnectionOnly() {
+        // Given: İki panel bağlı; ikincisi gönderimleri tüketiyor
+        hub.subscribe(1L, "ready", Map.of());
+        executor.runAll();
+        hub.subscribe(1L, "ready", Map.of());
+
+        // When: İlk bağlantının görevi hiç çalışmıyor (yavaş istemci) ve kuyruk doluyor
+        executor.discardAll();
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            hub.publish(1L, "appointment", Map.of("id", i));
+        }
+
+        // Then: Kuyruğu dolan bağlantı kapatıldı ve sayıldı; diğer bağlantı açık kalır
+        assertThat(hub.connectionCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("live.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(hub.connectedTenantIds()).containsExactly(1L);
+
+        // Kalan bağlantı kuyruğunu boşaltır; heartbeat kapalı bağlantıyı tekrar saymaz
+        executor.runAll();
+        hub.heartbeat();
+        assertThat(meterRegistry.get("live.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Bağlantı sınırı - Sınır doluysa yeni bağlantı reddedilir, kapanan bağlantı yer açar")
+    void subscribe_WhenLimitReached_ShouldReject() {
+        hub.subscribe(1L, "ready", Map.of());
+        hub.subscribe(2L, "ready", Map.of());
+
+        assertThatThrownBy(() -> hub.subscribe(3L, "ready", Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(hub.connectionCount()).isEqualTo(2);
+
+        // Yavaş istemci kapatılınca yer açılır
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            hub.publish(1L, "appointment", Map.of("id", i));
+        }
+        assertThat(hub.connectedTenantIds()).containsExactly(2L);
+        hub.subscribe(3L, "ready", Map.of());
+        assertThat(hub.connectionCount()).isEqualTo(2);
+    }
+
+    /**
+     * Görevleri elle çalıştırılan executor
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        int pending() {
+            return tasks.size();
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        void discardAll() {
+            tasks.clear();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.barber.automation.service.outbox;
+
+import com.example.barber.automation.entity.AppointmentOutboxEvent;
+import com.example.barber.automation.repository.AppointmentOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OutboxRelay Integration Test
+ *
+ * Olayların ID sırasıyla abonelere iletilip işaretlendiğini, abone hatasında olayın artan
+ * bekleme süresiyle yeniden denendiğini ve deneme sınırında FAILED olarak bırakıldığını doğrular.
+ * Relay kendi transaction'larını açtığı için test transaction'sız çalışır ve verileri siler.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OutboxRelay Integration Tests")
+class OutboxRelayIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+
+    @Autowired
+    private AppointmentOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("İletim - Olaylar sırayla iletilir ve iletildi olarak işaretlenir")
+    void relay_ShouldDeliverInOrderAndMarkPublished() {
+        // Given: İki bekleyen ve bir ileri tarihli olay
+        AppointmentOutboxEvent created = save(AppointmentOutboxEvent.EventType.CREATED, 10L, now());
+        AppointmentOutboxEvent confirmed = save(AppointmentOutboxEvent.EventType.CONFIRMED, 10L, now());
+        AppointmentOutboxEvent later = save(AppointmentOutboxEvent.EventType.CANCELLED, 11L, now().plusMinutes(1));
+        List<AppointmentEvent> received = new ArrayList<>();
+
+        // When: Relay çalışır
+        relay(received::add, 10).relay();
+
+        // Then: Hazır olaylar sırayla iletilir, ileri tarihli olan beklemede kalır
+        assertThat(received).extracting(AppointmentEvent::getId).containsExactly(created.getId(), confirmed.getId());
+        assertThat(received.get(0).getAttempt()).isEqualTo(1);
+        assertThat(outboxRepository.findById(created.getId())).get()
+                .extracting(AppointmentOutboxEvent::getStatus).isEqualTo(AppointmentOutboxEvent.Status.PUBLISHED);
+        assertThat(outboxRepository.findById(later.getId())).get()
+                .extracting(AppointmentOutboxEvent::getStatus).isEqualTo(AppointmentOutboxEvent.Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("Tekrar deneme - Abone hatasında olay bekleme süresinden sonra yeniden iletilir")
+    void relay_WhenSubscriberFails_ShouldRetryAfterBackoff() {
+        // Given: İlk denemede hata veren abone
+        AppointmentOutboxEvent event = save(AppointmentOutboxEvent.EventType.COMPLETED, 10L, now());
+        List<AppointmentEvent> received = new ArrayList<>();
+        OutboxRelay relay = relay(e -> {
+            received.add(e);
+            if (e.getAttempt() == 1) {
+                throw new IllegalStateException("WhatsApp erişilemiyor");
+            }
+        }, 10);
+
+        // When: İlk deneme başarısız olur
+        relay.relay();
+
+        // Then: Olay beklemede kalır, bekleme süresi dolmadan tekrar alınmaz
+        AppointmentOutboxEvent failed = outboxRepository.findById(event.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(AppointmentOutboxEvent.Status.PENDING);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("WhatsApp");
+        assertThat(failed.getAvailableAt()).isEqualTo(now().plus(OutboxRelay.backoff(1)));
+
+        relay.relay();
+        assertThat(received).hasSize(1);
+
+        // When: Bekleme süresi dolar
+        clock.advance(OutboxRelay.backoff(1));
+        relay.relay();
+
+        // Then: Aynı olay ikinci denemede iletilir
+        assertThat(received).extracting(AppointmentEvent::getId).containsExactly(event.getId(), event.getId());
+        assertThat(outboxRepository.findById(event.getId())).get()
+                .extracting(AppointmentOutboxEvent::getStatus).isEqualTo(AppointmentOutboxEvent.Status.PUBLISHED);
+    }
+
+    @Test
+    @DisplayName("Deneme sınırı - Sınırı aşan olay FAILED olarak bırakılır, diğerleri iletilir")
+    void relay_WhenAttemptsExceeded_ShouldMarkFailed() {
+        // Given: Bir olay için her zaman hata veren abone, deneme sınırı 1
+        AppointmentOutboxEvent poison = save(AppointmentOutboxEvent.EventType.NO_SHOW, 10L, now());
+        AppointmentOutboxEvent healthy = save(AppointmentOutboxEvent.EventType.NO_SHOW, 11L, now());
+
+        OutboxRelay relay = new OutboxRelay(outboxRepository, List.of(e -> {
+            if (e.getAppointmentId().equals(10L)) {
+                throw new IllegalStateException("Geçersiz olay");
+            }
+        }), transactionManager, 1, 1, 60, 7, clock);
+
+        // When: Relay çalışır (parti boyutu 1, kuyruk boşalana kadar)
+        relay.relay();
+
+        // Then: Hatalı olay kuyruğu tıkamaz
+        assertThat(outboxRepository.findById(poison.getId())).get()
+                .extracting(AppointmentOutboxEvent::getStatus).isEqualTo(AppointmentOutboxEvent.Status.FAILED);
+        assertThat(outboxRepository.findById(healthy.getId())).get()
+                .extracting(AppointmentOutboxEvent::getStatus).isEqualTo(AppointmentOutboxEvent.Status.PUBLISHED);
+        assertThat(OutboxRelay.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private OutboxRelay relay(AppointmentEventSubscriber subscriber, int batchSize) {
+        return new OutboxRelay(outboxRepository, List.of(subscriber), transactionManager, batchSize, 10, 60, 7, clock);
+    }
+
+    private AppointmentOutboxEvent save(AppointmentOutboxEvent.EventType type, Long appointmentId,
+                                        LocalDateTime availableAt) {
+        return outboxRepository.save(new AppointmentOutboxEvent(type, 1L, appointmentId, now(), availableAt));
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
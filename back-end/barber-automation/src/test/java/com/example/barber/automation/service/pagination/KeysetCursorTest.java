@@ -0,0 +1,69 @@
+package com.example.barber.automation.service.pagination;
+
+import com.example.barber.automation.dto.CursorPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * KeysetCursor Unit Test
+ *
+ * Token'ın geri çözülebildiğini, bozuk token'ların reddedildiğini,
+ * sayfa boyutu sınırlarını ve limit + 1 satırdan sayfa oluşturmayı doğrular.
+ */
+@DisplayName("KeysetCursor Unit Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Token - Kodlanan imleç aynen çözülür, token boşsa ilk sayfa")
+    void encodeAndDecode_ShouldRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_000_000), 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded.getPosition()).isEqualTo(cursor.getPosition());
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(cursor.encode()).doesNotContain("2025", "|");
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Token - Bozuk token reddedilir")
+    void decode_WithInvalidToken_ShouldThrow() {
+        assertThatThrownBy(() -> KeysetCursor.decode("bozuk-token!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("MjAyNS0wMS0xNVQxMDozMHxhYmM"))   // "2025-01-15T10:30|abc"
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Sayfa boyutu - Boşsa varsayılan, üst sınır aşılamaz, sıfır reddedilir")
+    void resolveLimit_ShouldApplyDefaultsAndCaps() {
+        assertThat(KeysetCursor.resolveLimit(null)).isEqualTo(KeysetCursor.DEFAULT_LIMIT);
+        assertThat(KeysetCursor.resolveLimit(10)).isEqualTo(10);
+        assertThat(KeysetCursor.resolveLimit(10_000)).isEqualTo(KeysetCursor.MAX_LIMIT);
+        assertThatThrownBy(() -> KeysetCursor.resolveLimit(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Sayfa - Fazladan satır varsa son öğeden imleç üretilir, yoksa son sayfadır")
+    void toPage_ShouldUseProbeRow() {
+        LocalDateTime time = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+        CursorPage<Long> page = KeysetCursor.toPage(List.of(1L, 2L, 3L), 2, id -> new KeysetCursor(time, id));
+        assertThat(page.getItems()).containsExactly(1L, 2L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor()).getId()).isEqualTo(2L);
+
+        CursorPage<Long> last = KeysetCursor.toPage(List.of(3L), 2, id -> new KeysetCursor(time, id));
+        assertThat(last.getItems()).containsExactly(3L);
+        assertThat(last.getNextCursor()).isNull();
+    }
+}